@@ -0,0 +1,39 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.service.AcademicResultService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chargement du CSV des résultats académiques ({@link AcademicResultService}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AcademicResultsLoadBenchmark {
+
+    private PrintStream originalOut;
+
+    @Setup
+    public void setup() {
+        // Le service journalise chaque chargement : on fait taire System.out pendant la mesure
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public AcademicResultService loadCsv() {
+        return new AcademicResultService("historique_cours_prog_117510.csv");
+    }
+}
@@ -0,0 +1,86 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Review;
+
+import java.util.*;
+
+/**
+ * Données synthétiques pour les benchmarks, de forme proche des réponses
+ * de Planifium (horaires, sections, volets et activités).
+ */
+final class BenchData {
+
+    private static final String[] DEPTS = {"IFT", "MAT", "STT", "PHY", "BIO", "ECN"};
+    private static final String[] DAYS = {"Lu", "Ma", "Me", "Je", "Ve"};
+
+    private BenchData() {}
+
+    /** Sigle déterministe du i-ème cours (ex : IFT1000, MAT1001...). */
+    static String sigle(int i) {
+        return DEPTS[i % DEPTS.length] + (1000 + i % 5000);
+    }
+
+    static List<Course> courses(int n, long seed) {
+        Random rnd = new Random(seed);
+        List<Course> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) out.add(course(sigle(i), rnd));
+        return out;
+    }
+
+    static Course course(String id, Random rnd) {
+        Course c = new Course(id, "Cours " + id, "Description du cours " + id + " ".repeat(40));
+        c.setCredits(3.0);
+        c.setPrerequisiteCourses(List.of(sigle(rnd.nextInt(200)), sigle(rnd.nextInt(200))));
+        c.setRequirementText("Préalable: " + sigle(rnd.nextInt(200)));
+        c.setAvailableTerms(new LinkedHashMap<>(Map.of("autumn", rnd.nextBoolean(), "winter", rnd.nextBoolean(), "summer", false)));
+        c.setAvailablePeriods(new LinkedHashMap<>(Map.of("daytime", true, "evening", rnd.nextBoolean())));
+
+        Course.Schedule schedule = new Course.Schedule();
+        schedule.setName("A25");
+        schedule.setFetchDate("2025-08-01");
+        List<Course.Section> sections = new ArrayList<>();
+        for (String name : new String[]{"A", "A101"}) {
+            Course.Section s = new Course.Section();
+            s.setName(name);
+            s.setCapacity(String.valueOf(40 + rnd.nextInt(200)));
+            s.setNumberInscription(String.valueOf(rnd.nextInt(200)));
+            s.setTeachers(List.of("Enseignant " + rnd.nextInt(300)));
+            s.setVolets(List.of(volet(name.length() == 1 ? "TH" : "TP", rnd)));
+            sections.add(s);
+        }
+        schedule.setSections(sections);
+        c.setSchedules(List.of(schedule));
+        return c;
+    }
+
+    static Map<String, Object> volet(String name, Random rnd) {
+        int start = 8 + rnd.nextInt(10);
+        Map<String, Object> activity = new LinkedHashMap<>();
+        activity.put("days", List.of(DAYS[rnd.nextInt(DAYS.length)]));
+        activity.put("start_time", String.format("%02d:30", start));
+        activity.put("end_time", String.format("%02d:29", start + 2));
+        activity.put("campus", "MIL");
+        Map<String, Object> volet = new LinkedHashMap<>();
+        volet.put("name", name);
+        volet.put("activities", List.of(activity));
+        return volet;
+    }
+
+    static List<Review> reviews(int n, int courses, long seed) {
+        Random rnd = new Random(seed);
+        List<Review> out = new ArrayList<>(n);
+        long t0 = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            Review r = new Review();
+            r.setCourseId(sigle(rnd.nextInt(courses)));
+            r.setDifficulty(1 + rnd.nextInt(5));
+            r.setWorkload(1 + rnd.nextInt(5));
+            r.setComment("Commentaire " + i);
+            r.setAuthor("etudiant" + rnd.nextInt(1000));
+            r.setTimestamp(t0 + i * 60_000L);
+            out.add(r);
+        }
+        return out;
+    }
+}
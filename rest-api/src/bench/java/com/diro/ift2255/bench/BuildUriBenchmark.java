@@ -0,0 +1,43 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.util.HttpClientApi;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpClientApi#buildUri(String, Map)} selon le nombre de paramètres de requête.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildUriBenchmark {
+
+    private static final String BASE = "https://planifium-api.onrender.com/api/v1/courses";
+
+    @Param({"0", "2", "6"})
+    public int params;
+
+    private Map<String, String> query;
+
+    @Setup
+    public void setup() {
+        String[][] all = {
+                {"include_schedule", "true"}, {"schedule_semester", "a25"},
+                {"courses_sigle", "IFT1015,IFT1025,IFT2255"}, {"name", "génie logiciel"},
+                {"response_level", "full"}, {"limit", "200"}};
+        query = new LinkedHashMap<>();
+        for (int i = 0; i < params; i++) query.put(all[i][0], all[i][1]);
+    }
+
+    @Benchmark
+    public URI buildUri() {
+        return HttpClientApi.buildUri(BASE, query);
+    }
+}
@@ -0,0 +1,125 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.model.CompactCourse;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.CompactCourseModule;
+import com.diro.ift2255.util.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.type.CollectionType;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Empreinte mémoire d’un catalogue complet avec horaires : {@code List<Course>}
+ * (forme Jackson habituelle) contre {@code List<CompactCourse>} (voir
+ * {@link CompactCourseModule}).
+ *
+ * <p>Le même JSON est désérialisé dans les deux formes ; la mémoire retenue est
+ * mesurée comme l’écart de tas occupé après GC, la liste étant encore référencée.
+ * La mesure est approximative (quelques centaines de Ko) : à lancer dans sa
+ * propre JVM, sans autre activité.</p>
+ *
+ * <pre>
+ * mvn -Pbench -DskipTests package exec:exec@heap -Dheap.args="--courses=6000"
+ * </pre>
+ *
+ * <p>Options : {@code --source=synthetic|fixture --courses=6000} (catalogue synthétique
+ * de {@link BenchData}), {@code --copies=50} (catalogue simulé recopié avec des sigles
+ * distincts), {@code --out=target/heap-report.json}.</p>
+ */
+public class CatalogHeapReport {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        String source = opts.getOrDefault("source", "synthetic");
+        Path out = Path.of(opts.getOrDefault("out", "target/heap-report.json"));
+        byte[] json = "fixture".equals(source)
+                ? fixtureCatalog(Integer.parseInt(opts.getOrDefault("copies", "50")))
+                : Json.MAPPER.writeValueAsBytes(BenchData.courses(Integer.parseInt(opts.getOrDefault("courses", "6000")), 7));
+
+        // Mapper neuf pour la forme compacte: son pool de chaînes est compté dans la mesure
+        ObjectMapper compactMapper = new ObjectMapper().registerModule(new CompactCourseModule());
+        CollectionType courseList = Json.MAPPER.getTypeFactory().constructCollectionType(List.class, Course.class);
+        CollectionType compactList = compactMapper.getTypeFactory().constructCollectionType(List.class, CompactCourse.class);
+
+        // Préchauffage (classes et désérialiseurs chargés avant la mesure)
+        Json.MAPPER.readValue(json, courseList);
+        compactMapper.readValue(json, compactList);
+
+        long base = usedAfterGc();
+        List<Course> courses = Json.MAPPER.readValue(json, courseList);
+        long courseBytes = usedAfterGc() - base;
+        int count = courses.size();
+        courses = null;
+
+        base = usedAfterGc();
+        List<CompactCourse> compact = compactMapper.readValue(json, compactList);
+        long compactBytes = usedAfterGc() - base;
+        if (compact.size() != count) throw new IllegalStateException("Nombre de cours différent");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("source", source);
+        report.put("courses", count);
+        report.put("jsonBytes", json.length);
+        report.put("courseHeapBytes", courseBytes);
+        report.put("compactHeapBytes", compactBytes);
+        report.put("courseBytesPerCourse", courseBytes / Math.max(1, count));
+        report.put("compactBytesPerCourse", compactBytes / Math.max(1, count));
+        report.put("ratio", compactBytes > 0 ? (double) courseBytes / compactBytes : 0.0);
+        report.put("java", Runtime.version().toString());
+
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+        System.out.printf("%d cours (%,d octets de JSON)%n", count, json.length);
+        System.out.printf("  List<Course>        : %,12d octets (%,d / cours)%n", courseBytes, courseBytes / Math.max(1, count));
+        System.out.printf("  List<CompactCourse> : %,12d octets (%,d / cours)%n", compactBytes, compactBytes / Math.max(1, count));
+        System.out.printf("  Gain                : x%.2f%n", (double) report.get("ratio"));
+        System.out.println("Rapport: " + out.toAbsolutePath());
+        Reference.reachabilityFence(compact); // liste mesurée gardée vivante jusqu'ici
+    }
+
+    /** Catalogue simulé recopié {@code copies} fois, avec des sigles distincts par copie. */
+    private static byte[] fixtureCatalog(int copies) throws Exception {
+        JsonNode fixture;
+        try (InputStream in = CatalogHeapReport.class.getClassLoader().getResourceAsStream("fake-planifium/courses.json")) {
+            fixture = Json.MAPPER.readTree(in);
+        }
+        ArrayNode all = Json.MAPPER.createArrayNode();
+        for (int k = 0; k < copies; k++) {
+            for (JsonNode c : fixture) {
+                ObjectNode copy = ((ObjectNode) c).deepCopy();
+                copy.put("id", c.path("id").asText() + (k == 0 ? "" : "-" + k));
+                all.add(copy);
+            }
+        }
+        return Json.MAPPER.writeValueAsBytes(all);
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--") || !a.contains("=")) continue;
+            int eq = a.indexOf('=');
+            opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+}
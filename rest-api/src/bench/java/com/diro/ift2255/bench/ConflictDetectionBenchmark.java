@@ -0,0 +1,37 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.service.CourseService;
+import com.diro.ift2255.service.CourseSetService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CourseSetService#detectConflicts(String)} sur un ensemble de 6 cours,
+ * horaires servis par le stub Planifium (désérialisation comprise).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConflictDetectionBenchmark {
+
+    private CourseSetService service;
+    private String setId;
+
+    @Setup
+    public void setup() {
+        List<Course> courses = BenchData.courses(6, 7);
+        service = new CourseSetService(new CourseService(new StubPlanifiumClient(courses)));
+        setId = service.createSet("A25", courses.stream().map(Course::getId).toList()).orElseThrow().getId();
+    }
+
+    @Benchmark
+    public Object detectConflicts() {
+        return service.detectConflicts(setId);
+    }
+}
@@ -0,0 +1,370 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.Main;
+import com.diro.ift2255.config.ServerConfig;
+import com.diro.ift2255.dev.FakePlanifium;
+import com.diro.ift2255.util.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.javalin.Javalin;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Générateur de charge de bout en bout : rejoue un mélange réaliste de requêtes
+ * contre le serveur et produit un rapport JSON par route (débit, p50/p95/p99/p999,
+ * taux d’erreurs) pour le suivi des régressions.
+ *
+ * <p>Sans {@code --target}, le serveur ({@link Main}) est démarré dans le même processus,
+ * branché sur un {@link FakePlanifium} et sur un fichier d’avis temporaire.</p>
+ *
+ * <p>Le projet cible Java 17 : à la place de threads virtuels, chaque utilisateur simulé
+ * est une chaîne d’appels {@link HttpClient#sendAsync} non bloquants, ce qui permet des
+ * milliers d’utilisateurs concurrents avec une poignée de threads.</p>
+ *
+ * <p>Deux modes :</p>
+ * <ul>
+ *   <li>boucle fermée ({@code --users=N}) : N utilisateurs enchaînent leurs scénarios ;</li>
+ *   <li>boucle ouverte ({@code --rate=R}) : R scénarios démarrés par seconde, la latence
+ *       étant mesurée depuis l’instant de départ prévu (pas d’omission coordonnée).</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pbench -DskipTests package exec:exec@loadgen -Dloadgen.args="--mix=mixed --users=200 --duration=30"
+ * </pre>
+ *
+ * <p>Options : {@code --target=http://host:port --mix=browse|planning|reviews|mixed --users=200
+ * --rate=0 --duration=30 --warmup=5 --semester=A25 --out=target/load-report.json --seed=1},
+ * plus celles du Planifium simulé ({@code --latency=50 --jitter=20 --errorRate=0 --coldStart=0}).</p>
+ */
+public class LoadGenerator {
+
+    /** Mélanges de trafic : poids relatifs de chaque scénario. */
+    enum Mix {
+        BROWSE(Map.of(Scenario.LOOKUP, 60, Scenario.OFFERED, 20, Scenario.COMPARE, 20)),
+        PLANNING(Map.of(Scenario.LOOKUP, 20, Scenario.SET_CONFLICTS, 60, Scenario.COMPARE, 20)),
+        REVIEWS(Map.of(Scenario.LOOKUP, 30, Scenario.REVIEW, 60, Scenario.OFFERED, 10)),
+        MIXED(Map.of(Scenario.LOOKUP, 45, Scenario.COMPARE, 15, Scenario.SET_CONFLICTS, 15,
+                Scenario.REVIEW, 10, Scenario.OFFERED, 15));
+
+        final Map<Scenario, Integer> weights;
+
+        Mix(Map<Scenario, Integer> weights) {
+            this.weights = new EnumMap<>(weights);
+        }
+    }
+
+    enum Scenario { LOOKUP, OFFERED, COMPARE, SET_CONFLICTS, REVIEW }
+
+    private final HttpClient http;
+    private final String target;
+    private final Scenario[] wheel;
+    private final List<String> courseIds;
+    private final String semester;
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+
+    LoadGenerator(String target, Mix mix, List<String> courseIds, String semester) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        this.courseIds = courseIds;
+        this.semester = semester;
+
+        List<Scenario> w = new ArrayList<>();
+        mix.weights.forEach((s, weight) -> { for (int i = 0; i < weight; i++) w.add(s); });
+        this.wheel = w.toArray(new Scenario[0]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        Mix mix = Mix.valueOf(opts.getOrDefault("mix", "mixed").toUpperCase());
+        int users = Integer.parseInt(opts.getOrDefault("users", "200"));
+        double rate = Double.parseDouble(opts.getOrDefault("rate", "0"));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", "30"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "5"));
+        String semester = opts.getOrDefault("semester", "A25");
+        Path out = Path.of(opts.getOrDefault("out", "target/load-report.json"));
+
+        FakePlanifium upstream = null;
+        Javalin app = null;
+        Path reviewsFile = null;
+        String target = opts.get("target");
+        ServerConfig cfg = ServerConfig.fromEnvironment();
+
+        FakePlanifium.Options upstreamOptions = FakePlanifium.Options.fromArgs(args);
+        if (!opts.containsKey("latency")) upstreamOptions.setLatencyMs(50);
+        if (!opts.containsKey("jitter")) upstreamOptions.setJitterMs(20);
+        List<String> courseIds = new FakePlanifium(upstreamOptions).courseIds().stream()
+                .filter(id -> id.matches("^[A-Z]{3}\\d{4}$")).toList();
+
+        if (target == null) {
+            upstream = new FakePlanifium(upstreamOptions).start(0);
+            reviewsFile = Files.createTempFile("load-reviews", ".json");
+            cfg.setUpstreamCacheDir(null); // mesurer l'amont simulé, pas le cache disque
+            cfg.setPort(0);
+            cfg.setPlanifiumBaseUrl(upstream.baseUrl());
+            cfg.setReviewsFile(reviewsFile.toString());
+            app = Main.start(cfg);
+            target = "http://localhost:" + app.port();
+        }
+
+        try {
+            LoadGenerator gen = new LoadGenerator(target, mix, courseIds, semester);
+            gen.run(users, rate, warmup);
+            gen.stats.clear();
+            long start = System.nanoTime();
+            gen.run(users, rate, duration);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> report = gen.report(elapsed);
+            report.put("mix", mix.name().toLowerCase());
+            report.put("mode", rate > 0 ? "open" : "closed");
+            report.put(rate > 0 ? "rate" : "users", rate > 0 ? rate : users);
+            report.put("target", target);
+            report.put("inProcessServer", app != null);
+            report.put("serverThreads", cfg.getThreadMode().name().toLowerCase());
+            report.put("java", Runtime.version().toString());
+
+            Files.createDirectories(out.toAbsolutePath().getParent());
+            Json.MAPPER.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+            printSummary(report);
+            System.out.println("Rapport: " + out.toAbsolutePath());
+        } finally {
+            if (app != null) app.stop();
+            if (upstream != null) upstream.stop();
+            if (reviewsFile != null) Files.deleteIfExists(reviewsFile);
+        }
+        System.exit(0);
+    }
+
+    // -------------------- Exécution --------------------
+
+    private void run(int users, double rate, int seconds) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicInteger inFlight = new AtomicInteger();
+
+        if (rate > 0) {
+            // Boucle ouverte: départs planifiés, indépendants des réponses
+            long interval = (long) (1e9 / rate);
+            long next = System.nanoTime();
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                long intended = next;
+                inFlight.incrementAndGet();
+                runScenario(intended).whenComplete((v, e) -> inFlight.decrementAndGet());
+                next += interval;
+            }
+        } else {
+            // Boucle fermée: chaque utilisateur enchaîne ses scénarios jusqu'à la fin
+            AtomicBoolean running = new AtomicBoolean(true);
+            for (int u = 0; u < users; u++) {
+                inFlight.incrementAndGet();
+                loop(running, end, inFlight);
+            }
+            while (System.nanoTime() < end) Thread.sleep(50);
+            running.set(false);
+        }
+
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) Thread.sleep(20);
+    }
+
+    private void loop(AtomicBoolean running, long end, AtomicInteger inFlight) {
+        if (!running.get() || System.nanoTime() >= end) {
+            inFlight.decrementAndGet();
+            return;
+        }
+        runScenario(System.nanoTime()).whenComplete((v, e) -> loop(running, end, inFlight));
+    }
+
+    private CompletableFuture<Void> runScenario(long intendedStart) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        switch (wheel[rnd.nextInt(wheel.length)]) {
+            case LOOKUP:
+                return call("GET /courses/{id}", intendedStart, get("/courses/" + randomCourse()
+                        + "?include_schedule=true&schedule_semester=" + semester.toLowerCase())).thenApply(r -> null);
+            case OFFERED:
+                return call("GET /courses/offered", intendedStart,
+                        get("/courses/offered?semester=" + semester + "&limit=50")).thenApply(r -> null);
+            case COMPARE:
+                return call("GET /courses/compare-full", intendedStart,
+                        get("/courses/compare-full?ids=" + String.join(",", randomCourses(2 + rnd.nextInt(3))))).thenApply(r -> null);
+            case SET_CONFLICTS: {
+                String body = "{\"semester\":\"" + semester + "\",\"courseIds\":[\""
+                        + String.join("\",\"", randomCourses(3 + rnd.nextInt(4))) + "\"]}";
+                return call("POST /sets", intendedStart, post("/sets", body)).thenCompose(resp -> {
+                    String id = (resp == null) ? null : jsonPath(resp.body(), "data", "id");
+                    if (id == null) return CompletableFuture.completedFuture(null);
+                    return call("GET /sets/{id}/conflicts", System.nanoTime(), get("/sets/" + id + "/conflicts")).thenApply(r -> null);
+                });
+            }
+            case REVIEW:
+            default: {
+                String body = "{\"courseId\":\"" + randomCourse() + "\",\"difficulty\":" + (1 + rnd.nextInt(5))
+                        + ",\"workload\":" + (1 + rnd.nextInt(5)) + ",\"comment\":\"test de charge\",\"author\":\"loadgen\"}";
+                return call("POST /avis", intendedStart, post("/avis", body)).thenApply(r -> null);
+            }
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> call(String route, long start, Supplier<HttpRequest> request) {
+        RouteStats s = stats.computeIfAbsent(route, RouteStats::new);
+        return http.sendAsync(request.get(), HttpResponse.BodyHandlers.ofString())
+                .handle((resp, error) -> {
+                    s.record(System.nanoTime() - start, (error != null) ? -1 : resp.statusCode());
+                    return (error != null) ? null : resp;
+                });
+    }
+
+    private Supplier<HttpRequest> get(String path) {
+        return () -> HttpRequest.newBuilder(URI.create(target + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private Supplier<HttpRequest> post(String path, String json) {
+        return () -> HttpRequest.newBuilder(URI.create(target + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private String randomCourse() {
+        return courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+    }
+
+    private List<String> randomCourses(int n) {
+        Set<String> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(n, courseIds.size())) picked.add(randomCourse());
+        return new ArrayList<>(picked);
+    }
+
+    private static String jsonPath(String body, String... path) {
+        try {
+            JsonNode node = Json.MAPPER.readTree(body);
+            for (String p : path) node = node.path(p);
+            return node.isTextual() ? node.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // -------------------- Rapport --------------------
+
+    private Map<String, Object> report(double elapsedSeconds) {
+        Map<String, Object> routes = new TreeMap<>();
+        long total = 0, errors = 0;
+        for (RouteStats s : stats.values()) {
+            routes.put(s.route, s.toReport(elapsedSeconds));
+            total += s.count();
+            errors += s.errors();
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", round(elapsedSeconds));
+        report.put("totalRequests", total);
+        report.put("throughputRps", round(total / elapsedSeconds));
+        report.put("errorRate", total == 0 ? 0.0 : round((double) errors / total));
+        report.put("routes", routes);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> report) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-28s %9s %9s %9s %9s %9s %9s %8s%n",
+                "route", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms", "erreurs");
+        ((Map<String, Object>) report.get("routes")).forEach((route, v) -> {
+            Map<String, Object> r = (Map<String, Object>) v;
+            Map<String, Object> l = (Map<String, Object>) r.get("latencyMs");
+            System.out.printf(Locale.ROOT, "%-28s %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7.2f%%%n", route,
+                    r.get("throughputRps"), l.get("p50"), l.get("p95"), l.get("p99"), l.get("p999"), l.get("max"),
+                    100 * (double) r.get("errorRate"));
+        });
+        System.out.printf(Locale.ROOT, "total: %s req, %s req/s, erreurs %.2f%%%n",
+                report.get("totalRequests"), report.get("throughputRps"), 100 * (double) report.get("errorRate"));
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--") || !a.contains("=")) continue;
+            int eq = a.indexOf('=');
+            opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    /** Latences brutes et statuts d’une route (tri à la fin pour des quantiles exacts). */
+    private static final class RouteStats {
+        final String route;
+        private long[] nanos = new long[4096];
+        private int n;
+        private long errors;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        RouteStats(String route) {
+            this.route = route;
+        }
+
+        synchronized void record(long latencyNanos, int status) {
+            if (n == nanos.length) nanos = Arrays.copyOf(nanos, n * 2);
+            nanos[n++] = latencyNanos;
+            if (status < 0 || status >= 400) errors++;
+            statuses.merge(status, 1L, Long::sum);
+        }
+
+        synchronized long count() { return n; }
+        synchronized long errors() { return errors; }
+
+        synchronized Map<String, Object> toReport(double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, n);
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (long v : sorted) sum += v;
+
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50", quantile(sorted, 0.50));
+            latency.put("p95", quantile(sorted, 0.95));
+            latency.put("p99", quantile(sorted, 0.99));
+            latency.put("p999", quantile(sorted, 0.999));
+            latency.put("max", n == 0 ? 0.0 : round(sorted[n - 1] / 1e6));
+            latency.put("mean", n == 0 ? 0.0 : round(sum / n / 1e6));
+
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.forEach((k, v) -> byStatus.put(k < 0 ? "io_error" : String.valueOf(k), v));
+
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("count", n);
+            r.put("throughputRps", round(n / elapsedSeconds));
+            r.put("errorRate", n == 0 ? 0.0 : round((double) errors / n));
+            r.put("latencyMs", latency);
+            r.put("statuses", byStatus);
+            return r;
+        }
+
+        private static double quantile(long[] sorted, double q) {
+            if (sorted.length == 0) return 0.0;
+            int idx = (int) Math.min(sorted.length - 1, Math.max(0, Math.ceil(q * sorted.length) - 1));
+            return round(sorted[idx] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.Main;
+import com.diro.ift2255.config.ServerConfig;
+import com.diro.ift2255.dev.FakePlanifium;
+import io.javalin.Javalin;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test de charge de {@code GET /courses/offered} : compare le débit et la latence
+ * (p50/p99) du serveur en threads plateforme et en threads virtuels.
+ *
+ * <p>Le serveur est démarré dans le même processus (port libre), une fois par mode,
+ * branché sur un Planifium simulé ({@link FakePlanifium}, sans réseau), puis
+ * {@code clients} clients envoient des requêtes en boucle fermée pendant
+ * {@code duration} secondes, après une phase de préchauffage.</p>
+ *
+ * <pre>
+ * mvn -Pbench -DskipTests package exec:exec@load -Dload.args="--clients=500 --duration=20"
+ * </pre>
+ *
+ * <p>Options : {@code --clients=500 --duration=20 --warmup=5 --modes=platform,virtual
+ * --path=/courses/offered?semester=A25 --maxThreads=250 --upstream=64}, plus les options
+ * du Planifium simulé ({@code --latency=50 --jitter=20 --errorRate=0 --coldStart=0}).</p>
+ */
+public class OfferedLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        int clients = Integer.parseInt(opts.getOrDefault("clients", "500"));
+        int duration = Integer.parseInt(opts.getOrDefault("duration", "20"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "5"));
+        String path = opts.getOrDefault("path", "/courses/offered?semester=A25");
+
+        FakePlanifium.Options upstreamOptions = FakePlanifium.Options.fromArgs(args);
+        if (!opts.containsKey("latency")) upstreamOptions.setLatencyMs(50);
+        if (!opts.containsKey("jitter")) upstreamOptions.setJitterMs(20);
+        FakePlanifium upstream = new FakePlanifium(upstreamOptions).start(0);
+
+        System.out.println("Java " + Runtime.version() + " - threads virtuels disponibles: " + ServerConfig.virtualThreadsAvailable());
+        List<String> report = new ArrayList<>();
+        for (String mode : opts.getOrDefault("modes", "platform,virtual").split(",")) {
+            ServerConfig.ThreadMode threadMode = ServerConfig.ThreadMode.valueOf(mode.trim().toUpperCase());
+            if (threadMode == ServerConfig.ThreadMode.VIRTUAL && !ServerConfig.virtualThreadsAvailable()) {
+                // Sur Java 17, ce mode serait le même pool plateforme: rien à comparer
+                report.add(String.format(Locale.ROOT, "%-9s ignoré (threads virtuels indisponibles, Java 21+ requis)", mode.trim()));
+                continue;
+            }
+            ServerConfig cfg = new ServerConfig();
+            cfg.setPort(0);
+            cfg.setPlanifiumBaseUrl(upstream.baseUrl());
+            cfg.setUpstreamCacheDir(null);
+            cfg.setThreadMode(threadMode);
+            if (opts.containsKey("maxThreads")) cfg.setMaxThreads(Integer.parseInt(opts.get("maxThreads")));
+            if (opts.containsKey("upstream")) cfg.setUpstreamConcurrency(Integer.parseInt(opts.get("upstream")));
+
+            Javalin app = Main.start(cfg);
+            try {
+                URI uri = URI.create("http://localhost:" + app.port() + path);
+                run(uri, clients, warmup);                  // préchauffage (JIT, cache des cours offerts)
+                Result r = run(uri, clients, duration);
+                report.add(String.format(Locale.ROOT, "%-9s %8d req %9.1f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  erreurs %d",
+                        mode.trim(), r.count, r.count / (double) duration, r.percentile(0.50), r.percentile(0.99),
+                        r.percentile(1.0), r.errors));
+            } finally {
+                app.stop();
+            }
+        }
+
+        System.out.println();
+        System.out.println("GET " + path + " - " + clients + " clients, " + duration + " s");
+        report.forEach(System.out::println);
+        upstream.stop();
+        System.exit(0);
+    }
+
+    private static Result run(URI uri, int clients, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(clients);
+        long[][] samples = new long[clients][];
+        int[] counts = new int[clients];
+        int[] errors = new int[clients];
+
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            Thread t = new Thread(() -> {
+                long[] lat = new long[1024];
+                int n = 0;
+                try {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> resp = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (resp.statusCode() >= 400) errors[id]++;
+                        } catch (Exception e) {
+                            errors[id]++;
+                        }
+                        if (n == lat.length) lat = Arrays.copyOf(lat, n * 2);
+                        lat[n++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    samples[id] = lat;
+                    counts[id] = n;
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+
+        int total = 0, errs = 0;
+        for (int c = 0; c < clients; c++) { total += counts[c]; errs += errors[c]; }
+        long[] all = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(samples[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, errs);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--") || !a.contains("=")) continue;
+            int eq = a.indexOf('=');
+            opts.put(a.substring(2, eq), a.substring(eq + 1));
+        }
+        return opts;
+    }
+
+    private static final class Result {
+        final long[] sortedNanos;
+        final int count;
+        final int errors;
+
+        Result(long[] sortedNanos, int errors) {
+            this.sortedNanos = sortedNanos;
+            this.count = sortedNanos.length;
+            this.errors = errors;
+        }
+
+        double percentile(double q) {
+            if (count == 0) return 0;
+            int idx = (int) Math.min(count - 1, Math.ceil(q * count) - 1);
+            return sortedNanos[Math.max(idx, 0)] / 1_000_000.0;
+        }
+    }
+}
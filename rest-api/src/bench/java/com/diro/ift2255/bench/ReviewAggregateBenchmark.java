@@ -0,0 +1,50 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.service.ReviewService;
+import com.diro.ift2255.util.Json;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReviewService#getAggregateForCourse(String)} selon le nombre total d’avis stockés
+ * (répartis sur 500 cours).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReviewAggregateBenchmark {
+
+    private static final int COURSES = 500;
+
+    @Param({"10000", "100000", "1000000"})
+    public int reviews;
+
+    private ReviewService service;
+    private Path file;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("bench-reviews", ".json");
+        Json.REVIEW_LIST_WRITER.writeValue(file.toFile(), BenchData.reviews(reviews, COURSES, 11));
+        service = new ReviewService(file.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Object aggregate() {
+        next = (next + 1) % COURSES;
+        return service.getAggregateForCourse(BenchData.sigle(next));
+    }
+}
@@ -0,0 +1,101 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.CourseSet;
+import com.diro.ift2255.model.Review;
+import com.diro.ift2255.util.Json;
+import com.diro.ift2255.util.ResponseUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de (dé)sérialisation des DTO principaux.
+ *
+ * <p>{@code mapper=plain} correspond à un {@code new ObjectMapper()} par classe
+ * (situation d’origine), {@code mapper=shared} au mapper partagé {@link Json#MAPPER}
+ * (Blackbird, lecteurs préparés).</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"plain", "shared"})
+    public String mapper;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper om;
+    private ObjectReader courseListReader;
+    private ObjectReader reviewListReader;
+    private ObjectReader courseSetReader;
+
+    private List<Course> courses;
+    private List<Review> reviews;
+    private byte[] coursesJson;
+    private byte[] reviewsJson;
+    private byte[] courseSetJson;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("shared".equals(mapper)) {
+            Json.warmUp();
+            om = Json.MAPPER;
+            courseListReader = Json.COURSE_LIST_READER;
+            reviewListReader = Json.REVIEW_LIST_READER;
+            courseSetReader = Json.COURSE_SET_READER;
+        } else {
+            om = new ObjectMapper();
+            courseListReader = om.readerFor(new TypeReference<List<Course>>() {});
+            reviewListReader = om.readerFor(new TypeReference<List<Review>>() {});
+            courseSetReader = om.readerFor(CourseSet.class);
+        }
+
+        courses = BenchData.courses(size, 42);
+        reviews = BenchData.reviews(size * 10, size, 42);
+        coursesJson = om.writeValueAsBytes(courses);
+        reviewsJson = om.writeValueAsBytes(reviews);
+        courseSetJson = om.writeValueAsBytes(new CourseSet("s1", "A25",
+                List.of("IFT1015", "IFT1025", "IFT2255", "MAT1400", "STT1700", "IFT2015")));
+    }
+
+    /** Réponse de liste de cours telle que produite par {@code ctx.json(ResponseUtil.ok(...))}. */
+    @Benchmark
+    public byte[] writeCourseEnvelope() throws IOException {
+        return om.writeValueAsBytes(ResponseUtil.ok(courses));
+    }
+
+    /** Lecture d’une réponse Planifium (liste de cours). */
+    @Benchmark
+    public List<Course> readCourses() throws IOException {
+        return courseListReader.readValue(coursesJson);
+    }
+
+    /** Sauvegarde du fichier d’avis. */
+    @Benchmark
+    public byte[] writeReviews() throws IOException {
+        return om.writeValueAsBytes(reviews);
+    }
+
+    /** Chargement du fichier d’avis. */
+    @Benchmark
+    public List<Review> readReviews() throws IOException {
+        return reviewListReader.readValue(reviewsJson);
+    }
+
+    /** Corps d’un {@code POST /sets}. */
+    @Benchmark
+    public CourseSet readCourseSet() throws IOException {
+        return courseSetReader.readValue(courseSetJson);
+    }
+}
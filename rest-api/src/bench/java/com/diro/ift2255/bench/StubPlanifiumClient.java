@@ -0,0 +1,45 @@
+package com.diro.ift2255.bench;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.HttpClientApiResponse;
+import com.diro.ift2255.util.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client Planifium simulé en mémoire : {@code GET .../courses/{id}} retourne le JSON
+ * préalablement sérialisé du cours, {@code GET .../courses} la liste complète.
+ *
+ * <p>Aucun appel réseau : les services ({@link com.diro.ift2255.service.CourseService}, etc.)
+ * sont mesurés avec leur vrai chemin de désérialisation, mais sans la latence de l’amont.</p>
+ */
+final class StubPlanifiumClient extends HttpClientApi {
+
+    private final Map<String, String> byId = new HashMap<>();
+    private final String all;
+
+    StubPlanifiumClient(List<Course> courses) {
+        try {
+            for (Course c : courses) byId.put(c.getId().toUpperCase(), Json.MAPPER.writeValueAsString(c));
+            all = Json.MAPPER.writeValueAsString(courses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public HttpClientApiResponse get(URI uri) {
+        String path = uri.getPath();
+        String last = path.substring(path.lastIndexOf('/') + 1).toUpperCase();
+        if ("COURSES".equals(last)) return new HttpClientApiResponse(200, "OK", all);
+        String body = byId.get(last);
+        return (body == null)
+                ? new HttpClientApiResponse(404, "Not Found", "{}")
+                : new HttpClientApiResponse(200, "OK", body);
+    }
+}
@@ -1,13 +1,20 @@
 package com.diro.ift2255;
 
 import io.javalin.Javalin;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
 import com.diro.ift2255.config.Routes;
+import com.diro.ift2255.config.ServerConfig;
+import com.diro.ift2255.util.Json;
 /**
  * Point d’entrée principal du serveur REST de l’application.
  *
  * <p>Cette classe initialise le serveur Javalin,
  * configure les routes de l’API et démarre le serveur HTTP.</p>
+ *
+ * <p>Le modèle d’exécution des handlers (threads plateforme ou virtuels),
+ * le port et la concurrence vers Planifium sont configurables
+ * (voir {@link ServerConfig}).</p>
  */
 
 public class Main {
@@ -17,17 +24,54 @@ public class Main {
      * @param args arguments de la ligne de commande (non utilisés)
      */
     public static void main(String[] args) {
+        start(ServerConfig.fromEnvironment());
+    }
+
+    /**
+     * Crée, configure et démarre le serveur (utilisable aussi en processus, ex : tests de charge).
+     *
+     * @param serverConfig configuration de démarrage
+     * @return l’instance Javalin démarrée
+     */
+    public static Javalin start(ServerConfig serverConfig) {
+        Javalin app = createApp(serverConfig);
+        app.start(serverConfig.getPort());
+        System.out.println("Serveur démarré sur http://localhost:" + app.port()
+                + " (threads " + serverConfig.getEffectiveThreadMode().name().toLowerCase() + ")");
+        return app;
+    }
+
+    /**
+     * Crée et configure le serveur sans le démarrer.
+     *
+     * @param serverConfig configuration de démarrage
+     * @return l’instance Javalin, routes enregistrées
+     */
+    public static Javalin createApp(ServerConfig serverConfig) {
         // Crée une instance de Javalin avec une configuration personnalisée
         // Ici, on définit le type de contenu par défaut des réponses HTTP en JSON
         Javalin app = Javalin.create(config -> {
             config.http.defaultContentType = "application/json";
+            // Mapper JSON partagé (le même que celui des services et contrôleurs)
+            config.jsonMapper(Json.javalinMapper());
+
+            if (serverConfig.getThreadMode() == ServerConfig.ThreadMode.VIRTUAL && !ServerConfig.virtualThreadsAvailable()) {
+                System.err.println("[Main] Threads virtuels indisponibles (Java 21+ requis) : pool de "
+                        + serverConfig.getMaxThreads() + " threads plateforme utilisé.");
+            }
+            if (serverConfig.getEffectiveThreadMode() == ServerConfig.ThreadMode.VIRTUAL) {
+                // Un thread virtuel par requête : les attentes sur Planifium ne bloquent pas de thread OS
+                config.useVirtualThreads = true;
+            } else {
+                QueuedThreadPool pool = new QueuedThreadPool(serverConfig.getMaxThreads(), 8, 60_000);
+                pool.setName("JettyServerThreadPool");
+                config.jetty.threadPool = pool;
+            }
         });
+        Json.warmUp();
 
         // Enregistre toutes les routes de l'application
-        Routes.register(app);
-
-        // Démarre le serveur sur le port 7070 (choix arbitraire)
-        app.start(7070);
-        System.out.println("Serveur démarré sur http://localhost:7070");
+        Routes.register(app, serverConfig);
+        return app;
     }
-}
\ No newline at end of file
+}
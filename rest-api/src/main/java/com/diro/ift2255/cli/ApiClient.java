@@ -1,5 +1,6 @@
 package com.diro.ift2255.cli;
 
+import com.diro.ift2255.util.Json;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -35,7 +36,7 @@ public class ApiClient {
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
-        this.mapper = new ObjectMapper();
+        this.mapper = Json.MAPPER;
     }
 
     /**
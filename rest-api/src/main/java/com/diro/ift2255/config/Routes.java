@@ -2,8 +2,22 @@ package com.diro.ift2255.config;
 
 import com.diro.ift2255.controller.*;
 import com.diro.ift2255.service.*;
+import com.diro.ift2255.util.CircuitBreaker;
+import com.diro.ift2255.util.Deadline;
+import com.diro.ift2255.util.DiskResponseCache;
 import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.JvmMetrics;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.RequestMetrics;
+import com.diro.ift2255.util.UpstreamPolicy;
 import io.javalin.Javalin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 /**
  * Centralise la définition et l’enregistrement de toutes les routes
  * de l’API REST de l’application.
@@ -13,6 +27,8 @@ import io.javalin.Javalin;
  * Elle constitue le point d’entrée principal des routes côté serveur.</p>
  */
 public class Routes {
+
+    private static final String REQUEST_START_ATTR = "metrics.start";
     /**
     * Enregistre l’ensemble des routes de l’API sur l’instance Javalin.
     *
@@ -22,18 +38,47 @@ public class Routes {
      * @param app instance du serveur Javalin utilisée pour définir les routes
     */
     public static void register(Javalin app) {
+        register(app, ServerConfig.defaults());
+    }
+
+    /**
+     * Enregistre l’ensemble des routes de l’API avec une configuration de démarrage donnée.
+     *
+     * @param app instance du serveur Javalin utilisée pour définir les routes
+     * @param serverConfig configuration (concurrence maximale vers Planifium, etc.)
+     */
+    public static void register(Javalin app, ServerConfig serverConfig) {
         // Instancier les dépendances partagées 1 seule fois
-        HttpClientApi api = new HttpClientApi();
+        UpstreamPolicy upstreamPolicy = UpstreamPolicy.defaults();
+        upstreamPolicy.setMaxConcurrentRequests(serverConfig.getUpstreamConcurrency());
+        HttpClientApi api = new HttpClientApi(upstreamPolicy, CircuitBreaker::defaults);
+        // Réponses Planifium conservées sur disque: un serveur redémarré répond sans attendre l'amont
+        DiskResponseCache diskCache = openDiskCache(serverConfig);
+        if (diskCache != null) api.setDiskCache(diskCache, Duration.ofHours(24));
 
         // Services communs
-        CourseService courseService = new CourseService(api);
+        CourseService courseService = new CourseService(api, serverConfig.getPlanifiumBaseUrl());
+        courseService.setBatchSize(serverConfig.getPlanifiumBatchSize());
+        courseService.setRequestBatching(Duration.ofMillis(serverConfig.getPlanifiumBatchWindowMs()), serverConfig.getPlanifiumBatchSize());
         AcademicResultService academicResultService = new AcademicResultService("historique_cours_prog_117510.csv");
-        ReviewService reviewService = new ReviewService("data/reviews.json");
-        CompareService compareService = new CompareService(courseService, reviewService, academicResultService);
-
-
-        ProgramService programService = new ProgramService(api, courseService);
-        ProgramController programController = new ProgramController(programService);
+        ReviewService reviewService = new ReviewService(serverConfig.getReviewsFile());
+        // Catalogue local partagé (noms des cours résolus par lot pour la comparaison)
+        CourseCatalogService catalogService = new CourseCatalogService(courseService);
+        CompareService compareService = new CompareService(catalogService, reviewService, academicResultService);
+
+
+        ProgramService programService = new ProgramService(api, courseService, serverConfig.getPlanifiumBaseUrl());
+        // Cours offerts par programme/trimestre: précalculés et rafraîchis en arrière-plan
+        OfferedCoursesCache offeredCache = new OfferedCoursesCache(programService, courseService, Duration.ofMinutes(15));
+        // Index enseignant → sections, alimenté par chaque instantané (abonné avant le préchargement)
+        TeacherIndexService teacherIndex = new TeacherIndexService(offeredCache);
+        // Journal des inscriptions par section, échantillonné à chaque rafraîchissement
+        EnrollmentService enrollmentService = new EnrollmentService(offeredCache, serverConfig.getEnrollmentFile());
+        offeredCache.start();
+        String currentSemester = OfferedCoursesCache.semesterOf(LocalDate.now());
+        offeredCache.warmUp("117510", currentSemester);
+        offeredCache.warmUp(OfferedCoursesCache.ALL_PROGRAMS, currentSemester);
+        ProgramController programController = new ProgramController(programService, offeredCache);
 
         CourseSetService courseSetService = new CourseSetService(courseService);
         CourseSetController courseSetController = new CourseSetController(courseSetService);
@@ -41,17 +86,101 @@ public class Routes {
         UserService userService = new UserService();
         UserController userController = new UserController(userService);
 
-        // CourseController reçoit aussi ProgramService pour /courses/offered
-        CourseController courseController = new CourseController(courseService, academicResultService, compareService, programService);
+        // Catalogue complet indexé en bitmaps pour /courses?term=...&dept=... ; synchronisé
+        // de manière incrémentale toutes les 30 min (flux des changements: /changes)
+        CatalogSyncService catalogSync = new CatalogSyncService(courseService);
+        CatalogIndexService catalogIndex = new CatalogIndexService(catalogSync, Duration.ofMinutes(30));
+        catalogIndex.start();
+        catalogIndex.warmUp();
+        // Compatibilité d'horaire: matrice de conflits et index d'intervalles (cours offerts)
+        ScheduleConflictService scheduleConflictService = new ScheduleConflictService(offeredCache);
+        ScheduleController scheduleController = new ScheduleController(scheduleConflictService);
+        // CourseController reçoit aussi le cache des cours offerts pour /courses/offered?programId=
+        CourseController courseController = new CourseController(courseService, academicResultService, compareService, offeredCache, catalogIndex, scheduleConflictService);
 
         ReviewController reviewController = new ReviewController(reviewService);
+        TeacherController teacherController = new TeacherController(teacherIndex);
+        EnrollmentController enrollmentController = new EnrollmentController(enrollmentService);
+        ChangeController changeController = new ChangeController(catalogSync);
+
+        // Recommandations: cours offerts classés par charge, difficulté et résultats
+        RecommendationService recommendationService = new RecommendationService(offeredCache, reviewService, academicResultService);
+        RecommendationController recommendationController = new RecommendationController(recommendationService);
+
+        // Métriques (GET /metrics) : latences par route, appels Planifium, caches, avis, JVM
+        RequestMetrics requestMetrics = new RequestMetrics();
+        List<MetricsSource> metricsSources = new ArrayList<>(List.of(
+                requestMetrics, api, courseService, programService, offeredCache, catalogService, catalogSync, catalogIndex, scheduleConflictService, teacherIndex, enrollmentService, reviewService, new JvmMetrics()));
+        if (diskCache != null) metricsSources.add(2, diskCache);
+        MetricsController metricsController = new MetricsController(metricsSources);
+        registerRequestMetrics(app, requestMetrics);
+
+        // Échéance par requête, propagée aux appels Planifium
+        registerRequestDeadline(app, upstreamPolicy.getDefaultRequestBudget());
 
         // Enregistrer les routes
         registerUserRoutes(app, userController);
-        registerCourseRoutes(app, courseController);
+        registerCourseRoutes(app, courseController, scheduleController, enrollmentController);
         registerProgramRoutes(app, programController);
         registerReviewRoutes(app, reviewController);
         registerCourseSetRoutes(app, courseSetController);
+        app.get("/recommendations", recommendationController::getRecommendations);
+        app.get("/teachers", teacherController::searchTeachers);
+        app.get("/teachers/{name}/sections", teacherController::getTeacherSections);
+        app.get("/changes", changeController::getChanges);
+        app.get("/metrics", metricsController::getMetrics);
+    }
+
+    /** Ouvre le cache disque des réponses Planifium ; {@code null} s'il est désactivé ou illisible. */
+    private static DiskResponseCache openDiskCache(ServerConfig serverConfig) {
+        if (serverConfig.getUpstreamCacheDir() == null) return null;
+        try {
+            return new DiskResponseCache(Path.of(serverConfig.getUpstreamCacheDir()),
+                    serverConfig.getUpstreamCacheMaxMb() * 1024L * 1024L);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[Routes] Cache disque désactivé (" + serverConfig.getUpstreamCacheDir() + "): " + e.getMessage());
+            return null;
+        }
+    }
+
+    // -----------------------------
+    // METRICS
+    // -----------------------------
+    /**
+     * Mesure la durée de chaque requête, étiquetée par la route déclarée
+     * (ex : {@code /courses/{id}}) plutôt que par l'URL reçue.
+     */
+    private static void registerRequestMetrics(Javalin app, RequestMetrics metrics) {
+        app.before(ctx -> ctx.attribute(REQUEST_START_ATTR, System.nanoTime()));
+        app.after(ctx -> {
+            Long start = ctx.attribute(REQUEST_START_ATTR);
+            if (start == null) return;
+            String route = ctx.endpointHandlerPath();
+            if (!route.startsWith("/")) route = "unmatched"; // 404/405 : aucune route ne correspond
+            metrics.record(ctx.method().name(), route, ctx.statusCode(), System.nanoTime() - start);
+        });
+    }
+
+    // -----------------------------
+    // DEADLINE
+    // -----------------------------
+    /**
+     * Pose une échéance sur chaque requête entrante. Le client peut la réduire
+     * via l'en-tête {@code X-Request-Budget-Ms} (jamais l'augmenter au-delà du défaut).
+     */
+    private static void registerRequestDeadline(Javalin app, Duration defaultBudget) {
+        app.before(ctx -> {
+            Duration budget = defaultBudget;
+            String header = ctx.header("X-Request-Budget-Ms");
+            if (header != null && !header.isBlank()) {
+                try {
+                    long ms = Long.parseLong(header.trim());
+                    if (ms > 0 && ms < budget.toMillis()) budget = Duration.ofMillis(ms);
+                } catch (NumberFormatException ignored) {}
+            }
+            Deadline.start(budget);
+        });
+        app.after(ctx -> Deadline.clear());
     }
 
     // -----------------------------
@@ -68,7 +197,9 @@ public class Routes {
     // -----------------------------
     // COURSES
     // -----------------------------
-    private static void registerCourseRoutes(Javalin app, CourseController courseController) {
+    private static void registerCourseRoutes(Javalin app, CourseController courseController,
+                                             ScheduleController scheduleController,
+                                             EnrollmentController enrollmentController) {
         app.get("/courses", courseController::getAllCourses);
 
         // cours offerts pour un trimestre donné (global, optionnel programId)
@@ -80,7 +211,12 @@ public class Routes {
         // NEW : comparaison "réelle" : Planifium + Avis + CSV
         app.get("/courses/compare-full", courseController::compareCoursesFull);
 
+        // cours offerts compatibles (sans conflit d'horaire) avec des cours choisis
+        app.get("/courses/compatible", scheduleController::getCompatibleCourses);
+
         app.get("/courses/{id}/results", courseController::getAcademicResults);
+        app.get("/courses/{id}/enrollment", enrollmentController::getCourseEnrollment);
+        app.get("/enrollment/fastest", enrollmentController::getFastestFilling);
         app.get("/courses/{id}/eligibility", courseController::getEligibility);
         app.get("/courses/{id}", courseController::getCourseById);
     }
@@ -0,0 +1,161 @@
+package com.diro.ift2255.config;
+
+import com.diro.ift2255.service.CourseService;
+
+/**
+ * Paramètres de démarrage du serveur REST.
+ *
+ * <p>Chaque valeur peut être fournie par propriété système ({@code -Dserver.threads=virtual})
+ * ou par variable d’environnement ({@code SERVER_THREADS=virtual}) :</p>
+ * <ul>
+ *   <li>{@code server.port} / {@code PORT} : port HTTP (7070 par défaut)</li>
+ *   <li>{@code server.threads} / {@code SERVER_THREADS} : {@code platform} ou {@code virtual}</li>
+ *   <li>{@code server.maxThreads} / {@code SERVER_MAX_THREADS} : taille max du pool plateforme (250)</li>
+ *   <li>{@code upstream.maxConcurrency} / {@code UPSTREAM_MAX_CONCURRENCY} : appels simultanés max vers Planifium (64)</li>
+ *   <li>{@code planifium.baseUrl} / {@code PLANIFIUM_BASE_URL} : URL de base de l’API Planifium
+ *       (ex : {@code http://localhost:7071/api/v1} pour le Planifium simulé)</li>
+ *   <li>{@code planifium.batchSize} / {@code PLANIFIUM_BATCH_SIZE} : sigles par requête groupée {@code courses_sigle} (20)</li>
+ *   <li>{@code planifium.batchWindowMs} / {@code PLANIFIUM_BATCH_WINDOW_MS} : fenêtre de regroupement des
+ *       recherches de cours concurrentes en une requête {@code courses_sigle} (3 ms ; 0 = désactivé)</li>
+ *   <li>{@code reviews.file} / {@code REVIEWS_FILE} : fichier de persistance des avis ({@code data/reviews.json})</li>
+ *   <li>{@code enrollment.file} / {@code ENROLLMENT_FILE} : journal des inscriptions par section ({@code data/enrollment.bin})</li>
+ *   <li>{@code upstream.cacheDir} / {@code UPSTREAM_CACHE_DIR} : répertoire du cache disque des réponses
+ *       Planifium ({@code data/upstream-cache} ; {@code off} = désactivé)</li>
+ *   <li>{@code upstream.cacheMaxMb} / {@code UPSTREAM_CACHE_MAX_MB} : taille maximale de ce cache (256 Mo)</li>
+ * </ul>
+ */
+public class ServerConfig {
+
+    /** Modèle d’exécution des handlers Javalin. */
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    private int port = 7070;
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private int maxThreads = 250;
+    private int upstreamConcurrency = 64;
+    private String planifiumBaseUrl = CourseService.DEFAULT_API_BASE_URL;
+    private int planifiumBatchSize = CourseService.DEFAULT_BATCH_SIZE;
+    private int planifiumBatchWindowMs = 3;
+    private String reviewsFile = "data/reviews.json";
+    private String enrollmentFile = "data/enrollment.bin";
+    private String upstreamCacheDir = "data/upstream-cache";
+    private int upstreamCacheMaxMb = 256;
+
+    public ServerConfig() {}
+
+    /** Configuration par défaut (port 7070, threads plateforme). */
+    public static ServerConfig defaults() {
+        return new ServerConfig();
+    }
+
+    /**
+     * Lit la configuration depuis les propriétés système puis l’environnement.
+     *
+     * @return la configuration (valeurs par défaut pour les paramètres absents)
+     * @throws IllegalArgumentException si une valeur est invalide
+     */
+    public static ServerConfig fromEnvironment() {
+        ServerConfig cfg = new ServerConfig();
+        String port = setting("server.port", "PORT");
+        if (port != null) cfg.setPort(Integer.parseInt(port.trim()));
+
+        String mode = setting("server.threads", "SERVER_THREADS");
+        if (mode != null) {
+            try {
+                cfg.setThreadMode(ThreadMode.valueOf(mode.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("SERVER_THREADS invalide: '" + mode + "' (platform ou virtual).");
+            }
+        }
+
+        String max = setting("server.maxThreads", "SERVER_MAX_THREADS");
+        if (max != null) cfg.setMaxThreads(Integer.parseInt(max.trim()));
+
+        String upstream = setting("upstream.maxConcurrency", "UPSTREAM_MAX_CONCURRENCY");
+        if (upstream != null) cfg.setUpstreamConcurrency(Integer.parseInt(upstream.trim()));
+
+        String planifium = setting("planifium.baseUrl", "PLANIFIUM_BASE_URL");
+        if (planifium != null) cfg.setPlanifiumBaseUrl(planifium.trim());
+
+        String batch = setting("planifium.batchSize", "PLANIFIUM_BATCH_SIZE");
+        if (batch != null) cfg.setPlanifiumBatchSize(Integer.parseInt(batch.trim()));
+
+        String window = setting("planifium.batchWindowMs", "PLANIFIUM_BATCH_WINDOW_MS");
+        if (window != null) cfg.setPlanifiumBatchWindowMs(Integer.parseInt(window.trim()));
+
+        String reviews = setting("reviews.file", "REVIEWS_FILE");
+        if (reviews != null) cfg.setReviewsFile(reviews.trim());
+
+        String enrollment = setting("enrollment.file", "ENROLLMENT_FILE");
+        if (enrollment != null) cfg.setEnrollmentFile(enrollment.trim());
+
+        String cacheDir = setting("upstream.cacheDir", "UPSTREAM_CACHE_DIR");
+        if (cacheDir != null) cfg.setUpstreamCacheDir("off".equalsIgnoreCase(cacheDir.trim()) ? null : cacheDir.trim());
+
+        String cacheMax = setting("upstream.cacheMaxMb", "UPSTREAM_CACHE_MAX_MB");
+        if (cacheMax != null) cfg.setUpstreamCacheMaxMb(Integer.parseInt(cacheMax.trim()));
+        return cfg;
+    }
+
+    /**
+     * Indique si la JVM courante supporte les threads virtuels (Java 21+).
+     * Sinon, le mode {@link ThreadMode#VIRTUAL} retombe sur le pool de threads plateforme
+     * (voir {@link #getEffectiveThreadMode()}).
+     */
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static String setting(String property, String env) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) value = System.getenv(env);
+        return (value == null || value.isBlank()) ? null : value;
+    }
+
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+
+    public ThreadMode getThreadMode() { return threadMode; }
+    public void setThreadMode(ThreadMode threadMode) { this.threadMode = threadMode; }
+
+    /**
+     * Mode réellement utilisé : {@link ThreadMode#VIRTUAL} n'est retenu que si la JVM
+     * le supporte, sinon {@link ThreadMode#PLATFORM} (pool de {@code maxThreads} threads).
+     */
+    public ThreadMode getEffectiveThreadMode() {
+        return (threadMode == ThreadMode.VIRTUAL && !virtualThreadsAvailable()) ? ThreadMode.PLATFORM : threadMode;
+    }
+
+    public int getMaxThreads() { return maxThreads; }
+    public void setMaxThreads(int maxThreads) { this.maxThreads = Math.max(8, maxThreads); }
+
+    public int getUpstreamConcurrency() { return upstreamConcurrency; }
+    public void setUpstreamConcurrency(int upstreamConcurrency) { this.upstreamConcurrency = Math.max(1, upstreamConcurrency); }
+
+    public String getPlanifiumBaseUrl() { return planifiumBaseUrl; }
+    public void setPlanifiumBaseUrl(String planifiumBaseUrl) { this.planifiumBaseUrl = planifiumBaseUrl; }
+
+    public int getPlanifiumBatchSize() { return planifiumBatchSize; }
+    public void setPlanifiumBatchSize(int planifiumBatchSize) { this.planifiumBatchSize = Math.max(1, planifiumBatchSize); }
+
+    public int getPlanifiumBatchWindowMs() { return planifiumBatchWindowMs; }
+    public void setPlanifiumBatchWindowMs(int planifiumBatchWindowMs) { this.planifiumBatchWindowMs = Math.max(0, planifiumBatchWindowMs); }
+
+    public String getReviewsFile() { return reviewsFile; }
+    public void setReviewsFile(String reviewsFile) { this.reviewsFile = reviewsFile; }
+
+    public String getEnrollmentFile() { return enrollmentFile; }
+    public void setEnrollmentFile(String enrollmentFile) { this.enrollmentFile = enrollmentFile; }
+
+    /** Répertoire du cache disque des réponses Planifium, ou {@code null} si désactivé. */
+    public String getUpstreamCacheDir() { return upstreamCacheDir; }
+    public void setUpstreamCacheDir(String upstreamCacheDir) { this.upstreamCacheDir = upstreamCacheDir; }
+
+    public int getUpstreamCacheMaxMb() { return upstreamCacheMaxMb; }
+    public void setUpstreamCacheMaxMb(int upstreamCacheMaxMb) { this.upstreamCacheMaxMb = Math.max(16, upstreamCacheMaxMb); }
+}
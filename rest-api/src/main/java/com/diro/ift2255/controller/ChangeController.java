@@ -0,0 +1,55 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.service.CatalogSyncService;
+import com.diro.ift2255.util.ResponseUtil;
+import io.javalin.http.Context;
+/**
+ * Contrôleur REST (Javalin) du flux des changements détectés par la synchronisation du catalogue.
+ *
+ * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
+ */
+public class ChangeController {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final CatalogSyncService service;
+
+    /**
+     * @param service synchronisation incrémentale du catalogue
+     */
+    public ChangeController(CatalogSyncService service) {
+        this.service = service;
+    }
+
+    /**
+     * Cours dont l'horaire a changé (ajoutés, retirés ou modifiés) depuis un numéro de séquence.
+     * Le champ {@code next} de la réponse sert de {@code since} pour la requête suivante.
+     * Ex:
+     *  GET /changes
+     *  GET /changes?since=42&amp;limit=50
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getChanges(Context ctx) {
+        long since = 0;
+        int limit = DEFAULT_LIMIT;
+        try {
+            String s = ctx.queryParam("since");
+            if (s != null && !s.isBlank()) since = Long.parseLong(s.trim());
+            String l = ctx.queryParam("limit");
+            if (l != null && !l.isBlank()) limit = Integer.parseInt(l.trim());
+        } catch (NumberFormatException e) {
+            ctx.status(400).json(ResponseUtil.error("Les paramètres 'since' et 'limit' doivent être des entiers."));
+            return;
+        }
+        if (since < 0) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'since' doit être positif ou nul."));
+            return;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et " + MAX_LIMIT + "."));
+            return;
+        }
+        ctx.json(ResponseUtil.ok(service.changesSince(since, limit)));
+    }
+}
@@ -2,13 +2,25 @@ package com.diro.ift2255.controller;
 
 import com.diro.ift2255.model.Course;
 import com.diro.ift2255.model.EligibilityResult;
+import com.diro.ift2255.model.Page;
 import com.diro.ift2255.service.AcademicResultService;
+import com.diro.ift2255.service.ActivityIntervalIndex;
+import com.diro.ift2255.service.CatalogIndexService;
 import com.diro.ift2255.service.CompareService;
+import com.diro.ift2255.service.CourseFacetIndex;
 import com.diro.ift2255.service.CourseService;
+import com.diro.ift2255.service.OfferedCoursesCache;
 import com.diro.ift2255.service.ProgramService;
+import com.diro.ift2255.service.ScheduleConflictService;
+import com.diro.ift2255.util.CourseJsonWriter;
+import com.diro.ift2255.util.Json;
+import com.diro.ift2255.util.PageCursor;
 import com.diro.ift2255.util.ResponseUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.http.Context;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
@@ -35,24 +47,36 @@ public class CourseController {
     private final AcademicResultService resultsService;
     /** Service responsable de la comparaison de cours (avis + résultats + informations du catalogue). */
     private final CompareService compareService;
-    /** Service lié aux programmes (filtrage de cours d’un programme, cours offerts par trimestre, etc.). */
-    private final ProgramService programService;
+    /** Cours offerts précalculés par programme et trimestre (filtrage par programme). */
+    private final OfferedCoursesCache offeredCache;
+    /** Catalogue indexé en bitmaps (filtres term/period/credits/dept/cycle et facettes). */
+    private final CatalogIndexService catalogIndex;
+    /** Index d'horaire des cours offerts (filtre fitsIn sur les fenêtres libres). */
+    private final ScheduleConflictService scheduleService;
+    /** Sérialisation des listes de cours (projection de champs, écriture en flux). */
+    private final CourseJsonWriter jsonWriter = new CourseJsonWriter(Json.MAPPER);
     /**
      * Construit un contrôleur de cours.
      *
      * @param service service des cours (catalogue/recherche)
      * @param resultsService service des résultats académiques agrégés
      * @param compareService service de comparaison de cours
-     * @param programService service de programmes (filtrage par programme)
+     * @param offeredCache cours offerts précalculés par programme (filtrage par programme)
+     * @param catalogIndex catalogue indexé pour le filtrage local par attributs
+     * @param scheduleService index d'horaire des cours offerts (filtre fitsIn)
      */
     public CourseController(CourseService service,
                             AcademicResultService resultsService,
                             CompareService compareService,
-                            ProgramService programService) {
+                            OfferedCoursesCache offeredCache,
+                            CatalogIndexService catalogIndex,
+                            ScheduleConflictService scheduleService) {
         this.service = service;
         this.resultsService = resultsService;
         this.compareService = compareService;
-        this.programService = programService;
+        this.offeredCache = offeredCache;
+        this.catalogIndex = catalogIndex;
+        this.scheduleService = scheduleService;
     }
 
     // Validation type: IFT2255 (3 lettres + 4 chiffres)
@@ -67,9 +91,27 @@ public class CourseController {
      *  GET /courses?description=java
      *  GET /courses?courses_sigle=ift1015,ift1025
      *  GET /courses?sigle_prefix=IFT  (recherche par préfixe, ex: tous les IFT*)
+     *
+     * Options de présentation (non transmises à Planifium):
+     *  limit=50&amp;cursor=...      pagination (curseur opaque, voir page.nextCursor)
+     *  stream=json | stream=ndjson  écriture en flux, cours par cours
+     *  fields=id,name,credits       projection des champs de chaque cours
+     *
+     * Filtres locaux (index bitmap du catalogue, sans appel à Planifium), avec facettes:
+     *  GET /courses?term=autumn&amp;period=evening&amp;credits=3&amp;dept=IFT&amp;cycle=1
+     *  GET /courses?term=autumn,winter&amp;dept=IFT  (plusieurs valeurs = OU)
+     *  GET /courses?facets=true                  (facettes du catalogue complet)
      * @param ctx contexte Javalin (requête/réponse)
      */
     public void getAllCourses(Context ctx) {
+        ListingOptions opts = parseListingOptions(ctx, null);
+        if (opts == null) return;
+
+        if (isFacetQuery(ctx)) {
+            getIndexedCourses(ctx, opts);
+            return;
+        }
+
         // Cas spécial: recherche par préfixe de sigle (ex: IFT → tous les IFT*)
         String siglePrefix = ctx.queryParam("sigle_prefix");
         if (siglePrefix != null && !siglePrefix.isBlank()) {
@@ -82,21 +124,108 @@ public class CourseController {
             Map<String, String> queryParams = extractQueryParams(ctx);
             queryParams.remove("sigle_prefix"); // Ne pas envoyer à Planifium
             List<Course> courses = service.searchBySiglePrefix(prefix, queryParams);
-            
+
             // Message informatif si préfixe non supporté (liste vide)
-            if (courses.isEmpty()) {
-                ctx.json(ResponseUtil.ok(courses, 
-                    "Aucun cours trouvé pour le préfixe '" + prefix + "'. Préfixes supportés: IFT, MAT, STT, PHY."));
-                return;
-            }
-            ctx.json(ResponseUtil.ok(courses));
+            respondWithCourses(ctx, courses, opts,
+                    "Aucun cours trouvé pour le préfixe '" + prefix + "'. Préfixes supportés: IFT, MAT, STT, PHY.");
             return;
         }
 
         // Cas normal: recherche Planifium (name, description, courses_sigle)
         Map<String, String> queryParams = extractQueryParams(ctx);
+
+        // Mode flux: les cours sont désérialisés et écrits un à un, sans liste intermédiaire
+        if (opts.stream != null) {
+            if (opts.paged) {
+                ctx.status(400).json(ResponseUtil.error(
+                        "Les paramètres 'limit'/'cursor' ne sont pas disponibles avec 'stream' pour une recherche Planifium."));
+                return;
+            }
+            Iterator<Course> it;
+            try {
+                it = service.iterateAllCourses(queryParams);
+            } catch (RuntimeException e) {
+                ctx.status(502).json(ResponseUtil.error("Planifium indisponible: " + e.getMessage()));
+                return;
+            }
+            streamCourses(ctx, it, opts);
+            return;
+        }
+
         List<Course> courses = service.getAllCourses(queryParams);
-        ctx.json(ResponseUtil.ok(courses));
+        respondWithCourses(ctx, courses, opts, null);
+    }
+
+    /**
+     * Filtrage local par attributs sur le catalogue indexé ; la réponse contient
+     * aussi {@code facets} (décompte par valeur de chaque attribut).
+     */
+    private void getIndexedCourses(Context ctx, ListingOptions opts) {
+        for (String remote : List.of("sigle_prefix", "name", "description", "courses_sigle")) {
+            if (ctx.queryParam(remote) != null) {
+                ctx.status(400).json(ResponseUtil.error("Le paramètre '" + remote
+                        + "' ne peut pas être combiné avec les filtres term/period/credits/dept/cycle."));
+                return;
+            }
+        }
+
+        Map<String, Set<String>> criteria = new LinkedHashMap<>();
+        for (String attr : CourseFacetIndex.ATTRIBUTES) {
+            Set<String> values = new LinkedHashSet<>();
+            for (String raw : ctx.queryParams(attr)) {
+                for (String v : raw.split(",")) {
+                    String value = CourseFacetIndex.normalize(attr, v);
+                    if (value == null) continue;
+                    String invalid = validateFacetValue(attr, value);
+                    if (invalid != null) {
+                        ctx.status(400).json(ResponseUtil.error(invalid));
+                        return;
+                    }
+                    values.add(value);
+                }
+            }
+            if (!values.isEmpty()) criteria.put(attr, values);
+        }
+
+        CourseFacetIndex.Result result;
+        try {
+            result = catalogIndex.query(criteria);
+        } catch (RuntimeException e) {
+            ctx.status(502).json(ResponseUtil.error("Catalogue Planifium indisponible: " + e.getMessage()));
+            return;
+        }
+        respondWithCourses(ctx, result.getCourses(), opts, null, Map.of("facets", result.getFacets()));
+    }
+
+    private boolean isFacetQuery(Context ctx) {
+        if ("true".equalsIgnoreCase(ctx.queryParam("facets"))) return true;
+        for (String attr : CourseFacetIndex.ATTRIBUTES) {
+            if (ctx.queryParam(attr) != null) return true;
+        }
+        return false;
+    }
+
+    /** Retourne un message d'erreur si la valeur (déjà normalisée) est invalide pour l'attribut. */
+    private static String validateFacetValue(String attr, String value) {
+        switch (attr) {
+            case CourseFacetIndex.TERM:
+                return value.matches("autumn|winter|summer") ? null
+                        : "Le paramètre 'term' doit valoir autumn, winter ou summer.";
+            case CourseFacetIndex.PERIOD:
+                return value.matches("daytime|evening") ? null
+                        : "Le paramètre 'period' doit valoir daytime ou evening.";
+            case CourseFacetIndex.CREDITS:
+                return value.matches("^\\d+(\\.\\d+)?$") ? null
+                        : "Le paramètre 'credits' doit être un nombre (ex: 3).";
+            case CourseFacetIndex.DEPT:
+                return value.matches("^[A-Z]{2,3}$") ? null
+                        : "Le paramètre 'dept' doit contenir 2 ou 3 lettres (ex: IFT).";
+            case CourseFacetIndex.CYCLE:
+                return value.matches("^[1-3]$") ? null
+                        : "Le paramètre 'cycle' doit valoir 1, 2 ou 3.";
+            default:
+                return null;
+        }
     }
 
     /**
@@ -104,7 +233,14 @@ public class CourseController {
      * ex:
      *  GET /courses/offered?semester=H25
      *  GET /courses/offered?semester=H25&amp;programId=117510
-     *  GET /courses/offered?semester=H25&amp;limit=50
+     *  GET /courses/offered?semester=H25&amp;limit=50&amp;cursor=...
+     *  GET /courses/offered?semester=H25&amp;stream=ndjson&amp;fields=id,name
+     *  GET /courses/offered?semester=H25&amp;fitsIn=MO:13:00-17:00,TH:08:30-12:00
+     *
+     * {@code fitsIn} ne garde que les cours ayant au moins une section dont toutes
+     * les activités tiennent dans les fenêtres (index d'intervalles, sans appel Planifium).
+     * La liste est servie depuis un instantané précalculé ({@link OfferedCoursesCache});
+     * {@code limit} est la taille de page (100 par défaut).
      * @param ctx contexte Javalin (requête/réponse)
      */
     public void getCoursesOfferedBySemester(Context ctx) {
@@ -122,36 +258,35 @@ public class CourseController {
             return;
         }
 
-        // Paramètre optionnel: programId
+        // Paramètres optionnels: limit (défaut 100), cursor, stream, fields
+        ListingOptions opts = parseListingOptions(ctx, 100);
+        if (opts == null) return;
+
+        // Paramètre optionnel: programId (sinon liste globale)
         String programId = ctx.queryParam("programId");
+        String key = (programId != null && !programId.isBlank()) ? programId.trim() : OfferedCoursesCache.ALL_PROGRAMS;
+        if (!key.equals(OfferedCoursesCache.ALL_PROGRAMS) && !ProgramService.isValidProgramId(key)) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'programId' n'est pas valide (ex: 117510)."));
+            return;
+        }
 
-        // Paramètre optionnel: limit
-        int limit = 100;
-        String limitParam = ctx.queryParam("limit");
-        if (limitParam != null && !limitParam.isBlank()) {
+        // Paramètre optionnel: fitsIn (fenêtres libres, ex: MO:13:00-17:00,TH:08:30-12:00)
+        String fitsIn = ctx.queryParam("fitsIn");
+        if (fitsIn != null) {
+            Map<Integer, List<int[]>> windows;
             try {
-                limit = Integer.parseInt(limitParam.trim());
-                if (limit < 1 || limit > 500) {
-                    ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et 500."));
-                    return;
-                }
-            } catch (NumberFormatException e) {
-                ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être un entier."));
+                windows = ActivityIntervalIndex.parseWindows(fitsIn);
+            } catch (IllegalArgumentException e) {
+                ctx.status(400).json(ResponseUtil.error(e.getMessage()));
                 return;
             }
+            respondWithCourses(ctx, scheduleService.fitsIn(key, semNormalized, windows), opts,
+                    "Aucun cours offert n'a de section entièrement comprise dans ces plages horaires.");
+            return;
         }
 
-        List<Course> courses;
-
-        if (programId != null && !programId.isBlank()) {
-            // Filtrer par programme
-            courses = programService.getProgramCoursesOfferedInSemester(programId.trim(), semNormalized, limit);
-        } else {
-            // Recherche globale via Planifium avec schedule
-            courses = service.getCoursesOfferedBySemester(semNormalized, limit);
-        }
-
-        ctx.json(ResponseUtil.ok(courses));
+        List<Course> courses = offeredCache.get(key, semNormalized).getCourses();
+        respondWithCourses(ctx, courses, opts, null);
     }
 
     /**
@@ -215,6 +350,8 @@ public class CourseController {
      * NEW - Comparaison "réelle" : Planifium (nom) + Avis + CSV
      * Ex:
      *  GET /courses/compare-full?ids=IFT2255,IFT1025
+     *  GET /courses/compare-full?ids=IFT2255,IFT1025,IFT2015&sort=-avgWorkload
+     * Au plus 50 cours ; tri par id, name, reviewCount, avgDifficulty, avgWorkload, csvScore ou participants.
      * @param ctx contexte Javalin (requête/réponse)
      */
     public void compareCoursesFull(Context ctx) {
@@ -236,7 +373,11 @@ public class CourseController {
         }
 
         // Retourne une liste de CompareItem (DTO) via CompareService
-        ctx.json(ResponseUtil.ok(compareService.compare(ids)));
+        try {
+            ctx.json(ResponseUtil.ok(compareService.compare(ids, ctx.queryParam("sort"))));
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error(e.getMessage()));
+        }
     }
 
     /**
@@ -305,14 +446,146 @@ public class CourseController {
 
     /**
      * Utilitaire: récupère tous les paramètres de requête dans une Map
+     * (sans les options de présentation: limit, cursor, stream, fields)
      */
     private Map<String, String> extractQueryParams(Context ctx) {
         Map<String, String> queryParams = new HashMap<>();
         ctx.queryParamMap().forEach((key, values) -> {
-            if (!values.isEmpty()) {
+            if (!values.isEmpty() && !PRESENTATION_PARAMS.contains(key)) {
                 queryParams.put(key, values.get(0));
             }
         });
         return queryParams;
     }
+
+    // ------------------------------
+    // Pagination / flux / projection
+    // ------------------------------
+
+    /** Paramètres de présentation traités localement (jamais envoyés à Planifium). */
+    private static final Set<String> PRESENTATION_PARAMS = Set.of("limit", "cursor", "stream", "fields", "facets");
+
+    /** Options de présentation d'une liste de cours. */
+    private static final class ListingOptions {
+        boolean paged;
+        int limit;
+        String cursor;
+        CourseJsonWriter.Format stream;
+        Set<String> fields;
+    }
+
+    /**
+     * Lit et valide limit / cursor / stream / fields. Envoie un 400 et retourne null si invalide.
+     *
+     * @param defaultLimit taille de page par défaut (null = pas de pagination sans 'limit'/'cursor')
+     */
+    private ListingOptions parseListingOptions(Context ctx, Integer defaultLimit) {
+        ListingOptions opts = new ListingOptions();
+
+        String limitParam = ctx.queryParam("limit");
+        String cursor = ctx.queryParam("cursor");
+        opts.paged = defaultLimit != null
+                || (limitParam != null && !limitParam.isBlank())
+                || (cursor != null && !cursor.isBlank());
+        opts.limit = (defaultLimit != null) ? defaultLimit : 100;
+        opts.cursor = cursor;
+
+        if (limitParam != null && !limitParam.isBlank()) {
+            try {
+                opts.limit = Integer.parseInt(limitParam.trim());
+            } catch (NumberFormatException e) {
+                ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être un entier."));
+                return null;
+            }
+            if (opts.limit < 1 || opts.limit > 500) {
+                ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et 500."));
+                return null;
+            }
+        }
+
+        try {
+            PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'cursor' est invalide."));
+            return null;
+        }
+
+        String stream = ctx.queryParam("stream");
+        if (stream != null && !stream.isBlank()) {
+            switch (stream.trim().toLowerCase()) {
+                case "json", "true" -> opts.stream = CourseJsonWriter.Format.JSON;
+                case "ndjson" -> opts.stream = CourseJsonWriter.Format.NDJSON;
+                default -> {
+                    ctx.status(400).json(ResponseUtil.error("Le paramètre 'stream' doit valoir 'json' ou 'ndjson'."));
+                    return null;
+                }
+            }
+        }
+
+        try {
+            opts.fields = jsonWriter.parseFields(ctx.queryParam("fields"));
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error(e.getMessage()));
+            return null;
+        }
+        return opts;
+    }
+
+    /**
+     * Répond avec une liste de cours déjà calculée, en appliquant pagination, flux et projection.
+     * En mode flux paginé, le curseur suivant est transmis dans l'en-tête X-Next-Cursor.
+     */
+    private void respondWithCourses(Context ctx, List<Course> courses, ListingOptions opts, String emptyMessage) {
+        respondWithCourses(ctx, courses, opts, emptyMessage, null);
+    }
+
+    /**
+     * Variante ajoutant des champs supplémentaires à l'enveloppe (ex: facets).
+     * En mode flux, ces champs ne sont pas écrits.
+     */
+    private void respondWithCourses(Context ctx, List<Course> courses, ListingOptions opts, String emptyMessage,
+                                    Map<String, Object> extra) {
+        Page<Course> page = opts.paged ? PageCursor.slice(courses, opts.cursor, opts.limit) : null;
+
+        if (opts.stream != null) {
+            if (page != null && page.getNextCursor() != null) ctx.header("X-Next-Cursor", page.getNextCursor());
+            streamCourses(ctx, (page != null ? page.getItems() : courses).iterator(), opts);
+            return;
+        }
+
+        Map<String, Object> body;
+        if (page != null) {
+            body = ResponseUtil.page(page);
+        } else if (courses.isEmpty() && emptyMessage != null) {
+            body = ResponseUtil.ok(courses, emptyMessage);
+        } else {
+            body = ResponseUtil.ok(courses);
+        }
+        if (extra != null) {
+            Map<String, Object> merged = new LinkedHashMap<>();
+            merged.put("success", true);
+            merged.putAll(body);
+            merged.putAll(extra);
+            body = merged;
+        }
+
+        if (opts.fields == null) {
+            ctx.json(body);
+            return;
+        }
+        try {
+            ctx.contentType("application/json").result(jsonWriter.toBytes(body, opts.fields));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void streamCourses(Context ctx, Iterator<Course> courses, ListingOptions opts) {
+        ctx.contentType(opts.stream == CourseJsonWriter.Format.NDJSON ? "application/x-ndjson" : "application/json");
+        try {
+            jsonWriter.stream(ctx.outputStream(), courses, opts.stream, opts.fields);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
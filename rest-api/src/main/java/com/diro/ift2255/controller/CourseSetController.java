@@ -2,8 +2,8 @@ package com.diro.ift2255.controller;
 
 import com.diro.ift2255.model.CourseSet;
 import com.diro.ift2255.service.CourseSetService;
+import com.diro.ift2255.util.Json;
 import com.diro.ift2255.util.ResponseUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 
 import java.util.List;
@@ -26,9 +26,6 @@ public class CourseSetController {
     /** Service applicatif responsable de la création, consultation et analyse des ensembles de cours. */
     private final CourseSetService service;
 
-    /** Mapper JSON utilisé pour lire le corps des requêtes (POST) et valider la structure du JSON. */
-    private final ObjectMapper mapper = new ObjectMapper();
-
     /**
     * Construit un {@code CourseSetController}.
     *
@@ -59,17 +56,13 @@ public class CourseSetController {
     */
     public void createSet(Context ctx) {
         try {
-            String raw = ctx.body();
-            if (raw == null || raw.isBlank()) {
+            // Lecture directe du flux (BOM UTF-8 éventuel ignoré par Jackson)
+            CourseSet body = Json.readBody(ctx.bodyInputStream(), Json.COURSE_SET_READER);
+            if (body == null) {
                 ctx.status(400).json(ResponseUtil.error("Body vide. Envoyez un JSON avec Content-Type: application/json."));
                 return;
             }
 
-            // FIX: enlever BOM + espaces
-            raw = raw.replace("\uFEFF", "").trim();
-
-            CourseSet body = mapper.readValue(raw, CourseSet.class);
-
             // Validation du trimestre
             if (body.getSemester() == null || body.getSemester().isBlank()) {
                 ctx.status(400).json(ResponseUtil.error("Le champ 'semester' est requis (ex: H25, A24, E24)."));
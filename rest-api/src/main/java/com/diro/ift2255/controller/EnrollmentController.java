@@ -0,0 +1,83 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.service.EnrollmentService;
+import com.diro.ift2255.util.ResponseUtil;
+import io.javalin.http.Context;
+
+import java.time.Duration;
+/**
+ * Contrôleur REST (Javalin) du suivi des inscriptions par section.
+ *
+ * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
+ */
+public class EnrollmentController {
+
+    private static final int DEFAULT_DAYS = 7;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final EnrollmentService service;
+
+    /**
+     * @param service suivi des inscriptions (journal des échantillons)
+     */
+    public EnrollmentController(EnrollmentService service) {
+        this.service = service;
+    }
+
+    /**
+     * Courbe de remplissage des sections d'un cours.
+     * Ex:
+     *  GET /courses/IFT2255/enrollment
+     *  GET /courses/IFT2255/enrollment?semester=H25
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getCourseEnrollment(Context ctx) {
+        String id = ctx.pathParam("id");
+        if (id == null || !id.trim().matches("(?i)^[A-Z]{3}\\d{4}$")) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre id n'est pas valide (ex: IFT2255)."));
+            return;
+        }
+        String semester = ctx.queryParam("semester");
+        if (semester != null && !semester.trim().toUpperCase().matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Format de trimestre invalide. Utilisez H25, A24, E24, etc."));
+            return;
+        }
+        ctx.json(ResponseUtil.ok(service.curves(id, semester)));
+    }
+
+    /**
+     * Sections qui se remplissent le plus vite sur une période.
+     * Ex:
+     *  GET /enrollment/fastest?semester=H25
+     *  GET /enrollment/fastest?semester=H25&amp;days=3&amp;limit=5
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getFastestFilling(Context ctx) {
+        String semester = ctx.queryParam("semester");
+        if (semester == null || !semester.trim().toUpperCase().matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'semester' est requis (ex: H25, A24, E24)."));
+            return;
+        }
+        int days = DEFAULT_DAYS;
+        int limit = DEFAULT_LIMIT;
+        try {
+            String d = ctx.queryParam("days");
+            if (d != null && !d.isBlank()) days = Integer.parseInt(d.trim());
+            String l = ctx.queryParam("limit");
+            if (l != null && !l.isBlank()) limit = Integer.parseInt(l.trim());
+        } catch (NumberFormatException e) {
+            ctx.status(400).json(ResponseUtil.error("Les paramètres 'days' et 'limit' doivent être des entiers."));
+            return;
+        }
+        if (days < 1 || days > 365) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'days' doit être entre 1 et 365."));
+            return;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et " + MAX_LIMIT + "."));
+            return;
+        }
+        ctx.json(ResponseUtil.ok(service.fastestFilling(semester, Duration.ofDays(days), limit)));
+    }
+}
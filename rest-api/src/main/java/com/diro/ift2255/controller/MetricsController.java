@@ -0,0 +1,43 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import io.javalin.http.Context;
+
+import java.util.List;
+/**
+ * Contrôleur REST (Javalin) exposant les métriques du serveur au format Prometheus.
+ *
+ * <p>Endpoint : {@code GET /metrics}. Les métriques sont lues auprès de chaque
+ * composant instrumenté ({@link MetricsSource}) au moment de la collecte :
+ * latences par route et par endpoint Planifium, taux de succès des caches,
+ * écriture des avis, mémoire et ramasse-miettes de la JVM.</p>
+ */
+public class MetricsController {
+    /** Composants instrumentés, dans l’ordre d’écriture. */
+    private final List<MetricsSource> sources;
+
+    /**
+     * Construit un {@code MetricsController}.
+     *
+     * @param sources composants dont les métriques sont exposées
+     */
+    public MetricsController(List<MetricsSource> sources) {
+        this.sources = List.copyOf(sources);
+    }
+
+    /**
+     * Retourne les métriques au format texte Prometheus.
+     *
+     * <p>Endpoint : {@code GET /metrics}</p>
+     *
+     * @param ctx contexte Javalin (réponse texte)
+     */
+    public void getMetrics(Context ctx) {
+        MetricsWriter writer = new MetricsWriter();
+        for (MetricsSource source : sources) {
+            source.writeMetrics(writer);
+        }
+        ctx.contentType(MetricsWriter.CONTENT_TYPE).result(writer.build());
+    }
+}
@@ -1,6 +1,8 @@
 package com.diro.ift2255.controller;
 
+import com.diro.ift2255.service.OfferedCoursesCache;
 import com.diro.ift2255.service.ProgramService;
+import com.diro.ift2255.util.PageCursor;
 import com.diro.ift2255.util.ResponseUtil;
 import io.javalin.http.Context;
 /**
@@ -18,13 +20,17 @@ import io.javalin.http.Context;
 public class ProgramController {
     /** Service applicatif fournissant l’accès aux programmes et à leurs cours associés. */
     private final ProgramService service;
+    /** Instantanés précalculés des cours offerts par programme et trimestre. */
+    private final OfferedCoursesCache offeredCache;
     /**
     * Construit un {@code ProgramController}.
     *
     * @param service service de gestion des programmes académiques
+    * @param offeredCache cache des cours offerts par programme/trimestre
     */
-    public ProgramController(ProgramService service) {
+    public ProgramController(ProgramService service, OfferedCoursesCache offeredCache) {
         this.service = service;
+        this.offeredCache = offeredCache;
     }
 
     /**
@@ -50,32 +56,54 @@ public class ProgramController {
     /**
     * Retourne la liste des cours offerts dans un programme pour un trimestre donné.
     *
-    * <p>Endpoint : {@code GET /programs/{programId}/courses?semester=H25}</p>
+    * <p>Endpoint : {@code GET /programs/{programId}/courses?semester=H25&limit=50&cursor=...}</p>
+    *
+    * <p>La liste est servie depuis un instantané précalculé ({@link OfferedCoursesCache}).
+    * {@code limit} est la taille de page ; {@code cursor} est le curseur {@code page.nextCursor}
+    * retourné par la page précédente.</p>
     *
     * @param ctx contexte Javalin (paramètre de chemin {@code programId},
-    *            paramètre de requête {@code semester} + réponse JSON)
+    *            paramètres de requête {@code semester}, {@code limit}, {@code cursor} + réponse JSON)
     */
     public void getProgramCoursesOfferedInSemester(Context ctx) {
         String id = ctx.pathParam("id");
         String semester = ctx.queryParam("semester");
         String limitParam = ctx.queryParam("limit");
 
+        if (!ProgramService.isValidProgramId(id)) {
+            ctx.status(400).json(ResponseUtil.error("L'identifiant de programme n'est pas valide (ex: 117510)."));
+            return;
+        }
+
         if (semester == null || semester.isBlank()) {
             ctx.status(400).json(ResponseUtil.error("Le paramètre 'semester' est requis (ex: H25, A24, E24)."));
             return;
         }
 
+        if (!semester.trim().toUpperCase().matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Format de trimestre invalide. Utilisez H25, A24, E24, etc."));
+            return;
+        }
+
         int limit = 200;
         if (limitParam != null && !limitParam.isBlank()) {
             try {
                 limit = Integer.parseInt(limitParam.trim());
+                if (limit < 1 || limit > 500) {
+                    ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et 500."));
+                    return;
+                }
             } catch (NumberFormatException e) {
                 ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être un entier."));
                 return;
             }
         }
 
-        var courses = service.getProgramCoursesOfferedInSemester(id, semester, limit);
-        ctx.json(ResponseUtil.ok(courses));
+        var snapshot = offeredCache.get(id, semester);
+        try {
+            ctx.json(ResponseUtil.page(PageCursor.slice(snapshot.getCourses(), ctx.queryParam("cursor"), limit)));
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'cursor' est invalide."));
+        }
     }
 }
@@ -0,0 +1,97 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.service.OfferedCoursesCache;
+import com.diro.ift2255.service.ProgramService;
+import com.diro.ift2255.service.RecommendationService;
+import com.diro.ift2255.util.ResponseUtil;
+import io.javalin.http.Context;
+
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Contrôleur REST (Javalin) des recommandations de cours.
+ *
+ * <p>Classe les cours offerts d’un trimestre auxquels l’étudiant est admissible
+ * selon la charge de travail, la difficulté (avis) et les résultats académiques (CSV).</p>
+ *
+ * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
+ */
+public class RecommendationController {
+
+    /** Nombre de recommandations par défaut. */
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final RecommendationService service;
+
+    /**
+     * @param service service de recommandation
+     */
+    public RecommendationController(RecommendationService service) {
+        this.service = service;
+    }
+
+    /**
+     * Recommande des cours pour un trimestre.
+     * Ex:
+     *  GET /recommendations?semester=H25
+     *  GET /recommendations?semester=H25&amp;completed=IFT1015,IFT1025&amp;maxWorkload=3
+     *  GET /recommendations?semester=H25&amp;programId=117510&amp;maxDifficulty=4&amp;limit=5
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getRecommendations(Context ctx) {
+        String semester = ctx.queryParam("semester");
+        if (semester == null || semester.isBlank()) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'semester' est requis (ex: H25, A24, E24)."));
+            return;
+        }
+        String semNormalized = semester.trim().toUpperCase();
+        if (!semNormalized.matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Format de trimestre invalide. Utilisez H25, A24, E24, etc."));
+            return;
+        }
+
+        Double maxWorkload;
+        Double maxDifficulty;
+        int limit = DEFAULT_LIMIT;
+        try {
+            maxWorkload = parseRating(ctx.queryParam("maxWorkload"), "maxWorkload");
+            maxDifficulty = parseRating(ctx.queryParam("maxDifficulty"), "maxDifficulty");
+            String limitParam = ctx.queryParam("limit");
+            if (limitParam != null && !limitParam.isBlank()) {
+                limit = Integer.parseInt(limitParam.trim());
+                if (limit < 1 || limit > RecommendationService.MAX_LIMIT) {
+                    throw new IllegalArgumentException("Le paramètre 'limit' doit être entre 1 et " + RecommendationService.MAX_LIMIT + ".");
+                }
+            }
+        } catch (NumberFormatException e) {
+            ctx.status(400).json(ResponseUtil.error("Les paramètres 'maxWorkload', 'maxDifficulty' et 'limit' doivent être numériques."));
+            return;
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error(e.getMessage()));
+            return;
+        }
+
+        String completedParam = ctx.queryParam("completed");
+        List<String> completed = (completedParam == null) ? List.of() : Arrays.stream(completedParam.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+
+        String programId = ctx.queryParam("programId");
+        String key = (programId != null && !programId.isBlank()) ? programId.trim() : OfferedCoursesCache.ALL_PROGRAMS;
+        if (!key.equals(OfferedCoursesCache.ALL_PROGRAMS) && !ProgramService.isValidProgramId(key)) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'programId' n'est pas valide (ex: 117510)."));
+            return;
+        }
+
+        ctx.json(ResponseUtil.ok(service.recommend(key, semNormalized, completed, maxWorkload, maxDifficulty, limit)));
+    }
+
+    // Seuil optionnel sur l'échelle des avis (1 à 5)
+    private static Double parseRating(String raw, String name) {
+        if (raw == null || raw.isBlank()) return null;
+        double v = Double.parseDouble(raw.trim());
+        if (Double.isNaN(v) || v < 1 || v > 5) throw new IllegalArgumentException("Le paramètre '" + name + "' doit être entre 1 et 5.");
+        return v;
+    }
+}
@@ -1,9 +1,11 @@
 package com.diro.ift2255.controller;
 
+import com.diro.ift2255.model.Page;
 import com.diro.ift2255.model.Review;
+import com.diro.ift2255.model.ReviewAggregate;
 import com.diro.ift2255.service.ReviewService;
+import com.diro.ift2255.util.Json;
 import com.diro.ift2255.util.ResponseUtil;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 /**
  * Contrôleur REST (Javalin) responsable des avis étudiants pour un cours.
@@ -18,10 +20,12 @@ import io.javalin.http.Context;
  * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
  */
 public class ReviewController {
+    /** Taille de page par défaut et maximale pour la liste des avis. */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     /** Service applicatif responsable de la gestion, validation et agrégation des avis. */
     private final ReviewService service;
-    /** Mapper JSON utilisé pour lire le corps des requêtes (POST) et sérialiser/désérialiser les avis. */
-    private final ObjectMapper mapper = new ObjectMapper();
     /**
     * Construit un {@code ReviewController}.
     *
@@ -32,9 +36,12 @@ public class ReviewController {
     }
 
     /**
-    * Retourne la liste des avis pour un cours donné.
+    * Retourne les avis d’un cours, du plus récent au plus ancien, par pages.
     *
     * <p>Endpoint : {@code GET /reviews/{courseId}}</p>
+    * <p>Paramètres optionnels : {@code limit} (50 par défaut, 200 au plus),
+    * {@code before} (curseur : {@code nextCursor} de la page précédente),
+    * {@code since} et {@code until} (fenêtre de temps, epoch ms incluses).</p>
     *
     * @param ctx contexte Javalin (paramètre de chemin {@code courseId} + réponse JSON)
     */
@@ -44,13 +51,39 @@ public class ReviewController {
             ctx.status(400).json(ResponseUtil.error("courseId invalide (ex: IFT2255)."));
             return;
         }
-        ctx.json(ResponseUtil.ok(service.getReviewsForCourse(courseId.toUpperCase())));
+
+        int limit = DEFAULT_PAGE_SIZE;
+        String before = ctx.queryParam("before");
+        Long since, until;
+        try {
+            String limitParam = ctx.queryParam("limit");
+            if (limitParam != null && !limitParam.isBlank()) limit = Integer.parseInt(limitParam.trim());
+            since = parseTimestamp(ctx.queryParam("since"));
+            until = parseTimestamp(ctx.queryParam("until"));
+        } catch (NumberFormatException e) {
+            ctx.status(400).json(ResponseUtil.error("Les paramètres 'limit', 'since' et 'until' doivent être des entiers (dates en epoch ms)."));
+            return;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et " + MAX_PAGE_SIZE + "."));
+            return;
+        }
+
+        try {
+            Page<Review> page = service.getReviewsPage(courseId.toUpperCase(), since, until, before, limit);
+            ctx.json(ResponseUtil.page(page));
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'before' doit être le 'nextCursor' d'une page précédente."));
+        }
     }
 
     /**
     * Retourne les statistiques agrégées des avis pour un cours (ex: moyenne difficulté/charge).
     *
     * <p>Endpoint : {@code GET /reviews/{courseId}/aggregate}</p>
+    * <p>Avec {@code ?stats=full} : histogrammes 1..5, médiane, écart type et moyennes
+    * amorties dans le temps (maintenus à chaque ajout, sans coût à la lecture).</p>
+    * <p>La liste des avis n’est jointe qu’avec {@code ?include=reviews}.</p>
     *
     * @param ctx contexte Javalin (paramètre de chemin {@code courseId} + réponse JSON)
     */
@@ -60,7 +93,19 @@ public class ReviewController {
             ctx.status(400).json(ResponseUtil.error("courseId invalide (ex: IFT2255)."));
             return;
         }
-        ctx.json(ResponseUtil.ok(service.getAggregateForCourse(courseId.toUpperCase())));
+        String statsParam = ctx.queryParam("stats");
+        boolean full = statsParam != null && statsParam.trim().equalsIgnoreCase("full");
+        if (statsParam != null && !full && !statsParam.trim().equalsIgnoreCase("basic")) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'stats' doit valoir 'basic' ou 'full'."));
+            return;
+        }
+
+        String include = ctx.queryParam("include");
+        boolean withReviews = include != null && include.trim().equalsIgnoreCase("reviews");
+
+        ReviewAggregate aggregate = service.getAggregateForCourse(courseId.toUpperCase(), withReviews);
+        if (full) aggregate.setStats(service.getStatsForCourse(courseId));
+        ctx.json(ResponseUtil.ok(aggregate));
     }
 
     /**
@@ -78,17 +123,13 @@ public class ReviewController {
     */
     public void createReview(Context ctx) {
         try {
-            String raw = ctx.body();
-            if (raw == null || raw.isBlank()) {
+            // Lecture directe du flux (le BOM UTF-8 ajouté par PowerShell est ignoré par Jackson)
+            Review review = Json.readBody(ctx.bodyInputStream(), Json.REVIEW_READER);
+            if (review == null) {
                 ctx.status(400).json(ResponseUtil.error("Body vide. Envoyez un JSON (Content-Type: application/json)."));
                 return;
             }
 
-            // FIX: enlever BOM + espaces (PowerShell ajoute souvent un BOM UTF-8)
-            raw = raw.replace("\uFEFF", "").trim();
-
-            Review review = mapper.readValue(raw, Review.class);
-
             boolean ok = service.addReview(review);
             if (!ok) {
                 ctx.status(400).json(ResponseUtil.error("Avis invalide (courseId format, difficulty/workload 1..5)."));
@@ -101,4 +142,8 @@ public class ReviewController {
             ctx.status(400).json(ResponseUtil.error("Body JSON invalide: " + e.getMessage()));
         }
     }
+
+    private static Long parseTimestamp(String raw) {
+        return (raw == null || raw.isBlank()) ? null : Long.parseLong(raw.trim());
+    }
 }
@@ -0,0 +1,75 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.service.ScheduleConflictIndex;
+import com.diro.ift2255.service.ScheduleConflictService;
+import com.diro.ift2255.util.ResponseUtil;
+import io.javalin.http.Context;
+
+import java.util.Arrays;
+import java.util.List;
+/**
+ * Contrôleur REST (Javalin) de la compatibilité d’horaire entre cours offerts.
+ *
+ * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
+ */
+public class ScheduleController {
+
+    private final ScheduleConflictService service;
+
+    /**
+     * @param service service de compatibilité d’horaire (matrice de conflits par trimestre)
+     */
+    public ScheduleController(ScheduleConflictService service) {
+        this.service = service;
+    }
+
+    /**
+     * Cours offerts qui peuvent s’ajouter sans conflit d’horaire aux cours choisis.
+     * Ex:
+     *  GET /courses/compatible?semester=H25
+     *  GET /courses/compatible?semester=H25&amp;with=IFT2255,IFT2015
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getCompatibleCourses(Context ctx) {
+        String semester = ctx.queryParam("semester");
+        if (semester == null || semester.isBlank()) {
+            ctx.status(400).json(ResponseUtil.error("Le paramètre 'semester' est requis (ex: H25, A24, E24)."));
+            return;
+        }
+        String semNormalized = semester.trim().toUpperCase();
+        if (!semNormalized.matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Format de trimestre invalide. Utilisez H25, A24, E24, etc."));
+            return;
+        }
+
+        String withParam = ctx.queryParam("with");
+        List<String> with = (withParam == null) ? List.of() : Arrays.stream(withParam.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+        for (String id : with) {
+            if (!id.matches("(?i)^[A-Z]{3}\\d{4}$")) {
+                ctx.status(400).json(ResponseUtil.error("Sigle invalide dans 'with': " + id + " (ex: IFT2255)."));
+                return;
+            }
+        }
+
+        ScheduleConflictIndex.Result result = service.compatible(semNormalized, with);
+        if (!result.getNotOffered().isEmpty()) {
+            ctx.status(400).json(ResponseUtil.error("Cours non offerts au trimestre " + semNormalized + ": "
+                    + String.join(", ", result.getNotOffered())));
+            return;
+        }
+        if (!result.isFeasible()) {
+            ctx.json(ResponseUtil.ok(result.getCourses(),
+                    "Les cours choisis ne peuvent pas être suivis ensemble (aucune combinaison de sections sans conflit)."));
+            return;
+        }
+        if (result.isTruncated()) {
+            ctx.json(ResponseUtil.ok(result.getCourses(),
+                    "Trop de combinaisons de sections: résultat partiel (les cours listés sont compatibles)."));
+            return;
+        }
+        ctx.json(ResponseUtil.ok(result.getCourses()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.diro.ift2255.controller;
+
+import com.diro.ift2255.model.TeacherSection;
+import com.diro.ift2255.service.TeacherIndexService;
+import com.diro.ift2255.util.ResponseUtil;
+import io.javalin.http.Context;
+
+import java.util.List;
+/**
+ * Contrôleur REST (Javalin) des enseignants, à partir des horaires déjà chargés.
+ *
+ * Les réponses JSON sont standardisées via {@link com.diro.ift2255.util.ResponseUtil}.
+ */
+public class TeacherController {
+
+    /** Nombre de résultats par défaut / maximal pour la recherche. */
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    private final TeacherIndexService service;
+
+    /**
+     * @param service index inversé enseignant → sections
+     */
+    public TeacherController(TeacherIndexService service) {
+        this.service = service;
+    }
+
+    /**
+     * Recherche d'enseignants par préfixe (casse et accents ignorés).
+     * Ex:
+     *  GET /teachers?q=trem
+     *  GET /teachers?q=jean%20fr&amp;limit=5
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void searchTeachers(Context ctx) {
+        int limit = DEFAULT_LIMIT;
+        String limitParam = ctx.queryParam("limit");
+        if (limitParam != null && !limitParam.isBlank()) {
+            try {
+                limit = Integer.parseInt(limitParam.trim());
+            } catch (NumberFormatException e) {
+                ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être un entier."));
+                return;
+            }
+            if (limit < 1 || limit > MAX_LIMIT) {
+                ctx.status(400).json(ResponseUtil.error("Le paramètre 'limit' doit être entre 1 et " + MAX_LIMIT + "."));
+                return;
+            }
+        }
+        ctx.json(ResponseUtil.ok(service.search(ctx.queryParam("q"), limit)));
+    }
+
+    /**
+     * Sections données par un enseignant.
+     * Ex:
+     *  GET /teachers/Benoît%20Tremblay/sections
+     *  GET /teachers/benoit%20tremblay/sections?semester=H25
+     * @param ctx contexte Javalin (requête/réponse)
+     */
+    public void getTeacherSections(Context ctx) {
+        String name = ctx.pathParam("name");
+        String semester = ctx.queryParam("semester");
+        if (semester != null && !semester.trim().toUpperCase().matches("^[HAE]\\d{2}$")) {
+            ctx.status(400).json(ResponseUtil.error("Format de trimestre invalide. Utilisez H25, A24, E24, etc."));
+            return;
+        }
+
+        List<TeacherSection> sections = service.sections(name, semester);
+        if (sections == null) {
+            ctx.status(404).json(ResponseUtil.error("Aucun enseignant ne correspond à: " + name));
+            return;
+        }
+        ctx.json(ResponseUtil.ok(sections));
+    }
+}
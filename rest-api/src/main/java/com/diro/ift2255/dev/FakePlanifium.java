@@ -0,0 +1,297 @@
+package com.diro.ift2255.dev;
+
+import com.diro.ift2255.util.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.NotFoundResponse;
+import io.javalin.http.ServiceUnavailableResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serveur Planifium simulé, pour le développement hors ligne, les tests de charge et les benchmarks.
+ *
+ * <p>Sert des données enregistrées (ressources {@code fake-planifium/courses.json} et
+ * {@code fake-planifium/programs.json}) sur les mêmes chemins que l’API réelle :</p>
+ * <ul>
+ *   <li>{@code GET /api/v1/courses} ({@code courses_sigle}, {@code name}, {@code description},
+ *       {@code include_schedule}, {@code schedule_semester})</li>
+ *   <li>{@code GET /api/v1/courses/{id}}</li>
+ *   <li>{@code GET /api/v1/programs/{id}} et {@code GET /api/v1/programs} ({@code program_id}, {@code programs_list})</li>
+ * </ul>
+ *
+ * <p>Chaque réponse porte un {@code ETag} ; une requête avec {@code If-None-Match}
+ * correspondant reçoit un 304 (synchronisation conditionnelle).</p>
+ *
+ * <p>Le comportement de l’amont réel peut être reproduit de façon déterministe
+ * (voir {@link Options}) : latence avec gigue, taux d’erreurs 503, et démarrage
+ * à froid (première requête après une période d’inactivité retardée, comme
+ * un service hébergé mis en veille).</p>
+ *
+ * <pre>
+ * mvn exec:java@fake-planifium -Dexec.args="--port=7071 --latency=80 --jitter=40 --errorRate=0.02"
+ * PLANIFIUM_BASE_URL=http://localhost:7071/api/v1 mvn exec:java@server
+ * </pre>
+ */
+public class FakePlanifium {
+
+    /** Paramètres d’injection de latence et de pannes. */
+    public static class Options {
+        private long latencyMs = 0;
+        private long jitterMs = 0;
+        private double errorRate = 0.0;
+        private long coldStartMs = 0;
+        private long idleBeforeColdMs = 15 * 60_000L;
+        private long seed = 42;
+
+        public Options() {}
+
+        /**
+         * Lit les options {@code --latency=}, {@code --jitter=}, {@code --errorRate=},
+         * {@code --coldStart=}, {@code --idleBeforeCold=} et {@code --seed=} (durées en ms).
+         */
+        public static Options fromArgs(String[] args) {
+            Options o = new Options();
+            for (String a : args) {
+                if (!a.startsWith("--") || !a.contains("=")) continue;
+                String key = a.substring(2, a.indexOf('='));
+                String value = a.substring(a.indexOf('=') + 1);
+                switch (key) {
+                    case "latency" -> o.setLatencyMs(Long.parseLong(value));
+                    case "jitter" -> o.setJitterMs(Long.parseLong(value));
+                    case "errorRate" -> o.setErrorRate(Double.parseDouble(value));
+                    case "coldStart" -> o.setColdStartMs(Long.parseLong(value));
+                    case "idleBeforeCold" -> o.setIdleBeforeColdMs(Long.parseLong(value));
+                    case "seed" -> o.setSeed(Long.parseLong(value));
+                    default -> { }
+                }
+            }
+            return o;
+        }
+
+        public long getLatencyMs() { return latencyMs; }
+        /** Latence fixe ajoutée à chaque réponse. */
+        public void setLatencyMs(long latencyMs) { this.latencyMs = Math.max(0, latencyMs); }
+
+        public long getJitterMs() { return jitterMs; }
+        /** Latence aléatoire supplémentaire, uniforme entre 0 et cette valeur. */
+        public void setJitterMs(long jitterMs) { this.jitterMs = Math.max(0, jitterMs); }
+
+        public double getErrorRate() { return errorRate; }
+        /** Proportion de requêtes répondues en 503 (0 à 1). */
+        public void setErrorRate(double errorRate) { this.errorRate = Math.min(1.0, Math.max(0.0, errorRate)); }
+
+        public long getColdStartMs() { return coldStartMs; }
+        /** Délai du démarrage à froid (0 = désactivé). */
+        public void setColdStartMs(long coldStartMs) { this.coldStartMs = Math.max(0, coldStartMs); }
+
+        public long getIdleBeforeColdMs() { return idleBeforeColdMs; }
+        /** Inactivité après laquelle le prochain appel subit de nouveau le démarrage à froid. */
+        public void setIdleBeforeColdMs(long idleBeforeColdMs) { this.idleBeforeColdMs = Math.max(0, idleBeforeColdMs); }
+
+        public long getSeed() { return seed; }
+        /** Graine du générateur aléatoire (gigue et erreurs reproductibles). */
+        public void setSeed(long seed) { this.seed = seed; }
+    }
+
+    private final Options options;
+    private final Map<String, ObjectNode> courses = new LinkedHashMap<>();
+    private final Map<String, ObjectNode> programs = new LinkedHashMap<>();
+    private final Random random;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private long lastRequestAt = Long.MIN_VALUE;   // protégé par this
+    private long coldUntil = 0;                    // protégé par this
+
+    private Javalin app;
+
+    public FakePlanifium(Options options) {
+        this.options = options;
+        this.random = new Random(options.getSeed());
+        for (JsonNode c : loadFixture("fake-planifium/courses.json")) {
+            courses.put(c.get("id").asText().toUpperCase(), (ObjectNode) c);
+        }
+        for (JsonNode p : loadFixture("fake-planifium/programs.json")) {
+            programs.put(p.get("id").asText(), (ObjectNode) p);
+        }
+    }
+
+    public static void main(String[] args) {
+        int port = 7071;
+        for (String a : args) {
+            if (a.startsWith("--port=")) port = Integer.parseInt(a.substring("--port=".length()));
+        }
+        FakePlanifium fake = new FakePlanifium(Options.fromArgs(args)).start(port);
+        System.out.println("Planifium simulé sur " + fake.baseUrl()
+                + " (" + fake.courses.size() + " cours, " + fake.programs.size() + " programmes)");
+    }
+
+    /**
+     * Démarre le serveur.
+     *
+     * @param port port HTTP (0 = port libre)
+     * @return cette instance
+     */
+    public synchronized FakePlanifium start(int port) {
+        if (app != null) return this;
+        app = Javalin.create(config -> {
+            config.showJavalinBanner = false;
+            config.http.defaultContentType = "application/json";
+            // ETag sur chaque réponse et 304 sur If-None-Match, comme un amont avec cache HTTP
+            config.http.generateEtags = true;
+            config.jsonMapper(Json.javalinMapper());
+        });
+        app.before("/api/*", ctx -> injectFaults());
+        app.get("/api/v1/courses", this::listCourses);
+        app.get("/api/v1/courses/{id}", this::getCourse);
+        app.get("/api/v1/programs", this::listPrograms);
+        app.get("/api/v1/programs/{id}", this::getProgram);
+        app.start(port);
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (app != null) {
+            app.stop();
+            app = null;
+        }
+    }
+
+    public int port() {
+        return app.port();
+    }
+
+    /** URL de base à fournir à l’application ({@code PLANIFIUM_BASE_URL}). */
+    public String baseUrl() {
+        return "http://localhost:" + port() + "/api/v1";
+    }
+
+    /** Nombre de requêtes reçues (erreurs injectées comprises). */
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /** Nombre de réponses 503 injectées. */
+    public long injectedErrorCount() {
+        return injectedErrors.sum();
+    }
+
+    /** Sigles de tous les cours disponibles, dans l’ordre des données. */
+    public List<String> courseIds() {
+        return List.copyOf(courses.keySet());
+    }
+
+    // -------------------- Injection de pannes --------------------
+
+    private void injectFaults() throws InterruptedException {
+        requests.increment();
+        long now = System.currentTimeMillis();
+        long delay;
+        boolean fail;
+        synchronized (this) {
+            if (options.getColdStartMs() > 0
+                    && (lastRequestAt == Long.MIN_VALUE || now - lastRequestAt > options.getIdleBeforeColdMs())) {
+                coldUntil = now + options.getColdStartMs();
+            }
+            lastRequestAt = now;
+            delay = Math.max(0, coldUntil - now) + options.getLatencyMs();
+            if (options.getJitterMs() > 0) delay += (long) (random.nextDouble() * options.getJitterMs());
+            fail = random.nextDouble() < options.getErrorRate();
+        }
+
+        if (delay > 0) Thread.sleep(delay);
+        if (fail) {
+            injectedErrors.increment();
+            throw new ServiceUnavailableResponse("Erreur injectée (Planifium simulé)");
+        }
+    }
+
+    // -------------------- Handlers --------------------
+
+    private void listCourses(Context ctx) {
+        Set<String> sigles = splitParam(ctx.queryParam("courses_sigle"), true);
+        String name = lower(ctx.queryParam("name"));
+        String description = lower(ctx.queryParam("description"));
+
+        ArrayNode out = Json.MAPPER.createArrayNode();
+        for (ObjectNode course : courses.values()) {
+            if (sigles != null && !sigles.contains(course.get("id").asText().toUpperCase())) continue;
+            if (name != null && !course.path("name").asText().toLowerCase().contains(name)) continue;
+            if (description != null && !course.path("description").asText().toLowerCase().contains(description)) continue;
+            out.add(render(course, ctx));
+        }
+        ctx.json(out);
+    }
+
+    private void getCourse(Context ctx) {
+        ObjectNode course = courses.get(ctx.pathParam("id").toUpperCase());
+        if (course == null) throw new NotFoundResponse("Course not found");
+        ctx.json(render(course, ctx));
+    }
+
+    private void listPrograms(Context ctx) {
+        Set<String> ids = splitParam(ctx.queryParam("program_id"), false);
+        if (ids == null) ids = splitParam(ctx.queryParam("programs_list"), false);
+
+        ArrayNode out = Json.MAPPER.createArrayNode();
+        for (ObjectNode program : programs.values()) {
+            if (ids == null || ids.contains(program.get("id").asText())) out.add(program);
+        }
+        ctx.json(out);
+    }
+
+    private void getProgram(Context ctx) {
+        ObjectNode program = programs.get(ctx.pathParam("id"));
+        if (program == null) throw new NotFoundResponse("Program not found");
+        ctx.json(program);
+    }
+
+    /** Copie du cours avec horaires omis ou filtrés selon {@code include_schedule}/{@code schedule_semester}. */
+    private static ObjectNode render(ObjectNode course, Context ctx) {
+        ObjectNode copy = course.deepCopy();
+        if (!"true".equalsIgnoreCase(ctx.queryParam("include_schedule"))) {
+            copy.remove("schedules");
+            return copy;
+        }
+        String semester = ctx.queryParam("schedule_semester");
+        if (semester != null && !semester.isBlank() && copy.get("schedules") instanceof ArrayNode schedules) {
+            ArrayNode kept = Json.MAPPER.createArrayNode();
+            for (JsonNode s : schedules) {
+                if (semester.trim().equalsIgnoreCase(s.path("name").asText())) kept.add(s);
+            }
+            copy.set("schedules", kept);
+        }
+        return copy;
+    }
+
+    private static Set<String> splitParam(String value, boolean upper) {
+        if (value == null || value.isBlank()) return null;
+        Set<String> out = new HashSet<>();
+        for (String part : value.split(",")) {
+            String v = part.trim();
+            if (!v.isEmpty()) out.add(upper ? v.toUpperCase() : v);
+        }
+        return out;
+    }
+
+    private static String lower(String value) {
+        return (value == null || value.isBlank()) ? null : value.trim().toLowerCase();
+    }
+
+    private static JsonNode loadFixture(String resource) {
+        try (InputStream in = FakePlanifium.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Ressource introuvable: " + resource);
+            return Json.MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
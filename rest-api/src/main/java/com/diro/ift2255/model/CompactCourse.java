@@ -0,0 +1,306 @@
+package com.diro.ift2255.model;
+
+import java.util.*;
+
+/**
+ * Représentation compacte et immuable d’un cours, pour garder en mémoire un
+ * catalogue complet avec ses horaires.
+ *
+ * <p>Par rapport à {@link Course} : trimestres et périodes offerts en masques de
+ * bits, tableaux au lieu de listes et de maps, volets et activités typés (jours
+ * en masque de bits, heures en minutes) au lieu de {@code Map<String, Object>},
+ * et chaînes répétées partagées (voir {@code CompactCourseModule}, qui construit
+ * ces objets directement depuis le JSON de Planifium).</p>
+ *
+ * <p>{@link #toCourse(boolean)} reconstruit un {@link Course} équivalent pour le
+ * code existant. Les clés inconnues des volets/activités ne sont pas conservées,
+ * et les jours sont restitués en codes français (Lu, Ma, ...).</p>
+ */
+public final class CompactCourse {
+
+    /** Clés de {@code available_terms}, dans l’ordre des bits. */
+    public static final List<String> TERMS = List.of("autumn", "winter", "summer");
+    /** Clés de {@code available_periods}, dans l’ordre des bits. */
+    public static final List<String> PERIODS = List.of("daytime", "evening");
+    /** Codes de jours restitués (bit 0 = lundi). */
+    public static final List<String> DAY_CODES = List.of("Lu", "Ma", "Me", "Je", "Ve", "Sa", "Di");
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final String[] prerequisiteCourses;
+    private final double credits;
+    private final String requirementText;
+    // Bits présents / bits à vrai (une clé absente et une clé à false restent distinctes)
+    private final byte termsKnown;
+    private final byte termsOffered;
+    private final byte periodsKnown;
+    private final byte periodsOffered;
+    private final Schedule[] schedules;
+
+    /**
+     * @param credits nombre de crédits, ou {@link Double#NaN} si absent
+     * @param prerequisiteCourses sigles des préalables, ou {@code null} si absents
+     * @param schedules horaires, ou {@code null} si absents
+     */
+    public CompactCourse(String id, String name, String description, String[] prerequisiteCourses, double credits,
+                         String requirementText, int termsKnown, int termsOffered, int periodsKnown, int periodsOffered,
+                         Schedule[] schedules) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.prerequisiteCourses = prerequisiteCourses;
+        this.credits = credits;
+        this.requirementText = requirementText;
+        this.termsKnown = (byte) termsKnown;
+        this.termsOffered = (byte) termsOffered;
+        this.periodsKnown = (byte) periodsKnown;
+        this.periodsOffered = (byte) periodsOffered;
+        this.schedules = schedules;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public Double getCredits() { return Double.isNaN(credits) ? null : credits; }
+    public String getRequirementText() { return requirementText; }
+    public List<String> getPrerequisiteCourses() { return view(prerequisiteCourses); }
+    public List<Schedule> getSchedules() { return view(schedules); }
+
+    /** Masque des trimestres offerts (bit i = {@code TERMS.get(i)}). */
+    public int getTermsOffered() { return termsOffered; }
+    /** Masque des périodes offertes (bit i = {@code PERIODS.get(i)}). */
+    public int getPeriodsOffered() { return periodsOffered; }
+
+    /**
+     * Reconstruit un {@link Course} modifiable équivalent.
+     *
+     * @param withSchedules inclure les horaires (sinon {@code schedules} reste {@code null})
+     */
+    public Course toCourse(boolean withSchedules) {
+        Course c = new Course(id, name, description);
+        if (prerequisiteCourses != null) c.setPrerequisiteCourses(new ArrayList<>(Arrays.asList(prerequisiteCourses)));
+        c.setCredits(getCredits());
+        c.setRequirementText(requirementText);
+        c.setAvailableTerms(flags(TERMS, termsKnown, termsOffered));
+        c.setAvailablePeriods(flags(PERIODS, periodsKnown, periodsOffered));
+        if (withSchedules && schedules != null) {
+            List<Course.Schedule> list = new ArrayList<>(schedules.length);
+            for (Schedule s : schedules) list.add(s.toSchedule());
+            c.setSchedules(list);
+        }
+        return c;
+    }
+
+    private static Map<String, Boolean> flags(List<String> keys, int known, int offered) {
+        if (known == 0) return null;
+        Map<String, Boolean> map = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if ((known & (1 << i)) != 0) map.put(keys.get(i), (offered & (1 << i)) != 0);
+        }
+        return map;
+    }
+
+    private static <T> List<T> view(T[] array) {
+        return (array == null) ? null : Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    /** Horaire d’un trimestre. */
+    public static final class Schedule {
+        private final String name;
+        private final String fetchDate;
+        private final Section[] sections;
+
+        public Schedule(String name, String fetchDate, Section[] sections) {
+            this.name = name;
+            this.fetchDate = fetchDate;
+            this.sections = sections;
+        }
+
+        public String getName() { return name; }
+        public String getFetchDate() { return fetchDate; }
+        public List<Section> getSections() { return view(sections); }
+
+        /** {@code true} si les deux horaires ont les mêmes sections (contenu identique). */
+        public boolean sameSections(Schedule other) {
+            return Arrays.equals(sections, other.sections);
+        }
+
+        Course.Schedule toSchedule() {
+            Course.Schedule s = new Course.Schedule();
+            s.setName(name);
+            s.setFetchDate(fetchDate);
+            if (sections != null) {
+                List<Course.Section> list = new ArrayList<>(sections.length);
+                for (Section section : sections) list.add(section.toSection());
+                s.setSections(list);
+            }
+            return s;
+        }
+    }
+
+    /** Section (capacité, inscrits, enseignants, volets). */
+    public static final class Section {
+        private final String name;
+        private final String capacity;
+        private final String numberInscription;
+        private final String[] teachers;
+        private final Volet[] volets;
+
+        public Section(String name, String capacity, String numberInscription, String[] teachers, Volet[] volets) {
+            this.name = name;
+            this.capacity = capacity;
+            this.numberInscription = numberInscription;
+            this.teachers = teachers;
+            this.volets = volets;
+        }
+
+        public String getName() { return name; }
+        public String getCapacity() { return capacity; }
+        public String getNumberInscription() { return numberInscription; }
+        public List<String> getTeachers() { return view(teachers); }
+        public List<Volet> getVolets() { return view(volets); }
+
+        Course.Section toSection() {
+            Course.Section s = new Course.Section();
+            s.setName(name);
+            s.setCapacity(capacity);
+            s.setNumberInscription(numberInscription);
+            if (teachers != null) s.setTeachers(new ArrayList<>(Arrays.asList(teachers)));
+            if (volets != null) {
+                List<Map<String, Object>> list = new ArrayList<>(volets.length);
+                for (Volet v : volets) list.add(v.toMap());
+                s.setVolets(list);
+            }
+            return s;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Section s)) return false;
+            return Objects.equals(name, s.name) && Objects.equals(capacity, s.capacity)
+                    && Objects.equals(numberInscription, s.numberInscription)
+                    && Arrays.equals(teachers, s.teachers) && Arrays.equals(volets, s.volets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, capacity, numberInscription, Arrays.hashCode(teachers), Arrays.hashCode(volets));
+        }
+    }
+
+    /** Volet d’une section (TH, TP, ...) et ses activités. */
+    public static final class Volet {
+        private final String name;
+        private final Activity[] activities;
+
+        public Volet(String name, Activity[] activities) {
+            this.name = name;
+            this.activities = activities;
+        }
+
+        public String getName() { return name; }
+        public List<Activity> getActivities() { return view(activities); }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            if (activities != null) {
+                List<Map<String, Object>> list = new ArrayList<>(activities.length);
+                for (Activity a : activities) list.add(a.toMap());
+                map.put("activities", list);
+            }
+            return map;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            return (o instanceof Volet v) && Objects.equals(name, v.name) && Arrays.equals(activities, v.activities);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(name) + Arrays.hashCode(activities);
+        }
+    }
+
+    /** Activité datée : jours (masque), heures (minutes depuis minuit, -1 si absentes) et lieu. */
+    public static final class Activity {
+        private final byte days;
+        private final short start;
+        private final short end;
+        private final String startDate;
+        private final String endDate;
+        private final String campus;
+        private final String place;
+        private final String room;
+        private final String mode;
+
+        public Activity(int days, int start, int end, String startDate, String endDate,
+                        String campus, String place, String room, String mode) {
+            this.days = (byte) days;
+            this.start = (short) start;
+            this.end = (short) end;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.campus = campus;
+            this.place = place;
+            this.room = room;
+            this.mode = mode;
+        }
+
+        /** Masque des jours (bit 0 = lundi ... bit 6 = dimanche). */
+        public int getDays() { return days; }
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+        public String getStartDate() { return startDate; }
+        public String getEndDate() { return endDate; }
+        public String getCampus() { return campus; }
+        public String getPlace() { return place; }
+        public String getRoom() { return room; }
+        public String getMode() { return mode; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            List<String> dayList = new ArrayList<>();
+            for (int d = 0; d < DAY_CODES.size(); d++) {
+                if ((days & (1 << d)) != 0) dayList.add(DAY_CODES.get(d));
+            }
+            map.put("days", dayList);
+            if (start >= 0) map.put("start_time", hhmm(start));
+            if (end >= 0) map.put("end_time", hhmm(end));
+            putIfPresent(map, "start_date", startDate);
+            putIfPresent(map, "end_date", endDate);
+            putIfPresent(map, "campus", campus);
+            putIfPresent(map, "place", place);
+            putIfPresent(map, "room", room);
+            putIfPresent(map, "mode", mode);
+            return map;
+        }
+
+        private static String hhmm(int minutes) {
+            return String.format("%02d:%02d", minutes / 60, minutes % 60);
+        }
+
+        private static void putIfPresent(Map<String, Object> map, String key, String value) {
+            if (value != null) map.put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Activity a)) return false;
+            return days == a.days && start == a.start && end == a.end
+                    && Objects.equals(startDate, a.startDate) && Objects.equals(endDate, a.endDate)
+                    && Objects.equals(campus, a.campus) && Objects.equals(place, a.place)
+                    && Objects.equals(room, a.room) && Objects.equals(mode, a.mode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(days, start, end, startDate, endDate, campus, place, room, mode);
+        }
+    }
+}
@@ -12,8 +12,8 @@ public class CompareItem {
 
     // Avis
     private int reviewCount;
-    private double avgDifficulty;
-    private double avgWorkload;
+    private Double avgDifficulty; // null si aucun avis
+    private Double avgWorkload;   // null si aucun avis
 
     // CSV
     private Double csvScore;      // null si absent
@@ -30,15 +30,15 @@ public class CompareItem {
     *
     * @param id identifiant du cours
     * @param name nom du cours
-    * @param avgDifficulty difficulté moyenne estimée
-    * @param avgWorkload charge de travail moyenne estimée
+    * @param avgDifficulty difficulté moyenne estimée, ou {@code null} sans avis
+    * @param avgWorkload charge de travail moyenne estimée, ou {@code null} sans avis
     * @param csvScore score de réussite académique
     * @param participants nombre de participants
     * @param reviewCount nombre d’avis étudiants
     * @param moyenne moyenne littérale observée
     */
     public CompareItem(String id, String name,
-                       int reviewCount, double avgDifficulty, double avgWorkload,
+                       int reviewCount, Double avgDifficulty, Double avgWorkload,
                        Double csvScore, Integer participants, String moyenne) {
         this.id = id;
         this.name = name;
@@ -53,8 +53,8 @@ public class CompareItem {
     public String getId() { return id; }
     public String getName() { return name; }
     public int getReviewCount() { return reviewCount; }
-    public double getAvgDifficulty() { return avgDifficulty; }
-    public double getAvgWorkload() { return avgWorkload; }
+    public Double getAvgDifficulty() { return avgDifficulty; }
+    public Double getAvgWorkload() { return avgWorkload; }
     public Double getCsvScore() { return csvScore; }
     public Integer getParticipants() { return participants; }
     public String getMoyenne() { return moyenne; }
@@ -62,8 +62,8 @@ public class CompareItem {
     public void setId(String id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setReviewCount(int reviewCount) { this.reviewCount = reviewCount; }
-    public void setAvgDifficulty(double avgDifficulty) { this.avgDifficulty = avgDifficulty; }
-    public void setAvgWorkload(double avgWorkload) { this.avgWorkload = avgWorkload; }
+    public void setAvgDifficulty(Double avgDifficulty) { this.avgDifficulty = avgDifficulty; }
+    public void setAvgWorkload(Double avgWorkload) { this.avgWorkload = avgWorkload; }
     public void setCsvScore(Double csvScore) { this.csvScore = csvScore; }
     public void setParticipants(Integer participants) { this.participants = participants; }
     public void setMoyenne(String moyenne) { this.moyenne = moyenne; }
@@ -0,0 +1,25 @@
+package com.diro.ift2255.model;
+
+import java.util.List;
+/**
+ * Cours offert pouvant s’ajouter à un choix de cours sans conflit d’horaire,
+ * avec les sections qui le permettent.
+ */
+public class CompatibleCourse {
+    private String courseId;
+    private String name;
+    private Double credits;
+    private List<String> sections;
+
+    public CompatibleCourse(String courseId, String name, Double credits, List<String> sections) {
+        this.courseId = courseId;
+        this.name = name;
+        this.credits = credits;
+        this.sections = sections;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getName() { return name; }
+    public Double getCredits() { return credits; }
+    public List<String> getSections() { return sections; }
+}
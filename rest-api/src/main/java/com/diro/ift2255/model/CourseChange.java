@@ -0,0 +1,36 @@
+package com.diro.ift2255.model;
+
+import java.util.List;
+
+/**
+ * Changement détecté lors d’une synchronisation du catalogue
+ * (entrée du flux {@code GET /changes}).
+ */
+public class CourseChange {
+    public static final String ADDED = "added";
+    public static final String REMOVED = "removed";
+    public static final String SCHEDULE = "schedule";
+
+    private long seq;
+    private String courseId;
+    private String kind;
+    private List<String> semesters;
+    private long detectedAt;
+
+    public CourseChange(long seq, String courseId, String kind, List<String> semesters, long detectedAt) {
+        this.seq = seq;
+        this.courseId = courseId;
+        this.kind = kind;
+        this.semesters = semesters;
+        this.detectedAt = detectedAt;
+    }
+
+    /** Numéro de séquence croissant, à fournir comme {@code since} pour la suite du flux. */
+    public long getSeq() { return seq; }
+    public String getCourseId() { return courseId; }
+    /** {@link #ADDED}, {@link #REMOVED} ou {@link #SCHEDULE}. */
+    public String getKind() { return kind; }
+    /** Trimestres dont l’horaire a changé (ajouté, retiré ou modifié). */
+    public List<String> getSemesters() { return semesters; }
+    public long getDetectedAt() { return detectedAt; }
+}
@@ -0,0 +1,50 @@
+package com.diro.ift2255.model;
+
+import java.util.List;
+/**
+ * Évolution des inscriptions d’une section au fil des échantillons enregistrés.
+ *
+ * <p>Un point n’est enregistré que lorsque la capacité ou le nombre d’inscrits
+ * change : la courbe est donc en escalier entre deux points.</p>
+ */
+public class EnrollmentCurve {
+    private String courseId;
+    private String semester;
+    private String section;
+    private List<Point> points;
+
+    public EnrollmentCurve(String courseId, String semester, String section, List<Point> points) {
+        this.courseId = courseId;
+        this.semester = semester;
+        this.section = section;
+        this.points = points;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getSemester() { return semester; }
+    public String getSection() { return section; }
+    public List<Point> getPoints() { return points; }
+
+    /**
+     * Échantillon : instant (ms epoch), capacité, inscrits et taux de remplissage
+     * ({@code null} si la capacité est nulle).
+     */
+    public static class Point {
+        private long timestamp;
+        private int capacity;
+        private int enrolled;
+        private Double fillRate;
+
+        public Point(long timestamp, int capacity, int enrolled) {
+            this.timestamp = timestamp;
+            this.capacity = capacity;
+            this.enrolled = enrolled;
+            this.fillRate = (capacity > 0) ? (double) enrolled / capacity : null;
+        }
+
+        public long getTimestamp() { return timestamp; }
+        public int getCapacity() { return capacity; }
+        public int getEnrolled() { return enrolled; }
+        public Double getFillRate() { return fillRate; }
+    }
+}
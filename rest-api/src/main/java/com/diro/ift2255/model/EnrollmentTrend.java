@@ -0,0 +1,36 @@
+package com.diro.ift2255.model;
+/**
+ * Progression des inscriptions d’une section sur une période
+ * (classement des sections qui se remplissent le plus vite).
+ */
+public class EnrollmentTrend {
+    private String courseId;
+    private String semester;
+    private String section;
+    private int capacity;
+    private int enrolled;
+    private double fillRate;
+    private int enrolledDelta;
+    private double fillRateDelta;
+
+    public EnrollmentTrend(String courseId, String semester, String section, int capacity, int enrolled,
+                           int enrolledDelta, double fillRateDelta) {
+        this.courseId = courseId;
+        this.semester = semester;
+        this.section = section;
+        this.capacity = capacity;
+        this.enrolled = enrolled;
+        this.fillRate = (capacity > 0) ? (double) enrolled / capacity : 0.0;
+        this.enrolledDelta = enrolledDelta;
+        this.fillRateDelta = fillRateDelta;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getSemester() { return semester; }
+    public String getSection() { return section; }
+    public int getCapacity() { return capacity; }
+    public int getEnrolled() { return enrolled; }
+    public double getFillRate() { return fillRate; }
+    public int getEnrolledDelta() { return enrolledDelta; }
+    public double getFillRateDelta() { return fillRateDelta; }
+}
@@ -0,0 +1,30 @@
+package com.diro.ift2255.model;
+
+import java.util.List;
+/**
+ * Représente une page de résultats d’une liste paginée.
+ *
+ * <p>Le curseur {@code nextCursor} est opaque pour le client : il suffit de le
+ * renvoyer tel quel (paramètre {@code cursor}) pour obtenir la page suivante.
+ * Il vaut {@code null} lorsque la dernière page est atteinte.</p>
+ *
+ * @param <T> type des éléments de la page
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final int total;       // nombre total d’éléments (toutes pages confondues)
+    private final int limit;       // taille de page demandée
+    private final String nextCursor;
+
+    public Page(List<T> items, int total, int limit, String nextCursor) {
+        this.items = items;
+        this.total = total;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public int getTotal() { return total; }
+    public int getLimit() { return limit; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,43 @@
+package com.diro.ift2255.model;
+/**
+ * Représente un cours recommandé pour un trimestre, avec son score et
+ * les indicateurs qui ont servi à le calculer.
+ *
+ * <p>Le score (entre 0 et 1) favorise une charge de travail et une difficulté
+ * faibles ainsi qu’un bon résultat académique moyen.</p>
+ */
+public class Recommendation {
+    private String courseId;
+    private String name;
+    private Double credits;
+    private double score;
+
+    // Avis
+    private int reviewCount;
+    private double avgWorkload;
+    private double avgDifficulty;
+
+    // CSV
+    private Double successScore; // null si absent
+
+    public Recommendation(String courseId, String name, Double credits, double score,
+                          int reviewCount, double avgWorkload, double avgDifficulty, Double successScore) {
+        this.courseId = courseId;
+        this.name = name;
+        this.credits = credits;
+        this.score = score;
+        this.reviewCount = reviewCount;
+        this.avgWorkload = avgWorkload;
+        this.avgDifficulty = avgDifficulty;
+        this.successScore = successScore;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getName() { return name; }
+    public Double getCredits() { return credits; }
+    public double getScore() { return score; }
+    public int getReviewCount() { return reviewCount; }
+    public double getAvgWorkload() { return avgWorkload; }
+    public double getAvgDifficulty() { return avgDifficulty; }
+    public Double getSuccessScore() { return successScore; }
+}
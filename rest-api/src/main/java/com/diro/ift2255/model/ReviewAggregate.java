@@ -1,5 +1,7 @@
 package com.diro.ift2255.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 /**
  * Représente les statistiques agrégées des avis étudiants pour un cours.
@@ -12,7 +14,8 @@ public class ReviewAggregate {
     private int count;
     private double avgDifficulty;
     private double avgWorkload;
-    private List<Review> reviews;
+    private List<Review> reviews;  // seulement si demandé (?include=reviews), sinon absent
+    private ReviewStats stats;     // statistiques détaillées (?stats=full), sinon absentes
 
     public ReviewAggregate(String courseId, int count, double avgDifficulty, double avgWorkload, List<Review> reviews) {
         this.courseId = courseId;
@@ -26,5 +29,10 @@ public class ReviewAggregate {
     public int getCount() { return count; }
     public double getAvgDifficulty() { return avgDifficulty; }
     public double getAvgWorkload() { return avgWorkload; }
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public List<Review> getReviews() { return reviews; }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public ReviewStats getStats() { return stats; }
+    public void setStats(ReviewStats stats) { this.stats = stats; }
 }
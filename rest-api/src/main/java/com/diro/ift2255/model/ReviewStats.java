@@ -0,0 +1,53 @@
+package com.diro.ift2255.model;
+/**
+ * Statistiques détaillées des avis d’un cours : distribution des notes de
+ * difficulté et de charge de travail, et moyennes pondérées par l’ancienneté.
+ *
+ * <p>Retournées par {@code GET /avis/{courseId}/aggregate?stats=full}.</p>
+ */
+public class ReviewStats {
+    private int count;
+    private Distribution difficulty;
+    private Distribution workload;
+    private double halfLifeDays;   // demi-vie de la pondération des moyennes amorties
+    private Long lastReviewAt;     // epoch ms du dernier avis, null si aucun
+
+    public ReviewStats(int count, Distribution difficulty, Distribution workload, double halfLifeDays, Long lastReviewAt) {
+        this.count = count;
+        this.difficulty = difficulty;
+        this.workload = workload;
+        this.halfLifeDays = halfLifeDays;
+        this.lastReviewAt = lastReviewAt;
+    }
+
+    public int getCount() { return count; }
+    public Distribution getDifficulty() { return difficulty; }
+    public Distribution getWorkload() { return workload; }
+    public double getHalfLifeDays() { return halfLifeDays; }
+    public Long getLastReviewAt() { return lastReviewAt; }
+
+    /**
+     * Distribution d’une note de 1 à 5.
+     */
+    public static class Distribution {
+        private int[] histogram;      // histogram[0] = nombre de notes 1, ..., histogram[4] = notes 5
+        private double mean;
+        private double median;
+        private double stdDev;        // écart type (population)
+        private double decayedMean;   // moyenne amortie: un avis perd la moitié de son poids par demi-vie
+
+        public Distribution(int[] histogram, double mean, double median, double stdDev, double decayedMean) {
+            this.histogram = histogram;
+            this.mean = mean;
+            this.median = median;
+            this.stdDev = stdDev;
+            this.decayedMean = decayedMean;
+        }
+
+        public int[] getHistogram() { return histogram; }
+        public double getMean() { return mean; }
+        public double getMedian() { return median; }
+        public double getStdDev() { return stdDev; }
+        public double getDecayedMean() { return decayedMean; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.diro.ift2255.model;
+
+import java.util.List;
+/**
+ * Enseignant trouvé dans les horaires chargés, avec un résumé de ses sections.
+ */
+public class Teacher {
+    private String name;
+    private List<String> courses;
+    private List<String> semesters;
+    private int sectionCount;
+
+    public Teacher(String name, List<String> courses, List<String> semesters, int sectionCount) {
+        this.name = name;
+        this.courses = courses;
+        this.semesters = semesters;
+        this.sectionCount = sectionCount;
+    }
+
+    public String getName() { return name; }
+    public List<String> getCourses() { return courses; }
+    public List<String> getSemesters() { return semesters; }
+    public int getSectionCount() { return sectionCount; }
+}
@@ -0,0 +1,25 @@
+package com.diro.ift2255.model;
+/**
+ * Section d’un cours donnée par un enseignant pour un trimestre.
+ */
+public class TeacherSection {
+    private String teacher;
+    private String courseId;
+    private String courseName;
+    private String section;
+    private String semester;
+
+    public TeacherSection(String teacher, String courseId, String courseName, String section, String semester) {
+        this.teacher = teacher;
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.section = section;
+        this.semester = semester;
+    }
+
+    public String getTeacher() { return teacher; }
+    public String getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public String getSection() { return section; }
+    public String getSemester() { return semester; }
+}
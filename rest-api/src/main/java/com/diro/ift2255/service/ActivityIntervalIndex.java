@@ -0,0 +1,171 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.TimeGrid;
+
+import java.util.*;
+
+/**
+ * Index d’intervalles des activités d’un trimestre, par jour de la semaine.
+ *
+ * <p>Pour chaque jour, les plages horaires de toutes les sections sont triées
+ * par heure de début (tableaux parallèles début / fin / section). Une fenêtre
+ * libre ne parcourt que les plages qui commencent à l’intérieur (recherche
+ * dichotomique), et une section convient si toutes ses plages sont contenues
+ * dans les fenêtres.</p>
+ */
+public final class ActivityIntervalIndex {
+
+    private final List<Course> courses;
+    /** Sections du cours c : positions [sectionStart[c], sectionStart[c + 1]). */
+    private final int[] sectionStart;
+    private final int[] sectionCourse;
+    /** Nombre de plages (jour × activité) de chaque section. */
+    private final int[] sectionSlots;
+    private final int[][] starts = new int[TimeGrid.DAYS][];
+    private final int[][] ends = new int[TimeGrid.DAYS][];
+    private final int[][] owners = new int[TimeGrid.DAYS][];
+
+    private ActivityIntervalIndex(List<Course> courses, int[] sectionStart, int[] sectionSlots,
+                                  List<List<int[]>> intervalsByDay) {
+        this.courses = courses;
+        this.sectionStart = sectionStart;
+        this.sectionSlots = sectionSlots;
+        this.sectionCourse = new int[sectionSlots.length];
+        for (int c = 0; c < courses.size(); c++) {
+            for (int s = sectionStart[c]; s < sectionStart[c + 1]; s++) sectionCourse[s] = c;
+        }
+
+        for (int d = 0; d < TimeGrid.DAYS; d++) {
+            List<int[]> intervals = intervalsByDay.get(d);
+            intervals.sort(Comparator.comparingInt(i -> i[0]));
+            starts[d] = new int[intervals.size()];
+            ends[d] = new int[intervals.size()];
+            owners[d] = new int[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                starts[d][i] = intervals.get(i)[0];
+                ends[d][i] = intervals.get(i)[1];
+                owners[d][i] = intervals.get(i)[2];
+            }
+        }
+    }
+
+    /**
+     * Construit l’index des activités d’une liste de cours offerts.
+     *
+     * @param semester trimestre (seuls les horaires de ce trimestre sont lus)
+     * @param offered cours offerts (avec leurs horaires)
+     * @return l’index
+     */
+    public static ActivityIntervalIndex build(String semester, List<Course> offered) {
+        List<Course> courses = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<List<int[]>> byDay = new ArrayList<>();
+        for (int d = 0; d < TimeGrid.DAYS; d++) byDay.add(new ArrayList<>());
+
+        for (Course course : offered) {
+            if (course == null) continue;
+            int first = slots.size();
+            ScheduleActivities.forEachSection(course, semester, section -> {
+                int s = slots.size();
+                List<int[]> found = new ArrayList<>();
+                ScheduleActivities.forEach(section, (day, start, end) -> found.add(new int[]{day, start, end}));
+                if (found.isEmpty()) return; // section sans horaire: jamais proposée
+                for (int[] f : found) byDay.get(f[0]).add(new int[]{f[1], f[2], s});
+                slots.add(found.size());
+            });
+            if (slots.size() > first) {
+                courses.add(course);
+                starts.add(first);
+            }
+        }
+        starts.add(slots.size());
+
+        return new ActivityIntervalIndex(List.copyOf(courses),
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                byDay);
+    }
+
+    /**
+     * Cours ayant au moins une section dont toutes les activités tiennent dans les fenêtres.
+     *
+     * @param windows fenêtres libres par jour (voir {@link #parseWindows(String)})
+     * @return les cours retenus, dans l’ordre de la liste indexée
+     */
+    public List<Course> fitting(Map<Integer, List<int[]>> windows) {
+        int[] contained = new int[sectionSlots.length];
+        windows.forEach((day, list) -> {
+            int[] st = starts[day];
+            for (int[] w : list) {
+                for (int i = firstAtOrAfter(st, w[0]); i < st.length && st[i] < w[1]; i++) {
+                    if (ends[day][i] <= w[1]) contained[owners[day][i]]++;
+                }
+            }
+        });
+
+        BitSet matched = new BitSet(courses.size());
+        for (int s = 0; s < sectionSlots.length; s++) {
+            if (contained[s] == sectionSlots[s]) matched.set(sectionCourse[s]);
+        }
+        List<Course> result = new ArrayList<>(matched.cardinality());
+        for (int c = matched.nextSetBit(0); c >= 0; c = matched.nextSetBit(c + 1)) result.add(courses.get(c));
+        return result;
+    }
+
+    /** Nombre de sections indexées. */
+    public int sectionCount() {
+        return sectionSlots.length;
+    }
+
+    /**
+     * Analyse une liste de fenêtres libres, ex : {@code MO:13:00-17:00,TH:08:30-12:00}
+     * (jours MO/TU/WE/TH/FR/SA/SU ou Lu/Ma/Me/Je/Ve/Sa/Di). Les fenêtres qui se
+     * chevauchent sur un même jour sont fusionnées.
+     *
+     * @param param valeur brute du paramètre
+     * @return fenêtres par jour (0 = lundi), triées et disjointes, en minutes
+     * @throws IllegalArgumentException si une fenêtre est invalide
+     */
+    public static Map<Integer, List<int[]>> parseWindows(String param) {
+        Map<Integer, List<int[]>> byDay = new TreeMap<>();
+        if (param == null || param.isBlank()) throw new IllegalArgumentException("Aucune fenêtre horaire fournie.");
+        for (String raw : param.split(",")) {
+            String w = raw.trim();
+            if (w.isEmpty()) continue;
+            int colon = w.indexOf(':');
+            int dash = w.indexOf('-');
+            int day = (colon > 0) ? TimeGrid.dayIndex(w.substring(0, colon)) : -1;
+            int from = (colon > 0 && dash > colon) ? TimeGrid.minutes(w.substring(colon + 1, dash)) : -1;
+            int to = (dash > 0) ? TimeGrid.minutes(w.substring(dash + 1)) : -1;
+            if (day < 0 || from < 0 || to <= from) {
+                throw new IllegalArgumentException("Fenêtre horaire invalide: '" + w + "' (ex: MO:13:00-17:00).");
+            }
+            byDay.computeIfAbsent(day, d -> new ArrayList<>()).add(new int[]{from, to});
+        }
+        if (byDay.isEmpty()) throw new IllegalArgumentException("Aucune fenêtre horaire fournie.");
+
+        byDay.replaceAll((day, list) -> {
+            list.sort(Comparator.comparingInt(i -> i[0]));
+            List<int[]> merged = new ArrayList<>();
+            for (int[] w : list) {
+                int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && w[0] <= last[1]) last[1] = Math.max(last[1], w[1]);
+                else merged.add(new int[]{w[0], w[1]});
+            }
+            return merged;
+        });
+        return byDay;
+    }
+
+    private static int firstAtOrAfter(int[] sorted, int value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
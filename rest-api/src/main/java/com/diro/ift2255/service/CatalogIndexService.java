@@ -0,0 +1,141 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.DaemonThreads;
+import com.diro.ift2255.util.LatencyHistogram;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalogue complet tenu en mémoire et indexé par {@link CourseFacetIndex}.
+ *
+ * <p>Le catalogue est chargé depuis Planifium au premier besoin (ou par
+ * {@link #warmUp()}), puis synchronisé périodiquement en arrière-plan par
+ * {@link CatalogSyncService} ; l’index n’est reconstruit que si le catalogue a
+ * changé. Les requêtes de filtrage ne font donc que des opérations sur bitmaps,
+ * sans appel réseau. Comme pour {@link OfferedCoursesCache}, un rechargement
+ * vide ou en échec conserve l’index précédent.</p>
+ */
+public class CatalogIndexService implements MetricsSource {
+
+    private final CatalogSyncService catalogSync;
+    private final Duration refreshInterval;
+    private final Object buildLock = new Object();
+    private volatile CourseFacetIndex index;
+    private ScheduledExecutorService scheduler;
+
+    private final LatencyHistogram buildLatency = new LatencyHistogram();
+    private final LatencyHistogram queryLatency = new LatencyHistogram();
+
+    /**
+     * @param catalogSync synchronisation incrémentale du catalogue complet
+     * @param refreshInterval intervalle entre deux synchronisations du catalogue
+     */
+    public CatalogIndexService(CatalogSyncService catalogSync, Duration refreshInterval) {
+        this.catalogSync = catalogSync;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /** Démarre la tâche de rechargement périodique. */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(DaemonThreads.factory("catalog-index-refresh"));
+        long period = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Arrête la tâche de rechargement. */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /** Demande la construction de l’index en arrière-plan. */
+    public void warmUp() {
+        if (index != null) return;
+        DaemonThreads.factory("catalog-index-warmup").newThread(() -> {
+            try {
+                getIndex();
+            } catch (RuntimeException e) {
+                System.err.println("[CatalogIndexService] Préchargement échoué: " + e.getMessage());
+            }
+        }).start();
+    }
+
+    /**
+     * Retourne l’index courant ; le premier appel le construit (de manière synchrone).
+     *
+     * @return l’index
+     * @throws RuntimeException si le catalogue n’a jamais pu être chargé
+     */
+    public CourseFacetIndex getIndex() {
+        CourseFacetIndex current = index;
+        if (current != null) return current;
+        synchronized (buildLock) {
+            if (index == null) rebuild();
+            return index;
+        }
+    }
+
+    /**
+     * Filtre le catalogue indexé.
+     *
+     * @param criteria valeurs acceptées par attribut (voir {@link CourseFacetIndex#ATTRIBUTES})
+     * @return cours retenus et facettes
+     */
+    public CourseFacetIndex.Result query(Map<String, Set<String>> criteria) {
+        CourseFacetIndex idx = getIndex();
+        long start = System.nanoTime();
+        CourseFacetIndex.Result result = idx.query(criteria);
+        queryLatency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /** Synchronise le catalogue et reconstruit l’index s’il a changé. */
+    public void refresh() {
+        try {
+            synchronized (buildLock) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[CatalogIndexService] Rechargement échoué: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        CourseFacetIndex idx = index;
+        writer.gauge("catalog_index_courses", "Nombre de cours dans l'index de filtrage local.", null,
+                idx == null ? 0 : idx.size());
+        if (idx != null) {
+            writer.gauge("catalog_index_age_seconds", "Âge de l'index de filtrage local.", null,
+                    (System.currentTimeMillis() - idx.getBuiltAt()) / 1000.0);
+        }
+        writer.histogram("catalog_index_build_duration_seconds",
+                "Durée de chargement et d'indexation du catalogue.", null, buildLatency);
+        writer.histogram("catalog_index_query_duration_seconds",
+                "Durée d'une requête de filtrage sur l'index.", null, queryLatency);
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        CourseFacetIndex previous = index;
+        if (!catalogSync.sync() && previous != null) return; // catalogue inchangé
+        List<Course> catalog = catalogSync.getCourses();
+        if (catalog.isEmpty() && previous != null && previous.size() > 0) {
+            return; // amont probablement indisponible: garder l'ancien index
+        }
+        index = CourseFacetIndex.build(catalog, System.currentTimeMillis());
+        buildLatency.record(System.nanoTime() - start);
+    }
+}
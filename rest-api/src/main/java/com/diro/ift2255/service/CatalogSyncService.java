@@ -0,0 +1,327 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.CompactCourse;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.CourseChange;
+import com.diro.ift2255.util.HttpClientApiResponse;
+import com.diro.ift2255.util.Json;
+import com.diro.ift2255.util.LatencyHistogram;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import com.diro.ift2255.util.StringPool;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Synchronisation incrémentale du catalogue Planifium (avec horaires).
+ *
+ * <p>Chaque synchronisation envoie une requête conditionnelle
+ * ({@code If-None-Match} / {@code If-Modified-Since}, selon les en-têtes reçus
+ * la fois précédente) ; un 304 la termine sans autre travail. Sinon, la réponse
+ * est parcourue en flux : chaque cours est délimité dans le texte brut et haché,
+ * et seuls les cours dont l’empreinte a changé sont désérialisés. Les cours
+ * inchangés gardent leur objet précédent.</p>
+ *
+ * <p>Le catalogue avec horaires est tenu sous forme {@link CompactCourse} ;
+ * {@link #getCourses()} expose une vue {@link Course} sans horaires (celle
+ * qu’indexe {@link CatalogIndexService}).</p>
+ *
+ * <p>Pour un cours modifié, les horaires sont comparés trimestre par trimestre :
+ * un même {@code fetch_date} signifie un horaire inchangé ; sinon le contenu des
+ * sections départage un simple nouveau relevé d’un vrai changement. Les ajouts,
+ * retraits et changements d’horaire alimentent un flux borné
+ * ({@link #changesSince(long, int)}). La première synchronisation sert de
+ * référence et ne publie aucun changement.</p>
+ */
+public class CatalogSyncService implements MetricsSource {
+
+    /** Nombre maximal de changements conservés dans le flux. */
+    public static final int FEED_CAPACITY = 5000;
+
+    private final CourseService courseService;
+    private final LongSupplier clock;
+
+    // État de la dernière synchronisation (protégé par this)
+    private String etag;
+    private String lastModified;
+    private Map<String, Entry> entries = new HashMap<>();
+    private boolean baselined;
+
+    private volatile List<Course> courses = List.of();
+    private volatile long syncedAt;
+
+    // Flux des changements (protégé par feed)
+    private final ArrayDeque<CourseChange> feed = new ArrayDeque<>();
+    private long nextSeq = 1;
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder changed = new LongAdder();
+    private final LongAdder coursesParsed = new LongAdder();
+    private final LongAdder coursesSkipped = new LongAdder();
+    private final LatencyHistogram syncLatency = new LatencyHistogram();
+
+    /**
+     * @param courseService service utilisé pour lire le catalogue brut de Planifium
+     */
+    public CatalogSyncService(CourseService courseService) {
+        this(courseService, System::currentTimeMillis);
+    }
+
+    CatalogSyncService(CourseService courseService, LongSupplier clock) {
+        this.courseService = courseService;
+        this.clock = clock;
+    }
+
+    /**
+     * Synchronise le catalogue avec Planifium.
+     *
+     * @return {@code true} si la liste des cours a changé (ajout, retrait ou contenu)
+     * @throws RuntimeException si Planifium répond en erreur ou avec un JSON invalide
+     */
+    public synchronized boolean sync() {
+        long start = System.nanoTime();
+        try {
+            return doSync();
+        } finally {
+            syncLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    /** Cours du catalogue, sans horaires, dans l’ordre de Planifium (liste immuable). */
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Changements publiés après un numéro de séquence.
+     *
+     * @param since dernier numéro de séquence déjà reçu (0 = depuis le début du flux)
+     * @param limit nombre maximal de changements
+     * @return les changements, dans l’ordre de détection
+     */
+    public Changes changesSince(long since, int limit) {
+        synchronized (feed) {
+            List<CourseChange> out = new ArrayList<>();
+            boolean truncated = !feed.isEmpty() && feed.peekFirst().getSeq() > since + 1;
+            boolean hasMore = false;
+            for (CourseChange change : feed) {
+                if (change.getSeq() <= since) continue;
+                if (out.size() >= limit) {
+                    hasMore = true;
+                    break;
+                }
+                out.add(change);
+            }
+            long next = out.isEmpty() ? Math.max(since, nextSeq - 1) : out.get(out.size() - 1).getSeq();
+            return new Changes(out, next, hasMore, truncated, syncedAt);
+        }
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.counter("catalog_sync_total", "Synchronisations du catalogue par résultat.",
+                MetricsWriter.labels("outcome", "not_modified"), notModified.sum());
+        writer.counter("catalog_sync_total", "Synchronisations du catalogue par résultat.",
+                MetricsWriter.labels("outcome", "unchanged"), unchanged.sum());
+        writer.counter("catalog_sync_total", "Synchronisations du catalogue par résultat.",
+                MetricsWriter.labels("outcome", "changed"), changed.sum());
+        writer.counter("catalog_sync_courses_parsed_total", "Cours désérialisés (nouveaux ou modifiés).", null, coursesParsed.sum());
+        writer.counter("catalog_sync_courses_skipped_total", "Cours inchangés (empreinte identique, non désérialisés).", null, coursesSkipped.sum());
+        writer.histogram("catalog_sync_duration_seconds", "Durée d'une synchronisation du catalogue.", null, syncLatency);
+        StringPool pool = Json.COMPACT_COURSES.getPool();
+        writer.cache("compact_course_strings", pool.getHits(), pool.getMisses(), pool.size());
+    }
+
+    private boolean doSync() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (etag != null) headers.put("If-None-Match", etag);
+        if (lastModified != null) headers.put("If-Modified-Since", lastModified);
+        HttpClientApiResponse raw = courseService.fetchCatalogWithSchedules(headers);
+        if (raw.getStatusCode() == 304) {
+            notModified.increment();
+            syncedAt = clock.getAsLong();
+            return false;
+        }
+        if (raw.getStatusCode() < 200 || raw.getStatusCode() >= 300) {
+            throw new RuntimeException("Request failed: " + raw.getStatusCode() + " - " + raw.getStatusMessage());
+        }
+
+        String body = raw.getBody();
+        Map<String, Entry> next = new HashMap<>(Math.max(16, entries.size() * 2));
+        List<Course> list = new ArrayList<>(entries.size());
+        List<CourseChange> changes = new ArrayList<>();
+        boolean modified = false;
+        try (JsonParser parser = Json.MAPPER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Failed to parse JSON: tableau de cours attendu");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int from = offset(parser.currentTokenLocation().getCharOffset(), body);
+                String id = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() == JsonToken.VALUE_STRING && "id".equals(field)) id = parser.getText();
+                    else parser.skipChildren();
+                }
+                int to = offset(parser.currentLocation().getCharOffset(), body);
+                if (id == null || id.isBlank()) continue;
+
+                String key = id.trim().toUpperCase();
+                long hash = hash(body, from, to);
+                Entry previous = entries.get(key);
+                Entry entry;
+                if (previous != null && previous.hash == hash) {
+                    coursesSkipped.increment();
+                    entry = previous;
+                } else {
+                    coursesParsed.increment();
+                    CompactCourse compact = Json.COMPACT_COURSE_READER.readValue(body.substring(from, to));
+                    entry = new Entry(hash, compact, compact.toCourse(false));
+                    modified = true;
+                    List<String> semesters = (previous == null)
+                            ? List.copyOf(schedulesByName(compact).keySet())
+                            : changedSemesters(previous.compact, compact);
+                    if (previous == null) changes.add(change(key, CourseChange.ADDED, semesters));
+                    else if (!semesters.isEmpty()) changes.add(change(key, CourseChange.SCHEDULE, semesters));
+                }
+                if (next.putIfAbsent(key, entry) == null) list.add(entry.course);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON: " + e.getMessage(), e);
+        }
+
+        if (list.isEmpty() && !entries.isEmpty()) {
+            // Réponse vide: amont probablement dégradé, garder l'état précédent
+            unchanged.increment();
+            return false;
+        }
+        for (Map.Entry<String, Entry> old : entries.entrySet()) {
+            if (next.containsKey(old.getKey())) continue;
+            modified = true;
+            changes.add(change(old.getKey(), CourseChange.REMOVED, List.copyOf(schedulesByName(old.getValue().compact).keySet())));
+        }
+
+        entries = next;
+        etag = raw.getETag();
+        lastModified = raw.getLastModified();
+        if (modified) courses = List.copyOf(list);
+        if (baselined) publish(changes);
+        baselined = true;
+        syncedAt = clock.getAsLong();
+        (modified ? changed : unchanged).increment();
+        return modified;
+    }
+
+    private CourseChange change(String courseId, String kind, List<String> semesters) {
+        // Numéro de séquence et date attribués à la publication
+        return new CourseChange(0, courseId, kind, semesters, 0);
+    }
+
+    private void publish(List<CourseChange> changes) {
+        long now = clock.getAsLong();
+        synchronized (feed) {
+            for (CourseChange c : changes) {
+                feed.addLast(new CourseChange(nextSeq++, c.getCourseId(), c.getKind(), c.getSemesters(), now));
+                if (feed.size() > FEED_CAPACITY) feed.removeFirst();
+            }
+        }
+        if (!changes.isEmpty()) {
+            System.out.println("[CatalogSyncService] " + changes.size() + " changement(s) d'horaire détecté(s).");
+        }
+    }
+
+    /**
+     * Trimestres dont l’horaire diffère entre deux versions d’un cours.
+     * Un horaire au même {@code fetch_date} est considéré inchangé.
+     */
+    static List<String> changedSemesters(CompactCourse before, CompactCourse after) {
+        Map<String, CompactCourse.Schedule> a = schedulesByName(before);
+        Map<String, CompactCourse.Schedule> b = schedulesByName(after);
+        Set<String> names = new TreeSet<>(a.keySet());
+        names.addAll(b.keySet());
+
+        List<String> result = new ArrayList<>();
+        for (String name : names) {
+            CompactCourse.Schedule x = a.get(name);
+            CompactCourse.Schedule y = b.get(name);
+            if (x == null || y == null) {
+                result.add(name);
+            } else if (x.getFetchDate() == null || !x.getFetchDate().equals(y.getFetchDate())) {
+                if (!x.sameSections(y)) result.add(name);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, CompactCourse.Schedule> schedulesByName(CompactCourse course) {
+        Map<String, CompactCourse.Schedule> byName = new TreeMap<>();
+        if (course.getSchedules() == null) return byName;
+        for (CompactCourse.Schedule s : course.getSchedules()) {
+            if (s == null) continue;
+            byName.put(s.getName() == null ? "" : s.getName().trim().toUpperCase(), s);
+        }
+        return byName;
+    }
+
+    // Position (en caractères) d'un jeton dans le corps; -1 si le parseur ne la connaît pas
+    private static int offset(long charOffset, String body) {
+        if (charOffset < 0 || charOffset > body.length()) {
+            throw new RuntimeException("Failed to parse JSON: position de cours invalide (" + charOffset + ")");
+        }
+        return (int) charOffset;
+    }
+
+    /** Empreinte FNV-1a (64 bits) des caractères {@code [from, to)}, sans copie. */
+    static long hash(CharSequence s, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /** Page du flux de changements. */
+    public static final class Changes {
+        private final List<CourseChange> changes;
+        private final long next;
+        private final boolean hasMore;
+        private final boolean truncated;
+        private final long syncedAt;
+
+        Changes(List<CourseChange> changes, long next, boolean hasMore, boolean truncated, long syncedAt) {
+            this.changes = changes;
+            this.next = next;
+            this.hasMore = hasMore;
+            this.truncated = truncated;
+            this.syncedAt = syncedAt;
+        }
+
+        public List<CourseChange> getChanges() { return changes; }
+        /** Valeur de {@code since} pour la requête suivante. */
+        public long getNext() { return next; }
+        public boolean isHasMore() { return hasMore; }
+        /** {@code true} si des changements postérieurs à {@code since} ont été évincés du flux. */
+        public boolean isTruncated() { return truncated; }
+        /** Heure de la dernière synchronisation réussie (ms), 0 si aucune. */
+        public long getSyncedAt() { return syncedAt; }
+    }
+
+    private static final class Entry {
+        final long hash;
+        final CompactCourse compact;
+        final Course course;
+
+        Entry(long hash, CompactCourse compact, Course course) {
+            this.hash = hash;
+            this.compact = compact;
+            this.course = course;
+        }
+    }
+}
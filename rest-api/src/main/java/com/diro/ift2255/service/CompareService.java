@@ -3,6 +3,7 @@ package com.diro.ift2255.service;
 import com.diro.ift2255.model.*;
 
 import java.util.*;
+import java.util.function.Function;
 /**
  * Service responsable de la comparaison de plusieurs cours.
  *
@@ -13,62 +14,117 @@ import java.util.*;
  */
 public class CompareService {
 
-    private final CourseService courseService;
+    /** Nombre maximal de cours comparés en une requête. */
+    public static final int MAX_COURSES = 50;
+
+    /** Critères de tri acceptés par {@code sort=} (préfixe « - » pour l’ordre décroissant). */
+    private static final Map<String, Function<CompareItem, Comparable<?>>> SORT_KEYS = new LinkedHashMap<>();
+    static {
+        SORT_KEYS.put("id", CompareItem::getId);
+        SORT_KEYS.put("name", CompareItem::getName);
+        SORT_KEYS.put("reviewCount", CompareItem::getReviewCount);
+        SORT_KEYS.put("avgDifficulty", CompareItem::getAvgDifficulty);
+        SORT_KEYS.put("avgWorkload", CompareItem::getAvgWorkload);
+        SORT_KEYS.put("csvScore", CompareItem::getCsvScore);
+        SORT_KEYS.put("participants", CompareItem::getParticipants);
+    }
+
+    private final CourseCatalogService catalogService;
     private final ReviewService reviewService;
     private final AcademicResultService academicResultService;
-    /**
-    * Service responsable de la comparaison de plusieurs cours.
-    *
-    * <p>Ce service agrège différentes sources de données (cours,
-    * avis étudiants, résultats académiques) afin de produire
-    * des indicateurs comparatifs tels que la difficulté,
-    * la charge de travail et les statistiques globales.</p>
-    */
+
     public CompareService(CourseService courseService,
                           ReviewService reviewService,
                           AcademicResultService academicResultService) {
-        this.courseService = courseService;
+        this(new CourseCatalogService(courseService), reviewService, academicResultService);
+    }
+
+    /**
+     * @param catalogService catalogue local (noms des cours, résolus par lot)
+     * @param reviewService avis étudiants (résumés précalculés)
+     * @param academicResultService résultats académiques agrégés (CSV)
+     */
+    public CompareService(CourseCatalogService catalogService,
+                          ReviewService reviewService,
+                          AcademicResultService academicResultService) {
+        this.catalogService = catalogService;
         this.reviewService = reviewService;
         this.academicResultService = academicResultService;
     }
-        /**
+
+    public List<CompareItem> compare(List<String> ids) {
+        return compare(ids, null);
+    }
+
+    /**
      * Compare plusieurs cours à partir de leurs identifiants.
      *
-     * <p>La comparaison est basée sur les avis étudiants pour estimer
-     * la charge de travail et la difficulté, ainsi que sur les résultats
-     * académiques agrégés lorsque disponibles.</p>
+     * <p>Les noms sont résolus en un seul lot par le catalogue local, les avis
+     * proviennent des résumés précalculés et les résultats du CSV indexé ;
+     * la jointure se fait ensuite en une passe.</p>
      *
-     * @param ids liste des identifiants des cours à comparer
+     * @param ids liste des identifiants des cours à comparer (doublons ignorés)
+     * @param sort critère de tri (ex : {@code avgWorkload}, {@code -csvScore}), ou {@code null} pour l’ordre demandé
      * @return liste d’objets {@link CompareItem} représentant les résultats comparatifs
+     * @throws IllegalArgumentException si plus de {@link #MAX_COURSES} cours sont demandés ou si le tri est inconnu
      */
-    public List<CompareItem> compare(List<String> ids) {
+    public List<CompareItem> compare(List<String> ids, String sort) {
         if (ids == null) return List.of();
+        Comparator<CompareItem> order = comparator(sort);
 
-        List<CompareItem> out = new ArrayList<>();
+        Set<String> unique = new LinkedHashSet<>();
         for (String raw : ids) {
-            if (raw == null || raw.isBlank()) continue;
-            String id = raw.trim().toUpperCase();
+            if (raw != null && !raw.isBlank()) unique.add(raw.trim().toUpperCase());
+        }
+        if (unique.size() > MAX_COURSES) {
+            throw new IllegalArgumentException("Au plus " + MAX_COURSES + " cours peuvent être comparés à la fois.");
+        }
 
-            // Catalogue
-            String name = courseService.getCourseById(id)
-                    .map(Course::getName)
-                    .orElse(id);
+        Map<String, Course> courses = catalogService.getCourses(unique);
+        Map<String, ReviewAggregate> reviews = reviewService.getAggregates(unique);
 
-            // Avis
-            ReviewAggregate agg = reviewService.getAggregateForCourse(id);
+        List<CompareItem> out = new ArrayList<>(unique.size());
+        for (String id : unique) {
+            Course course = courses.get(id);
+            String name = (course != null && course.getName() != null) ? course.getName() : id;
+            ReviewAggregate agg = reviews.get(id);
 
-            // CSV
-            var arOpt = academicResultService.getBySigle(id);
-            Double score = arOpt.map(AcademicResult::getScore).orElse(null);
-            Integer participants = arOpt.map(AcademicResult::getParticipants).orElse(null);
-            String moyenne = arOpt.map(AcademicResult::getMoyenne).orElse(null);
+            boolean reviewed = agg.getCount() > 0; // sans avis: moyennes absentes, triées en dernier
 
+            AcademicResult ar = academicResultService.getBySigle(id).orElse(null);
             out.add(new CompareItem(
                     id, name,
-                    agg.getCount(), agg.getAvgDifficulty(), agg.getAvgWorkload(),
-                    score, participants, moyenne
+                    agg.getCount(),
+                    reviewed ? agg.getAvgDifficulty() : null,
+                    reviewed ? agg.getAvgWorkload() : null,
+                    ar == null ? null : ar.getScore(),
+                    ar == null ? null : ar.getParticipants(),
+                    ar == null ? null : ar.getMoyenne()
             ));
         }
+
+        if (order != null) out.sort(order);
         return out;
     }
+
+    /**
+     * Construit le comparateur associé à un critère {@code sort=} (valeurs absentes en dernier).
+     *
+     * @throws IllegalArgumentException si le critère est inconnu
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparator<CompareItem> comparator(String sort) {
+        if (sort == null || sort.isBlank()) return null;
+        String key = sort.trim();
+        boolean desc = key.startsWith("-");
+        if (desc) key = key.substring(1);
+
+        Function<CompareItem, Comparable<?>> extractor = SORT_KEYS.get(key);
+        if (extractor == null) {
+            throw new IllegalArgumentException("Tri inconnu: '" + key + "'. Tris disponibles: " + String.join(", ", SORT_KEYS.keySet()));
+        }
+        Comparator<Comparable> natural = desc ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<CompareItem> cmp = Comparator.comparing(i -> (Comparable) extractor.apply(i), Comparator.nullsLast(natural));
+        return cmp.thenComparing(CompareItem::getId);
+    }
 }
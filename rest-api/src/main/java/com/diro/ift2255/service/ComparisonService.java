@@ -12,9 +12,7 @@ import java.util.*;
 
 public class ComparisonService {
 
-    private final CourseService courseService;
-    private final ReviewService reviewService;
-    private final AcademicResultService academicResultService;
+    private final CompareService compareService;
      /**
      * Construit le service de comparaison des cours.
      *
@@ -24,9 +22,14 @@ public class ComparisonService {
      */
 
     public ComparisonService(CourseService courseService, ReviewService reviewService, AcademicResultService academicResultService) {
-        this.courseService = courseService;
-        this.reviewService = reviewService;
-        this.academicResultService = academicResultService;
+        this(new CompareService(courseService, reviewService, academicResultService));
+    }
+
+    /**
+     * @param compareService moteur de comparaison partagé (catalogue local, résumés d’avis, CSV)
+     */
+    public ComparisonService(CompareService compareService) {
+        this.compareService = compareService;
     }
      /**
      * Compare plusieurs cours à partir de leurs identifiants.
@@ -42,21 +45,15 @@ public class ComparisonService {
     public CourseComparisonResult compare(List<String> ids) {
         List<CourseComparisonItem> items = new ArrayList<>();
 
-        for (String id : ids) {
-            String cid = id.trim().toUpperCase();
-
-            var courseOpt = courseService.getCourseById(cid);
-            String name = courseOpt.map(Course::getName).orElse(cid);
-
-            ReviewAggregate agg = reviewService.getAggregateForCourse(cid);
-            double avgWorkload = agg.getAvgWorkload();
-            double avgDifficulty = agg.getAvgDifficulty();
-
-            Double score = academicResultService.getBySigle(cid).map(AcademicResult::getScore).orElse(null);
-
-            items.add(new CourseComparisonItem(cid, name, avgWorkload, avgDifficulty, score));
+        for (CompareItem item : compareService.compare(ids)) {
+            items.add(new CourseComparisonItem(item.getId(), item.getName(),
+                    orZero(item.getAvgWorkload()), orZero(item.getAvgDifficulty()), item.getCsvScore()));
         }
 
         return new CourseComparisonResult(items);
     }
+
+    private static double orZero(Double value) {
+        return value == null ? 0.0 : value;
+    }
 }
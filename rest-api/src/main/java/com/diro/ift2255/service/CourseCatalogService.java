@@ -0,0 +1,106 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import com.diro.ift2255.util.TtlCache;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Cache local du catalogue de cours (fiches sans horaire), partagé par les
+ * fonctionnalités qui ont seulement besoin des informations générales d’un cours
+ * (nom, crédits, préalables), comme la comparaison.
+ *
+ * <p>Les cours absents du cache sont récupérés auprès de Planifium en un seul lot
+ * ({@link CourseService#getCoursesByIds}, requêtes {@code courses_sigle}).</p>
+ */
+public class CourseCatalogService implements MetricsSource {
+
+    private final CourseService courseService;
+    private final TtlCache<String, Course> courses;
+
+    public CourseCatalogService(CourseService courseService) {
+        this(courseService, Duration.ofHours(6));
+    }
+
+    /**
+     * @param courseService accès à Planifium pour les cours absents du cache
+     * @param ttl durée de conservation d’une fiche de cours
+     */
+    public CourseCatalogService(CourseService courseService, Duration ttl) {
+        this.courseService = courseService;
+        this.courses = new TtlCache<>(ttl);
+    }
+
+    /**
+     * Retourne la fiche d’un cours (depuis le cache si possible).
+     *
+     * @param courseId sigle du cours (ex : IFT2255)
+     * @return le cours, ou vide s’il est introuvable
+     */
+    public Optional<Course> getCourse(String courseId) {
+        String id = normalize(courseId);
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(getCourses(List.of(id)).get(id));
+    }
+
+    /**
+     * Résout un lot de cours : lecture du cache, puis une requête groupée
+     * pour les cours manquants.
+     *
+     * @param courseIds sigles des cours (insensibles à la casse, doublons ignorés)
+     * @return les cours trouvés, par sigle en majuscules (ordre des sigles demandés)
+     */
+    public Map<String, Course> getCourses(Collection<String> courseIds) {
+        Map<String, Course> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        if (courseIds == null) return found;
+        for (String raw : courseIds) {
+            String id = normalize(raw);
+            if (id == null || found.containsKey(id) || missing.contains(id)) continue;
+            Course cached = courses.get(id);
+            if (cached != null) found.put(id, cached); else missing.add(id);
+        }
+        if (missing.isEmpty()) return found;
+
+        Map<String, Course> fetched = fetchAll(missing);
+        // Reconstruire dans l'ordre demandé
+        Map<String, Course> ordered = new LinkedHashMap<>();
+        for (String raw : courseIds) {
+            String id = normalize(raw);
+            if (id == null || ordered.containsKey(id)) continue;
+            Course c = found.containsKey(id) ? found.get(id) : fetched.get(id);
+            if (c != null) ordered.put(id, c);
+        }
+        return ordered;
+    }
+
+    /** Oublie une fiche (ex : cours modifié dans Planifium). */
+    public void invalidate(String courseId) {
+        String id = normalize(courseId);
+        if (id != null) courses.invalidate(id);
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.cache("course_catalog", courses.getHits(), courses.getMisses(), courses.size());
+    }
+
+    private Map<String, Course> fetchAll(List<String> ids) {
+        Map<String, Course> out = new HashMap<>();
+        for (Course c : courseService.getCoursesByIds(ids, null)) {
+            String id = normalize(c.getId());
+            courses.put(id, c);
+            out.put(id, c);
+        }
+        return out;
+    }
+
+    static String normalize(String courseId) {
+        if (courseId == null || courseId.isBlank()) return null;
+        return courseId.trim().toUpperCase();
+    }
+}
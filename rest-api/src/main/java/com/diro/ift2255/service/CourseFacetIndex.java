@@ -0,0 +1,188 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+
+import java.util.*;
+
+/**
+ * Index bitmap immuable du catalogue, pour le filtrage multi-attributs local.
+ *
+ * <p>Chaque cours reçoit une position (son rang dans le catalogue) ; pour chaque
+ * valeur d’attribut ({@code term=autumn}, {@code dept=IFT}, ...), un {@link BitSet}
+ * marque les cours qui la possèdent. Un filtre est alors l’union des valeurs
+ * demandées pour un attribut, puis l’intersection entre attributs.</p>
+ *
+ * <p>Les facettes sont calculées « en disjonction » : le décompte d’une valeur
+ * applique tous les filtres sauf celui de son propre attribut, pour que
+ * l’interface puisse afficher les alternatives encore disponibles.</p>
+ */
+public final class CourseFacetIndex {
+
+    public static final String TERM = "term";
+    public static final String PERIOD = "period";
+    public static final String CREDITS = "credits";
+    public static final String DEPT = "dept";
+    public static final String CYCLE = "cycle";
+
+    /** Attributs indexés, dans l’ordre des facettes retournées. */
+    public static final List<String> ATTRIBUTES = List.of(TERM, PERIOD, CREDITS, DEPT, CYCLE);
+
+    private final List<Course> courses;
+    private final Map<String, Map<String, BitSet>> bitmaps;
+    private final long builtAt;
+
+    private CourseFacetIndex(List<Course> courses, Map<String, Map<String, BitSet>> bitmaps, long builtAt) {
+        this.courses = courses;
+        this.bitmaps = bitmaps;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * Construit l’index d’une liste de cours (les doublons de sigle sont ignorés).
+     *
+     * @param catalog cours à indexer
+     * @param builtAt instant de construction (ms epoch)
+     * @return l’index
+     */
+    public static CourseFacetIndex build(Collection<Course> catalog, long builtAt) {
+        List<Course> courses = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Map<String, Map<String, BitSet>> bitmaps = new LinkedHashMap<>();
+        for (String attr : ATTRIBUTES) bitmaps.put(attr, new TreeMap<>());
+
+        for (Course c : catalog) {
+            if (c == null || c.getId() == null || !seen.add(c.getId().trim().toUpperCase())) continue;
+            int pos = courses.size();
+            courses.add(c);
+
+            for (String term : flags(c.getAvailableTerms())) set(bitmaps, TERM, term, pos);
+            for (String period : flags(c.getAvailablePeriods())) set(bitmaps, PERIOD, period, pos);
+            if (c.getCredits() != null) set(bitmaps, CREDITS, normalize(CREDITS, formatCredits(c.getCredits())), pos);
+            String id = c.getId().trim().toUpperCase();
+            if (id.length() >= 3) set(bitmaps, DEPT, id.substring(0, 3), pos);
+            Integer cycle = CourseService.inferRequiredCycle(id);
+            if (cycle != null) set(bitmaps, CYCLE, String.valueOf(cycle), pos);
+        }
+        return new CourseFacetIndex(List.copyOf(courses), bitmaps, builtAt);
+    }
+
+    /**
+     * Filtre le catalogue et calcule les facettes.
+     *
+     * @param criteria valeurs acceptées par attribut (OU dans un attribut, ET entre attributs) ;
+     *                 un attribut absent ou vide n’est pas filtré
+     * @return les cours retenus (ordre du catalogue) et les décomptes par attribut/valeur
+     */
+    public Result query(Map<String, Set<String>> criteria) {
+        Map<String, BitSet> masks = new LinkedHashMap<>();
+        if (criteria != null) {
+            criteria.forEach((attr, values) -> {
+                if (bitmaps.containsKey(attr) && values != null && !values.isEmpty()) {
+                    masks.put(attr, union(attr, values));
+                }
+            });
+        }
+
+        BitSet matched = intersect(masks, null);
+        List<Course> result = new ArrayList<>(matched.cardinality());
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            result.add(courses.get(i));
+        }
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String attr : ATTRIBUTES) {
+            BitSet base = masks.containsKey(attr) ? intersect(masks, attr) : matched;
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            bitmaps.get(attr).forEach((value, bits) -> {
+                BitSet tmp = (BitSet) bits.clone();
+                tmp.and(base);
+                int n = tmp.cardinality();
+                if (n > 0) counts.put(value, n);
+            });
+            facets.put(attr, counts);
+        }
+        return new Result(result, facets);
+    }
+
+    /** Nombre de cours indexés. */
+    public int size() {
+        return courses.size();
+    }
+
+    /** Instant de construction de l’index (ms epoch). */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * Normalise une valeur de filtre pour un attribut (casse, crédits "3.0" -> "3").
+     *
+     * @return la valeur normalisée, ou {@code null} si elle est vide
+     */
+    public static String normalize(String attr, String value) {
+        if (value == null || value.isBlank()) return null;
+        String v = value.trim();
+        if (DEPT.equals(attr)) return v.toUpperCase();
+        if (CREDITS.equals(attr)) {
+            try {
+                return formatCredits(Double.parseDouble(v));
+            } catch (NumberFormatException e) {
+                return v;
+            }
+        }
+        return v.toLowerCase();
+    }
+
+    private BitSet union(String attr, Set<String> values) {
+        BitSet bits = new BitSet(courses.size());
+        Map<String, BitSet> byValue = bitmaps.get(attr);
+        for (String v : values) {
+            BitSet b = byValue.get(normalize(attr, v));
+            if (b != null) bits.or(b);
+        }
+        return bits;
+    }
+
+    private BitSet intersect(Map<String, BitSet> masks, String excluded) {
+        BitSet bits = new BitSet(courses.size());
+        bits.set(0, courses.size());
+        masks.forEach((attr, mask) -> {
+            if (!attr.equals(excluded)) bits.and(mask);
+        });
+        return bits;
+    }
+
+    private static void set(Map<String, Map<String, BitSet>> bitmaps, String attr, String value, int pos) {
+        if (value == null) return;
+        bitmaps.get(attr).computeIfAbsent(value, v -> new BitSet()).set(pos);
+    }
+
+    private static List<String> flags(Map<String, Boolean> flags) {
+        if (flags == null) return List.of();
+        List<String> values = new ArrayList<>();
+        flags.forEach((k, v) -> {
+            if (Boolean.TRUE.equals(v) && k != null) values.add(k.trim().toLowerCase());
+        });
+        return values;
+    }
+
+    private static String formatCredits(double credits) {
+        return (credits == Math.rint(credits)) ? String.valueOf((long) credits) : String.valueOf(credits);
+    }
+
+    /**
+     * Résultat d’une requête sur l’index.
+     */
+    public static final class Result {
+        private final List<Course> courses;
+        private final Map<String, Map<String, Integer>> facets;
+
+        Result(List<Course> courses, Map<String, Map<String, Integer>> facets) {
+            this.courses = courses;
+            this.facets = facets;
+        }
+
+        public List<Course> getCourses() { return courses; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    }
+}
@@ -0,0 +1,179 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.DaemonThreads;
+import com.diro.ift2255.util.Deadline;
+import com.diro.ift2255.util.MetricsWriter;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Regroupe les recherches de cours individuelles qui arrivent presque en même temps
+ * (requêtes indépendantes de différents clients) en une seule requête Planifium
+ * {@code courses_sigle}.
+ *
+ * <p>Le premier appel d’un lot démarre une fenêtre de quelques millisecondes ; les appels
+ * suivants avec les mêmes paramètres Planifium rejoignent le lot, qui part à la fin de la
+ * fenêtre ou dès qu’il atteint sa taille maximale. Chaque appelant reçoit ensuite son propre
+ * cours. Un même sigle demandé plusieurs fois dans la fenêtre ne compte qu’une fois.</p>
+ *
+ * <p>{@link #close()} envoie les lots en formation puis arrête les fils du regroupement ;
+ * les appels suivants partent aussitôt, chacun dans sa propre requête.</p>
+ */
+final class CourseRequestBatcher {
+
+    private final BiFunction<List<String>, Map<String, String>, Map<String, Course>> fetcher;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private final Map<Map<String, String>, Batch> pending = new HashMap<>();
+    private boolean closed;
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(DaemonThreads.factory("course-batch-timer"));
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool(DaemonThreads.factory("course-batch"));
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedKeys = new LongAdder();
+
+    /**
+     * @param fetcher requête groupée : sigles (majuscules) et paramètres -> cours trouvés par sigle
+     * @param window durée de la fenêtre de regroupement
+     * @param maxBatchSize nombre maximal de sigles par lot
+     */
+    CourseRequestBatcher(BiFunction<List<String>, Map<String, String>, Map<String, Course>> fetcher,
+                         Duration window, int maxBatchSize) {
+        this.fetcher = fetcher;
+        this.windowNanos = Math.max(0, window.toNanos());
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Ajoute un sigle au lot en formation.
+     *
+     * @param courseId sigle en majuscules
+     * @param params paramètres Planifium (ex : include_schedule)
+     * @return le cours, vide s’il est absent de la réponse groupée ; en échec si le lot a échoué
+     */
+    CompletableFuture<Optional<Course>> load(String courseId, Map<String, String> params) {
+        loads.increment();
+        Map<String, String> key = new TreeMap<>(params);
+        Batch full = null;
+        CompletableFuture<Optional<Course>> future;
+
+        synchronized (lock) {
+            if (!closed) {
+                Batch batch = pending.get(key);
+                if (batch == null) {
+                    batch = new Batch(key);
+                    pending.put(key, batch);
+                    Batch scheduled = batch;
+                    timer.schedule(() -> dispatch(scheduled), windowNanos, TimeUnit.NANOSECONDS);
+                }
+                batch.joinDeadline(Deadline.current());
+                future = batch.waiters.computeIfAbsent(courseId, k -> new CompletableFuture<>());
+                if (batch.waiters.size() >= maxBatchSize) {
+                    pending.remove(key);
+                    full = batch;
+                }
+            } else {
+                future = null;
+            }
+        }
+        if (future == null) return runAlone(courseId, key);
+        if (full != null) submit(full);
+        return future;
+    }
+
+    /** Envoie les lots en formation et arrête les fils du regroupement. */
+    void close() {
+        List<Batch> remaining;
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            remaining = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        timer.shutdownNow();
+        for (Batch batch : remaining) submit(batch);
+        dispatcher.shutdown(); // les lots déjà soumis se terminent
+    }
+
+    // Lot plein ou fermeture concurrente: si le regroupement est arrêté, le lot part dans ce fil
+    private void submit(Batch batch) {
+        try {
+            dispatcher.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            run(batch);
+        }
+    }
+
+    // Regroupement arrêté: requête immédiate pour ce seul sigle, dans le fil de l'appelant
+    private CompletableFuture<Optional<Course>> runAlone(String courseId, Map<String, String> params) {
+        try {
+            return CompletableFuture.completedFuture(
+                    Optional.ofNullable(fetcher.apply(List.of(courseId), params).get(courseId)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    void writeMetrics(MetricsWriter writer) {
+        long n = batches.sum();
+        writer.counter("course_batch_loads_total", "Recherches de cours individuelles passées par le regroupement.", null, loads.sum());
+        writer.counter("course_batch_dispatches_total", "Requêtes groupées courses_sigle envoyées par le regroupement.", null, n);
+        writer.gauge("course_batch_average_size", "Nombre moyen de sigles par requête groupée.", null,
+                (n == 0) ? 0.0 : (double) batchedKeys.sum() / n);
+    }
+
+    // Fin de fenêtre: le lot part s'il n'est pas déjà parti (plein)
+    private void dispatch(Batch batch) {
+        synchronized (lock) {
+            if (pending.get(batch.params) != batch) return;
+            pending.remove(batch.params);
+        }
+        submit(batch);
+    }
+
+    private void run(Batch batch) {
+        List<String> ids = new ArrayList<>(batch.waiters.keySet());
+        batches.increment();
+        batchedKeys.add(ids.size());
+        Deadline.runWith(batch.deadline, () -> {
+            try {
+                Map<String, Course> found = fetcher.apply(ids, batch.params);
+                batch.waiters.forEach((id, f) -> f.complete(Optional.ofNullable(found.get(id))));
+            } catch (RuntimeException e) {
+                batch.waiters.values().forEach(f -> f.completeExceptionally(e));
+            }
+        });
+    }
+
+    /** Lot en formation pour un jeu de paramètres. */
+    private static final class Batch {
+        final Map<String, String> params;
+        final Map<String, CompletableFuture<Optional<Course>>> waiters = new LinkedHashMap<>();
+        Long deadline;
+        boolean unbounded;
+
+        Batch(Map<String, String> params) {
+            this.params = params;
+        }
+
+        // Le lot garde l'échéance la plus tardive de ses appelants (aucune = délai par défaut)
+        void joinDeadline(Long d) {
+            if (unbounded) return;
+            if (d == null) {
+                unbounded = true;
+                deadline = null;
+            } else if (deadline == null || d > deadline) {
+                deadline = d;
+            }
+        }
+    }
+}
@@ -2,11 +2,25 @@ package com.diro.ift2255.service;
 
 import com.diro.ift2255.model.Course;
 import com.diro.ift2255.model.EligibilityResult;
+import com.diro.ift2255.util.CircuitBreaker;
+import com.diro.ift2255.util.Deadline;
 import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.HttpClientApiResponse;
+import com.diro.ift2255.util.Json;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 /**
  * Service responsable de l’accès aux informations des cours.
  *
@@ -15,13 +29,82 @@ import java.util.*;
  * récupérer leurs détails et leurs horaires selon un trimestre donné.</p>
  */
 
-public class CourseService {
+public class CourseService implements MetricsSource {
+
+    /** URL de base de l’API Planifium (surchargée par {@code PLANIFIUM_BASE_URL}, voir {@code ServerConfig}). */
+    public static final String DEFAULT_API_BASE_URL = "https://planifium-api.onrender.com/api/v1";
+
+    /** Attente maximale d’un lot regroupé quand la requête n’a pas d’échéance. */
+    private static final Duration BATCH_WAIT_FALLBACK = Duration.ofSeconds(10);
+
+    /** Nombre de sigles par défaut dans une requête {@code courses_sigle}. */
+    public static final int DEFAULT_BATCH_SIZE = 20;
+
+    /** Nombre maximal de cours reçus en lot conservés comme dernière version connue. */
+    private static final int LAST_GOOD_CAPACITY = 2000;
 
     private final HttpClientApi clientApi;
-    private static final String BASE_URL = "https://planifium-api.onrender.com/api/v1/courses";
+    private final String baseUrl;
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    // Regroupement des recherches individuelles concurrentes (null = désactivé)
+    private volatile CourseRequestBatcher requestBatcher;
+    // Dernière version de chaque cours reçu dans un lot, sous sa clé /courses/{id} (le client
+    // HTTP ne la conserve que sous l'URI du lot): secours quand un lot suivant échoue
+    private final Map<URI, Course> lastGoodCourses = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URI, Course> eldest) {
+                    return size() > LAST_GOOD_CAPACITY;
+                }
+            });
 
     public CourseService(HttpClientApi clientApi) {
+        this(clientApi, DEFAULT_API_BASE_URL);
+    }
+
+    /**
+     * @param clientApi client HTTP vers Planifium
+     * @param apiBaseUrl URL de base de l’API (ex : {@code http://localhost:7071/api/v1} pour le Planifium simulé)
+     */
+    public CourseService(HttpClientApi clientApi, String apiBaseUrl) {
         this.clientApi = clientApi;
+        this.baseUrl = stripTrailingSlash(apiBaseUrl) + "/courses";
+    }
+
+    /**
+     * @param batchSize nombre maximal de sigles par requête {@code courses_sigle} (au moins 1)
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Active le regroupement des appels concurrents à {@link #getCourseById(String, Map)} :
+     * les sigles demandés pendant la fenêtre partent dans une seule requête {@code courses_sigle}.
+     *
+     * @param window durée de la fenêtre (ex : 3 ms) ; nulle ou négative pour désactiver
+     * @param maxBatchSize nombre maximal de sigles par requête groupée
+     */
+    public synchronized void setRequestBatching(Duration window, int maxBatchSize) {
+        CourseRequestBatcher previous = requestBatcher;
+        this.requestBatcher = (window == null || window.isZero() || window.isNegative())
+                ? null
+                : new CourseRequestBatcher(this::fetchBatch, window, maxBatchSize);
+        if (previous != null) previous.close();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        CourseRequestBatcher batcher = requestBatcher;
+        if (batcher != null) batcher.writeMetrics(writer);
+    }
+
+    static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
     }
 
     // ------------------------------
@@ -29,10 +112,74 @@ public class CourseService {
     // ------------------------------
     public List<Course> getAllCourses(Map<String, String> queryParams) {
         Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
-        URI uri = HttpClientApi.buildUri(BASE_URL, params);
+        URI uri = HttpClientApi.buildUri(baseUrl, params);
         return clientApi.get(uri, new TypeReference<List<Course>>() {});
     }
 
+    /**
+     * Réponse brute du catalogue complet avec horaires, pour la synchronisation
+     * incrémentale ({@link CatalogSyncService}).
+     *
+     * @param headers en-têtes conditionnels ({@code If-None-Match}, {@code If-Modified-Since}), éventuellement vides
+     * @return la réponse de Planifium (304 si le catalogue n'a pas changé)
+     */
+    public HttpClientApiResponse fetchCatalogWithSchedules(Map<String, String> headers) {
+        URI uri = HttpClientApi.buildUri(baseUrl, Map.of("include_schedule", "true"));
+        return clientApi.get(uri, headers);
+    }
+
+    /**
+     * Parcourt les cours retournés par Planifium sans construire la liste complète.
+     *
+     * <p>La réponse amont est lue immédiatement (une erreur amont est donc levée
+     * ici, avant tout envoi au client), puis chaque cours est désérialisé
+     * à la demande pendant l'itération.</p>
+     *
+     * @param queryParams filtres Planifium
+     * @return itérateur paresseux sur les cours
+     */
+    public Iterator<Course> iterateAllCourses(Map<String, String> queryParams) {
+        Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
+        URI uri = HttpClientApi.buildUri(baseUrl, params);
+        HttpClientApiResponse raw = clientApi.get(uri);
+        if (raw.getStatusCode() < 200 || raw.getStatusCode() >= 300) {
+            throw new RuntimeException("Request failed: " + raw.getStatusCode() + " - " + raw.getStatusMessage());
+        }
+
+        try {
+            JsonParser parser = Json.MAPPER.createParser(raw.getBody());
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Failed to parse JSON: tableau de cours attendu");
+            }
+            return new Iterator<>() {
+                private Course next = advance();
+
+                private Course advance() {
+                    try {
+                        return (parser.nextToken() == JsonToken.START_OBJECT) ? Json.COURSE_READER.readValue(parser) : null;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Course next() {
+                    if (next == null) throw new NoSuchElementException();
+                    Course current = next;
+                    next = advance();
+                    return current;
+                }
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse JSON: " + e.getMessage(), e);
+        }
+    }
+
     // ------------------------------
     // Récupération d’un cours
     // ------------------------------
@@ -48,17 +195,124 @@ public class CourseService {
         Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
 
         String cleanedId = courseId.trim();
-        URI uri = HttpClientApi.buildUri(BASE_URL + "/" + cleanedId.toLowerCase(), params);
-
+        CourseRequestBatcher batcher = requestBatcher;
+        if (batcher != null) return loadBatched(batcher, cleanedId.toUpperCase(), params);
+        return fetchCourse(cleanedId, params);
+    }
 
+    // Requête individuelle /courses/{id}
+    private Optional<Course> fetchCourse(String courseId, Map<String, String> params) {
         try {
-            Course course = clientApi.get(uri, Course.class);
+            Course course = clientApi.get(courseUri(courseId, params), Course.class);
             return Optional.ofNullable(course);
         } catch (RuntimeException e) {
             return Optional.empty();
         }
     }
 
+    // Dernière version connue de /courses/{id} (reçue en lot ou individuellement), sans appel amont
+    private Optional<Course> lastKnownCourse(String courseId, Map<String, String> params) {
+        URI uri = courseUri(courseId, params);
+        Course fromBatch = lastGoodCourses.get(uri);
+        if (fromBatch != null) return Optional.of(fromBatch);
+        HttpClientApiResponse stale = clientApi.lastKnown(uri);
+        if (stale == null) return Optional.empty();
+        try {
+            return Optional.ofNullable(Json.COURSE_READER.readValue(stale.getBody()));
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private URI courseUri(String courseId, Map<String, String> params) {
+        return HttpClientApi.buildUri(baseUrl + "/" + courseId.toLowerCase(), params);
+    }
+
+    // Attend le lot regroupé. Cours absent du lot: requête individuelle. Lot en échec ou trop
+    // lent: dernière version connue (y compris reçue dans un lot précédent), sans requête
+    // individuelle (tous les appelants du lot solliciteraient sinon l'amont en même temps)
+    private Optional<Course> loadBatched(CourseRequestBatcher batcher, String courseId, Map<String, String> params) {
+        try {
+            long waitMs = Math.max(1, Deadline.remaining(BATCH_WAIT_FALLBACK).toMillis());
+            Optional<Course> course = batcher.load(courseId, params).get(waitMs, TimeUnit.MILLISECONDS);
+            return course.isPresent() ? course : fetchCourse(courseId, params);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            return lastKnownCourse(courseId, params);
+        }
+    }
+
+    // ------------------------------
+    // Récupération de plusieurs cours
+    // ------------------------------
+    /**
+     * Récupère plusieurs cours en regroupant les sigles dans des requêtes
+     * {@code GET /courses?courses_sigle=ift1015,ift1025,...} (au plus {@link #getBatchSize()}
+     * sigles par requête). Seuls les cours absents d'une réponse groupée sont redemandés
+     * un à un (tant que le disjoncteur de Planifium n'est pas ouvert) ; pour un lot en
+     * échec, seule la dernière version connue de chaque cours est servie, sans autre appel.
+     *
+     * @param courseIds sigles des cours (insensibles à la casse ; vides et doublons ignorés)
+     * @param queryParams paramètres Planifium supplémentaires (ex : include_schedule)
+     * @return les cours trouvés, dans l'ordre des sigles demandés
+     */
+    public List<Course> getCoursesByIds(Collection<String> courseIds, Map<String, String> queryParams) {
+        if (courseIds == null || courseIds.isEmpty()) return List.of();
+
+        List<String> ids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String raw : courseIds) {
+            if (raw == null || raw.isBlank()) continue;
+            String id = raw.trim().toUpperCase();
+            if (seen.add(id)) ids.add(id);
+        }
+        if (ids.isEmpty()) return List.of();
+
+        Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
+        Map<String, Course> found = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        int size = batchSize;
+
+        for (int from = 0; from < ids.size(); from += size) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + size));
+            try {
+                found.putAll(fetchBatch(chunk, params));
+            } catch (RuntimeException e) {
+                failed.addAll(chunk); // amont en difficulté: pas de requêtes individuelles en rafale
+            }
+        }
+
+        List<Course> result = new ArrayList<>(ids.size());
+        URI probe = courseUri(ids.get(0), params);
+        for (String id : ids) {
+            Course c = found.get(id);
+            if (c == null) {
+                // Repli individuel (sans repasser par le regroupement) seulement pour un cours absent d'un lot réussi
+                boolean upstreamDown = failed.contains(id) || clientApi.circuitState(probe) == CircuitBreaker.State.OPEN;
+                c = (upstreamDown ? lastKnownCourse(id, params) : fetchCourse(id, params)).orElse(null);
+            }
+            if (c != null) result.add(c);
+        }
+        return result;
+    }
+
+    // Une requête GET /courses?courses_sigle=...; retourne les cours trouvés par sigle en majuscules
+    private Map<String, Course> fetchBatch(List<String> ids, Map<String, String> params) {
+        Map<String, String> batchParams = new HashMap<>(params);
+        batchParams.put("courses_sigle", String.join(",", ids).toLowerCase());
+        List<Course> courses = clientApi.get(HttpClientApi.buildUri(baseUrl, batchParams), new TypeReference<List<Course>>() {});
+
+        Map<String, Course> found = new HashMap<>();
+        if (courses == null) return found;
+        for (Course c : courses) {
+            if (c != null && c.getId() != null) found.putIfAbsent(c.getId().trim().toUpperCase(), c);
+        }
+        found.forEach((id, c) -> lastGoodCourses.put(courseUri(id, params), c));
+        return found;
+    }
+
     // ------------------------------
     // Comparaison de plusieurs cours
     // ------------------------------
@@ -71,16 +325,7 @@ public class CourseService {
             return List.of();
         }
 
-        Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
-        List<Course> result = new ArrayList<>();
-
-        for (String id : courseIds) {
-            if (id != null && !id.isBlank()) {
-                getCourseById(id.trim(), params).ifPresent(result::add);
-            }
-        }
-
-        return result;
+        return getCoursesByIds(courseIds, queryParams);
     }
 
     // ------------------------------
@@ -134,7 +379,7 @@ public class CourseService {
 }
 
 // Règle minimale: codes >= 6000 -> cycle 2/3 (ici on met 2)
-private Integer inferRequiredCycle(String courseId) {
+static Integer inferRequiredCycle(String courseId) {
     if (courseId == null) return null;
     String id = courseId.trim().toUpperCase();
     if (!id.matches("^[A-Z]{3}\\d{4}$")) return null;
@@ -178,20 +423,13 @@ private Integer inferRequiredCycle(String courseId) {
             return List.of();
         }
 
-        // Interroger Planifium pour ces sigles spécifiques (safe et rapide)
-        List<Course> result = new ArrayList<>();
-        Map<String, String> params = (queryParams == null) ? Collections.emptyMap() : queryParams;
-
-        for (String sigle : sigles) {
-            getCourseById(sigle, params).ifPresent(result::add);
-        }
-
-        return result;
+        // Interroger Planifium pour ces sigles spécifiques, par lots (courses_sigle)
+        return getCoursesByIds(sigles, queryParams);
     }
 
     /**
      * Récupère les cours offerts pour un trimestre donné (global, sans filtre de programme).
-     * Utilise une liste de sigles courants du DIRO pour interroger Planifium.
+     * Utilise une liste de sigles courants du DIRO pour interroger Planifium (par lots).
      */
     public List<Course> getCoursesOfferedBySemester(String semester, int limit) {
         if (semester == null || semester.isBlank()) return List.of();
@@ -211,19 +449,11 @@ private Integer inferRequiredCycle(String courseId) {
         qp.put("schedule_semester", sem);
 
         List<Course> offered = new ArrayList<>();
-        int count = 0;
-
-        for (String sigle : commonSigles) {
-            if (count >= limit) break;
-
-            Optional<Course> opt = getCourseById(sigle, qp);
-            if (opt.isPresent()) {
-                Course course = opt.get();
-                // Vérifier que le cours a bien un horaire pour ce trimestre
-                if (course.getSchedules() != null && !course.getSchedules().isEmpty()) {
-                    offered.add(course);
-                    count++;
-                }
+        for (Course course : getCoursesByIds(commonSigles, qp)) {
+            if (offered.size() >= limit) break;
+            // Vérifier que le cours a bien un horaire pour ce trimestre
+            if (course.getSchedules() != null && !course.getSchedules().isEmpty()) {
+                offered.add(course);
             }
         }
 
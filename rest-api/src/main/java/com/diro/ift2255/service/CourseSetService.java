@@ -58,11 +58,7 @@ public class CourseSetService {
         qp.put("include_schedule", "true");
         qp.put("schedule_semester", set.getSemester().toLowerCase());
 
-        List<Course> out = new ArrayList<>();
-        for (String cid : set.getCourseIds()) {
-            courseService.getCourseById(cid, qp).ifPresent(out::add);
-        }
-        return out;
+        return courseService.getCoursesByIds(set.getCourseIds(), qp);
     }
 
     // ========================================================================
@@ -0,0 +1,321 @@
+package com.diro.ift2255.service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Journal binaire, en ajout seul, des inscriptions par section.
+ *
+ * <p>Format : l’en-tête {@code ENR1}, puis une suite d’enregistrements :</p>
+ * <ul>
+ *   <li>{@code 1} définition de série : id (varint), trimestre, sigle, section (chaînes UTF-8 préfixées par leur longueur) ;</li>
+ *   <li>{@code 2} échantillon : id (varint), puis écarts zigzag (varint) avec l’échantillon précédent de la
+ *       même série : temps en secondes, capacité, inscrits.</li>
+ * </ul>
+ *
+ * <p>Un échantillon identique au précédent n’est pas écrit ; un échantillon
+ * typique occupe ainsi 5 à 7 octets. Seul l’état courant de chaque série est
+ * gardé en mémoire ; les requêtes relisent le fichier en flux. Un
+ * enregistrement incomplet en fin de fichier (arrêt pendant une écriture) est
+ * tronqué à l’ouverture ; un en-tête incomplet est réécrit, et un fichier dont
+ * l’en-tête est invalide est mis de côté ({@code .corrupt-<date>}) au profit
+ * d’un journal vide.</p>
+ */
+final class EnrollmentLog {
+
+    private static final byte[] MAGIC = {'E', 'N', 'R', '1'};
+    private static final int SERIES = 1;
+    private static final int SAMPLE = 2;
+
+    /** Reçoit les échantillons décodés lors d’un parcours du journal. */
+    @FunctionalInterface
+    interface Visitor {
+        void sample(Series series, long timeMs, int capacity, int enrolled);
+    }
+
+    /** Série d’une section (trimestre, cours, section) et son dernier état écrit. */
+    static final class Series {
+        final int id;
+        final String semester;
+        final String courseId;
+        final String section;
+        long lastSeconds;
+        int lastCapacity;
+        int lastEnrolled;
+        int samples;
+
+        Series(int id, String semester, String courseId, String section) {
+            this.id = id;
+            this.semester = semester;
+            this.courseId = courseId;
+            this.section = section;
+        }
+    }
+
+    private final Path path;
+    private final Map<String, Series> byKey = new HashMap<>();
+    private final List<Series> byId = new ArrayList<>();
+    private final OutputStream out;
+    private long length;
+    private long samples;
+
+    /**
+     * Ouvre (ou crée) le journal et relit les séries existantes.
+     *
+     * @param path fichier du journal
+     */
+    EnrollmentLog(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        prepareHeader();
+        this.length = recover();
+        this.out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Ajoute un échantillon s’il diffère du précédent de la même série.
+     *
+     * @return {@code true} si l’échantillon a été écrit
+     */
+    synchronized boolean append(String semester, String courseId, String section,
+                                long timeMs, int capacity, int enrolled) throws IOException {
+        String key = semester + "|" + courseId + "|" + section;
+        Series s = byKey.get(key);
+        boolean created = (s == null);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(32);
+        if (created) {
+            s = new Series(byId.size(), semester, courseId, section);
+            buf.write(SERIES);
+            writeVarLong(buf, s.id);
+            writeString(buf, semester);
+            writeString(buf, courseId);
+            writeString(buf, section);
+        } else if (s.samples > 0 && s.lastCapacity == capacity && s.lastEnrolled == enrolled) {
+            return false;
+        }
+
+        long seconds = timeMs / 1000;
+        buf.write(SAMPLE);
+        writeVarLong(buf, s.id);
+        writeVarLong(buf, zigzag(seconds - s.lastSeconds));
+        writeVarLong(buf, zigzag(capacity - s.lastCapacity));
+        writeVarLong(buf, zigzag(enrolled - s.lastEnrolled));
+
+        // État mis à jour seulement une fois l'écriture faite (les écarts suivants en dépendent)
+        buf.writeTo(out);
+        if (created) {
+            byKey.put(key, s);
+            byId.add(s);
+        }
+        s.lastSeconds = seconds;
+        s.lastCapacity = capacity;
+        s.lastEnrolled = enrolled;
+        s.samples++;
+        length += buf.size();
+        samples++;
+        return true;
+    }
+
+    /** Écrit sur disque les échantillons en tampon. */
+    synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Parcourt le journal en flux, en ne décodant que les séries retenues.
+     *
+     * @param filter séries à transmettre au visiteur
+     * @param visitor reçoit les échantillons, dans l’ordre d’écriture
+     */
+    void scan(Predicate<Series> filter, Visitor visitor) throws IOException {
+        long end;
+        List<Series> series;
+        synchronized (this) {
+            out.flush();
+            end = length;
+            series = List.copyOf(byId);
+        }
+        long[] state = new long[series.size() * 3];
+        try (Reader r = new Reader(path, end)) {
+            r.skipMagic();
+            while (r.pos < end) {
+                int tag = r.read();
+                int id = (int) r.readVarLong();
+                if (tag == SERIES) {
+                    r.readString();
+                    r.readString();
+                    r.readString();
+                    continue;
+                }
+                long dt = unzigzag(r.readVarLong());
+                long dc = unzigzag(r.readVarLong());
+                long de = unzigzag(r.readVarLong());
+                if (id >= series.size() || !filter.test(series.get(id))) continue;
+                int o = id * 3;
+                state[o] += dt;
+                state[o + 1] += dc;
+                state[o + 2] += de;
+                visitor.sample(series.get(id), state[o] * 1000, (int) state[o + 1], (int) state[o + 2]);
+            }
+        }
+    }
+
+    /** Séries connues (copie). */
+    synchronized List<Series> series() {
+        return List.copyOf(byId);
+    }
+
+    synchronized long sizeBytes() {
+        return length;
+    }
+
+    synchronized long sampleCount() {
+        return samples;
+    }
+
+    /**
+     * Vérifie l’en-tête avant la relecture : absent ou incomplet (arrêt pendant la
+     * création), il est réécrit ; invalide, le fichier est mis de côté et remplacé
+     * par un journal vide.
+     */
+    private void prepareHeader() throws IOException {
+        byte[] head = new byte[0];
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                head = in.readNBytes(MAGIC.length);
+            }
+        }
+        if (Arrays.equals(head, MAGIC)) return;
+        if (head.length < MAGIC.length && Arrays.equals(head, Arrays.copyOf(MAGIC, head.length))) {
+            Files.write(path, MAGIC);
+            return;
+        }
+        Path aside = path.resolveSibling(path.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        Files.move(path, aside, StandardCopyOption.REPLACE_EXISTING);
+        System.err.println("[EnrollmentLog] En-tête invalide, journal mis de côté: " + aside);
+        Files.write(path, MAGIC);
+    }
+
+    /** Relit le journal pour reconstruire l’état des séries ; tronque une fin incomplète. */
+    private long recover() throws IOException {
+        long size = Files.size(path);
+        long good = MAGIC.length;
+        try (Reader r = new Reader(path, size)) {
+            r.skipMagic();
+            while (r.pos < size) {
+                int tag = r.read();
+                if (tag == SERIES) {
+                    int id = (int) r.readVarLong();
+                    Series s = new Series(id, r.readString(), r.readString(), r.readString());
+                    if (id != byId.size()) throw new StreamCorruptedException("Identifiant de série inattendu: " + id);
+                    byId.add(s);
+                    byKey.put(s.semester + "|" + s.courseId + "|" + s.section, s);
+                } else if (tag == SAMPLE) {
+                    int id = (int) r.readVarLong();
+                    long dt = unzigzag(r.readVarLong());
+                    long dc = unzigzag(r.readVarLong());
+                    long de = unzigzag(r.readVarLong());
+                    if (id < 0 || id >= byId.size()) throw new StreamCorruptedException("Série inconnue: " + id);
+                    Series s = byId.get(id);
+                    s.lastSeconds += dt;
+                    s.lastCapacity += (int) dc;
+                    s.lastEnrolled += (int) de;
+                    s.samples++;
+                    samples++;
+                } else {
+                    throw new StreamCorruptedException("Type d'enregistrement inconnu: " + tag);
+                }
+                good = r.pos;
+            }
+        } catch (EOFException e) {
+            System.err.println("[EnrollmentLog] Fin de journal incomplète ignorée: " + path);
+        } catch (StreamCorruptedException e) {
+            System.err.println("[EnrollmentLog] Journal corrompu, lecture arrêtée: " + e.getMessage());
+        }
+
+        if (good < size) {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                ch.truncate(good);
+            }
+        }
+        return good;
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static void writeString(OutputStream out, String s) throws IOException {
+        byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /** Lecture séquentielle bornée, avec suivi de la position. */
+    private static final class Reader implements Closeable {
+        private final InputStream in;
+        private final long end;
+        long pos;
+
+        Reader(Path path, long end) throws IOException {
+            this.in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+            this.end = end;
+        }
+
+        void skipMagic() throws IOException {
+            byte[] magic = new byte[MAGIC.length];
+            for (int i = 0; i < magic.length; i++) magic[i] = (byte) read();
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("En-tête de journal invalide.");
+        }
+
+        int read() throws IOException {
+            if (pos >= end) throw new EOFException();
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            pos++;
+            return b;
+        }
+
+        long readVarLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return v;
+            }
+            throw new StreamCorruptedException("Entier variable trop long.");
+        }
+
+        String readString() throws IOException {
+            int len = (int) readVarLong();
+            if (len < 0 || len > 1024) throw new StreamCorruptedException("Chaîne invalide.");
+            byte[] bytes = new byte[len];
+            for (int i = 0; i < len; i++) bytes[i] = (byte) read();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.EnrollmentCurve;
+import com.diro.ift2255.model.EnrollmentTrend;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Suivi des inscriptions (capacité et inscrits) des sections offertes.
+ *
+ * <p>Chaque instantané de {@link OfferedCoursesCache} (rafraîchi en arrière-plan)
+ * fournit un échantillon par section, enregistré dans un {@link EnrollmentLog}
+ * s’il a changé depuis le précédent. Les courbes et classements sont calculés
+ * en relisant le journal en flux : seuls les états courants des séries restent
+ * en mémoire, jamais l’historique complet.</p>
+ *
+ * <p>Si le journal ne peut pas être ouvert (disque en lecture seule, droits),
+ * le suivi est désactivé : rien n’est enregistré et les courbes sont vides,
+ * mais le serveur démarre.</p>
+ */
+public class EnrollmentService implements MetricsSource {
+
+    // null si le journal n'a pas pu être ouvert (suivi désactivé)
+    private final EnrollmentLog log;
+    private final LongSupplier clock;
+
+    /**
+     * @param offeredCache cours offerts précalculés ; le service s’abonne à leurs instantanés
+     * @param filePath fichier du journal des inscriptions
+     */
+    public EnrollmentService(OfferedCoursesCache offeredCache, String filePath) {
+        this(offeredCache, filePath, System::currentTimeMillis);
+    }
+
+    EnrollmentService(OfferedCoursesCache offeredCache, String filePath, LongSupplier clock) {
+        EnrollmentLog opened;
+        try {
+            opened = new EnrollmentLog(Path.of(filePath));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[EnrollmentService] Suivi des inscriptions désactivé (" + filePath + "): " + e.getMessage());
+            opened = null;
+        }
+        this.log = opened;
+        this.clock = clock;
+        if (offeredCache != null) offeredCache.addListener(this::record);
+    }
+
+    /**
+     * Enregistre les inscriptions de toutes les sections d’un instantané.
+     *
+     * @param snapshot instantané de cours offerts (avec horaires)
+     * @return nombre d’échantillons écrits (les sections inchangées sont ignorées)
+     */
+    public int record(OfferedCoursesCache.Snapshot snapshot) {
+        if (log == null) return 0;
+        long now = clock.getAsLong();
+        String semester = snapshot.getSemester();
+        int[] written = {0};
+        try {
+            for (Course course : snapshot.getCourses()) {
+                if (course == null || course.getId() == null) continue;
+                String courseId = course.getId().trim().toUpperCase();
+                ScheduleActivities.forEachSection(course, semester, section -> {
+                    Integer capacity = parseCount(section.getCapacity());
+                    Integer enrolled = parseCount(section.getNumberInscription());
+                    if (capacity == null || enrolled == null || section.getName() == null) return;
+                    try {
+                        if (log.append(semester, courseId, section.getName(), now, capacity, enrolled)) written[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            log.flush();
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("[EnrollmentService] Écriture du journal échouée: " + e.getMessage());
+        }
+        return written[0];
+    }
+
+    /**
+     * Courbes d’inscription des sections d’un cours.
+     *
+     * @param courseId sigle du cours
+     * @param semester trimestre, ou {@code null} pour tous
+     * @return une courbe par section (ordre trimestre, section)
+     */
+    public List<EnrollmentCurve> curves(String courseId, String semester) {
+        String id = courseId.trim().toUpperCase();
+        String sem = (semester == null) ? null : semester.trim().toUpperCase();
+        Map<EnrollmentLog.Series, List<EnrollmentCurve.Point>> points = new TreeMap<>(
+                Comparator.comparing((EnrollmentLog.Series s) -> s.semester).thenComparing(s -> s.section));
+        scan(s -> s.courseId.equals(id) && (sem == null || s.semester.equals(sem)),
+                (s, t, cap, enrolled) -> points.computeIfAbsent(s, k -> new ArrayList<>())
+                        .add(new EnrollmentCurve.Point(t, cap, enrolled)));
+
+        List<EnrollmentCurve> result = new ArrayList<>();
+        points.forEach((s, list) -> result.add(new EnrollmentCurve(s.courseId, s.semester, s.section, list)));
+        return result;
+    }
+
+    /**
+     * Sections dont le taux de remplissage a le plus augmenté sur une période.
+     * La référence est le dernier échantillon antérieur au début de la période
+     * (ou, à défaut, le premier échantillon de la période).
+     *
+     * @param semester trimestre
+     * @param window durée de la période (se terminant maintenant)
+     * @param limit nombre maximal de sections
+     * @return les sections en progression, de la plus rapide à la moins rapide
+     */
+    public List<EnrollmentTrend> fastestFilling(String semester, Duration window, int limit) {
+        String sem = semester.trim().toUpperCase();
+        long since = clock.getAsLong() - window.toMillis();
+        // Par série : [capacité, inscrits] de référence puis les plus récents
+        Map<EnrollmentLog.Series, int[]> state = new HashMap<>();
+        scan(s -> s.semester.equals(sem), (s, t, cap, enrolled) -> {
+            int[] st = state.get(s);
+            if (st == null) {
+                state.put(s, new int[]{cap, enrolled, cap, enrolled});
+            } else if (t <= since) {
+                st[0] = cap;
+                st[1] = enrolled;
+                st[2] = cap;
+                st[3] = enrolled;
+            } else {
+                st[2] = cap;
+                st[3] = enrolled;
+            }
+        });
+
+        List<EnrollmentTrend> trends = new ArrayList<>();
+        state.forEach((s, st) -> {
+            if (st[0] <= 0 || st[2] <= 0) return;
+            double delta = (double) st[3] / st[2] - (double) st[1] / st[0];
+            if (delta <= 0 && st[3] <= st[1]) return;
+            trends.add(new EnrollmentTrend(s.courseId, s.semester, s.section, st[2], st[3], st[3] - st[1], delta));
+        });
+        trends.sort(Comparator.comparingDouble(EnrollmentTrend::getFillRateDelta).reversed()
+                .thenComparing(Comparator.comparingInt(EnrollmentTrend::getEnrolledDelta).reversed())
+                .thenComparing(EnrollmentTrend::getCourseId)
+                .thenComparing(EnrollmentTrend::getSection));
+        return trends.size() > limit ? List.copyOf(trends.subList(0, limit)) : trends;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        if (log == null) return;
+        writer.gauge("enrollment_series", "Nombre de sections suivies (inscriptions).", null, log.series().size());
+        writer.counter("enrollment_samples_total", "Échantillons d'inscription enregistrés.", null, log.sampleCount());
+        writer.gauge("enrollment_log_bytes", "Taille du journal des inscriptions.", null, log.sizeBytes());
+    }
+
+    private void scan(Predicate<EnrollmentLog.Series> filter, EnrollmentLog.Visitor visitor) {
+        if (log == null) return;
+        try {
+            log.scan(filter, visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du journal des inscriptions échouée", e);
+        }
+    }
+
+    private static Integer parseCount(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            int v = Integer.parseInt(raw.trim());
+            return (v >= 0) ? v : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
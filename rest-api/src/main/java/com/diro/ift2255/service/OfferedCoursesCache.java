@@ -0,0 +1,339 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.DaemonThreads;
+import com.diro.ift2255.util.LatencyHistogram;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import com.diro.ift2255.util.TtlCache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+/**
+ * Cache des cours offerts par programme et par trimestre.
+ *
+ * <p>Pour chaque couple (programme, trimestre) demandé, la liste des cours offerts
+ * est calculée une fois (via {@link ProgramService}, ou {@link CourseService} pour
+ * la liste globale {@link #ALL_PROGRAMS}) puis conservée sous forme
+ * d’instantané immuable. Une tâche de fond recalcule périodiquement tous les
+ * instantanés suivis ; les requêtes lisent donc toujours un résultat déjà prêt,
+ * sans appel à Planifium.</p>
+ *
+ * <p>Si un recalcul échoue ou ne retourne rien (Planifium indisponible),
+ * l’instantané précédent est conservé.</p>
+ *
+ * <p>Le nombre de couples suivis est borné, car chacun est recalculé auprès de
+ * Planifium à chaque cycle :</p>
+ * <ul>
+ *   <li>seuls les programmes numériques (ou {@link #ALL_PROGRAMS}) sont acceptés ;</li>
+ *   <li>un couple qui ne donne aucun cours n’est pas suivi (résultat vide mémorisé
+ *       {@link #EMPTY_RESULT_TTL}, sans rafraîchissement) ;</li>
+ *   <li>un couple non lu depuis {@link #MAX_IDLE_CYCLES} cycles cesse d’être suivi
+ *       (sauf ceux préchargés par {@link #warmUp}) ;</li>
+ *   <li>au-delà de {@link #MAX_TRACKED} couples, le moins récemment lu est retiré.</li>
+ * </ul>
+ */
+public class OfferedCoursesCache implements MetricsSource {
+
+    /** Identifiant réservé pour la liste globale des cours offerts (sans filtre de programme). */
+    public static final String ALL_PROGRAMS = "*";
+
+    /** Nombre maximal de cours du programme considérés lors du calcul. */
+    static final int MAX_PROGRAM_COURSES = 200;
+
+    /** Nombre maximal de couples (programme, trimestre) suivis. */
+    static final int MAX_TRACKED = 200;
+
+    /** Nombre de cycles de rafraîchissement sans lecture après lequel un couple cesse d’être suivi. */
+    static final int MAX_IDLE_CYCLES = 4;
+
+    /** Durée pendant laquelle un résultat vide est resservi sans recalcul. */
+    static final Duration EMPTY_RESULT_TTL = Duration.ofMinutes(5);
+
+    private final ProgramService programService;
+    private final CourseService courseService;
+    private final Duration refreshInterval;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Object> computeLocks = new ConcurrentHashMap<>();
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Snapshot>> removalListeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    // Cycle de rafraîchissement courant, et dernier cycle où chaque couple suivi a été lu
+    private volatile long cycle = 0;
+    private final Map<String, Long> lastRead = new ConcurrentHashMap<>();
+    // Couples préchargés au démarrage: toujours suivis
+    private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+    private final TtlCache<String, Snapshot> emptyResults = new TtlCache<>(EMPTY_RESULT_TTL, 1_000);
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LatencyHistogram computeLatency = new LatencyHistogram();
+
+    /**
+     * @param programService service utilisé pour calculer les cours offerts d'un programme
+     * @param courseService service utilisé pour calculer la liste globale des cours offerts
+     * @param refreshInterval intervalle entre deux recalculs des instantanés suivis
+     */
+    public OfferedCoursesCache(ProgramService programService, CourseService courseService, Duration refreshInterval) {
+        this.programService = programService;
+        this.courseService = courseService;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /** Démarre la tâche de rafraîchissement périodique. */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(DaemonThreads.factory("offered-refresh"));
+        long period = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshAll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Arrête la tâche de rafraîchissement. */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Enregistre un observateur appelé à chaque nouvel instantané calculé (dans le
+     * thread du calcul). Les instantanés déjà présents lui sont transmis tout de suite.
+     *
+     * @param listener observateur (ex : index construit à partir des horaires)
+     */
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+        snapshots.values().forEach(listener);
+    }
+
+    /**
+     * Enregistre un observateur appelé quand un couple cesse d’être suivi (inactif ou
+     * au-delà de {@link #MAX_TRACKED}), avec son dernier instantané : les index dérivés
+     * peuvent ainsi rester bornés comme le cache.
+     *
+     * @param listener observateur (ex : index à purger)
+     */
+    public void addRemovalListener(Consumer<Snapshot> listener) {
+        removalListeners.add(listener);
+    }
+
+    /**
+     * Indique si un instantané est celui actuellement suivi pour son couple
+     * (faux pour un résultat vide, un instantané remplacé ou un couple retiré).
+     *
+     * @param snapshot instantané retourné par {@link #get}
+     * @return {@code true} si l’instantané est encore suivi
+     */
+    public boolean isTracked(Snapshot snapshot) {
+        return snapshot != null && snapshots.get(snapshot.getProgramId() + "|" + snapshot.getSemester()) == snapshot;
+    }
+
+    /**
+     * Demande le précalcul (en arrière-plan) d’un couple programme/trimestre.
+     *
+     * @param programId identifiant du programme
+     * @param semester trimestre (ex : H25)
+     */
+    public void warmUp(String programId, String semester) {
+        String key = key(programId, semester);
+        if (key == null) return;
+        pinned.add(key);
+        if (snapshots.containsKey(key)) return;
+        Thread t = DaemonThreads.factory("offered-warmup").newThread(() -> get(programId, semester));
+        t.start();
+    }
+
+    /**
+     * Retourne l’instantané des cours offerts. Le premier appel pour un couple
+     * donné le calcule (de manière synchrone) ; les suivants sont immédiats.
+     *
+     * @param programId identifiant du programme, ou {@link #ALL_PROGRAMS}
+     * @param semester trimestre (H25/A24/E24)
+     * @return l’instantané, ou {@code null} si le programme ou le trimestre est invalide
+     */
+    public Snapshot get(String programId, String semester) {
+        String key = key(programId, semester);
+        if (key == null) return null;
+
+        Snapshot snap = snapshots.get(key);
+        if (snap != null) {
+            hits.increment();
+            lastRead.put(key, cycle);
+            return snap;
+        }
+        snap = emptyResults.get(key);
+        if (snap != null) {
+            hits.increment();
+            return snap;
+        }
+        misses.increment();
+
+        // Un seul calcul par clé, les requêtes concurrentes attendent le résultat
+        synchronized (computeLocks.computeIfAbsent(key, k -> new Object())) {
+            snap = snapshots.get(key);
+            if (snap == null) snap = emptyResults.get(key);
+            if (snap == null) snap = compute(key);
+            return snap;
+        }
+    }
+
+    /** Recalcule tous les instantanés suivis (après avoir retiré ceux qui ne sont plus lus). */
+    public void refreshAll() {
+        long current = ++cycle;
+        for (String key : new ArrayList<>(snapshots.keySet())) {
+            if (!pinned.contains(key) && current - lastRead.getOrDefault(key, 0L) > MAX_IDLE_CYCLES) untrack(key);
+        }
+        for (String key : new ArrayList<>(snapshots.keySet())) {
+            try {
+                synchronized (computeLocks.computeIfAbsent(key, k -> new Object())) {
+                    if (snapshots.containsKey(key)) compute(key); // peut avoir été retiré entre-temps
+                }
+            } catch (RuntimeException e) {
+                System.err.println("[OfferedCoursesCache] Rafraîchissement échoué pour " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /** Nombre de couples (programme, trimestre) actuellement suivis. */
+    int trackedCount() {
+        return snapshots.size();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.cache("offered_courses", hits.sum(), misses.sum(), snapshots.size());
+        writer.counter("offered_courses_untracked_total", "Couples programme/trimestre retirés (inactifs ou au-delà de la borne).",
+                null, dropped.sum());
+        writer.histogram("offered_courses_compute_duration_seconds",
+                "Durée de calcul d'un instantané de cours offerts.", null, computeLatency);
+        long now = System.currentTimeMillis();
+        snapshots.forEach((key, snap) -> writer.gauge("offered_courses_snapshot_age_seconds",
+                "Âge de l'instantané de cours offerts.", MetricsWriter.labels("program", snap.getProgramId(), "semester", snap.getSemester()),
+                (now - snap.getComputedAt()) / 1000.0));
+    }
+
+    private Snapshot compute(String key) {
+        long start = System.nanoTime();
+        int sep = key.indexOf('|');
+        String programId = key.substring(0, sep);
+        String semester = key.substring(sep + 1);
+
+        List<Course> courses = ALL_PROGRAMS.equals(programId)
+                ? courseService.getCoursesOfferedBySemester(semester, MAX_PROGRAM_COURSES)
+                : programService.getProgramCoursesOfferedInSemester(programId, semester, MAX_PROGRAM_COURSES);
+        Snapshot previous = snapshots.get(key);
+        if (courses.isEmpty() && previous != null && !previous.getCourses().isEmpty()) {
+            return previous; // amont probablement indisponible: garder l'ancien résultat
+        }
+
+        Snapshot snap = new Snapshot(programId, semester, courses, System.currentTimeMillis());
+        computeLatency.record(System.nanoTime() - start);
+        if (courses.isEmpty() && previous == null) {
+            // Programme inconnu ou trimestre sans cours: ni suivi, ni rafraîchissement
+            emptyResults.put(key, snap);
+            computeLocks.remove(key);
+            return snap;
+        }
+        if (previous == null && snapshots.size() >= MAX_TRACKED) evictLeastRecentlyRead();
+        snapshots.put(key, snap);
+        lastRead.putIfAbsent(key, cycle);
+        fire(listeners, key, snap);
+        return snap;
+    }
+
+    private void evictLeastRecentlyRead() {
+        String victim = null;
+        long oldest = Long.MAX_VALUE;
+        for (String key : snapshots.keySet()) {
+            long read = lastRead.getOrDefault(key, 0L);
+            if (!pinned.contains(key) && read < oldest) {
+                oldest = read;
+                victim = key;
+            }
+        }
+        if (victim != null) untrack(victim);
+    }
+
+    private void untrack(String key) {
+        Snapshot removed = snapshots.remove(key);
+        if (removed == null) return;
+        lastRead.remove(key);
+        computeLocks.remove(key);
+        dropped.increment();
+        fire(removalListeners, key, removed);
+    }
+
+    private static void fire(List<Consumer<Snapshot>> targets, String key, Snapshot snap) {
+        for (Consumer<Snapshot> listener : targets) {
+            try {
+                listener.accept(snap);
+            } catch (RuntimeException e) {
+                System.err.println("[OfferedCoursesCache] Observateur en échec pour " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static String key(String programId, String semester) {
+        if (programId == null || semester == null) return null;
+        String pid = programId.trim();
+        if (!ALL_PROGRAMS.equals(pid) && !ProgramService.isValidProgramId(pid)) return null;
+        String sem = semester.trim().toUpperCase();
+        if (!sem.matches("^[HAE]\\d{2}$")) return null;
+        return pid + "|" + sem;
+    }
+
+    /**
+     * Trimestre en cours à une date donnée (H = janvier-avril, E = mai-août, A = septembre-décembre).
+     *
+     * @param date date de référence
+     * @return code du trimestre (ex : A25)
+     */
+    public static String semesterOf(LocalDate date) {
+        int month = date.getMonthValue();
+        char letter = (month <= 4) ? 'H' : (month <= 8) ? 'E' : 'A';
+        return letter + String.format("%02d", date.getYear() % 100);
+    }
+
+    /**
+     * Trimestre en cours à une date donnée, avec le précédent et le suivant.
+     *
+     * @param date date de référence
+     * @return les trois codes de trimestre (ex : E25, A25, H26)
+     */
+    public static Set<String> nearbySemesters(LocalDate date) {
+        return Set.of(semesterOf(date.minusMonths(4)), semesterOf(date), semesterOf(date.plusMonths(4)));
+    }
+
+    /**
+     * Instantané immuable des cours offerts d’un programme pour un trimestre.
+     */
+    public static final class Snapshot {
+        private final String programId;
+        private final String semester;
+        private final List<Course> courses;
+        private final long computedAt;
+
+        Snapshot(String programId, String semester, List<Course> courses, long computedAt) {
+            this.programId = programId;
+            this.semester = semester;
+            this.courses = List.copyOf(courses);
+            this.computedAt = computedAt;
+        }
+
+        public String getProgramId() { return programId; }
+        public String getSemester() { return semester; }
+        public List<Course> getCourses() { return courses; }
+        public long getComputedAt() { return computedAt; }
+    }
+}
@@ -2,11 +2,23 @@ package com.diro.ift2255.service;
 
 import com.diro.ift2255.model.Course;
 import com.diro.ift2255.model.Program;
+import com.diro.ift2255.util.DaemonThreads;
+import com.diro.ift2255.util.Deadline;
 import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+import com.diro.ift2255.util.TtlCache;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 /**
  * Service responsable de l’accès aux informations des programmes universitaires.
  *
@@ -15,13 +27,13 @@ import java.util.*;
  * simplifiée au reste de l’application.</p>
  */
 
-public class ProgramService {
+public class ProgramService implements MetricsSource {
 
     private final HttpClientApi clientApi;
     private final CourseService courseService;
 
     // Tentative Planifium (peut ne pas exister)
-    private static final String BASE_URL = "https://planifium-api.onrender.com/api/v1/programs";
+    private final String baseUrl;
 
     // Fallback local: si Planifium programs ne marche pas, on construit un "programme" minimal
     // en s'appuyant sur la liste de cours connue (CSV results / cours DIRO fréquents)
@@ -34,58 +46,223 @@ public class ProgramService {
             )
     );
 
+    /** Variantes d'endpoint Planifium pour récupérer un programme. */
+    enum Variant { PATH, PROGRAM_ID, PROGRAMS_LIST }
+
+    // Programme résolu (par id + response_level)
+    private final TtlCache<String, Program> programCache = new TtlCache<>(Duration.ofMinutes(30), 1_000);
+    // Variante qui a fonctionné la dernière fois, par programme
+    private final Map<String, Variant> learnedVariant = new ConcurrentHashMap<>();
+    // Variantes en échec récemment (programme|variante), à ne pas retenter avant expiration
+    private final TtlCache<String, Boolean> failedVariants = new TtlCache<>(Duration.ofMinutes(5), 3_000);
+    // Une seule résolution en cours par clé: les requêtes concurrentes attendent le même résultat
+    private final Map<String, CompletableFuture<Optional<Program>>> inFlight = new ConcurrentHashMap<>();
+
+    // Compteurs par variante: tentatives / succès / échecs
+    private final Map<Variant, LongAdder[]> variantCounters = new EnumMap<>(Variant.class);
+
+    private volatile boolean raceVariants = false;
+    private final ExecutorService raceExecutor = Executors.newCachedThreadPool(DaemonThreads.factory("program-race"));
+
     public ProgramService(HttpClientApi clientApi, CourseService courseService) {
+        this(clientApi, courseService, CourseService.DEFAULT_API_BASE_URL);
+    }
+
+    /**
+     * @param clientApi client HTTP vers Planifium
+     * @param courseService service des cours (cours offerts d'un programme)
+     * @param apiBaseUrl URL de base de l'API (ex : {@code http://localhost:7071/api/v1})
+     */
+    public ProgramService(HttpClientApi clientApi, CourseService courseService, String apiBaseUrl) {
         this.clientApi = clientApi;
         this.courseService = courseService;
+        this.baseUrl = CourseService.stripTrailingSlash(apiBaseUrl) + "/programs";
+        for (Variant v : Variant.values()) {
+            variantCounters.put(v, new LongAdder[] { new LongAdder(), new LongAdder(), new LongAdder() });
+        }
+    }
+
+    /**
+     * Active l'interrogation en parallèle des variantes inconnues
+     * (la première réponse valide l'emporte) au lieu de les essayer une à une.
+     *
+     * @param raceVariants {@code true} pour interroger les variantes en parallèle
+     */
+    public void setRaceVariants(boolean raceVariants) {
+        this.raceVariants = raceVariants;
     }
 
     /**
      * Récupère un programme.
      * Stratégie:
-     * 1) Tenter Planifium /programs (3 variantes)
-     * 2) Si échec -> fallback local (au moins pour 117510)
+     * 1) Programme déjà résolu en cache -> retour immédiat
+     * 2) Variante Planifium apprise pour ce programme -> une seule requête
+     * 3) Sinon, les variantes restantes (sauf celles en échec récent), en série ou en parallèle
+     * 4) Si échec -> fallback local (au moins pour 117510)
      */
     public Optional<Program> getProgram(String programId, String responseLevel) {
-        if (programId == null || programId.isBlank()) return Optional.empty();
-
-        String level = (responseLevel == null || responseLevel.isBlank()) ? "min" : responseLevel.trim();
+        // Identifiant ou niveau mal formé: ni appel à Planifium, ni entrée de cache
+        if (!isValidProgramId(programId)) return Optional.empty();
+        String level = (responseLevel == null || responseLevel.isBlank()) ? "min" : responseLevel.trim().toLowerCase();
+        if (!level.matches("^[a-z_]{1,20}$")) return Optional.empty();
         String pid = programId.trim();
+        String key = pid + "|" + level;
 
-        // 1) /programs/{id}
-        try {
-            URI uri1 = HttpClientApi.buildUri(
-                    BASE_URL + "/" + pid,
-                    Map.of("response_level", level, "include_courses_detail", "true")
-            );
-            Program p = clientApi.get(uri1, Program.class);
-            if (p != null && p.getId() != null) return Optional.of(p);
-        } catch (RuntimeException ignored) {}
+        Program cached = programCache.get(key);
+        if (cached != null) return Optional.of(cached);
+
+        CompletableFuture<Optional<Program>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Program>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) return existing.join();
 
-        // 2) /programs?program_id=...
         try {
-            Map<String, String> params2 = new HashMap<>();
-            params2.put("program_id", pid);
-            params2.put("include_courses_detail", "true");
-            params2.put("response_level", level);
-
-            URI uri2 = HttpClientApi.buildUri(BASE_URL, params2);
-            List<Program> programs = clientApi.get(uri2, new TypeReference<List<Program>>() {});
-            if (programs != null && !programs.isEmpty()) return Optional.of(programs.get(0));
-        } catch (RuntimeException ignored) {}
+            Optional<Program> resolved = resolveRemote(pid, level);
+            resolved.ifPresent(p -> programCache.put(key, p));
+            Optional<Program> result = resolved.isPresent() ? resolved : buildFallback(pid);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Indique si un identifiant de programme est bien formé (chiffres seulement, ex : 117510).
+     *
+     * @param programId identifiant reçu du client
+     * @return {@code true} s'il peut être transmis à Planifium
+     */
+    public static boolean isValidProgramId(String programId) {
+        return programId != null && programId.trim().matches("^\\d{1,12}$");
+    }
 
-        // 3) /programs?programs_list=...
+    /**
+     * Compteurs par variante d'endpoint (tentatives, succès, échecs).
+     *
+     * @return map variante -> compteurs
+     */
+    public Map<String, Map<String, Long>> getVariantStats() {
+        Map<String, Map<String, Long>> out = new LinkedHashMap<>();
+        variantCounters.forEach((v, c) -> out.put(v.name(), Map.of(
+                "attempts", c[0].sum(), "successes", c[1].sum(), "failures", c[2].sum())));
+        return out;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.cache("programs", programCache.getHits(), programCache.getMisses(), programCache.size());
+        writer.cache("program_failed_variants", failedVariants.getHits(), failedVariants.getMisses(), failedVariants.size());
+        variantCounters.forEach((v, c) -> {
+            writer.counter("program_variant_attempts_total", "Tentatives par variante d'endpoint programme.",
+                    Map.of("variant", v.name()), c[0].sum());
+            writer.counter("program_variant_successes_total", "Succès par variante d'endpoint programme.",
+                    Map.of("variant", v.name()), c[1].sum());
+        });
+    }
+
+    private Optional<Program> resolveRemote(String pid, String level) {
+        Variant learned = learnedVariant.get(pid);
+        if (learned != null && !isRecentlyFailed(pid, learned)) {
+            Optional<Program> p = attempt(pid, level, learned);
+            if (p.isPresent()) return p;
+            learnedVariant.remove(pid, learned);
+        }
+
+        List<Variant> candidates = new ArrayList<>();
+        for (Variant v : Variant.values()) {
+            if (v != learned && !isRecentlyFailed(pid, v)) candidates.add(v);
+        }
+        if (candidates.isEmpty()) return Optional.empty();
+
+        if (raceVariants && candidates.size() > 1) {
+            return race(pid, level, candidates);
+        }
+        for (Variant v : candidates) {
+            Optional<Program> p = attempt(pid, level, v);
+            if (p.isPresent()) return p;
+        }
+        return Optional.empty();
+    }
+
+    // Lance toutes les variantes candidates; la première réponse non vide l'emporte
+    private Optional<Program> race(String pid, String level, List<Variant> candidates) {
+        Long deadline = Deadline.current();
+        CompletableFuture<Optional<Program>> winner = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(candidates.size());
+
+        for (Variant v : candidates) {
+            raceExecutor.execute(() -> Deadline.runWith(deadline, () -> {
+                Optional<Program> p = Optional.empty();
+                try {
+                    p = attempt(pid, level, v);
+                } finally {
+                    if (p.isPresent()) {
+                        winner.complete(p);
+                    } else if (remaining.decrementAndGet() == 0) {
+                        winner.complete(Optional.empty());
+                    }
+                }
+            }));
+        }
+        return winner.join();
+    }
+
+    private Optional<Program> attempt(String pid, String level, Variant variant) {
+        LongAdder[] counters = variantCounters.get(variant);
+        counters[0].increment();
+        Optional<Program> p = Optional.empty();
         try {
-            Map<String, String> params3 = new HashMap<>();
-            params3.put("programs_list", pid);
-            params3.put("include_courses_detail", "true");
-            params3.put("response_level", level);
-
-            URI uri3 = HttpClientApi.buildUri(BASE_URL, params3);
-            List<Program> programs = clientApi.get(uri3, new TypeReference<List<Program>>() {});
-            if (programs != null && !programs.isEmpty()) return Optional.of(programs.get(0));
+            p = fetch(pid, level, variant);
         } catch (RuntimeException ignored) {}
 
-        // -------- Fallback local --------
+        if (p.isPresent()) {
+            counters[1].increment();
+            learnedVariant.put(pid, variant);
+            failedVariants.invalidate(pid + "|" + variant);
+        } else {
+            counters[2].increment();
+            failedVariants.put(pid + "|" + variant, Boolean.TRUE);
+        }
+        return p;
+    }
+
+    private boolean isRecentlyFailed(String pid, Variant variant) {
+        return failedVariants.get(pid + "|" + variant) != null;
+    }
+
+    private Optional<Program> fetch(String pid, String level, Variant variant) {
+        switch (variant) {
+            case PATH: {
+                // /programs/{id}
+                URI uri1 = HttpClientApi.buildUri(
+                        baseUrl + "/" + pid,
+                        Map.of("response_level", level, "include_courses_detail", "true")
+                );
+                Program p = clientApi.get(uri1, Program.class);
+                return (p != null && p.getId() != null) ? Optional.of(p) : Optional.empty();
+            }
+            case PROGRAM_ID:
+            case PROGRAMS_LIST: {
+                // /programs?program_id=... ou /programs?programs_list=...
+                Map<String, String> params = new HashMap<>();
+                params.put(variant == Variant.PROGRAM_ID ? "program_id" : "programs_list", pid);
+                params.put("include_courses_detail", "true");
+                params.put("response_level", level);
+
+                URI uri = HttpClientApi.buildUri(baseUrl, params);
+                List<Program> programs = clientApi.get(uri, new TypeReference<List<Program>>() {});
+                return (programs != null && !programs.isEmpty()) ? Optional.of(programs.get(0)) : Optional.empty();
+            }
+            default:
+                return Optional.empty();
+        }
+    }
+
+    // -------- Fallback local --------
+    private Optional<Program> buildFallback(String pid) {
         List<String> ids = PROGRAM_FALLBACK.get(pid);
         if (ids == null || ids.isEmpty()) return Optional.empty();
 
@@ -135,12 +312,10 @@ public class ProgramService {
         // IMPORTANT: garder la casse (H25) (ne pas lowerCase)
         qp.put("schedule_semester", sem.toLowerCase());
 
-        for (String id : ids) {
-            courseService.getCourseById(id, qp).ifPresent(course -> {
-                if (course.getSchedules() != null && !course.getSchedules().isEmpty()) {
-                    offered.add(course);
-                }
-            });
+        for (Course course : courseService.getCoursesByIds(ids, qp)) {
+            if (course.getSchedules() != null && !course.getSchedules().isEmpty()) {
+                offered.add(course);
+            }
         }
 
         return offered;
@@ -0,0 +1,223 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.AcademicResult;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Recommendation;
+import com.diro.ift2255.model.ReviewAggregate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service de recommandation de cours pour un trimestre.
+ *
+ * <p>Les candidats sont les cours offerts ({@link OfferedCoursesCache}). Pour chaque
+ * instantané, les indicateurs de chaque cours (charge, difficulté, résultat académique,
+ * préalables) sont rangés une fois dans des tableaux parallèles avec un score
+ * déjà calculé ; ils ne sont reconstruits que si l’instantané change ou qu’un avis est
+ * ajouté. Une requête se limite donc à filtrer ces tableaux et à garder les
+ * K meilleurs dans un tas borné.</p>
+ *
+ * <p>Seuls les instantanés suivis par le cache ont des indicateurs conservés ; ils sont
+ * retirés quand le cache cesse de suivre leur couple, ce qui garde cette table aussi
+ * bornée que le cache.</p>
+ */
+public class RecommendationService {
+
+    /** Nombre maximal de recommandations retournées. */
+    public static final int MAX_LIMIT = 50;
+
+    // Pondérations du score (somme = 1)
+    static final double WEIGHT_WORKLOAD = 0.4;
+    static final double WEIGHT_DIFFICULTY = 0.3;
+    static final double WEIGHT_SUCCESS = 0.3;
+
+    // Lissage des moyennes d'avis: PRIOR_REVIEWS avis fictifs à la valeur médiane
+    static final double PRIOR_REVIEWS = 2.0;
+    static final double PRIOR_VALUE = 3.0;
+
+    /** Bornes de l’échelle du score académique du CSV (1 à 5). */
+    static final double MIN_SUCCESS_SCORE = 1.0;
+    static final double MAX_SUCCESS_SCORE = 5.0;
+
+    private final OfferedCoursesCache offeredCache;
+    private final ReviewService reviewService;
+    private final AcademicResultService academicResultService;
+    private final Map<String, Features> features = new ConcurrentHashMap<>();
+
+    /**
+     * @param offeredCache cours offerts par programme et trimestre (candidats)
+     * @param reviewService avis étudiants (charge et difficulté)
+     * @param academicResultService résultats académiques agrégés (CSV)
+     */
+    public RecommendationService(OfferedCoursesCache offeredCache,
+                                 ReviewService reviewService,
+                                 AcademicResultService academicResultService) {
+        this.offeredCache = offeredCache;
+        this.reviewService = reviewService;
+        this.academicResultService = academicResultService;
+        offeredCache.addRemovalListener(snapshot -> features.remove(key(snapshot)));
+    }
+
+    /**
+     * Recommande les meilleurs cours offerts auxquels l’étudiant est admissible.
+     *
+     * @param programId programme, ou {@link OfferedCoursesCache#ALL_PROGRAMS}
+     * @param semester trimestre (ex : H25)
+     * @param completed cours déjà réussis (exclus, et utilisés pour les préalables)
+     * @param maxWorkload charge moyenne maximale (1 à 5), ou {@code null}
+     * @param maxDifficulty difficulté moyenne maximale (1 à 5), ou {@code null}
+     * @param limit nombre de recommandations (1 à {@link #MAX_LIMIT})
+     * @return les cours recommandés, du meilleur au moins bon
+     */
+    public List<Recommendation> recommend(String programId, String semester, Collection<String> completed,
+                                          Double maxWorkload, Double maxDifficulty, int limit) {
+        OfferedCoursesCache.Snapshot snapshot = offeredCache.get(programId, semester);
+        if (snapshot == null) return List.of();
+        Features f = featuresFor(snapshot);
+
+        Set<String> done = new HashSet<>();
+        if (completed != null) {
+            for (String c : completed) {
+                if (c != null && !c.isBlank()) done.add(c.trim().toUpperCase());
+            }
+        }
+
+        int k = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // Tas min borné à k: la racine est le moins bon des k meilleurs
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, (a, b) -> f.compare(a, b));
+
+        for (int i = 0; i < f.size; i++) {
+            if (done.contains(f.ids[i])) continue;
+            // Un cours sans avis n'est pas exclu par les seuils
+            if (maxWorkload != null && f.reviewCount[i] > 0 && f.avgWorkload[i] > maxWorkload) continue;
+            if (maxDifficulty != null && f.reviewCount[i] > 0 && f.avgDifficulty[i] > maxDifficulty) continue;
+            if (!done.containsAll(f.prerequisites.get(i))) continue;
+
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (f.compare(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        List<Recommendation> out = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) out.add(f.toRecommendation(heap.poll()));
+        Collections.reverse(out);
+        return out;
+    }
+
+    private Features featuresFor(OfferedCoursesCache.Snapshot snapshot) {
+        String key = key(snapshot);
+        long reviewsVersion = reviewService.getVersion();
+        Features f = features.get(key);
+        if (f == null || f.snapshot != snapshot || f.reviewsVersion != reviewsVersion) {
+            f = new Features(snapshot, reviewsVersion);
+            if (!offeredCache.isTracked(snapshot)) return f; // résultat vide ou couple retiré: rien à garder
+            features.put(key, f);
+            // Le couple a pu être retiré pendant la construction (après le passage de l'observateur)
+            if (!offeredCache.isTracked(snapshot)) features.remove(key, f);
+        }
+        return f;
+    }
+
+    /** Nombre d’instantanés dont les indicateurs sont conservés. */
+    int cachedFeaturesCount() {
+        return features.size();
+    }
+
+    private static String key(OfferedCoursesCache.Snapshot snapshot) {
+        return snapshot.getProgramId() + "|" + snapshot.getSemester();
+    }
+
+    /**
+     * Indicateurs des cours d’un instantané, en tableaux parallèles (un indice par cours).
+     */
+    private final class Features {
+        final OfferedCoursesCache.Snapshot snapshot;
+        final long reviewsVersion;
+        final int size;
+
+        final String[] ids;
+        final String[] names;
+        final Double[] credits;
+        final List<List<String>> prerequisites;
+        final int[] reviewCount;
+        final double[] avgWorkload;
+        final double[] avgDifficulty;
+        final Double[] successScore;
+        final double[] score;
+
+        Features(OfferedCoursesCache.Snapshot snapshot, long reviewsVersion) {
+            this.snapshot = snapshot;
+            this.reviewsVersion = reviewsVersion;
+
+            List<Course> courses = snapshot.getCourses();
+            size = courses.size();
+            ids = new String[size];
+            names = new String[size];
+            credits = new Double[size];
+            prerequisites = new ArrayList<>(size);
+            reviewCount = new int[size];
+            avgWorkload = new double[size];
+            avgDifficulty = new double[size];
+            successScore = new Double[size];
+            score = new double[size];
+
+            for (int i = 0; i < size; i++) {
+                Course c = courses.get(i);
+                String id = (c.getId() == null) ? "" : c.getId().trim().toUpperCase();
+                ids[i] = id;
+                names[i] = c.getName();
+                credits[i] = c.getCredits();
+
+                List<String> prereqs = new ArrayList<>();
+                if (c.getPrerequisiteCourses() != null) {
+                    for (String p : c.getPrerequisiteCourses()) {
+                        if (p != null && !p.isBlank()) prereqs.add(p.trim().toUpperCase());
+                    }
+                }
+                prerequisites.add(prereqs);
+
+                ReviewAggregate agg = reviewService.getAggregateForCourse(id);
+                reviewCount[i] = agg.getCount();
+                avgWorkload[i] = agg.getAvgWorkload();
+                avgDifficulty[i] = agg.getAvgDifficulty();
+                successScore[i] = academicResultService.getBySigle(id).map(AcademicResult::getScore).orElse(null);
+
+                score[i] = score(reviewCount[i], avgWorkload[i], avgDifficulty[i], successScore[i]);
+            }
+        }
+
+        /** Ordre croissant de score (à égalité, le plus petit sigle est préféré). */
+        int compare(int a, int b) {
+            int cmp = Double.compare(score[a], score[b]);
+            return (cmp != 0) ? cmp : ids[b].compareTo(ids[a]);
+        }
+
+        Recommendation toRecommendation(int i) {
+            return new Recommendation(ids[i], names[i], credits[i], Math.round(score[i] * 1000.0) / 1000.0,
+                    reviewCount[i], avgWorkload[i], avgDifficulty[i], successScore[i]);
+        }
+    }
+
+    /**
+     * Score d’un cours entre 0 et 1 : charge et difficulté faibles, bon résultat académique.
+     * Les moyennes d’avis sont lissées vers la valeur médiane quand il y a peu d’avis ;
+     * un résultat académique absent compte pour 0,5.
+     */
+    static double score(int reviewCount, double avgWorkload, double avgDifficulty, Double successScore) {
+        double workload = smooth(reviewCount, avgWorkload);
+        double difficulty = smooth(reviewCount, avgDifficulty);
+        double success = (successScore == null) ? 0.5 : Math.max(0.0, Math.min(1.0,
+                (successScore - MIN_SUCCESS_SCORE) / (MAX_SUCCESS_SCORE - MIN_SUCCESS_SCORE)));
+        return WEIGHT_WORKLOAD * (5.0 - workload) / 4.0
+                + WEIGHT_DIFFICULTY * (5.0 - difficulty) / 4.0
+                + WEIGHT_SUCCESS * success;
+    }
+
+    private static double smooth(int count, double avg) {
+        return (count * avg + PRIOR_REVIEWS * PRIOR_VALUE) / (count + PRIOR_REVIEWS);
+    }
+}
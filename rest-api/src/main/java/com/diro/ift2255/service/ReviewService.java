@@ -1,14 +1,19 @@
 package com.diro.ift2255.service;
 
+import com.diro.ift2255.model.Page;
 import com.diro.ift2255.model.Review;
 import com.diro.ift2255.model.ReviewAggregate;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.diro.ift2255.model.ReviewStats;
+import com.diro.ift2255.util.Json;
+import com.diro.ift2255.util.LatencyHistogram;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 /**
  * Service responsable de la gestion des avis étudiants.
  *
@@ -17,14 +22,27 @@ import java.util.stream.Collectors;
  * incluant la difficulté perçue et la charge de travail.</p>
  */
 
-public class ReviewService {
+public class ReviewService implements MetricsSource {
+
+    /** Avance tolérée sur l’horloge du serveur pour la date fournie par le client. */
+    static final long MAX_CLOCK_SKEW_MS = 5 * 60_000L;
 
     private final Path storagePath;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     // Simple en mémoire + flush sur disque
     private final List<Review> all = new ArrayList<>();
 
+    // Avis par cours (sigle en majuscules), triés par date croissante
+    private final Map<String, List<Review>> byCourse = new ConcurrentHashMap<>();
+
+    // Statistiques par cours (sigle en majuscules), tenues à jour à chaque ajout
+    private final Map<String, ReviewStatsAccumulator> stats = new ConcurrentHashMap<>();
+    // Incrémenté à chaque modification (permet aux services dérivés d'invalider leurs précalculs)
+    private final AtomicLong version = new AtomicLong();
+
+    // Durée d'écriture d'un avis (ajout + sauvegarde du fichier)
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
     public ReviewService(String filePath) {
         this.storagePath = Path.of(filePath);
         load();
@@ -36,10 +54,17 @@ public class ReviewService {
             byte[] bytes = Files.readAllBytes(storagePath);
             if (bytes.length == 0) return;
 
-            List<Review> loaded = mapper.readValue(bytes, new TypeReference<List<Review>>() {});
+            List<Review> loaded = Json.REVIEW_LIST_READER.readValue(bytes);
             if (loaded != null) {
                 all.clear();
                 all.addAll(loaded);
+                // Avis datés dans le futur (fichiers antérieurs à la borne): ramenés à maintenant
+                long now = System.currentTimeMillis();
+                for (Review r : all) if (r.getTimestamp() > now + MAX_CLOCK_SKEW_MS) r.setTimestamp(now);
+                stats.clear();
+                byCourse.clear();
+                for (Review r : all) index(r);
+                version.incrementAndGet();
             }
         } catch (Exception ignored) {
         }
@@ -48,34 +73,151 @@ public class ReviewService {
     private void save() {
         try {
             Files.createDirectories(storagePath.getParent());
-            mapper.writerWithDefaultPrettyPrinter().writeValue(storagePath.toFile(), all);
+            Json.REVIEW_LIST_WRITER.withDefaultPrettyPrinter().writeValue(storagePath.toFile(), all);
         } catch (Exception ignored) {
         }
     }
 
+    /**
+     * Tous les avis d’un cours, du plus ancien au plus récent.
+     *
+     * @param courseId sigle du cours
+     * @return copie de la liste (vide si aucun avis)
+     */
     public List<Review> getReviewsForCourse(String courseId) {
-        if (courseId == null) return List.of();
-        String id = courseId.trim().toUpperCase();
-        return all.stream()
-                .filter(r -> r.getCourseId() != null && r.getCourseId().trim().toUpperCase().equals(id))
-                .collect(Collectors.toList());
+        List<Review> list = reviewsOf(courseId);
+        if (list == null) return List.of();
+        synchronized (list) {
+            return new ArrayList<>(list);
+        }
+    }
+
+    /**
+     * Page d’avis d’un cours, du plus récent au plus ancien, dans une fenêtre de temps.
+     *
+     * <p>Le curseur de la page suivante ({@code nextCursor}), à renvoyer dans {@code before},
+     * désigne le dernier avis retourné : sa date, suivie de {@code .n} s’il n’est pas le
+     * premier avis de cette date ({@code n} = rang parmi les avis de même date). Une page
+     * ne dépasse donc jamais {@code limit}, même si beaucoup d’avis partagent une date.
+     * Une date seule exclut tous les avis de cette date.</p>
+     *
+     * @param courseId sigle du cours
+     * @param since date minimale incluse (epoch ms), ou {@code null}
+     * @param until date maximale incluse (epoch ms), ou {@code null}
+     * @param before curseur ({@code date} ou {@code date.rang}), ou {@code null} pour la première page
+     * @param limit taille de page
+     * @return la page demandée ({@code total} = nombre d’avis dans la fenêtre)
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public Page<Review> getReviewsPage(String courseId, Long since, Long until, String before, int limit) {
+        long[] cursor = parseCursor(before);
+        List<Review> list = reviewsOf(courseId);
+        if (list == null) return new Page<>(List.of(), 0, limit, null);
+
+        synchronized (list) {
+            int from = (since == null) ? 0 : firstAtOrAfter(list, since);
+            int end = (until == null || until == Long.MAX_VALUE) ? list.size() : firstAtOrAfter(list, until + 1);
+            int to = end;
+            if (cursor != null) {
+                int runStart = firstAtOrAfter(list, cursor[0]);
+                int runEnd = (cursor[0] == Long.MAX_VALUE) ? list.size() : firstAtOrAfter(list, cursor[0] + 1);
+                to = (int) Math.min(end, Math.min(runEnd, runStart + cursor[1]));
+            }
+            int total = Math.max(0, end - from);
+            if (to <= from) return new Page<>(List.of(), total, limit, null);
+
+            int start = Math.max(from, to - limit);
+            List<Review> items = new ArrayList<>(to - start);
+            for (int i = to - 1; i >= start; i--) items.add(list.get(i));
+
+            String next = null;
+            if (start > from) {
+                long lastTimestamp = list.get(start).getTimestamp();
+                int rank = start - firstAtOrAfter(list, lastTimestamp);
+                next = (rank == 0) ? String.valueOf(lastTimestamp) : lastTimestamp + "." + rank;
+            }
+            return new Page<>(items, total, limit, next);
+        }
+    }
+
+    // Curseur "date" ou "date.rang" -> {date, rang}
+    private static long[] parseCursor(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        String s = raw.trim();
+        int dot = s.indexOf('.');
+        try {
+            long timestamp = Long.parseLong((dot < 0) ? s : s.substring(0, dot));
+            long rank = (dot < 0) ? 0 : Long.parseLong(s.substring(dot + 1));
+            if (rank < 0) throw new IllegalArgumentException("Curseur invalide.");
+            return new long[] {timestamp, rank};
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur invalide.", e);
+        }
     }
 
+    /**
+     * Agrégat des avis d’un cours (nombre et moyennes), lu depuis les statistiques
+     * tenues à jour : aucun parcours des avis. La liste des avis n’est pas incluse.
+     *
+     * @param courseId sigle du cours
+     * @return l’agrégat
+     */
     public ReviewAggregate getAggregateForCourse(String courseId) {
-        List<Review> reviews = getReviewsForCourse(courseId);
-        int n = reviews.size();
+        return getAggregateForCourse(courseId, false);
+    }
 
-        if (n == 0) {
-            return new ReviewAggregate(courseId.toUpperCase(), 0, 0.0, 0.0, List.of());
+    /**
+     * @param courseId sigle du cours
+     * @param includeReviews {@code true} pour joindre tous les avis du cours
+     * @return l’agrégat
+     */
+    public ReviewAggregate getAggregateForCourse(String courseId, boolean includeReviews) {
+        String id = (courseId == null) ? "" : courseId.trim().toUpperCase();
+        List<Review> reviews = includeReviews ? getReviewsForCourse(id) : null;
+        ReviewStatsAccumulator acc = stats.get(id);
+        if (acc == null) return new ReviewAggregate(id, 0, 0.0, 0.0, reviews);
+        synchronized (acc) {
+            return new ReviewAggregate(id, acc.count(), acc.meanDifficulty(), acc.meanWorkload(), reviews);
         }
+    }
 
-        double avgDiff = reviews.stream().mapToInt(Review::getDifficulty).average().orElse(0.0);
-        double avgWork = reviews.stream().mapToInt(Review::getWorkload).average().orElse(0.0);
+    /** Version des avis : change à chaque ajout. */
+    public long getVersion() {
+        return version.get();
+    }
 
-        return new ReviewAggregate(courseId.toUpperCase(), n, avgDiff, avgWork, reviews);
+    /**
+     * Statistiques détaillées des avis d’un cours (histogrammes, médiane, écart type,
+     * moyennes amorties), maintenues à chaque ajout.
+     *
+     * @param courseId sigle du cours
+     * @return les statistiques (vides si aucun avis)
+     */
+    public ReviewStats getStatsForCourse(String courseId) {
+        String id = (courseId == null) ? "" : courseId.trim().toUpperCase();
+        ReviewStatsAccumulator acc = stats.get(id);
+        return (acc == null) ? ReviewStatsAccumulator.empty() : acc.snapshot();
     }
 
-    public boolean addReview(Review review) {
+    /**
+     * Agrégats des avis de plusieurs cours (sans la liste des avis).
+     *
+     * @param courseIds sigles des cours
+     * @return un agrégat par sigle en majuscules (ordre des sigles demandés)
+     */
+    public Map<String, ReviewAggregate> getAggregates(Collection<String> courseIds) {
+        Map<String, ReviewAggregate> out = new LinkedHashMap<>();
+        if (courseIds == null) return out;
+        for (String raw : courseIds) {
+            if (raw == null || raw.isBlank()) continue;
+            ReviewAggregate agg = getAggregateForCourse(raw);
+            out.putIfAbsent(agg.getCourseId(), agg);
+        }
+        return out;
+    }
+
+    public synchronized boolean addReview(Review review) {
+        long start = System.nanoTime();
         if (review == null) return false;
 
         String id = (review.getCourseId() == null) ? "" : review.getCourseId().trim().toUpperCase();
@@ -85,12 +227,53 @@ public class ReviewService {
         if (review.getWorkload() < 1 || review.getWorkload() > 5) return false;
 
         review.setCourseId(id);
-        if (review.getTimestamp() <= 0) review.setTimestamp(System.currentTimeMillis());
+        // Date absente ou dans le futur: horloge du serveur (un avis daté dans le futur dominerait
+        // la moyenne amortie et resterait en tête des pages)
+        long now = System.currentTimeMillis();
+        if (review.getTimestamp() <= 0 || review.getTimestamp() > now + MAX_CLOCK_SKEW_MS) review.setTimestamp(now);
 
         all.add(review);
+        index(review);
+        version.incrementAndGet();
         save();
+        writeLatency.record(System.nanoTime() - start);
         return true;
     }
+
+    private List<Review> reviewsOf(String courseId) {
+        if (courseId == null) return null;
+        return byCourse.get(courseId.trim().toUpperCase());
+    }
+
+    // Range l'avis dans la liste de son cours (ordre chronologique) et met à jour les statistiques
+    private void index(Review r) {
+        if (r.getCourseId() == null) return;
+        String id = r.getCourseId().trim().toUpperCase();
+
+        List<Review> list = byCourse.computeIfAbsent(id, k -> new ArrayList<>());
+        synchronized (list) {
+            // Les avis arrivent en général dans l'ordre: insertion en fin de liste
+            list.add(firstAtOrAfter(list, r.getTimestamp() + 1), r);
+        }
+        stats.computeIfAbsent(id, k -> new ReviewStatsAccumulator())
+                .add(r.getDifficulty(), r.getWorkload(), r.getTimestamp());
+    }
+
+    // Premier indice dont la date est >= timestamp (recherche dichotomique)
+    private static int firstAtOrAfter(List<Review> sorted, long timestamp) {
+        int lo = 0, hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted.get(mid).getTimestamp() < timestamp) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.histogram("review_write_duration_seconds", "Durée d'ajout d'un avis (sauvegarde comprise).", null, writeLatency);
+        writer.gauge("reviews_stored", "Nombre d'avis en mémoire.", null, all.size());
+    }
 }
 
 
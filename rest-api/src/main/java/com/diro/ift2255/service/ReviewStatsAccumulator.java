@@ -0,0 +1,117 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.ReviewStats;
+
+/**
+ * Statistiques des avis d’un cours, tenues à jour en O(1) à chaque ajout.
+ *
+ * <p>Pour chaque note (difficulté, charge) : histogramme 1..5 (d’où la médiane),
+ * somme et somme des carrés (moyenne, écart type), et moyenne amortie dans le temps.
+ * La moyenne amortie pondère chaque avis par {@code 2^((t - t0) / demi-vie)} :
+ * le rapport somme pondérée / poids total ne dépend pas de l’instant de lecture,
+ * il n’y a donc rien à recalculer quand le temps passe. L’origine {@code t0}
+ * est déplacée si les exposants deviennent trop grands.</p>
+ */
+final class ReviewStatsAccumulator {
+
+    /** Demi-vie de la moyenne amortie : un avis vieux d’un an compte deux fois moins. */
+    static final double HALF_LIFE_DAYS = 365.0;
+
+    private static final double LAMBDA = Math.log(2) / (HALF_LIFE_DAYS * 86_400_000.0); // par ms
+    private static final double MAX_EXPONENT = 50.0;
+
+    private final Rating difficulty = new Rating();
+    private final Rating workload = new Rating();
+    private int count;
+    private long anchor;
+    private long lastTimestamp;
+    private double decayWeight;
+
+    synchronized void add(int difficultyValue, int workloadValue, long timestamp) {
+        if (count == 0) anchor = timestamp;
+        count++;
+        if (timestamp > lastTimestamp) lastTimestamp = timestamp;
+
+        // Avis sans date (anciens fichiers): poids de l'origine
+        long t = (timestamp > 0) ? timestamp : anchor;
+        double exponent = LAMBDA * (t - anchor);
+        if (exponent > MAX_EXPONENT) {
+            double rescale = Math.exp(-exponent);
+            decayWeight *= rescale;
+            difficulty.decayedSum *= rescale;
+            workload.decayedSum *= rescale;
+            anchor = t;
+            exponent = 0.0;
+        }
+        double weight = Math.exp(exponent);
+        decayWeight += weight;
+
+        difficulty.add(difficultyValue, weight);
+        workload.add(workloadValue, weight);
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized double meanDifficulty() {
+        return difficulty.mean(count);
+    }
+
+    synchronized double meanWorkload() {
+        return workload.mean(count);
+    }
+
+    synchronized ReviewStats snapshot() {
+        return new ReviewStats(count,
+                difficulty.toDistribution(count, decayWeight),
+                workload.toDistribution(count, decayWeight),
+                HALF_LIFE_DAYS,
+                (lastTimestamp > 0) ? lastTimestamp : null);
+    }
+
+    /** Statistiques vides (cours sans avis). */
+    static ReviewStats empty() {
+        return new ReviewStatsAccumulator().snapshot();
+    }
+
+    private static final class Rating {
+        final int[] histogram = new int[5];
+        long sum;
+        long sumSquares;
+        double decayedSum;
+
+        void add(int value, double weight) {
+            histogram[Math.max(1, Math.min(5, value)) - 1]++;
+            sum += value;
+            sumSquares += (long) value * value;
+            decayedSum += weight * value;
+        }
+
+        double mean(int count) {
+            return (count == 0) ? 0.0 : (double) sum / count;
+        }
+
+        ReviewStats.Distribution toDistribution(int count, double decayWeight) {
+            if (count == 0) return new ReviewStats.Distribution(new int[5], 0.0, 0.0, 0.0, 0.0);
+            double mean = mean(count);
+            double variance = Math.max(0.0, (double) sumSquares / count - mean * mean);
+            double decayedMean = (decayWeight > 0) ? decayedSum / decayWeight : mean;
+            return new ReviewStats.Distribution(histogram.clone(), mean, median(count), Math.sqrt(variance), decayedMean);
+        }
+
+        // Médiane lue dans l'histogramme: moyenne des rangs (n-1)/2 et n/2
+        private double median(int count) {
+            return (valueAtRank((count - 1) / 2) + valueAtRank(count / 2)) / 2.0;
+        }
+
+        private int valueAtRank(int rank) {
+            int seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (rank < seen) return i + 1;
+            }
+            return histogram.length;
+        }
+    }
+}
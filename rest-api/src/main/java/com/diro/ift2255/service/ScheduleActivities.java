@@ -0,0 +1,64 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.TimeGrid;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lecture des activités datées d’une section Planifium (volets → activités → jours).
+ * Les activités incomplètes (jour ou heures manquants/invalides) sont ignorées.
+ */
+final class ScheduleActivities {
+
+    /** Reçoit une plage (jour, début, fin) en minutes depuis minuit. */
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(int day, int start, int end);
+    }
+
+    private ScheduleActivities() {}
+
+    /**
+     * Parcourt les plages horaires d’une section, une par jour d’activité.
+     *
+     * @return nombre de plages valides parcourues
+     */
+    static int forEach(Course.Section section, SlotConsumer consumer) {
+        if (section.getVolets() == null) return 0;
+        int count = 0;
+        for (Map<String, Object> volet : section.getVolets()) {
+            if (!(volet.get("activities") instanceof List<?> activities)) continue;
+            for (Object a : activities) {
+                if (!(a instanceof Map<?, ?> activity)) continue;
+                if (!(activity.get("days") instanceof List<?> days)) continue;
+                int start = (activity.get("start_time") instanceof String s) ? TimeGrid.minutes(s) : -1;
+                int end = (activity.get("end_time") instanceof String e) ? TimeGrid.minutes(e) : -1;
+                if (start < 0 || end <= start) continue;
+                for (Object day : days) {
+                    int d = (day instanceof String ds) ? TimeGrid.dayIndex(ds) : -1;
+                    if (d < 0) continue;
+                    consumer.accept(d, start, end);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sections de l’horaire d’un cours pour un trimestre (horaires sans nom acceptés).
+     */
+    static void forEachSection(Course course, String semester, Consumer<Course.Section> consumer) {
+        if (course.getSchedules() == null) return;
+        for (Course.Schedule schedule : course.getSchedules()) {
+            if (schedule.getName() != null && !schedule.getName().equalsIgnoreCase(semester)) continue;
+            if (schedule.getSections() == null) continue;
+            for (Course.Section section : schedule.getSections()) {
+                if (section != null) consumer.accept(section);
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.CompatibleCourse;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.TimeGrid;
+
+import java.util.*;
+
+/**
+ * Matrice de conflits précalculée pour les cours offerts d’un trimestre.
+ *
+ * <p>Chaque section reçoit une {@link TimeGrid} (union de ses activités, tous
+ * volets confondus). À la construction, chaque paire de sections de cours
+ * différents est testée une fois : {@code sectionConflicts[s]} contient les
+ * sections incompatibles avec {@code s}, et {@code courseConflicts[c]} les cours
+ * dont aucune section n’est compatible avec une section de {@code c}.</p>
+ *
+ * <p>Une requête de compatibilité n’utilise ensuite que des opérations sur
+ * {@link BitSet} : énumération des combinaisons de sections des cours déjà
+ * choisis, puis retrait des sections bloquées.</p>
+ */
+public final class ScheduleConflictIndex {
+
+    /** Nombre maximal de combinaisons de sections énumérées pour les cours choisis. */
+    static final int MAX_COMBINATIONS = 1024;
+
+    private final String semester;
+    private final List<Course> courses;
+    private final Map<String, Integer> courseIndex;
+    /** Sigles de tous les cours offerts, y compris ceux sans activité datée. */
+    private final Set<String> offeredIds;
+    /** Sections du cours c : positions [sectionStart[c], sectionStart[c + 1]). */
+    private final int[] sectionStart;
+    private final List<String> sectionNames;
+    private final int[] sectionCourse;
+    private final BitSet[] sectionConflicts;
+    private final BitSet[] courseConflicts;
+
+    private ScheduleConflictIndex(String semester, List<Course> courses, Set<String> offeredIds, int[] sectionStart,
+                                  List<String> sectionNames, List<TimeGrid> grids) {
+        this.semester = semester;
+        this.courses = courses;
+        this.offeredIds = offeredIds;
+        this.sectionStart = sectionStart;
+        this.sectionNames = sectionNames;
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (int c = 0; c < courses.size(); c++) ids.put(courses.get(c).getId().trim().toUpperCase(), c);
+        this.courseIndex = ids;
+
+        int sections = sectionNames.size();
+        this.sectionCourse = new int[sections];
+        for (int c = 0; c < courses.size(); c++) {
+            for (int s = sectionStart[c]; s < sectionStart[c + 1]; s++) sectionCourse[s] = c;
+        }
+
+        this.sectionConflicts = new BitSet[sections];
+        for (int s = 0; s < sections; s++) sectionConflicts[s] = new BitSet(sections);
+        for (int s = 0; s < sections; s++) {
+            for (int t = sectionStart[sectionCourse[s] + 1]; t < sections; t++) {
+                if (grids.get(s).intersects(grids.get(t))) {
+                    sectionConflicts[s].set(t);
+                    sectionConflicts[t].set(s);
+                }
+            }
+        }
+
+        this.courseConflicts = new BitSet[courses.size()];
+        for (int c = 0; c < courses.size(); c++) courseConflicts[c] = new BitSet(courses.size());
+        for (int c = 0; c < courses.size(); c++) {
+            for (int d = c + 1; d < courses.size(); d++) {
+                if (allConflict(c, d)) {
+                    courseConflicts[c].set(d);
+                    courseConflicts[d].set(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Construit la matrice pour une liste de cours offerts. Seuls les horaires du
+     * trimestre demandé sont pris en compte ; les cours sans activité datée ne sont pas
+     * proposés, mais peuvent être choisis (ils n’imposent aucune contrainte).
+     *
+     * @param semester trimestre (ex : H25)
+     * @param offered cours offerts (avec leurs horaires)
+     * @return la matrice de conflits
+     */
+    public static ScheduleConflictIndex build(String semester, List<Course> offered) {
+        List<Course> courses = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<TimeGrid> grids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (Course course : offered) {
+            if (course == null || course.getId() == null) continue;
+            if (!seen.add(course.getId().trim().toUpperCase())) continue;
+
+            int first = names.size();
+            ScheduleActivities.forEachSection(course, semester, section -> {
+                TimeGrid grid = gridOf(section);
+                if (grid.isEmpty()) return;
+                names.add(section.getName());
+                grids.add(grid);
+            });
+            if (names.size() > first) {
+                courses.add(course);
+                starts.add(first);
+            }
+        }
+        starts.add(names.size());
+
+        int[] sectionStart = starts.stream().mapToInt(Integer::intValue).toArray();
+        return new ScheduleConflictIndex(semester, List.copyOf(courses), Set.copyOf(seen), sectionStart, names, grids);
+    }
+
+    /**
+     * Cours offerts compatibles avec un choix de cours : il existe une combinaison
+     * de sections (une par cours choisi, plus une pour le cours proposé) sans conflit.
+     * Un cours choisi offert mais sans activité datée n’impose aucune contrainte ;
+     * seuls les cours absents des cours offerts sont signalés.
+     *
+     * @param withIds cours déjà choisis (sigles)
+     * @return les cours compatibles, avec leurs sections utilisables
+     */
+    public Result compatible(Collection<String> withIds) {
+        List<Integer> chosen = new ArrayList<>();
+        List<String> notOffered = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (String raw : withIds) {
+            if (raw == null || raw.isBlank()) continue;
+            String id = raw.trim().toUpperCase();
+            if (!seen.add(id)) continue;
+            Integer c = courseIndex.get(id);
+            if (c != null) chosen.add(c);
+            else if (!offeredIds.contains(id)) notOffered.add(id);
+        }
+        if (!notOffered.isEmpty()) return new Result(List.of(), notOffered, false, false);
+
+        // Cours candidats: ni choisis, ni incompatibles avec un cours choisi quelle que soit la section
+        BitSet candidates = new BitSet(courses.size());
+        candidates.set(0, courses.size());
+        for (int c : chosen) {
+            candidates.clear(c);
+            candidates.andNot(courseConflicts[c]);
+        }
+        BitSet candidateSections = new BitSet(sectionNames.size());
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            candidateSections.set(sectionStart[c], sectionStart[c + 1]);
+        }
+
+        // Union, sur toutes les combinaisons valides des cours choisis, des sections encore libres
+        BitSet usable = new BitSet(sectionNames.size());
+        int[] combinations = {0};
+        enumerate(chosen, 0, new BitSet(sectionNames.size()), candidateSections, usable, combinations);
+        boolean feasible = combinations[0] > 0;
+        boolean truncated = combinations[0] >= MAX_COMBINATIONS;
+
+        List<CompatibleCourse> result = new ArrayList<>();
+        for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+            List<String> sections = new ArrayList<>();
+            for (int s = usable.nextSetBit(sectionStart[c]); s >= 0 && s < sectionStart[c + 1]; s = usable.nextSetBit(s + 1)) {
+                sections.add(sectionNames.get(s));
+            }
+            if (sections.isEmpty()) continue;
+            Course course = courses.get(c);
+            result.add(new CompatibleCourse(course.getId(), course.getName(), course.getCredits(), sections));
+        }
+        return new Result(result, List.of(), feasible, truncated);
+    }
+
+    /** {@code true} si les deux cours n’ont aucune paire de sections compatible. */
+    public boolean conflicts(String courseA, String courseB) {
+        Integer a = courseIndex.get(courseA.trim().toUpperCase());
+        Integer b = courseIndex.get(courseB.trim().toUpperCase());
+        return a != null && b != null && courseConflicts[a].get(b);
+    }
+
+    public String getSemester() { return semester; }
+
+    /** Nombre de cours indexés (ayant au moins une section avec horaire). */
+    public int courseCount() { return courses.size(); }
+
+    /** Nombre de sections indexées. */
+    public int sectionCount() { return sectionNames.size(); }
+
+    private void enumerate(List<Integer> chosen, int depth, BitSet blocked, BitSet candidateSections,
+                           BitSet usable, int[] combinations) {
+        if (combinations[0] >= MAX_COMBINATIONS) return;
+        if (depth == chosen.size()) {
+            combinations[0]++;
+            BitSet free = (BitSet) candidateSections.clone();
+            free.andNot(blocked);
+            usable.or(free);
+            return;
+        }
+        int c = chosen.get(depth);
+        for (int s = sectionStart[c]; s < sectionStart[c + 1]; s++) {
+            if (blocked.get(s)) continue;
+            BitSet next = (BitSet) blocked.clone();
+            next.or(sectionConflicts[s]);
+            enumerate(chosen, depth + 1, next, candidateSections, usable, combinations);
+        }
+    }
+
+    private boolean allConflict(int c, int d) {
+        for (int s = sectionStart[c]; s < sectionStart[c + 1]; s++) {
+            int conflicting = sectionConflicts[s].get(sectionStart[d], sectionStart[d + 1]).cardinality();
+            if (conflicting < sectionStart[d + 1] - sectionStart[d]) return false;
+        }
+        return true;
+    }
+
+    private static TimeGrid gridOf(Course.Section section) {
+        TimeGrid grid = new TimeGrid();
+        ScheduleActivities.forEach(section, grid::add);
+        return grid;
+    }
+
+    /**
+     * Résultat d’une requête de compatibilité.
+     */
+    public static final class Result {
+        private final List<CompatibleCourse> courses;
+        private final List<String> notOffered;
+        private final boolean feasible;
+        private final boolean truncated;
+
+        Result(List<CompatibleCourse> courses, List<String> notOffered, boolean feasible, boolean truncated) {
+            this.courses = courses;
+            this.notOffered = notOffered;
+            this.feasible = feasible;
+            this.truncated = truncated;
+        }
+
+        /** Cours compatibles (ordre du catalogue des cours offerts). */
+        public List<CompatibleCourse> getCourses() { return courses; }
+        /** Cours choisis qui ne sont pas offerts au trimestre. */
+        public List<String> getNotOffered() { return notOffered; }
+        /** {@code false} si les cours choisis ne peuvent pas être suivis ensemble. */
+        public boolean isFeasible() { return feasible; }
+        /** {@code true} si l’énumération a été limitée à {@link #MAX_COMBINATIONS} combinaisons. */
+        public boolean isTruncated() { return truncated; }
+    }
+}
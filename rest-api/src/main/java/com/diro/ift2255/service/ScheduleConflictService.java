@@ -0,0 +1,156 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.LatencyHistogram;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compatibilité d’horaire entre cours offerts, à partir d’une
+ * {@link ScheduleConflictIndex} par trimestre et d’un {@link ActivityIntervalIndex}
+ * par instantané de cours offerts (programme, trimestre).
+ *
+ * <p>Les index sont construits à partir des instantanés de
+ * {@link OfferedCoursesCache} et reconstruits seulement lorsque l’instantané
+ * change (rafraîchissement en arrière-plan). Seuls les instantanés suivis par le
+ * cache ont un index conservé, retiré quand le cache cesse de les suivre : le
+ * nombre d’index reste ainsi borné comme le cache.</p>
+ */
+public class ScheduleConflictService implements MetricsSource {
+
+    private final OfferedCoursesCache offeredCache;
+    private final Map<String, Entry> indexes = new ConcurrentHashMap<>();
+    private final Map<String, IntervalEntry> intervalIndexes = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram buildLatency = new LatencyHistogram();
+    private final LatencyHistogram queryLatency = new LatencyHistogram();
+
+    /**
+     * @param offeredCache cours offerts précalculés (liste globale par trimestre)
+     */
+    public ScheduleConflictService(OfferedCoursesCache offeredCache) {
+        this.offeredCache = offeredCache;
+        offeredCache.addRemovalListener(this::forget);
+    }
+
+    /**
+     * Retourne la matrice de conflits d’un trimestre.
+     *
+     * @param semester trimestre (H25/A24/E24)
+     * @return la matrice, ou {@code null} si le trimestre est invalide
+     */
+    public ScheduleConflictIndex indexFor(String semester) {
+        OfferedCoursesCache.Snapshot snapshot = offeredCache.get(OfferedCoursesCache.ALL_PROGRAMS, semester);
+        if (snapshot == null) return null;
+
+        Entry entry = indexes.get(snapshot.getSemester());
+        if (entry == null || entry.snapshot != snapshot) {
+            long start = System.nanoTime();
+            entry = new Entry(snapshot, ScheduleConflictIndex.build(snapshot.getSemester(), snapshot.getCourses()));
+            buildLatency.record(System.nanoTime() - start);
+            keepIfTracked(indexes, snapshot.getSemester(), entry, snapshot);
+        }
+        return entry.index;
+    }
+
+    /**
+     * Cours offerts pouvant s’ajouter sans conflit aux cours choisis.
+     *
+     * @param semester trimestre (H25/A24/E24)
+     * @param withIds cours déjà choisis (sigles)
+     * @return le résultat, ou {@code null} si le trimestre est invalide
+     */
+    public ScheduleConflictIndex.Result compatible(String semester, Collection<String> withIds) {
+        ScheduleConflictIndex index = indexFor(semester);
+        if (index == null) return null;
+        long start = System.nanoTime();
+        ScheduleConflictIndex.Result result = index.compatible(withIds);
+        queryLatency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Cours offerts ayant au moins une section entièrement contenue dans les fenêtres libres.
+     *
+     * @param programId identifiant du programme, ou {@link OfferedCoursesCache#ALL_PROGRAMS}
+     * @param semester trimestre (H25/A24/E24)
+     * @param windows fenêtres libres par jour (voir {@link ActivityIntervalIndex#parseWindows(String)})
+     * @return les cours retenus, ou {@code null} si le trimestre est invalide
+     */
+    public List<Course> fitsIn(String programId, String semester, Map<Integer, List<int[]>> windows) {
+        OfferedCoursesCache.Snapshot snapshot = offeredCache.get(programId, semester);
+        if (snapshot == null) return null;
+
+        String key = key(snapshot);
+        IntervalEntry entry = intervalIndexes.get(key);
+        if (entry == null || entry.snapshot != snapshot) {
+            long start = System.nanoTime();
+            entry = new IntervalEntry(snapshot, ActivityIntervalIndex.build(snapshot.getSemester(), snapshot.getCourses()));
+            buildLatency.record(System.nanoTime() - start);
+            keepIfTracked(intervalIndexes, key, entry, snapshot);
+        }
+
+        long start = System.nanoTime();
+        List<Course> result = entry.index.fitting(windows);
+        queryLatency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /** Nombre d’index d’intervalles conservés (un par instantané suivi). */
+    int intervalIndexCount() {
+        return intervalIndexes.size();
+    }
+
+    // Résultat vide ou couple retiré: index utilisé pour cette requête, mais pas conservé
+    private <E> void keepIfTracked(Map<String, E> target, String key, E entry, OfferedCoursesCache.Snapshot snapshot) {
+        if (!offeredCache.isTracked(snapshot)) return;
+        target.put(key, entry);
+        // Le couple a pu être retiré pendant la construction (après le passage de l'observateur)
+        if (!offeredCache.isTracked(snapshot)) target.remove(key, entry);
+    }
+
+    private void forget(OfferedCoursesCache.Snapshot snapshot) {
+        intervalIndexes.remove(key(snapshot));
+        if (OfferedCoursesCache.ALL_PROGRAMS.equals(snapshot.getProgramId())) indexes.remove(snapshot.getSemester());
+    }
+
+    private static String key(OfferedCoursesCache.Snapshot snapshot) {
+        return snapshot.getProgramId() + "|" + snapshot.getSemester();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        indexes.forEach((semester, entry) -> writer.gauge("schedule_conflict_sections",
+                "Nombre de sections dans la matrice de conflits.", MetricsWriter.labels("semester", semester),
+                entry.index.sectionCount()));
+        writer.histogram("schedule_conflict_build_duration_seconds",
+                "Durée de construction d'un index d'horaire (matrice de conflits ou intervalles).", null, buildLatency);
+        writer.histogram("schedule_conflict_query_duration_seconds",
+                "Durée d'une requête de compatibilité d'horaire.", null, queryLatency);
+    }
+
+    private static final class Entry {
+        final OfferedCoursesCache.Snapshot snapshot;
+        final ScheduleConflictIndex index;
+
+        Entry(OfferedCoursesCache.Snapshot snapshot, ScheduleConflictIndex index) {
+            this.snapshot = snapshot;
+            this.index = index;
+        }
+    }
+
+    private static final class IntervalEntry {
+        final OfferedCoursesCache.Snapshot snapshot;
+        final ActivityIntervalIndex index;
+
+        IntervalEntry(OfferedCoursesCache.Snapshot snapshot, ActivityIntervalIndex index) {
+            this.snapshot = snapshot;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Teacher;
+import com.diro.ift2255.model.TeacherSection;
+import com.diro.ift2255.util.MetricsSource;
+import com.diro.ift2255.util.MetricsWriter;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index inversé enseignant → sections (cours, section, trimestre).
+ *
+ * <p>L’index est alimenté par les instantanés de {@link OfferedCoursesCache} :
+ * chaque nouvel instantané (programme, trimestre) remplace entièrement le précédent,
+ * de sorte qu’une section retirée de l’horaire disparaît de l’index, et un couple
+ * que le cache cesse de suivre en est retiré. Un cours présent dans plusieurs
+ * instantanés d’un trimestre est pris dans le plus récent. Les noms sont normalisés (sans
+ * accents, minuscules, traits d’union → espaces) et la recherche se fait par
+ * préfixe sur chaque mot du nom, via une {@link TreeMap} de mots.</p>
+ *
+ * <p>Une mise à jour ne recalcule que les sections du trimestre concerné. Les lectures
+ * utilisent une vue immuable, reconstruite au plus une fois après une série de mises
+ * à jour (un cycle de rafraîchissement) ; en dehors de cette reconstruction, elles ne
+ * prennent aucun verrou.</p>
+ */
+public class TeacherIndexService implements MetricsSource {
+
+    private final OfferedCoursesCache offeredCache;
+    /** Sections par instantané (programme|trimestre) puis par cours (source de la vue). */
+    private final Map<String, Postings> postings = new HashMap<>();
+    /** Sections par trimestre puis par enseignant (nom normalisé), recalculées trimestre par trimestre. */
+    private final Map<String, Map<String, List<TeacherSection>>> bySemester = new HashMap<>();
+    private volatile View view = new View(Map.of());
+    private volatile boolean stale = false;
+
+    private final LongAdder rebuilds = new LongAdder();
+
+    /**
+     * @param offeredCache cours offerts précalculés ; l’index s’abonne à leurs instantanés
+     */
+    public TeacherIndexService(OfferedCoursesCache offeredCache) {
+        this.offeredCache = offeredCache;
+        offeredCache.addListener(this::index);
+        offeredCache.addRemovalListener(this::forget);
+    }
+
+    /**
+     * Indexe les sections d’un instantané de cours offerts.
+     *
+     * @param snapshot instantané (programme, trimestre) fraîchement calculé
+     */
+    public synchronized void index(OfferedCoursesCache.Snapshot snapshot) {
+        String semester = snapshot.getSemester();
+        Map<String, List<TeacherSection>> byCourse = new HashMap<>();
+        for (Course course : snapshot.getCourses()) {
+            if (course == null || course.getId() == null) continue;
+            List<TeacherSection> sections = new ArrayList<>();
+            ScheduleActivities.forEachSection(course, semester, section -> {
+                if (section.getTeachers() == null) return;
+                for (String teacher : section.getTeachers()) {
+                    if (teacher == null || normalize(teacher).isEmpty()) continue;
+                    sections.add(new TeacherSection(teacher.trim(), course.getId(), course.getName(), section.getName(), semester));
+                }
+            });
+            byCourse.put(course.getId().trim().toUpperCase(), sections);
+        }
+        postings.put(key(snapshot), new Postings(semester, snapshot.getComputedAt(), byCourse));
+        reindex(semester);
+    }
+
+    /**
+     * Retire les sections d’un instantané que le cache ne suit plus.
+     *
+     * @param snapshot dernier instantané du couple retiré
+     */
+    synchronized void forget(OfferedCoursesCache.Snapshot snapshot) {
+        Postings p = postings.get(key(snapshot));
+        // Un instantané plus récent du même couple a pu être indexé depuis
+        if (p == null || p.computedAt != snapshot.getComputedAt()) return;
+        postings.remove(key(snapshot));
+        reindex(snapshot.getSemester());
+    }
+
+    // Recalcule les sections d'un trimestre (par cours: celles de l'instantané le plus récent)
+    private void reindex(String semester) {
+        Map<String, Postings> newest = new HashMap<>();
+        for (Postings p : postings.values()) {
+            if (!p.semester.equals(semester)) continue;
+            for (String courseId : p.byCourse.keySet()) {
+                newest.merge(courseId, p, (a, b) -> (b.computedAt > a.computedAt) ? b : a);
+            }
+        }
+        if (newest.isEmpty()) {
+            bySemester.remove(semester);
+        } else {
+            Map<String, List<TeacherSection>> byTeacher = new HashMap<>();
+            newest.forEach((courseId, p) -> p.byCourse.get(courseId).forEach(
+                    ts -> byTeacher.computeIfAbsent(normalize(ts.getTeacher()), k -> new ArrayList<>()).add(ts)));
+            bySemester.put(semester, byTeacher);
+        }
+        stale = true;
+    }
+
+    // Vue à jour: reconstruite une seule fois après une série de mises à jour
+    private View view() {
+        if (!stale) return view;
+        synchronized (this) {
+            if (stale) {
+                Map<String, List<TeacherSection>> byTeacher = new HashMap<>();
+                bySemester.values().forEach(teachers -> teachers.forEach(
+                        (name, sections) -> byTeacher.computeIfAbsent(name, k -> new ArrayList<>()).addAll(sections)));
+                view = new View(byTeacher);
+                stale = false;
+                rebuilds.increment();
+            }
+            return view;
+        }
+    }
+
+    /**
+     * Recherche d’enseignants par préfixe, insensible à la casse et aux accents.
+     * Chaque mot de la requête doit être le début d’un mot du nom
+     * (ex : "jean trem", "tremb", "helene").
+     *
+     * @param query texte recherché ({@code null} ou vide = tous)
+     * @param limit nombre maximal de résultats
+     * @return les enseignants trouvés, triés par nom
+     */
+    public List<Teacher> search(String query, int limit) {
+        View v = view();
+        String[] words = normalize(query == null ? "" : query).split(" ");
+        Collection<String> candidates;
+        if (words[0].isEmpty()) {
+            candidates = v.teachers.keySet();
+        } else {
+            candidates = new TreeSet<>();
+            v.words.subMap(words[0], words[0] + Character.MAX_VALUE).values().forEach(candidates::addAll);
+        }
+
+        List<Teacher> result = new ArrayList<>();
+        for (String name : candidates) {
+            if (result.size() >= limit) break;
+            if (matchesAll(name, words)) result.add(v.teachers.get(name).summary());
+        }
+        return result;
+    }
+
+    /**
+     * Sections données par un enseignant.
+     *
+     * <p>Un trimestre pas encore indexé n’est chargé que s’il est le trimestre en cours
+     * ou l’un de ses voisins ; pour les autres, seules les sections déjà indexées
+     * sont retournées.</p>
+     *
+     * @param name nom de l’enseignant (casse et accents ignorés)
+     * @param semester trimestre (H25/A24/E24), ou {@code null} pour tous les trimestres indexés
+     * @return les sections, ou {@code null} si l’enseignant est inconnu
+     */
+    public List<TeacherSection> sections(String name, String semester) {
+        String sem = (semester == null) ? null : semester.trim().toUpperCase();
+        if (sem != null && !isIndexed(sem) && OfferedCoursesCache.nearbySemesters(LocalDate.now()).contains(sem)) {
+            // Trimestre proche jamais chargé: calculer les cours offerts (l’index est alimenté par l’observateur)
+            offeredCache.get(OfferedCoursesCache.ALL_PROGRAMS, sem);
+        }
+
+        Entry entry = view().teachers.get(normalize(name));
+        if (entry == null) return null;
+        if (sem == null) return entry.sections;
+        return entry.sections.stream().filter(s -> s.getSemester().equals(sem)).toList();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        View v = view();
+        writer.gauge("teacher_index_teachers", "Nombre d'enseignants indexés.", null, v.teachers.size());
+        writer.gauge("teacher_index_sections", "Nombre d'entrées enseignant/section indexées.", null,
+                v.teachers.values().stream().mapToInt(e -> e.sections.size()).sum());
+        writer.counter("teacher_index_rebuilds_total", "Reconstructions de l'index des enseignants.", null, rebuilds.sum());
+    }
+
+    private synchronized boolean isIndexed(String semester) {
+        return bySemester.containsKey(semester);
+    }
+
+    /** Nombre d’instantanés dont les sections sont indexées. */
+    synchronized int indexedSnapshotCount() {
+        return postings.size();
+    }
+
+    /** Nombre de reconstructions de la vue de lecture. */
+    long rebuildCount() {
+        return rebuilds.sum();
+    }
+
+    private static String key(OfferedCoursesCache.Snapshot snapshot) {
+        return snapshot.getProgramId() + "|" + snapshot.getSemester();
+    }
+
+    /**
+     * Normalise un nom : sans accents, minuscules, ponctuation (traits d’union,
+     * apostrophes, points) remplacée par des espaces, espaces simples.
+     */
+    static String normalize(String name) {
+        if (name == null) return "";
+        String s = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        s = s.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return s;
+    }
+
+    private static boolean matchesAll(String name, String[] words) {
+        if (words[0].isEmpty()) return true;
+        String[] parts = name.split(" ");
+        for (String w : words) {
+            boolean found = false;
+            for (String p : parts) {
+                if (p.startsWith(w)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    /** Vue immuable : enseignants par nom normalisé, et mots → noms. */
+    private static final class View {
+        final TreeMap<String, Entry> teachers = new TreeMap<>();
+        final TreeMap<String, List<String>> words = new TreeMap<>();
+
+        View(Map<String, List<TeacherSection>> byTeacher) {
+            byTeacher.forEach((name, sections) -> {
+                List<TeacherSection> sorted = new ArrayList<>(sections);
+                sorted.sort(Comparator.comparing(TeacherSection::getSemester)
+                        .thenComparing(TeacherSection::getCourseId)
+                        .thenComparing(ts -> String.valueOf(ts.getSection())));
+                teachers.put(name, new Entry(sorted.get(0).getTeacher(), List.copyOf(sorted)));
+                for (String word : new HashSet<>(Arrays.asList(name.split(" ")))) {
+                    words.computeIfAbsent(word, w -> new ArrayList<>()).add(name);
+                }
+            });
+        }
+    }
+
+    /** Sections d’un instantané, par cours. */
+    private static final class Postings {
+        final String semester;
+        final long computedAt;
+        final Map<String, List<TeacherSection>> byCourse;
+
+        Postings(String semester, long computedAt, Map<String, List<TeacherSection>> byCourse) {
+            this.semester = semester;
+            this.computedAt = computedAt;
+            this.byCourse = byCourse;
+        }
+    }
+
+    private static final class Entry {
+        final String displayName;
+        final List<TeacherSection> sections;
+
+        Entry(String displayName, List<TeacherSection> sections) {
+            this.displayName = displayName;
+            this.sections = sections;
+        }
+
+        Teacher summary() {
+            Set<String> courses = new TreeSet<>();
+            Set<String> semesters = new TreeSet<>();
+            for (TeacherSection s : sections) {
+                courses.add(s.getCourseId());
+                semesters.add(s.getSemester());
+            }
+            return new Teacher(displayName, List.copyOf(courses), List.copyOf(semesters), sections.size());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.diro.ift2255.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjoncteur (circuit breaker) protégeant les appels vers un service amont (Planifium).
+ *
+ * <p>Le disjoncteur observe les derniers appels dans une fenêtre glissante.
+ * Lorsque le taux d’échec dépasse le seuil configuré, il s’ouvre et refuse
+ * immédiatement les appels pendant {@code openDuration}. Il passe ensuite
+ * en mode semi-ouvert : quelques appels de sonde sont autorisés, et le circuit
+ * se referme seulement si toutes les sondes réussissent.</p>
+ */
+public class CircuitBreaker {
+
+    /** États possibles du disjoncteur. */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    // Fenêtre glissante des derniers résultats (true = échec)
+    private final boolean[] window;
+    private int windowPos = 0;
+    private int windowCount = 0;
+    private int windowFailures = 0;
+
+    private State state = State.CLOSED;
+    private long openedAt = 0L;
+    private int probesInFlight = 0;
+    private int probeSuccesses = 0;
+
+    /**
+     * Construit un disjoncteur.
+     *
+     * @param windowSize nombre d’appels conservés dans la fenêtre glissante
+     * @param minimumCalls nombre minimal d’appels avant de pouvoir ouvrir le circuit
+     * @param failureRateThreshold taux d’échec (0..1) à partir duquel le circuit s’ouvre
+     * @param openDuration durée pendant laquelle le circuit reste ouvert avant de sonder
+     * @param halfOpenProbes nombre d’appels de sonde autorisés en mode semi-ouvert
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenProbes) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration openDuration, int halfOpenProbes, LongSupplier clock) {
+        if (windowSize < 1) throw new IllegalArgumentException("windowSize doit être >= 1");
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.clock = clock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Configuration par défaut pour Planifium : fenêtre de 20 appels,
+     * ouverture à 50 % d’échecs (après 5 appels), 30 s d’ouverture, 2 sondes.
+     *
+     * @return un nouveau disjoncteur
+     */
+    public static CircuitBreaker defaults() {
+        return new CircuitBreaker(20, 5, 0.5, Duration.ofSeconds(30), 2);
+    }
+
+    /**
+     * Demande l’autorisation d’effectuer un appel.
+     *
+     * @return {@code true} si l’appel peut être tenté, {@code false} si le circuit est ouvert
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationNanos) return false;
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) return false;
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /** Enregistre un appel réussi. */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probeSuccesses++;
+            if (probeSuccesses >= halfOpenProbes) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    /** Enregistre un appel en échec (erreur réseau, délai dépassé, 5xx). */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && windowCount >= minimumCalls
+                && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Retourne l’état courant (sans déclencher de transition).
+     *
+     * @return état du disjoncteur
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowPos]) windowFailures--;
+        } else {
+            windowCount++;
+        }
+        window[windowPos] = failure;
+        if (failure) windowFailures++;
+        windowPos = (windowPos + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        Arrays.fill(window, false);
+        windowPos = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
@@ -0,0 +1,274 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.CompactCourse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Module Jackson de {@link CompactCourse}.
+ *
+ * <p>Le désérialiseur lit le JSON d’un cours Planifium en flux et construit
+ * directement la forme compacte, sans passer par {@code Course} ni par des
+ * {@code Map} intermédiaires : les clés connues sont converties (masques de bits,
+ * minutes), les clés inconnues sont sautées, et les chaînes courtes très
+ * répétées (enseignants, volets, lieux, dates, sigles des préalables) passent par
+ * un {@link StringPool} partagé. Les textes propres à chaque cours (nom,
+ * description, exigences) ne sont pas mis en commun.</p>
+ *
+ * <p>Le sérialiseur écrit la même forme JSON que {@code Course}.</p>
+ */
+public final class CompactCourseModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Nombre maximal de chaînes distinctes mises en commun. */
+    public static final int POOL_CAPACITY = 100_000;
+
+    private final StringPool pool;
+
+    public CompactCourseModule() {
+        this(new StringPool(POOL_CAPACITY));
+    }
+
+    /**
+     * @param pool pool de chaînes partagé par tous les cours lus
+     */
+    public CompactCourseModule(StringPool pool) {
+        super("CompactCourseModule");
+        this.pool = pool;
+        addDeserializer(CompactCourse.class, new Deserializer(pool));
+        addSerializer(CompactCourse.class, new Serializer());
+    }
+
+    public StringPool getPool() {
+        return pool;
+    }
+
+    private static final class Deserializer extends JsonDeserializer<CompactCourse> {
+        private final StringPool pool;
+
+        Deserializer(StringPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public CompactCourse deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            expectObject(p);
+            String id = null, name = null, description = null, requirementText = null;
+            String[] prerequisites = null;
+            double credits = Double.NaN;
+            int[] terms = {0, 0};
+            int[] periods = {0, 0};
+            CompactCourse.Schedule[] schedules = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken t = p.nextToken();
+                switch (field) {
+                    case "id" -> id = text(p);
+                    case "name" -> name = text(p);
+                    case "description" -> description = text(p);
+                    case "requirement_text" -> requirementText = text(p);
+                    case "credits" -> credits = (t == JsonToken.VALUE_NULL) ? Double.NaN : p.getValueAsDouble(Double.NaN);
+                    case "prerequisite_courses" -> prerequisites = strings(p);
+                    case "available_terms" -> flags(p, CompactCourse.TERMS, terms);
+                    case "available_periods" -> flags(p, CompactCourse.PERIODS, periods);
+                    case "schedules" -> schedules = schedules(p);
+                    default -> p.skipChildren();
+                }
+            }
+            return new CompactCourse(id, name, description, prerequisites, credits, requirementText,
+                    terms[0], terms[1], periods[0], periods[1], schedules);
+        }
+
+        private CompactCourse.Schedule[] schedules(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) return skip(p);
+            List<CompactCourse.Schedule> list = new ArrayList<>(2);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                String name = null, fetchDate = null;
+                CompactCourse.Section[] sections = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "name" -> name = pooled(p);
+                        case "fetch_date" -> fetchDate = pooled(p);
+                        case "sections" -> sections = sections(p);
+                        default -> p.skipChildren();
+                    }
+                }
+                list.add(new CompactCourse.Schedule(name, fetchDate, sections));
+            }
+            return list.toArray(new CompactCourse.Schedule[0]);
+        }
+
+        private CompactCourse.Section[] sections(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) return skip(p);
+            List<CompactCourse.Section> list = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                String name = null, capacity = null, enrolled = null;
+                String[] teachers = null;
+                CompactCourse.Volet[] volets = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "name" -> name = pooled(p);
+                        case "capacity" -> capacity = pooled(p);
+                        case "number_inscription" -> enrolled = pooled(p);
+                        case "teachers" -> teachers = strings(p);
+                        case "volets" -> volets = volets(p);
+                        default -> p.skipChildren();
+                    }
+                }
+                list.add(new CompactCourse.Section(name, capacity, enrolled, teachers, volets));
+            }
+            return list.toArray(new CompactCourse.Section[0]);
+        }
+
+        private CompactCourse.Volet[] volets(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) return skip(p);
+            List<CompactCourse.Volet> list = new ArrayList<>(2);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                String name = null;
+                CompactCourse.Activity[] activities = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "name" -> name = pooled(p);
+                        case "activities" -> activities = activities(p);
+                        default -> p.skipChildren();
+                    }
+                }
+                list.add(new CompactCourse.Volet(name, activities));
+            }
+            return list.toArray(new CompactCourse.Volet[0]);
+        }
+
+        private CompactCourse.Activity[] activities(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) return skip(p);
+            List<CompactCourse.Activity> list = new ArrayList<>(2);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken() != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                int days = 0, start = -1, end = -1;
+                String startDate = null, endDate = null, campus = null, place = null, room = null, mode = null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    switch (field) {
+                        case "days" -> days = days(p);
+                        case "start_time" -> start = TimeGrid.minutes(text(p));
+                        case "end_time" -> end = TimeGrid.minutes(text(p));
+                        case "start_date" -> startDate = pooled(p);
+                        case "end_date" -> endDate = pooled(p);
+                        case "campus" -> campus = pooled(p);
+                        case "place" -> place = pooled(p);
+                        case "room" -> room = pooled(p);
+                        case "mode" -> mode = pooled(p);
+                        default -> p.skipChildren();
+                    }
+                }
+                list.add(new CompactCourse.Activity(days, start, end, startDate, endDate, campus, place, room, mode));
+            }
+            return list.toArray(new CompactCourse.Activity[0]);
+        }
+
+        private static int days(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) {
+                p.skipChildren();
+                return 0;
+            }
+            int mask = 0;
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                int d = TimeGrid.dayIndex(p.getValueAsString());
+                if (d >= 0) mask |= 1 << d;
+                p.skipChildren();
+            }
+            return mask;
+        }
+
+        /** Lit un objet de drapeaux booléens : out[0] = clés présentes, out[1] = clés à vrai. */
+        private static void flags(JsonParser p, List<String> keys, int[] out) throws IOException {
+            if (p.currentToken() != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                return;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                int bit = keys.indexOf(p.currentName());
+                JsonToken t = p.nextToken();
+                if (bit < 0) {
+                    p.skipChildren();
+                    continue;
+                }
+                out[0] |= 1 << bit;
+                if (t == JsonToken.VALUE_TRUE) out[1] |= 1 << bit;
+            }
+        }
+
+        private String[] strings(JsonParser p) throws IOException {
+            if (p.currentToken() != JsonToken.START_ARRAY) return skip(p);
+            List<String> list = new ArrayList<>(2);
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                if (p.currentToken().isScalarValue()) list.add(pooled(p));
+                else p.skipChildren();
+            }
+            return list.toArray(new String[0]);
+        }
+
+        private String pooled(JsonParser p) throws IOException {
+            return pool.dedupe(text(p));
+        }
+
+        private static String text(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+            if (!p.currentToken().isScalarValue()) {
+                p.skipChildren();
+                return null;
+            }
+            return p.getValueAsString();
+        }
+
+        /** Valeur inattendue (non tableau) : ignorée, champ considéré absent. */
+        private static <T> T skip(JsonParser p) throws IOException {
+            p.skipChildren();
+            return null;
+        }
+
+        private static void expectObject(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.START_OBJECT) return;
+            throw new IOException("Objet JSON attendu pour un cours, reçu: " + p.currentToken());
+        }
+    }
+
+    private static final class Serializer extends JsonSerializer<CompactCourse> {
+        @Override
+        public void serialize(CompactCourse value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            serializers.defaultSerializeValue(value.toCourse(true), gen);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.Course;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Sérialisation des listes de cours : projection de champs et écriture en flux.
+ *
+ * <p>La projection ({@code fields=id,name,credits}) est appliquée par un filtre
+ * Jackson ajouté via un mix-in, sans modifier {@link Course} ni les autres mappers.
+ * L’écriture en flux produit les cours un à un dans un {@link JsonGenerator},
+ * soit dans l’enveloppe standard ({@code {"success":true,"data":[...]}}),
+ * soit en NDJSON (un cours par ligne).</p>
+ */
+public class CourseJsonWriter {
+
+    /** Formats d’écriture en flux. */
+    public enum Format { JSON, NDJSON }
+
+    private static final String FILTER_ID = "courseFields";
+    /** Nombre de cours écrits entre deux vidages explicites du flux. */
+    private static final int FLUSH_EVERY = 64;
+
+    @JsonFilter(FILTER_ID)
+    private abstract static class ProjectionMixin {}
+
+    private final ObjectMapper mapper;
+    private final Set<String> knownFields;
+    private final ObjectWriter fullWriter;
+
+    /**
+     * @param base mapper de référence (copié, puis complété par le mix-in de projection)
+     */
+    public CourseJsonWriter(ObjectMapper base) {
+        this.mapper = base.copy().addMixIn(Course.class, ProjectionMixin.class);
+
+        BeanDescription desc = mapper.getSerializationConfig().introspect(mapper.constructType(Course.class));
+        Set<String> names = new LinkedHashSet<>();
+        for (BeanPropertyDefinition prop : desc.findProperties()) {
+            if (prop.couldSerialize()) names.add(prop.getName());
+        }
+        this.knownFields = Collections.unmodifiableSet(names);
+        this.fullWriter = writer(null);
+    }
+
+    /** Noms JSON des champs d’un cours pouvant être projetés. */
+    public Set<String> getKnownFields() {
+        return knownFields;
+    }
+
+    /**
+     * Analyse le paramètre {@code fields}.
+     *
+     * @param param valeur brute (ex : "id,name,credits")
+     * @return les champs demandés, ou {@code null} si aucun (tous les champs)
+     * @throws IllegalArgumentException si un champ est inconnu
+     */
+    public Set<String> parseFields(String param) {
+        if (param == null || param.isBlank()) return null;
+        Set<String> fields = new LinkedHashSet<>();
+        for (String f : param.split(",")) {
+            String name = f.trim();
+            if (name.isEmpty()) continue;
+            if (!knownFields.contains(name)) {
+                throw new IllegalArgumentException("Champ inconnu: '" + name + "'. Champs disponibles: " + String.join(", ", knownFields));
+            }
+            fields.add(name);
+        }
+        return fields.isEmpty() ? null : fields;
+    }
+
+    /**
+     * Sérialise une réponse complète (ex : enveloppe {@link ResponseUtil}) en projetant les cours.
+     *
+     * @param body corps de la réponse
+     * @param fields champs à conserver ({@code null} = tous)
+     * @return JSON en octets
+     */
+    public byte[] toBytes(Object body, Set<String> fields) throws JsonProcessingException {
+        return writer(fields).writeValueAsBytes(body);
+    }
+
+    /**
+     * Écrit les cours un à un dans le flux de sortie, sans construire la réponse en mémoire.
+     *
+     * @param out flux de sortie (non fermé par cette méthode)
+     * @param courses cours à écrire
+     * @param format enveloppe JSON standard ou NDJSON
+     * @param fields champs à conserver ({@code null} = tous)
+     * @return nombre de cours écrits
+     */
+    public int stream(OutputStream out, Iterator<Course> courses, Format format, Set<String> fields) throws IOException {
+        ObjectWriter w = writer(fields).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        int count = 0;
+
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.NDJSON) {
+                gen.setRootValueSeparator(null);
+            } else {
+                gen.writeStartObject();
+                gen.writeBooleanField("success", true);
+                gen.writeFieldName("data");
+                gen.writeStartArray();
+            }
+
+            while (courses.hasNext()) {
+                w.writeValue(gen, courses.next());
+                if (format == Format.NDJSON) gen.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) gen.flush();
+            }
+
+            if (format == Format.JSON) {
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    private ObjectWriter writer(Set<String> fields) {
+        if (fields == null && fullWriter != null) return fullWriter;
+        SimpleBeanPropertyFilter filter = (fields == null)
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return mapper.writer(new SimpleFilterProvider().addFilter(FILTER_ID, filter));
+    }
+}
@@ -0,0 +1,26 @@
+package com.diro.ift2255.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabrique de fils « démons » nommés, pour les tâches de fond des services
+ * (rafraîchissements, requêtes parallèles) : ils n’empêchent pas l’arrêt de la JVM.
+ */
+public final class DaemonThreads {
+
+    private DaemonThreads() {}
+
+    /**
+     * @param prefix préfixe du nom des fils (ex : "program-race")
+     * @return une fabrique de fils démons numérotés
+     */
+    public static ThreadFactory factory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.diro.ift2255.util;
+
+import java.time.Duration;
+
+/**
+ * Échéance (deadline) associée à la requête entrante en cours de traitement.
+ *
+ * <p>L’échéance est posée par un filtre Javalin ({@code before}) et stockée
+ * dans le fil d’exécution courant ; {@link HttpClientApi} la consulte pour
+ * borner le délai de chaque appel amont, de sorte qu’une requête ne dépasse
+ * jamais son budget total, même si elle enchaîne plusieurs appels à Planifium.</p>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {}
+
+    /**
+     * Démarre une échéance pour le fil courant.
+     *
+     * @param budget temps total accordé à partir de maintenant
+     */
+    public static void start(Duration budget) {
+        CURRENT.set(System.nanoTime() + budget.toNanos());
+    }
+
+    /** Retire l’échéance du fil courant (fin de la requête). */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Échéance absolue (en {@link System#nanoTime()}) du fil courant.
+     *
+     * @return l’échéance, ou {@code null} si aucune n’est posée
+     */
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Exécute une tâche dans un autre fil en lui transmettant une échéance capturée.
+     *
+     * @param deadlineNanos échéance capturée via {@link #current()} (peut être {@code null})
+     * @param task tâche à exécuter
+     */
+    public static void runWith(Long deadlineNanos, Runnable task) {
+        Long previous = CURRENT.get();
+        if (deadlineNanos == null) CURRENT.remove(); else CURRENT.set(deadlineNanos);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) CURRENT.remove(); else CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Temps restant avant l’échéance du fil courant.
+     *
+     * @param fallback valeur retournée s’il n’y a pas d’échéance
+     * @return temps restant (peut être nul ou négatif si l’échéance est dépassée)
+     */
+    public static Duration remaining(Duration fallback) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) return fallback;
+        return Duration.ofNanos(deadline - System.nanoTime());
+    }
+}
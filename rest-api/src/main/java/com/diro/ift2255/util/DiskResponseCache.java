@@ -0,0 +1,356 @@
+package com.diro.ift2255.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+
+/**
+ * Cache disque (second niveau) des réponses brutes de l’amont, conservé d’un
+ * redémarrage à l’autre.
+ *
+ * <p>Les réponses sont ajoutées à la fin de fichiers segments
+ * ({@code seg-000001.dat}, ...) projetés en mémoire ({@link MappedByteBuffer}).
+ * Chaque enregistrement porte un CRC32 ; un index en mémoire (clé → segment,
+ * position) est reconstruit à l’ouverture en relisant les segments ; les
+ * enregistrements invalides (écriture interrompue) sont ignorés. Une clé réécrite
+ * pointe vers son dernier enregistrement ; un corps inchangé n’est pas réécrit.</p>
+ *
+ * <p>La taille totale est bornée : au-delà, le segment le moins récemment
+ * utilisé (lu ou écrit) est supprimé avec toutes ses entrées (LRU par segment).
+ * Une réponse plus grande qu’un segment reçoit son propre segment. Si le fichier
+ * ne peut pas être supprimé tout de suite (fichier projeté sous Windows), son
+ * premier enregistrement est invalidé : le segment est alors ignoré et supprimé
+ * à la prochaine ouverture. La borne est aussi appliquée à l’ouverture, sur la
+ * taille des segments trouvés sur disque.</p>
+ *
+ * <p>Format d’un enregistrement : {@code magic (4) | crc (4) | longueur clé (4) |
+ * longueur valeur (4) | date d’écriture ms (8) | clé UTF-8 | valeur UTF-8} ; le CRC
+ * couvre tout ce qui le suit.</p>
+ */
+public class DiskResponseCache implements MetricsSource {
+
+    /** Taille par défaut d’un segment. */
+    public static final int DEFAULT_SEGMENT_BYTES = 8 * 1024 * 1024;
+
+    private static final int MAGIC = 0x52455331; // "RES1"
+    private static final int HEADER = 24;
+
+    /** Réponse relue du disque. */
+    public static final class Entry {
+        private final String body;
+        private final long storedAt;
+
+        Entry(String body, long storedAt) {
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        public String getBody() { return body; }
+        /** Date d’écriture (ms depuis l’époque). */
+        public long getStoredAt() { return storedAt; }
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+    private final int segmentBytes;
+    private final LongSupplier clock;
+
+    private final Map<String, Location> index = new HashMap<>();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long accessTick;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder corrupt = new LongAdder();
+
+    /**
+     * Ouvre (ou crée) le cache et relit les segments existants.
+     *
+     * @param dir répertoire des segments
+     * @param maxBytes taille totale maximale des segments
+     */
+    public DiskResponseCache(Path dir, long maxBytes) throws IOException {
+        this(dir, maxBytes, DEFAULT_SEGMENT_BYTES, System::currentTimeMillis);
+    }
+
+    DiskResponseCache(Path dir, long maxBytes, int segmentBytes, LongSupplier clock) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+        this.clock = clock;
+        Files.createDirectories(dir);
+        recover();
+    }
+
+    /**
+     * Réponse enregistrée pour une clé.
+     *
+     * @param key clé (URI de la requête)
+     * @return la réponse, ou {@code null} si absente ou corrompue
+     */
+    public synchronized Entry get(String key) {
+        Location loc = index.get(key);
+        Segment segment = (loc == null) ? null : segments.get(loc.segment);
+        if (segment == null) {
+            misses.increment();
+            return null;
+        }
+        ByteBuffer buf = segment.buffer;
+        int size = frameSize(buf, loc.offset, buf.capacity());
+        if (size < 0 || !checksumOk(buf, loc.offset, size) || !key.equals(keyAt(buf, loc.offset))) {
+            // Contenu altéré depuis l'ouverture: oublier l'entrée
+            corrupt.increment();
+            misses.increment();
+            index.remove(key);
+            return null;
+        }
+        segment.lastAccess = ++accessTick;
+        hits.increment();
+        return new Entry(valueAt(buf, loc.offset, size), buf.getLong(loc.offset + 16));
+    }
+
+    /**
+     * Enregistre (ou remplace) la réponse d’une clé. Si le corps est identique à
+     * celui déjà enregistré, seule sa date d’écriture est mise à jour (sur place).
+     *
+     * @param key clé (URI de la requête)
+     * @param body corps de la réponse
+     */
+    public synchronized void put(String key, String body) {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        byte[] v = body.getBytes(StandardCharsets.UTF_8);
+        long now = clock.getAsLong();
+        if (touchIfUnchanged(key, k.length, v, now)) return;
+
+        int size = HEADER + k.length + v.length;
+        try {
+            if (active == null || active.buffer.capacity() - active.end < size) {
+                active = createSegment(Math.max(segmentBytes, size));
+            }
+            ByteBuffer buf = active.buffer.duplicate();
+            buf.position(active.end);
+            buf.putInt(MAGIC).putInt(0).putInt(k.length).putInt(v.length).putLong(now).put(k).put(v);
+            // Le CRC est écrit en dernier: un enregistrement interrompu reste invalide
+            writeChecksum(active.buffer, active.end, size);
+            index.put(key, new Location(active.id, active.end));
+            active.end += size;
+            active.lastAccess = ++accessTick;
+            writes.increment();
+            evictIfNeeded();
+        } catch (IOException e) {
+            System.err.println("[DiskResponseCache] Écriture échouée: " + e.getMessage());
+        }
+    }
+
+    private boolean touchIfUnchanged(String key, int keyLength, byte[] value, long now) {
+        Location loc = index.get(key);
+        Segment segment = (loc == null) ? null : segments.get(loc.segment);
+        if (segment == null) return false;
+        ByteBuffer buf = segment.buffer;
+        int size = frameSize(buf, loc.offset, buf.capacity());
+        if (size != HEADER + keyLength + value.length) return false;
+        int valueStart = loc.offset + HEADER + keyLength;
+        if (!ByteBuffer.wrap(value).equals(buf.duplicate().position(valueStart).limit(valueStart + value.length))) {
+            return false;
+        }
+        buf.putLong(loc.offset + 16, now);
+        writeChecksum(buf, loc.offset, size);
+        segment.lastAccess = ++accessTick;
+        return true;
+    }
+
+    /** Nombre de clés indexées. */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /** Taille totale des segments sur disque. */
+    public synchronized long sizeBytes() {
+        long total = 0;
+        for (Segment s : segments.values()) total += s.buffer.capacity();
+        return total;
+    }
+
+    /** Force l’écriture sur disque du segment actif. */
+    public synchronized void flush() {
+        if (active != null) active.buffer.force();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writer.cache("upstream_disk", hits.sum(), misses.sum(), size());
+        writer.gauge("upstream_disk_bytes", "Taille des segments du cache disque des réponses Planifium.", null, sizeBytes());
+        writer.counter("upstream_disk_writes_total", "Réponses écrites dans le cache disque.", null, writes.sum());
+        writer.counter("upstream_disk_evicted_segments_total", "Segments du cache disque supprimés (LRU).", null, evictions.sum());
+        writer.counter("upstream_disk_corrupt_total", "Enregistrements invalides ignorés (CRC).", null, corrupt.sum());
+    }
+
+    private void evictIfNeeded() {
+        while (sizeBytes() > maxBytes && segments.size() > 1) {
+            Segment victim = null;
+            for (Segment s : segments.values()) {
+                if (s != active && (victim == null || s.lastAccess < victim.lastAccess)) victim = s;
+            }
+            if (victim == null) return;
+            int id = victim.id;
+            try {
+                Files.deleteIfExists(segmentPath(id));
+            } catch (IOException e) {
+                // Fichier encore projeté (Windows): segment marqué mort, supprimé à la prochaine ouverture
+                victim.buffer.putInt(0, 0);
+                victim.buffer.force();
+                System.err.println("[DiskResponseCache] Segment " + id + " marqué supprimé: " + e.getMessage());
+            }
+            segments.remove(id);
+            index.values().removeIf(loc -> loc.segment == id);
+            evictions.increment();
+        }
+    }
+
+    private Segment createSegment(int capacity) throws IOException {
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Segment s = new Segment(id, map(segmentPath(id), capacity), 0);
+        segments.put(id, s);
+        return s;
+    }
+
+    /**
+     * Relit les segments existants, du plus ancien au plus récent, pour reconstruire
+     * l’index. Un enregistrement dont le CRC est faux est ignoré ; la lecture d’un
+     * segment s’arrête au premier en-tête invalide (fin des données ou écriture tronquée).
+     * Un segment sans enregistrement valide en tête (vide ou marqué supprimé) est effacé,
+     * puis les plus anciens sont supprimés tant que la taille sur disque dépasse la borne.
+     */
+    private void recover() throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "seg-*.dat")) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    ids.add(Integer.parseInt(name.substring(4, name.length() - 4)));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        Collections.sort(ids);
+        for (int id : ids) {
+            Path path = segmentPath(id);
+            long length = Files.size(path);
+            if (length < HEADER || length > Integer.MAX_VALUE || !startsWithRecord(path)) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+            MappedByteBuffer buffer = map(path, (int) length);
+            int pos = 0;
+            int size;
+            while ((size = frameSize(buffer, pos, buffer.capacity())) > 0) {
+                if (checksumOk(buffer, pos, size)) {
+                    index.put(keyAt(buffer, pos), new Location(id, pos));
+                } else {
+                    corrupt.increment();
+                }
+                pos += size;
+            }
+            segments.put(id, new Segment(id, buffer, pos));
+        }
+        // Le segment le plus récent reprend les écritures là où elles s'étaient arrêtées
+        if (!segments.isEmpty()) active = segments.lastEntry().getValue();
+        evictIfNeeded();
+        if (!index.isEmpty()) {
+            System.out.println("[DiskResponseCache] " + index.size() + " réponse(s) relue(s) depuis " + dir);
+        }
+    }
+
+    // Lu sans projection, pour pouvoir supprimer le fichier ensuite
+    private static boolean startsWithRecord(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            while (magic.hasRemaining() && ch.read(magic) >= 0) {}
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    private Path segmentPath(int id) {
+        return dir.resolve(String.format("seg-%06d.dat", id));
+    }
+
+    private static MappedByteBuffer map(Path path, int capacity) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+    }
+
+    private static final class Segment {
+        final int id;
+        final MappedByteBuffer buffer;
+        int end;
+        long lastAccess;
+
+        Segment(int id, MappedByteBuffer buffer, int end) {
+            this.id = id;
+            this.buffer = buffer;
+            this.end = end;
+        }
+    }
+
+    private static final class Location {
+        final int segment;
+        final int offset;
+
+        Location(int segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    /** @return la taille de l’enregistrement à {@code pos}, ou -1 si l’en-tête est absent ou incohérent */
+    private static int frameSize(ByteBuffer buf, int pos, int limit) {
+        if (pos < 0 || limit - pos < HEADER || buf.getInt(pos) != MAGIC) return -1;
+        int keyLength = buf.getInt(pos + 8);
+        int valueLength = buf.getInt(pos + 12);
+        long size = (long) HEADER + keyLength + valueLength;
+        return (keyLength < 0 || valueLength < 0 || size > limit - pos) ? -1 : (int) size;
+    }
+
+    /** CRC32 de tout ce qui suit le champ CRC (longueurs, date, clé, valeur). */
+    private static int checksum(ByteBuffer buf, int pos, int size) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.duplicate().position(pos + 8).limit(pos + size));
+        return (int) crc.getValue();
+    }
+
+    private static boolean checksumOk(ByteBuffer buf, int pos, int size) {
+        return checksum(buf, pos, size) == buf.getInt(pos + 4);
+    }
+
+    private static void writeChecksum(ByteBuffer buf, int pos, int size) {
+        buf.putInt(pos + 4, checksum(buf, pos, size));
+    }
+
+    private static String keyAt(ByteBuffer buf, int pos) {
+        return decode(buf, pos + HEADER, buf.getInt(pos + 8));
+    }
+
+    private static String valueAt(ByteBuffer buf, int pos, int size) {
+        int keyLength = buf.getInt(pos + 8);
+        return decode(buf, pos + HEADER + keyLength, size - HEADER - keyLength);
+    }
+
+    private static String decode(ByteBuffer buf, int from, int length) {
+        byte[] bytes = new byte[length];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -6,46 +6,513 @@ import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-public class HttpClientApi {
+public class HttpClientApi implements MetricsSource {
+
+    /** Nombre maximal de réponses conservées comme "dernière valeur connue". */
+    private static final int LAST_GOOD_CAPACITY = 2000;
 
     private final HttpClient client;
-    private ObjectMapper mapper;
+
+    // Un disjoncteur par hôte amont (en pratique: Planifium)
+    private final Supplier<CircuitBreaker> breakerFactory;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    // Dernière réponse 2xx par URI, servie si l'amont est en panne (LRU borné)
+    private final Map<URI, HttpClientApiResponse> lastGood = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<URI, HttpClientApiResponse> eldest) {
+                    return size() > LAST_GOOD_CAPACITY;
+                }
+            });
+
+    // Relances et requêtes de couverture (hedging) pour les GET
+    private final UpstreamPolicy policy;
+    // Latences récentes par endpoint (voir latencyKey), pour le délai de couverture
+    private final Map<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+    private final LongAdder primaryRequests = new LongAdder();
+    private final LongAdder extraRequests = new LongAdder();
+
+    // Métriques par endpoint amont (chemin normalisé, ex: /api/v1/courses/{id})
+    private static final int MAX_ENDPOINT_SERIES = 200;
+    private final Map<String, LatencyHistogram> endpointLatency = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> endpointOutcomes = new ConcurrentHashMap<>();
+    private final LongAdder lastGoodHits = new LongAdder();
+    private final LongAdder lastGoodMisses = new LongAdder();
+
+    // Second niveau sur disque sous lastGood (optionnel), conservé entre redémarrages
+    private volatile DiskResponseCache diskCache;
+    private volatile Duration diskColdAge = Duration.ZERO;
+    // Hôtes ayant déjà répondu 2xx depuis le démarrage: le disque n'y sert plus que de secours
+    private final Set<String> warmHosts = ConcurrentHashMap.newKeySet();
+    private final Set<URI> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newFixedThreadPool(2, DaemonThreads.factory("upstream-disk-refresh"));
+
+    // Borne le nombre d'appels GET simultanés vers l'amont, quel que soit le nombre de threads serveur
+    private final Semaphore upstreamPermits;
 
     public HttpClientApi() {
+        this(UpstreamPolicy.defaults(), CircuitBreaker::defaults);
+    }
+
+    /**
+     * @param breakerFactory fabrique des disjoncteurs (un par hôte amont)
+     */
+    public HttpClientApi(Supplier<CircuitBreaker> breakerFactory) {
+        this(UpstreamPolicy.defaults(), breakerFactory);
+    }
+
+    /**
+     * @param policy politique de relance / couverture / délais des GET
+     * @param breakerFactory fabrique des disjoncteurs (un par hôte amont)
+     */
+    public HttpClientApi(UpstreamPolicy policy, Supplier<CircuitBreaker> breakerFactory) {
         this.client = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
-        this.mapper = new ObjectMapper();
+        this.breakerFactory = breakerFactory;
+        this.policy = policy;
+        this.upstreamPermits = new Semaphore(policy.getMaxConcurrentRequests());
+    }
+
+    public UpstreamPolicy getPolicy() {
+        return policy;
     }
 
-    /** Perform a GET request */
+    /**
+     * Branche un cache disque des réponses 2xx sous le cache "dernière valeur connue".
+     *
+     * <p>Chaque réponse 2xx y est écrite, et il sert de secours comme {@code lastGood}.
+     * De plus, tant qu'un hôte n'a pas encore répondu 2xx depuis le démarrage (serveur
+     * redémarré, amont en démarrage à froid), un GET sans en-tête conditionnel dont la
+     * réponse sur disque a moins de {@code maxColdAge} est servi immédiatement depuis le
+     * disque (marqué périmé), et l'amont est rappelé en arrière-plan pour le rafraîchir.</p>
+     *
+     * @param cache cache disque, ou {@code null} pour le débrancher
+     * @param maxColdAge âge maximal d'une réponse servie depuis le disque avant tout appel amont
+     */
+    public void setDiskCache(DiskResponseCache cache, Duration maxColdAge) {
+        this.diskCache = cache;
+        this.diskColdAge = maxColdAge;
+    }
+
+    /**
+     * Perform a GET request, protected by the host's circuit breaker.
+     *
+     * <p>Si le circuit est ouvert, ou si l'appel échoue (erreur réseau, 5xx),
+     * la dernière réponse valide connue pour cette URI est retournée
+     * (marquée {@link HttpClientApiResponse#isStale()}). Sans valeur connue,
+     * on retourne immédiatement un 503 plutôt que d'attendre un délai d'expiration.</p>
+     *
+     * <p>Les tentatives sont bornées par l'échéance de la requête entrante ({@link Deadline}),
+     * relancées avec gigue et couvertes par une seconde requête au-delà du p95 (voir {@link UpstreamPolicy}).</p>
+     *
+     * <p>Au plus {@link UpstreamPolicy#getMaxConcurrentRequests()} appels sont en cours
+     * simultanément ; au-delà, l'appel attend un créneau jusqu'à son échéance, puis
+     * retourne la dernière valeur connue ou un 503.</p>
+     *
+     * <p>Avec un cache disque (voir {@link #setDiskCache}), la dernière valeur connue
+     * survit aux redémarrages.</p>
+     */
     public HttpClientApiResponse get(URI uri) {
+        return get(uri, Map.of());
+    }
+
+    /**
+     * GET avec en-têtes supplémentaires, ex : requête conditionnelle
+     * ({@code If-None-Match}, {@code If-Modified-Since}). Une réponse 304 est
+     * retournée telle quelle (corps vide) et n'écrase pas la dernière valeur connue.
+     *
+     * @param uri URI de l'amont
+     * @param headers en-têtes de la requête (en plus de {@code Accept})
+     */
+    public HttpClientApiResponse get(URI uri, Map<String, String> headers) {
+        if (headers.isEmpty()) {
+            HttpClientApiResponse cold = coldFromDisk(uri);
+            if (cold != null) {
+                endpointOutcomes.computeIfAbsent(endpointOf(uri) + " disk", k -> new LongAdder()).increment();
+                return cold;
+            }
+        }
+        return fetch(uri, headers);
+    }
+
+    private HttpClientApiResponse fetch(URI uri, Map<String, String> headers) {
+        long start = System.nanoTime();
+        HttpClientApiResponse response = getGuarded(uri, headers);
+
+        String endpoint = endpointOf(uri);
+        if (endpointLatency.size() >= MAX_ENDPOINT_SERIES && !endpointLatency.containsKey(endpoint)) endpoint = "other";
+        LatencyHistogram h = endpointLatency.get(endpoint);
+        if (h == null) h = endpointLatency.computeIfAbsent(endpoint, e -> new LatencyHistogram());
+        h.record(System.nanoTime() - start);
+        String outcome = response.isStale() ? "stale" : (response.getStatusCode() / 100) + "xx";
+        endpointOutcomes.computeIfAbsent(endpoint + ' ' + outcome, k -> new LongAdder()).increment();
+        return response;
+    }
+
+    private HttpClientApiResponse getGuarded(URI uri, Map<String, String> headers) {
+        // Échéance de la requête entrante déjà dépassée: ne pas solliciter l'amont
+        Duration remaining = Deadline.remaining(policy.getAttemptTimeout());
+        if (remaining.isZero() || remaining.isNegative()) {
+            HttpClientApiResponse stale = lastGoodFor(uri);
+            if (stale != null) return stale.asStale();
+            return new HttpClientApiResponse(504, HttpStatus.reasonPhrase(504), "Échéance dépassée avant l'appel amont");
+        }
+
+        if (!acquireUpstreamPermit(remaining)) {
+            HttpClientApiResponse stale = lastGoodFor(uri);
+            if (stale != null) return stale.asStale();
+            return new HttpClientApiResponse(503, HttpStatus.reasonPhrase(503),
+                    "Trop d'appels simultanés vers " + uri.getHost() + " (amont saturé)");
+        }
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(uri)
-                    .header("Accept", "application/json")
-                    .GET()
-                    .timeout(Duration.ofSeconds(10))
-                    .build();
+            return getWithBreaker(uri, headers);
+        } finally {
+            upstreamPermits.release();
+        }
+    }
 
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    private HttpClientApiResponse lastGoodFor(URI uri) {
+        HttpClientApiResponse stale = lastGood.get(uri);
+        if (stale != null) lastGoodHits.increment(); else lastGoodMisses.increment();
+        if (stale == null) {
+            DiskResponseCache disk = diskCache;
+            DiskResponseCache.Entry entry = (disk == null) ? null : disk.get(uri.toString());
+            if (entry != null) {
+                stale = new HttpClientApiResponse(200, HttpStatus.reasonPhrase(200), entry.getBody());
+                lastGood.put(uri, stale);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Réponse servie depuis le disque avant tout appel amont, tant que l'hôte n'a pas
+     * encore répondu 2xx depuis le démarrage ; l'amont est alors rappelé en arrière-plan.
+     */
+    private HttpClientApiResponse coldFromDisk(URI uri) {
+        DiskResponseCache disk = diskCache;
+        if (disk == null || warmHosts.contains(hostOf(uri))) return null;
+        DiskResponseCache.Entry entry = disk.get(uri.toString());
+        if (entry == null || System.currentTimeMillis() - entry.getStoredAt() > diskColdAge.toMillis()) return null;
 
+        if (refreshing.add(uri)) {
+            try {
+                refresher.execute(() -> {
+                    try {
+                        fetch(uri, Map.of());
+                    } finally {
+                        refreshing.remove(uri);
+                    }
+                });
+            } catch (RuntimeException e) {
+                refreshing.remove(uri);
+            }
+        }
+        HttpClientApiResponse response = new HttpClientApiResponse(200, HttpStatus.reasonPhrase(200), entry.getBody());
+        lastGood.putIfAbsent(uri, response);
+        return response.asStale();
+    }
+
+    /**
+     * Chemin d'URI normalisé pour les métriques : les segments contenant un chiffre
+     * (sigles, identifiants de programme) sont remplacés par {@code {id}}.
+     */
+    static String endpointOf(URI uri) {
+        String path = (uri.getPath() == null || uri.getPath().isEmpty()) ? "/" : uri.getPath();
+        StringBuilder sb = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            sb.append('/').append(segment.chars().anyMatch(Character::isDigit) && !segment.matches("v\\d+") ? "{id}" : segment);
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        endpointLatency.forEach((endpoint, h) -> writer.histogram("upstream_request_duration_seconds",
+                "Durée des appels GET vers Planifium (relances et couverture comprises).",
+                Map.of("endpoint", endpoint), h));
+        endpointOutcomes.forEach((key, count) -> {
+            int sep = key.lastIndexOf(' ');
+            writer.counter("upstream_requests_total", "Appels GET vers Planifium par résultat.",
+                    MetricsWriter.labels("endpoint", key.substring(0, sep), "outcome", key.substring(sep + 1)), count.sum());
+        });
+        writer.cache("upstream_last_good", lastGoodHits.sum(), lastGoodMisses.sum(), lastGood.size());
+        writer.gauge("upstream_in_flight", "Appels GET en cours vers Planifium.", null, upstreamInFlight());
+        writer.counter("upstream_extra_requests_total", "Relances et requêtes de couverture envoyées.", null, extraRequests.sum());
+        breakers.forEach((host, breaker) -> writer.gauge("upstream_circuit_open",
+                "1 si le disjoncteur de l'hôte est ouvert (0.5 si semi-ouvert).", Map.of("host", host),
+                switch (breaker.getState()) {
+                    case OPEN -> 1.0;
+                    case HALF_OPEN -> 0.5;
+                    default -> 0.0;
+                }));
+    }
+
+    /** Nombre d'appels GET actuellement en cours vers l'amont. */
+    public int upstreamInFlight() {
+        return policy.getMaxConcurrentRequests() - upstreamPermits.availablePermits();
+    }
+
+    private boolean acquireUpstreamPermit(Duration maxWait) {
+        try {
+            return upstreamPermits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpClientApiResponse getWithBreaker(URI uri, Map<String, String> headers) {
+        CircuitBreaker breaker = breakerFor(uri);
+        if (!breaker.tryAcquire()) {
+            HttpClientApiResponse stale = lastGoodFor(uri);
+            if (stale != null) return stale.asStale();
+            return new HttpClientApiResponse(503, HttpStatus.reasonPhrase(503),
+                    "Circuit ouvert pour " + uri.getHost() + " (amont indisponible)");
+        }
+
+        HttpClientApiResponse response = send(uri, headers);
+        if (response.getStatusCode() >= 500) {
+            breaker.onFailure();
+            HttpClientApiResponse stale = lastGoodFor(uri);
+            return (stale != null) ? stale.asStale() : response;
+        }
+
+        breaker.onSuccess();
+        if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
+            lastGood.put(uri, response);
+            warmHosts.add(hostOf(uri));
+            DiskResponseCache disk = diskCache;
+            if (disk != null) disk.put(uri.toString(), response.getBody());
+        }
+        return response;
+    }
+
+    /**
+     * État du disjoncteur associé à l'hôte d'une URI.
+     *
+     * @param uri URI de l'amont
+     * @return état courant du disjoncteur
+     */
+    public CircuitBreaker.State circuitState(URI uri) {
+        return breakerFor(uri).getState();
+    }
+
+    /**
+     * Dernière réponse 2xx connue pour une URI (mémoire, puis cache disque), sans appel amont.
+     *
+     * @param uri URI de l'amont
+     * @return la réponse marquée périmée, ou {@code null} si aucune n'est connue
+     */
+    public HttpClientApiResponse lastKnown(URI uri) {
+        HttpClientApiResponse stale = lastGoodFor(uri);
+        return (stale == null) ? null : stale.asStale();
+    }
+
+    private CircuitBreaker breakerFor(URI uri) {
+        return breakers.computeIfAbsent(hostOf(uri), h -> breakerFactory.get());
+    }
+
+    private static String hostOf(URI uri) {
+        return (uri.getHost() == null) ? "" : uri.getHost();
+    }
+
+    /**
+     * Envoie un GET avec relances à gigue, en respectant l'échéance de la requête entrante.
+     *
+     * <p>Seuls les échecs transitoires (erreur réseau, 429, 5xx) sont relancés, et
+     * seulement tant que le budget de requêtes supplémentaires le permet.</p>
+     */
+    private HttpClientApiResponse send(URI uri, Map<String, String> headers) {
+        primaryRequests.increment();
+        HttpClientApiResponse response = null;
+
+        for (int attempt = 0; ; attempt++) {
+            Duration remaining = Deadline.remaining(policy.getAttemptTimeout());
+            if (remaining.isZero() || remaining.isNegative()) {
+                return (response != null) ? response
+                        : new HttpClientApiResponse(504, HttpStatus.reasonPhrase(504), "Échéance dépassée avant l'appel amont");
+            }
+            Duration timeout = (remaining.compareTo(policy.getAttemptTimeout()) < 0) ? remaining : policy.getAttemptTimeout();
+
+            response = sendHedged(uri, headers, timeout);
+            if (!isRetryable(response.getStatusCode()) || attempt >= policy.getMaxRetries()) {
+                return response;
+            }
+
+            // Backoff exponentiel "full jitter": [0, min(max, base * 2^attempt)]
+            long cap = Math.min(policy.getRetryMaxDelay().toMillis(),
+                    policy.getRetryBaseDelay().toMillis() << Math.min(attempt, 20));
+            long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+            if (delay >= Deadline.remaining(policy.getAttemptTimeout()).toMillis() || !tryAcquireExtraRequest()) {
+                return response;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Envoie la requête ; si aucune réponse n'est arrivée après le p95 observé,
+     * envoie une copie et garde la première réponse reçue.
+     */
+    private HttpClientApiResponse sendHedged(URI uri, Map<String, String> headers, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("Accept", "application/json")
+                .GET()
+                .timeout(timeout);
+        headers.forEach(builder::header);
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        long timeoutNanos = timeout.toNanos();
+        CompletableFuture<HttpResponse<String>> primary = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> hedge = null;
+
+        try {
+            HttpResponse<String> response;
+            long hedgeDelay = hedgeDelayNanos(uri);
+            if (!policy.isHedgingEnabled() || hedgeDelay >= timeoutNanos) {
+                response = primary.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } else {
+                try {
+                    response = primary.get(hedgeDelay, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException slow) {
+                    long left = timeoutNanos - (System.nanoTime() - start);
+                    if (left <= 0 || !tryAcquireExtraRequest()) {
+                        response = primary.get(Math.max(left, 0), TimeUnit.NANOSECONDS);
+                    } else {
+                        hedge = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+                        response = firstSuccessful(primary, hedge).get(left, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+
+            latencyFor(uri).record(System.nanoTime() - start);
             return new HttpClientApiResponse(
                     response.statusCode(),
                     HttpStatus.reasonPhrase(response.statusCode()),
-                    response.body());
+                    response.body(),
+                    validatorsOf(response));
 
-        } catch (IOException | InterruptedException e) {
+        } catch (TimeoutException e) {
+            // Une tentative expirée compte pour son délai: sinon le p95 serait biaisé vers le bas
+            latencyFor(uri).record(timeoutNanos);
+            return new HttpClientApiResponse(504, HttpStatus.reasonPhrase(504), "Délai dépassé après " + timeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            if (cause instanceof HttpTimeoutException) {
+                latencyFor(uri).record(timeoutNanos);
+                return new HttpClientApiResponse(504, HttpStatus.reasonPhrase(504), cause.getMessage());
+            }
+            latencyFor(uri).record(System.nanoTime() - start);
+            return new HttpClientApiResponse(500, "Internal Server Error", cause.getMessage());
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // best practice if interrupted
             return new HttpClientApiResponse(500, "Internal Server Error", e.getMessage());
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) hedge.cancel(true);
+        }
+    }
+
+    /** En-têtes de validation (ETag, Last-Modified) utiles aux requêtes conditionnelles suivantes. */
+    private static Map<String, String> validatorsOf(HttpResponse<?> response) {
+        Map<String, String> validators = new LinkedHashMap<>(2);
+        response.headers().firstValue("ETag").ifPresent(v -> validators.put("ETag", v));
+        response.headers().firstValue("Last-Modified").ifPresent(v -> validators.put("Last-Modified", v));
+        return validators;
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> f : List.of(a, b)) {
+            f.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
         }
+        return winner;
+    }
+
+    long hedgeDelayNanos(URI uri) {
+        long p95 = latencyFor(uri).p95Nanos();
+        long delay = (p95 < 0) ? policy.getDefaultHedgeDelay().toNanos() : p95;
+        return Math.max(delay, policy.getMinHedgeDelay().toNanos());
+    }
+
+    // Budget partagé: relances + couvertures <= allowance + ratio * requêtes primaires
+    private boolean tryAcquireExtraRequest() {
+        double allowed = policy.getExtraRequestAllowance() + policy.getExtraRequestRatio() * primaryRequests.sum();
+        if (extraRequests.sum() >= allowed) return false;
+        extraRequests.increment();
+        return true;
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private LatencyTracker latencyFor(URI uri) {
+        String key = latencyKey(uri);
+        if (latencies.size() >= MAX_ENDPOINT_SERIES && !latencies.containsKey(key)) key = "other";
+        return latencies.computeIfAbsent(key, k -> new LatencyTracker(256, 20));
+    }
+
+    /**
+     * Clé de la distribution de latences servant au délai de couverture : hôte,
+     * chemin normalisé et noms des paramètres de requête. Le catalogue complet
+     * ({@code /courses?include_schedule=true}, plusieurs Mo) n'est ainsi pas
+     * comparé aux petites recherches par sigle.
+     */
+    static String latencyKey(URI uri) {
+        StringBuilder sb = new StringBuilder(hostOf(uri)).append(endpointOf(uri));
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            TreeSet<String> names = new TreeSet<>();
+            for (String param : query.split("&")) {
+                int eq = param.indexOf('=');
+                names.add(eq < 0 ? param : param.substring(0, eq));
+            }
+            sb.append('?').append(String.join("&", names));
+        }
+        return sb.toString();
     }
 
     /** GET and map JSON body to a given class */
@@ -53,7 +520,7 @@ public class HttpClientApi {
         HttpClientApiResponse raw = get(uri);
         if (raw.getStatusCode() >= 200 && raw.getStatusCode() < 300) {
             try {
-                return mapper.readValue(raw.getBody(), clazz);
+                return Json.MAPPER.readValue(raw.getBody(), clazz);
             } catch (IOException e) {
                 throw new RuntimeException("Failed to parse JSON: " + e.getMessage(), e);
             }
@@ -67,7 +534,7 @@ public class HttpClientApi {
         HttpClientApiResponse raw = get(uri);
         if (raw.getStatusCode() >= 200 && raw.getStatusCode() < 300) {
             try {
-                return mapper.readValue(raw.getBody(), typeRef);
+                return Json.MAPPER.readValue(raw.getBody(), typeRef);
             } catch (IOException e) {
                 throw new RuntimeException("Failed to parse JSON: " + e.getMessage(), e);
             }
@@ -92,7 +559,9 @@ public class HttpClientApi {
                     HttpStatus.reasonPhrase(response.statusCode()),
                     response.body());
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
+            return new HttpClientApiResponse(500, "Internal Server Error", e.getMessage());
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return new HttpClientApiResponse(500, "Internal Server Error", e.getMessage());
         }
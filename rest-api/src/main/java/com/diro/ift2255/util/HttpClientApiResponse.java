@@ -1,15 +1,34 @@
 package com.diro.ift2255.util;
 
+import java.util.Map;
 
 public class HttpClientApiResponse {
     private final int statusCode;
     private final String statusMessage;
     private final String body;
+    // true si la réponse provient du cache "dernière valeur connue" (amont indisponible)
+    private final boolean stale;
+    // En-têtes de validation de l'amont (ETag, Last-Modified), s'il y en a
+    private final Map<String, String> validators;
 
     public HttpClientApiResponse(int statusCode, String message, String body) {
+        this(statusCode, message, body, false);
+    }
+
+    public HttpClientApiResponse(int statusCode, String message, String body, boolean stale) {
+        this(statusCode, message, body, stale, Map.of());
+    }
+
+    public HttpClientApiResponse(int statusCode, String message, String body, Map<String, String> validators) {
+        this(statusCode, message, body, false, validators);
+    }
+
+    private HttpClientApiResponse(int statusCode, String message, String body, boolean stale, Map<String, String> validators) {
         this.statusCode = statusCode;
         this.statusMessage = message;
         this.body = body;
+        this.stale = stale;
+        this.validators = Map.copyOf(validators);
     }
 
     public int getStatusCode() {
@@ -24,8 +43,27 @@ public class HttpClientApiResponse {
         return body;
     }
 
+    public boolean isStale() {
+        return stale;
+    }
+
+    /** Valeur de l'en-tête {@code ETag} de la réponse, ou {@code null}. */
+    public String getETag() {
+        return validators.get("ETag");
+    }
+
+    /** Valeur de l'en-tête {@code Last-Modified} de la réponse, ou {@code null}. */
+    public String getLastModified() {
+        return validators.get("Last-Modified");
+    }
+
+    /** Copie de cette réponse marquée comme périmée (servie depuis le cache). */
+    public HttpClientApiResponse asStale() {
+        return new HttpClientApiResponse(statusCode, statusMessage, body, true, validators);
+    }
+
     @Override
     public String toString() {
-        return "Status Code: " + statusCode + ", Message: " + statusMessage + ", Body: " + body;
+        return "Status Code: " + statusCode + ", Message: " + statusMessage + (stale ? " (stale)" : "") + ", Body: " + body;
     }
 }
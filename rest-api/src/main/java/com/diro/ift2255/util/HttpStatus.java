@@ -10,7 +10,9 @@ public class HttpStatus {
         Map.entry(401, "Unauthorized"),
         Map.entry(403, "Forbidden"),
         Map.entry(404, "Not Found"),
-        Map.entry(500, "Internal Server Error")
+        Map.entry(500, "Internal Server Error"),
+        Map.entry(503, "Service Unavailable"),
+        Map.entry(504, "Gateway Timeout")
     );
 
     public static String reasonPhrase(int code) {
@@ -0,0 +1,107 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.CompactCourse;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.CourseSet;
+import com.diro.ift2255.model.Review;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.javalin.json.JavalinJackson;
+import io.javalin.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapper JSON partagé par toute l’application (serveur, services et CLI).
+ *
+ * <p>Un seul {@link ObjectMapper} est configuré : les caches de sérialiseurs et
+ * désérialiseurs de Jackson sont ainsi construits une fois, et le module
+ * Blackbird remplace l’accès par réflexion aux getters/setters par des
+ * accesseurs générés. Les lecteurs/écrivains des DTO principaux
+ * ({@link Course}, {@link Review}, {@link CourseSet}) sont préparés au démarrage
+ * par {@link #warmUp()}.</p>
+ *
+ * <p>Le {@link CompactCourseModule} y est enregistré : {@link #COMPACT_COURSE_READER}
+ * lit un cours directement sous sa forme compacte (catalogue tenu en mémoire).</p>
+ */
+public final class Json {
+
+    /** Module Jackson des cours compacts (et de leur {@link StringPool}), enregistré dans {@link #MAPPER}. */
+    public static final CompactCourseModule COMPACT_COURSES = new CompactCourseModule();
+    /** Mapper partagé (thread-safe une fois configuré ; ne pas le reconfigurer). */
+    public static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .registerModule(COMPACT_COURSES);
+
+    public static final ObjectReader COURSE_READER = MAPPER.readerFor(Course.class);
+    public static final ObjectReader COURSE_LIST_READER = MAPPER.readerFor(new TypeReference<List<Course>>() {});
+    public static final ObjectReader COMPACT_COURSE_READER = MAPPER.readerFor(CompactCourse.class);
+    public static final ObjectReader REVIEW_READER = MAPPER.readerFor(Review.class);
+    public static final ObjectReader REVIEW_LIST_READER = MAPPER.readerFor(new TypeReference<List<Review>>() {});
+    public static final ObjectReader COURSE_SET_READER = MAPPER.readerFor(CourseSet.class);
+
+    public static final ObjectWriter COURSE_WRITER = MAPPER.writerFor(Course.class);
+    public static final ObjectWriter REVIEW_LIST_WRITER = MAPPER.writerFor(new TypeReference<List<Review>>() {});
+
+    private Json() {}
+
+    /**
+     * Adaptateur à installer comme {@code JsonMapper} de Javalin
+     * ({@code ctx.json(...)}, {@code ctx.bodyAsClass(...)}).
+     */
+    public static JsonMapper javalinMapper() {
+        return new JavalinJackson(MAPPER, false);
+    }
+
+    /**
+     * Lit un corps de requête directement depuis le flux, sans copie intermédiaire
+     * en {@code String}. Le BOM UTF-8 éventuel est ignoré par Jackson.
+     *
+     * @param in flux du corps de la requête
+     * @param reader lecteur du type attendu (ex : {@link #REVIEW_READER})
+     * @return l’objet lu, ou {@code null} si le corps est vide
+     * @throws IOException si le JSON est invalide
+     */
+    public static <T> T readBody(InputStream in, ObjectReader reader) throws IOException {
+        try (JsonParser parser = MAPPER.createParser(in)) {
+            if (parser.nextToken() == null) return null;
+            return reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Force la construction des (dé)sérialiseurs des DTO principaux, pour que
+     * les premières requêtes ne paient pas l’introspection ni la génération
+     * des accesseurs.
+     */
+    public static void warmUp() {
+        try {
+            Course course = new Course("IFT2255", "Génie logiciel", "Warm-up");
+            Course.Schedule schedule = new Course.Schedule();
+            Course.Section section = new Course.Section();
+            section.setTeachers(List.of("Warm-up"));
+            section.setVolets(List.of(Map.of("name", "TH")));
+            schedule.setSections(List.of(section));
+            course.setSchedules(List.of(schedule));
+            MAPPER.writeValueAsBytes(ResponseUtil.ok(List.of(course)));
+            COURSE_LIST_READER.readValue(MAPPER.writeValueAsBytes(List.of(course)));
+            COURSE_READER.readValue(COURSE_WRITER.writeValueAsBytes(course));
+
+            Review review = new Review();
+            review.setCourseId("IFT2255");
+            REVIEW_LIST_READER.readValue(REVIEW_LIST_WRITER.writeValueAsBytes(List.of(review)));
+
+            CourseSet set = new CourseSet("warm-up", "H25", List.of("IFT2255"));
+            COURSE_SET_READER.readValue(MAPPER.writeValueAsBytes(set));
+        } catch (IOException e) {
+            System.err.println("[Json] Préchauffage échoué: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.diro.ift2255.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+
+/**
+ * Métriques de la JVM : mémoire (tas et hors tas), ramasse-miettes, threads.
+ * Lues depuis les MXBeans au moment de la collecte.
+ */
+public class JvmMetrics implements MetricsSource {
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        writeMemory(writer, "heap", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage());
+        writeMemory(writer, "nonheap", ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage());
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Map<String, String> labels = Map.of("gc", gc.getName());
+            writer.counter("jvm_gc_collections_total", "Nombre de collectes par ramasse-miettes.",
+                    labels, Math.max(0, gc.getCollectionCount()));
+            writer.counter("jvm_gc_collection_seconds_total", "Temps cumulé passé en collecte.",
+                    labels, Math.max(0, gc.getCollectionTime()) / 1000.0);
+        }
+
+        writer.gauge("jvm_threads_live", "Threads vivants.", null,
+                ManagementFactory.getThreadMXBean().getThreadCount());
+        writer.gauge("process_uptime_seconds", "Temps écoulé depuis le démarrage de la JVM.", null,
+                ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+    }
+
+    private static void writeMemory(MetricsWriter writer, String area, MemoryUsage usage) {
+        Map<String, String> labels = Map.of("area", area);
+        writer.gauge("jvm_memory_used_bytes", "Mémoire utilisée.", labels, usage.getUsed());
+        writer.gauge("jvm_memory_committed_bytes", "Mémoire réservée auprès du système.", labels, usage.getCommitted());
+        if (usage.getMax() >= 0) {
+            writer.gauge("jvm_memory_max_bytes", "Mémoire maximale utilisable.", labels, usage.getMax());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.diro.ift2255.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences à seaux logarithmiques, sans verrou.
+ *
+ * <p>Les bornes supérieures des seaux doublent à chaque seau (16 µs, 32 µs, 64 µs, …,
+ * ~134 s), plus un seau de débordement. L’indice d’un seau se calcule en temps
+ * constant (nombre de zéros de tête) et chaque compteur est un {@link LongAdder} :
+ * l’enregistrement ne bloque jamais et reste peu coûteux sous forte concurrence.</p>
+ */
+public class LatencyHistogram {
+
+    /** Nombre de seaux bornés (le dernier indice, {@code BUCKETS}, est le débordement). */
+    public static final int BUCKETS = 24;
+    private static final long UNIT_NANOS = 16_000L;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+    }
+
+    /**
+     * Enregistre une mesure.
+     *
+     * @param nanos durée en nanosecondes (les valeurs négatives comptent pour 0)
+     */
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts[bucketOf(v)].increment();
+        sumNanos.add(v);
+    }
+
+    static int bucketOf(long nanos) {
+        long units = nanos / UNIT_NANOS + ((nanos % UNIT_NANOS == 0) ? 0 : 1); // arrondi supérieur sans débordement
+        if (units <= 1) return 0;
+        int idx = 64 - Long.numberOfLeadingZeros(units - 1);
+        return Math.min(idx, BUCKETS);
+    }
+
+    /**
+     * Borne supérieure d’un seau, en secondes.
+     *
+     * @param bucket indice du seau (0..{@link #BUCKETS} - 1)
+     */
+    public static double upperBoundSeconds(int bucket) {
+        return (UNIT_NANOS << bucket) / 1e9;
+    }
+
+    /**
+     * Copie des compteurs par seau (non cumulés) ; le dernier élément est le débordement.
+     * La copie n’est pas atomique vis-à-vis des enregistrements concurrents.
+     */
+    public long[] bucketCounts() {
+        long[] out = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) out[i] = counts[i].sum();
+        return out;
+    }
+
+    /** Somme des mesures, en secondes. */
+    public double sumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+
+    /** Nombre total de mesures. */
+    public long count() {
+        long total = 0;
+        for (LongAdder c : counts) total += c.sum();
+        return total;
+    }
+
+    /**
+     * Estimation d’un quantile (borne supérieure du seau qui le contient).
+     *
+     * @param q quantile entre 0 et 1 (ex : 0.99)
+     * @return la borne en secondes, {@code NaN} sans mesure, ou {@code +Inf} si débordement
+     */
+    public double quantileSeconds(double q) {
+        long[] c = bucketCounts();
+        long total = 0;
+        for (long v : c) total += v;
+        if (total == 0) return Double.NaN;
+
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += c[i];
+            if (seen >= rank) return upperBoundSeconds(i);
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -0,0 +1,62 @@
+package com.diro.ift2255.util;
+
+import java.util.Arrays;
+
+/**
+ * Mémorise les latences récentes d’un amont et estime leur p95.
+ *
+ * <p>Les mesures sont conservées dans un tampon circulaire de taille fixe.
+ * Le percentile est recalculé seulement toutes les {@code RECOMPUTE_EVERY}
+ * mesures, ce qui garde le coût par requête négligeable.</p>
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final int minSamples;
+    private int pos = 0;
+    private int count = 0;
+    private int sinceRecompute = 0;
+    private long cachedP95 = -1L;
+
+    /**
+     * @param capacity nombre de mesures conservées
+     * @param minSamples nombre minimal de mesures avant de fournir une estimation
+     */
+    public LatencyTracker(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Enregistre une latence observée.
+     *
+     * @param nanos durée de l’appel en nanosecondes
+     */
+    public synchronized void record(long nanos) {
+        samples[pos] = nanos;
+        pos = (pos + 1) % samples.length;
+        if (count < samples.length) count++;
+        if (++sinceRecompute >= RECOMPUTE_EVERY || cachedP95 < 0) {
+            sinceRecompute = 0;
+            cachedP95 = (count < minSamples) ? -1L : percentile(0.95);
+        }
+    }
+
+    /**
+     * Estimation courante du p95.
+     *
+     * @return p95 en nanosecondes, ou {@code -1} s’il n’y a pas assez de mesures
+     */
+    public synchronized long p95Nanos() {
+        return cachedP95;
+    }
+
+    private long percentile(double q) {
+        long[] copy = Arrays.copyOf(samples, count);
+        Arrays.sort(copy);
+        int idx = (int) Math.ceil(q * count) - 1;
+        return copy[Math.max(0, Math.min(idx, count - 1))];
+    }
+}
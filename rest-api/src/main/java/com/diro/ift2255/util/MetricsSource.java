@@ -0,0 +1,18 @@
+package com.diro.ift2255.util;
+
+/**
+ * Composant exposant des métriques sur {@code GET /metrics}.
+ *
+ * <p>Les valeurs sont lues au moment de la collecte : l’implémentation ne fait
+ * que copier ses compteurs dans le {@link MetricsWriter}.</p>
+ */
+@FunctionalInterface
+public interface MetricsSource {
+
+    /**
+     * Écrit les métriques courantes du composant.
+     *
+     * @param writer destination (format texte Prometheus)
+     */
+    void writeMetrics(MetricsWriter writer);
+}
@@ -0,0 +1,120 @@
+package com.diro.ift2255.util;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Construit une réponse au format texte d’exposition Prometheus (version 0.0.4).
+ *
+ * <p>Les échantillons sont regroupés par famille de métriques, afin que les lignes
+ * {@code # HELP} / {@code # TYPE} n’apparaissent qu’une fois, même si plusieurs
+ * composants alimentent la même famille (ex : {@code cache_hits_total}).</p>
+ */
+public class MetricsWriter {
+
+    /** Type de contenu attendu par Prometheus. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Map<String, StringBuilder> families = new LinkedHashMap<>();
+
+    /**
+     * Étiquettes ordonnées à partir de paires nom/valeur.
+     *
+     * @param nameValues ex : {@code labels("method", "GET", "route", "/courses")}
+     */
+    public static Map<String, String> labels(String... nameValues) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < nameValues.length; i += 2) labels.put(nameValues[i], nameValues[i + 1]);
+        return labels;
+    }
+
+    public MetricsWriter counter(String name, String help, Map<String, String> labels, double value) {
+        sample(family(name, "counter", help), name, labels, null, value);
+        return this;
+    }
+
+    public MetricsWriter gauge(String name, String help, Map<String, String> labels, double value) {
+        sample(family(name, "gauge", help), name, labels, null, value);
+        return this;
+    }
+
+    /**
+     * Écrit un histogramme (seaux cumulés {@code _bucket}, {@code _sum} et {@code _count}).
+     *
+     * @param name nom de la famille (en secondes, ex : {@code http_server_request_duration_seconds})
+     */
+    public MetricsWriter histogram(String name, String help, Map<String, String> labels, LatencyHistogram histogram) {
+        StringBuilder sb = family(name, "histogram", help);
+        long[] counts = histogram.bucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            cumulative += counts[i];
+            sample(sb, name + "_bucket", labels, format(LatencyHistogram.upperBoundSeconds(i)), cumulative);
+        }
+        cumulative += counts[LatencyHistogram.BUCKETS];
+        sample(sb, name + "_bucket", labels, "+Inf", cumulative);
+        sample(sb, name + "_sum", labels, null, histogram.sumSeconds());
+        sample(sb, name + "_count", labels, null, cumulative);
+        return this;
+    }
+
+    /**
+     * Écrit les compteurs standard d’un cache (succès, défauts, taille).
+     *
+     * @param cache nom du cache (étiquette {@code cache})
+     */
+    public MetricsWriter cache(String cache, long hits, long misses, long size) {
+        Map<String, String> labels = Map.of("cache", cache);
+        counter("cache_hits_total", "Lectures servies par le cache.", labels, hits);
+        counter("cache_misses_total", "Lectures absentes du cache.", labels, misses);
+        gauge("cache_entries", "Nombre d’entrées en cache.", labels, size);
+        return this;
+    }
+
+    /** Texte complet de la réponse. */
+    public String build() {
+        StringBuilder out = new StringBuilder(4096);
+        families.values().forEach(out::append);
+        return out.toString();
+    }
+
+    private StringBuilder family(String name, String type, String help) {
+        return families.computeIfAbsent(name, n -> new StringBuilder()
+                .append("# HELP ").append(n).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(n).append(' ').append(type).append('\n'));
+    }
+
+    private static void sample(StringBuilder sb, String name, Map<String, String> labels, String le, double value) {
+        sb.append(name);
+        if ((labels != null && !labels.isEmpty()) || le != null) {
+            sb.append('{');
+            boolean first = true;
+            if (labels != null) {
+                for (Map.Entry<String, String> e : labels.entrySet()) {
+                    if (!first) sb.append(',');
+                    sb.append(e.getKey()).append("=\"").append(escape(e.getValue())).append('"');
+                    first = false;
+                }
+            }
+            if (le != null) {
+                if (!first) sb.append(',');
+                sb.append("le=\"").append(le).append('"');
+            }
+            sb.append('}');
+        }
+        sb.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double v) {
+        if (Double.isNaN(v)) return "NaN";
+        if (Double.isInfinite(v)) return v > 0 ? "+Inf" : "-Inf";
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) return Long.toString((long) v);
+        return BigDecimal.valueOf(v).toPlainString();
+    }
+
+    private static String escape(String v) {
+        if (v == null) return "";
+        return v.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,63 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodage des curseurs de pagination et découpage d’une liste en pages.
+ *
+ * <p>Le curseur est une chaîne opaque (Base64 URL) encodant la position
+ * du premier élément de la page suivante.</p>
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "o:";
+
+    private PageCursor() {}
+
+    public static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur.
+     *
+     * @param cursor curseur reçu du client ({@code null} ou vide = début de liste)
+     * @return position du premier élément
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new IllegalArgumentException("Curseur invalide.");
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) throw new IllegalArgumentException("Curseur invalide.");
+            return offset;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException et erreurs Base64 sont des IllegalArgumentException
+            throw new IllegalArgumentException("Curseur invalide.", e);
+        }
+    }
+
+    /**
+     * Extrait une page d’une liste déjà calculée.
+     *
+     * @param all liste complète (non modifiée)
+     * @param cursor curseur de la page demandée
+     * @param limit taille de page
+     * @return la page demandée
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public static <T> Page<T> slice(List<T> all, String cursor, int limit) {
+        int total = all.size();
+        int from = Math.min(decode(cursor), total);
+        int to = (int) Math.min((long) from + limit, total);
+        String next = (to < total) ? encode(to) : null;
+        return new Page<>(List.copyOf(all.subList(from, to)), total, limit, next);
+    }
+}
@@ -0,0 +1,49 @@
+package com.diro.ift2255.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latences des requêtes HTTP entrantes, par route Javalin, méthode et classe de statut.
+ *
+ * <p>La route est le chemin déclaré dans {@code Routes} (ex : {@code /courses/{id}}),
+ * pas l’URL reçue : le nombre de séries reste borné.</p>
+ */
+public class RequestMetrics implements MetricsSource {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    /**
+     * Enregistre une requête terminée.
+     *
+     * @param method méthode HTTP (GET, POST…)
+     * @param route chemin déclaré de la route
+     * @param status code de statut de la réponse
+     * @param nanos durée de traitement
+     */
+    public void record(String method, String route, int status, long nanos) {
+        String statusClass = (status / 100) + "xx";
+        String key = method + '\n' + route + '\n' + statusClass;
+        Series s = series.get(key);
+        if (s == null) {
+            s = series.computeIfAbsent(key, k -> new Series(
+                    MetricsWriter.labels("method", method, "route", route, "status", statusClass)));
+        }
+        s.histogram.record(nanos);
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter writer) {
+        series.values().forEach(s -> writer.histogram("http_server_request_duration_seconds",
+                "Durée de traitement des requêtes HTTP par route.", s.labels, s.histogram));
+    }
+
+    private static final class Series {
+        final Map<String, String> labels;
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Series(Map<String, String> labels) {
+            this.labels = labels;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 // src/main/java/com/diro/ift2255/util/ResponseUtil.java
 package com.diro.ift2255.util;
 
+import com.diro.ift2255.model.Page;
+
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -24,6 +26,23 @@ public class ResponseUtil {
         return result;
     }
 
+    /**
+     * Réponse OK paginée: {@code data} contient les éléments de la page,
+     * {@code page} les informations de navigation (total, limit, nextCursor).
+     */
+    public static Map<String, Object> page(Page<?> page) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("total", page.getTotal());
+        info.put("limit", page.getLimit());
+        info.put("nextCursor", page.getNextCursor());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", true);
+        result.put("data", page.getItems());
+        result.put("page", info);
+        return result;
+    }
+
     public static Map<String, Object> error(String message) {
         return Map.of(
                 "success", false,
@@ -0,0 +1,52 @@
+package com.diro.ift2255.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Déduplication de chaînes très répétées (noms d’enseignants, codes de jours,
+ * volets, salles, dates) : une seule instance par valeur est conservée.
+ *
+ * <p>Contrairement à {@link String#intern()}, le pool est borné et local à
+ * son propriétaire ; au-delà de la capacité, les chaînes sont retournées
+ * telles quelles.</p>
+ */
+public final class StringPool {
+
+    private final Map<String, String> pool = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity nombre maximal de chaînes distinctes conservées
+     */
+    public StringPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param s chaîne lue (peut être {@code null})
+     * @return l’instance partagée égale à {@code s}
+     */
+    public String dedupe(String s) {
+        if (s == null) return null;
+        String shared = pool.get(s);
+        if (shared != null) {
+            hits.increment();
+            return shared;
+        }
+        misses.increment();
+        if (pool.size() >= capacity) return s;
+        shared = pool.putIfAbsent(s, s);
+        return (shared != null) ? shared : s;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+}
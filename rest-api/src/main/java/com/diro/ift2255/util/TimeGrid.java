@@ -0,0 +1,132 @@
+package com.diro.ift2255.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Occupation hebdomadaire encodée en bits : 7 jours × 288 créneaux de 5 minutes.
+ *
+ * <p>La grille est de taille fixe (32 mots de 64 bits) ; deux horaires sont en
+ * conflit si l’intersection de leurs grilles est non vide, ce qui se teste par
+ * quelques ET logiques sans comparer les activités une à une.</p>
+ */
+public final class TimeGrid {
+
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int DAYS = 7;
+    private static final int WORDS = (DAYS * SLOTS_PER_DAY + 63) / 64;
+
+    /** Abréviations de jours utilisées par Planifium (Lu = 0 ... Di = 6), et leurs équivalents anglais. */
+    private static final Map<String, Integer> DAY_INDEX = Map.ofEntries(
+            Map.entry("lu", 0), Map.entry("ma", 1), Map.entry("me", 2), Map.entry("je", 3),
+            Map.entry("ve", 4), Map.entry("sa", 5), Map.entry("di", 6),
+            Map.entry("mo", 0), Map.entry("tu", 1), Map.entry("we", 2), Map.entry("th", 3),
+            Map.entry("fr", 4), Map.entry("su", 6));
+
+    private final long[] words = new long[WORDS];
+
+    /** Grille vide. */
+    public TimeGrid() {}
+
+    /**
+     * Marque une plage horaire. La fin est arrondie au créneau supérieur
+     * (ex : 14:29 occupe jusqu’à 14:30).
+     *
+     * @param day jour Planifium (Lu, Ma, Me, Je, Ve, Sa, Di)
+     * @param start heure de début (HH:mm)
+     * @param end heure de fin (HH:mm)
+     * @return {@code true} si la plage a été ajoutée, {@code false} si elle est invalide
+     */
+    public boolean add(String day, String start, String end) {
+        return add(dayIndex(day), minutes(start), minutes(end));
+    }
+
+    /**
+     * Marque une plage horaire exprimée en minutes depuis minuit.
+     *
+     * @param day jour (0 = lundi ... 6 = dimanche)
+     * @param from début (minutes)
+     * @param to fin (minutes, exclue)
+     * @return {@code true} si la plage a été ajoutée, {@code false} si elle est invalide
+     */
+    public boolean add(int day, int from, int to) {
+        if (day < 0 || day >= DAYS || from < 0 || to <= from) return false;
+
+        int first = day * SLOTS_PER_DAY + from / SLOT_MINUTES;
+        int last = day * SLOTS_PER_DAY + Math.min(SLOTS_PER_DAY, (to + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        for (int bit = first; bit < last; bit++) {
+            words[bit >>> 6] |= 1L << bit;
+        }
+        return true;
+    }
+
+    /** Ajoute l’occupation d’une autre grille à celle-ci. */
+    public void or(TimeGrid other) {
+        for (int i = 0; i < WORDS; i++) words[i] |= other.words[i];
+    }
+
+    /** {@code true} si les deux grilles ont au moins un créneau en commun. */
+    public boolean intersects(TimeGrid other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    /** {@code true} si aucun créneau n’est occupé. */
+    public boolean isEmpty() {
+        for (long w : words) {
+            if (w != 0) return false;
+        }
+        return true;
+    }
+
+    /** Nombre de créneaux occupés. */
+    public int slotCount() {
+        int n = 0;
+        for (long w : words) n += Long.bitCount(w);
+        return n;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TimeGrid other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Indice d’un jour (Lu/MO = 0 ... Di/SU = 6).
+     *
+     * @return l’indice, ou -1 si le jour est inconnu
+     */
+    public static int dayIndex(String day) {
+        if (day == null) return -1;
+        return DAY_INDEX.getOrDefault(day.trim().toLowerCase(Locale.ROOT), -1);
+    }
+
+    /**
+     * Convertit une heure HH:mm en minutes depuis minuit (24:00 accepté).
+     *
+     * @return les minutes, ou -1 si l’heure est invalide
+     */
+    public static int minutes(String time) {
+        if (time == null) return -1;
+        try {
+            String[] parts = time.trim().split(":");
+            if (parts.length != 2) return -1;
+            int h = Integer.parseInt(parts[0]);
+            int m = Integer.parseInt(parts[1]);
+            if (h < 0 || m < 0 || m > 59) return -1;
+            int total = h * 60 + m;
+            return (total <= 24 * 60) ? total : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.diro.ift2255.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache clé/valeur en mémoire avec expiration (TTL) par entrée.
+ *
+ * <p>Les entrées expirées sont ignorées à la lecture et retirées paresseusement.
+ * Le nombre d’entrées est borné : quand une écriture dépasse la borne, les entrées
+ * expirées sont balayées puis, si nécessaire, celles qui expirent le plus tôt sont
+ * retirées. Le cache compte les succès et échecs de lecture pour pouvoir en publier
+ * le taux de réussite.</p>
+ *
+ * @param <K> type des clés
+ * @param <V> type des valeurs
+ */
+public class TtlCache<K, V> {
+
+    /** Nombre maximal d’entrées par défaut. */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Duration defaultTtl;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param defaultTtl durée de vie utilisée par {@link #put(Object, Object)}
+     */
+    public TtlCache(Duration defaultTtl) {
+        this(defaultTtl, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param defaultTtl durée de vie utilisée par {@link #put(Object, Object)}
+     * @param maxSize nombre maximal d’entrées conservées
+     */
+    public TtlCache(Duration defaultTtl, int maxSize) {
+        this.defaultTtl = defaultTtl;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Retourne la valeur associée si elle n’a pas expiré.
+     *
+     * @param key clé recherchée
+     * @return la valeur, ou {@code null} si absente ou expirée
+     */
+    public V get(K key) {
+        Entry<V> e = entries.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key, e);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtl);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+        if (entries.size() > maxSize) evict();
+    }
+
+    /** Retire les entrées expirées, puis celles qui expirent le plus tôt jusqu’à revenir sous la borne. */
+    private synchronized void evict() {
+        if (entries.size() <= maxSize) return;
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt - now <= 0;
+            if (expired) evictions.increment();
+            return expired;
+        });
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) return;
+        List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(e -> e.getValue().expiresAt - now));
+        for (int i = 0; i < excess && i < oldest.size(); i++) {
+            if (entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue())) evictions.increment();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /** Nombre d’entrées stockées (y compris celles expirées non encore retirées). */
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    /** Entrées retirées à l’écriture (expirées ou au-delà de la borne). */
+    public long getEvictions() { return evictions.sum(); }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.diro.ift2255.util;
+
+import java.time.Duration;
+
+/**
+ * Paramètres de résilience des appels GET vers l’amont (Planifium).
+ *
+ * <p>Regroupe le délai maximal par tentative, les relances avec gigue
+ * (uniquement pour les GET, idempotents), la requête « de couverture »
+ * (hedging) envoyée lorsque la première tarde plus que le p95 observé,
+ * ainsi que le budget global de requêtes supplémentaires, pour ne pas
+ * surcharger l’amont quand il est déjà lent.</p>
+ */
+public class UpstreamPolicy {
+
+    private Duration attemptTimeout = Duration.ofSeconds(10);
+    private int maxRetries = 2;
+    private Duration retryBaseDelay = Duration.ofMillis(100);
+    private Duration retryMaxDelay = Duration.ofSeconds(1);
+
+    private boolean hedgingEnabled = true;
+    /** Délai de couverture utilisé tant qu’il n’y a pas assez de mesures pour estimer le p95. */
+    private Duration defaultHedgeDelay = Duration.ofMillis(500);
+    /** Délai de couverture minimal (évite de doubler les requêtes rapides). */
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+
+    /** Proportion maximale de requêtes supplémentaires (relances + couvertures). */
+    private double extraRequestRatio = 0.1;
+    /** Requêtes supplémentaires toujours permises (démarrage à froid). */
+    private int extraRequestAllowance = 10;
+
+    /** Nombre maximal d’appels GET simultanés vers l’amont (les suivants attendent un créneau). */
+    private int maxConcurrentRequests = 64;
+
+    /** Budget de temps accordé par défaut à une requête entrante. */
+    private Duration defaultRequestBudget = Duration.ofSeconds(20);
+
+    public UpstreamPolicy() {}
+
+    /**
+     * Politique par défaut (10 s par tentative, 2 relances, couverture au p95, budget 10 %).
+     *
+     * @return une nouvelle politique
+     */
+    public static UpstreamPolicy defaults() {
+        return new UpstreamPolicy();
+    }
+
+    public Duration getAttemptTimeout() { return attemptTimeout; }
+    public void setAttemptTimeout(Duration attemptTimeout) { this.attemptTimeout = attemptTimeout; }
+
+    public int getMaxRetries() { return maxRetries; }
+    public void setMaxRetries(int maxRetries) { this.maxRetries = Math.max(0, maxRetries); }
+
+    public Duration getRetryBaseDelay() { return retryBaseDelay; }
+    public void setRetryBaseDelay(Duration retryBaseDelay) { this.retryBaseDelay = retryBaseDelay; }
+
+    public Duration getRetryMaxDelay() { return retryMaxDelay; }
+    public void setRetryMaxDelay(Duration retryMaxDelay) { this.retryMaxDelay = retryMaxDelay; }
+
+    public boolean isHedgingEnabled() { return hedgingEnabled; }
+    public void setHedgingEnabled(boolean hedgingEnabled) { this.hedgingEnabled = hedgingEnabled; }
+
+    public Duration getDefaultHedgeDelay() { return defaultHedgeDelay; }
+    public void setDefaultHedgeDelay(Duration defaultHedgeDelay) { this.defaultHedgeDelay = defaultHedgeDelay; }
+
+    public Duration getMinHedgeDelay() { return minHedgeDelay; }
+    public void setMinHedgeDelay(Duration minHedgeDelay) { this.minHedgeDelay = minHedgeDelay; }
+
+    public double getExtraRequestRatio() { return extraRequestRatio; }
+    public void setExtraRequestRatio(double extraRequestRatio) { this.extraRequestRatio = extraRequestRatio; }
+
+    public int getExtraRequestAllowance() { return extraRequestAllowance; }
+    public void setExtraRequestAllowance(int extraRequestAllowance) { this.extraRequestAllowance = extraRequestAllowance; }
+
+    public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) { this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests); }
+
+    public Duration getDefaultRequestBudget() { return defaultRequestBudget; }
+    public void setDefaultRequestBudget(Duration defaultRequestBudget) { this.defaultRequestBudget = defaultRequestBudget; }
+}
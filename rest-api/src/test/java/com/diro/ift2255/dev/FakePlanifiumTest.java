@@ -0,0 +1,83 @@
+package com.diro.ift2255.dev;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Program;
+import com.diro.ift2255.service.CourseService;
+import com.diro.ift2255.service.ProgramService;
+import com.diro.ift2255.util.CircuitBreaker;
+import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.UpstreamPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du Planifium simulé, via les vrais services (CourseService, ProgramService)
+ * configurés avec son URL de base.
+ */
+public class FakePlanifiumTest {
+
+    private FakePlanifium fake;
+
+    @AfterEach
+    void tearDown() {
+        if (fake != null) fake.stop();
+    }
+
+    private HttpClientApi client() {
+        UpstreamPolicy policy = UpstreamPolicy.defaults();
+        policy.setHedgingEnabled(false);
+        policy.setMaxRetries(0);
+        return new HttpClientApi(policy, CircuitBreaker::defaults);
+    }
+
+    @Test
+    @DisplayName("Planifium simulé - cours par sigle, horaires filtrés par trimestre")
+    void testGetCourseById_horaireFiltre() {
+        fake = new FakePlanifium(new FakePlanifium.Options()).start(0);
+        CourseService service = new CourseService(client(), fake.baseUrl());
+
+        Optional<Course> course = service.getCourseById("IFT2255",
+                Map.of("include_schedule", "true", "schedule_semester", "a25"));
+
+        assertTrue(course.isPresent());
+        assertEquals("Génie logiciel", course.get().getName());
+        assertNotNull(course.get().getSchedules());
+        assertTrue(course.get().getSchedules().stream().allMatch(s -> "A25".equals(s.getName())));
+        assertTrue(service.getCourseById("XYZ9999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Planifium simulé - recherche par liste de sigles et programme")
+    void testListesCoursEtProgramme() {
+        fake = new FakePlanifium(new FakePlanifium.Options()).start(0);
+        HttpClientApi api = client();
+        CourseService courseService = new CourseService(api, fake.baseUrl());
+        ProgramService programService = new ProgramService(api, courseService, fake.baseUrl());
+
+        List<Course> courses = courseService.getAllCourses(Map.of("courses_sigle", "IFT1015,IFT1025"));
+        assertEquals(2, courses.size());
+
+        Optional<Program> program = programService.getProgram("117510", "full");
+        assertTrue(program.isPresent());
+        assertFalse(program.get().getName().contains("fallback"));
+    }
+
+    @Test
+    @DisplayName("Planifium simulé - taux d'erreurs 100 % -> aucune réponse valide")
+    void testErreursInjectees() {
+        FakePlanifium.Options options = new FakePlanifium.Options();
+        options.setErrorRate(1.0);
+        fake = new FakePlanifium(options).start(0);
+        CourseService service = new CourseService(client(), fake.baseUrl());
+
+        assertTrue(service.getCourseById("IFT2255").isEmpty());
+        assertEquals(1, fake.injectedErrorCount());
+    }
+}
@@ -0,0 +1,62 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.diro.ift2255.service.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ActivityIntervalIndex (cours tenant dans des plages libres).
+ */
+public class ActivityIntervalIndexTest {
+
+    private ActivityIntervalIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = ActivityIntervalIndex.build("H25", List.of(
+                // IFT2255: A = lundi 13:30 + jeudi 9:00 ; B = mardi 8:30
+                course("IFT2255", "H25",
+                        section("A", activity("Lu", "13:30", "15:29"), activity("Je", "09:00", "10:59")),
+                        section("B", activity("Ma", "08:30", "10:29"))),
+                // IFT2015: lundi 16:00-18:00 (dépasse 17:00)
+                course("IFT2015", "H25", section("A", activity("Lu", "16:00", "17:59"))),
+                // IFT1025: TH lundi 13:00 + TP jeudi 11:00 (sur deux jours, un seul volet chacun)
+                course("IFT1025", "H25", section("A", activity("Lu", "13:00", "14:29"), activity("Je", "11:00", "12:00"))),
+                // IFT3150: aucune activité datée
+                course("IFT3150", "H25", section("A"))
+        ));
+    }
+
+    @Test
+    @DisplayName("Plages libres - une section doit tenir entièrement dans les fenêtres")
+    void testFitting_sectionComplete() {
+        List<Course> r = index.fitting(ActivityIntervalIndex.parseWindows("MO:13:00-17:00,TH:08:30-12:00"));
+        assertEquals(List.of("IFT2255", "IFT1025"), r.stream().map(Course::getId).toList());
+
+        r = index.fitting(ActivityIntervalIndex.parseWindows("Lu:13:00-17:00"));
+        assertTrue(r.isEmpty()); // IFT2255 A a aussi une activité le jeudi
+
+        r = index.fitting(ActivityIntervalIndex.parseWindows("TU:08:00-12:00"));
+        assertEquals(List.of("IFT2255"), r.stream().map(Course::getId).toList());
+        assertEquals(4, index.sectionCount());
+    }
+
+    @Test
+    @DisplayName("Plages libres - fenêtres qui se chevauchent fusionnées, fenêtre invalide rejetée")
+    void testParseWindows() {
+        Map<Integer, List<int[]>> w = ActivityIntervalIndex.parseWindows("MO:13:00-15:00, mo:14:30-17:00");
+        assertEquals(1, w.get(0).size());
+        assertArrayEquals(new int[]{13 * 60, 17 * 60}, w.get(0).get(0));
+
+        assertThrows(IllegalArgumentException.class, () -> ActivityIntervalIndex.parseWindows("XX:13:00-17:00"));
+        assertThrows(IllegalArgumentException.class, () -> ActivityIntervalIndex.parseWindows("MO:17:00-13:00"));
+        assertThrows(IllegalArgumentException.class, () -> ActivityIntervalIndex.parseWindows(" , "));
+    }
+}
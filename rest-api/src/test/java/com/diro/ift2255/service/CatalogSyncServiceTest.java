@@ -0,0 +1,106 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.CourseChange;
+import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.HttpClientApiResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CatalogSyncService.
+ * Les réponses brutes de Planifium sont fournies par un FakeCourseService.
+ */
+public class CatalogSyncServiceTest {
+
+    private FakeCourseService fakeCourseService;
+    private CatalogSyncService sync;
+
+    @BeforeEach
+    void setup() {
+        fakeCourseService = new FakeCourseService();
+        sync = new CatalogSyncService(fakeCourseService, () -> 1_000L);
+    }
+
+    @Test
+    @DisplayName("Synchronisation - les cours inchangés gardent leur objet et ne publient rien")
+    void testSync_coursInchangesReutilises() {
+        fakeCourseService.body = "[" + course("IFT1015", "2025-08-15", "A") + "," + course("IFT2255", "2025-08-15", "A") + "]";
+        assertTrue(sync.sync());
+        Course ift1015 = sync.getCourses().get(0);
+        Course ift2255 = sync.getCourses().get(1);
+
+        // IFT2255 : nouveau relevé (fetch_date) mais sections identiques
+        fakeCourseService.body = "[" + course("IFT1015", "2025-08-15", "A") + "," + course("IFT2255", "2025-09-01", "A") + "]";
+        assertTrue(sync.sync());
+
+        assertSame(ift1015, sync.getCourses().get(0));
+        assertNotSame(ift2255, sync.getCourses().get(1));
+        assertTrue(sync.changesSince(0, 10).getChanges().isEmpty());
+        assertEquals("If-None-Match", fakeCourseService.lastHeaders.keySet().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Synchronisation - horaire modifié, cours ajouté et retiré publiés dans le flux")
+    void testSync_fluxDesChangements() {
+        fakeCourseService.body = "[" + course("IFT1015", "2025-08-15", "A") + "," + course("IFT2255", "2025-08-15", "A") + "]";
+        sync.sync();
+
+        fakeCourseService.body = "[" + course("IFT2255", "2025-09-01", "B") + "," + course("IFT3913", "2025-09-01", "A") + "]";
+        sync.sync();
+
+        CatalogSyncService.Changes changes = sync.changesSince(0, 10);
+        assertEquals(3, changes.getChanges().size());
+        CourseChange first = changes.getChanges().get(0);
+        assertEquals("IFT2255", first.getCourseId());
+        assertEquals(CourseChange.SCHEDULE, first.getKind());
+        assertEquals(List.of("H25"), first.getSemesters());
+        assertEquals(CourseChange.ADDED, changes.getChanges().get(1).getKind());
+        assertEquals(CourseChange.REMOVED, changes.getChanges().get(2).getKind());
+        assertEquals("IFT1015", changes.getChanges().get(2).getCourseId());
+
+        // Suite du flux à partir du curseur
+        assertTrue(sync.changesSince(changes.getNext(), 10).getChanges().isEmpty());
+        assertEquals(2, sync.changesSince(1, 10).getChanges().size());
+    }
+
+    @Test
+    @DisplayName("Synchronisation - un 304 conserve les cours sans rien relire")
+    void testSync_nonModifie() {
+        fakeCourseService.body = "[" + course("IFT1015", "2025-08-15", "A") + "]";
+        sync.sync();
+
+        fakeCourseService.status = 304;
+        fakeCourseService.body = "";
+        assertFalse(sync.sync());
+        assertEquals(1, sync.getCourses().size());
+        assertEquals("\"v1\"", fakeCourseService.lastHeaders.get("If-None-Match"));
+    }
+
+    private static String course(String id, String fetchDate, String section) {
+        return "{\"id\":\"" + id + "\",\"name\":\"Cours " + id + "\",\"schedules\":[{\"fetch_date\":\"" + fetchDate
+                + "\",\"name\":\"H25\",\"sections\":[{\"name\":\"" + section + "\"}]}]}";
+    }
+
+    private static class FakeCourseService extends CourseService {
+        int status = 200;
+        String body = "[]";
+        Map<String, String> lastHeaders;
+
+        FakeCourseService() {
+            super(new HttpClientApi());
+        }
+
+        @Override
+        public HttpClientApiResponse fetchCatalogWithSchedules(Map<String, String> headers) {
+            lastHeaders = headers;
+            return new HttpClientApiResponse(status, "", body, Map.of("ETag", "\"v1\""));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.CompareItem;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Review;
+import com.diro.ift2255.util.HttpClientApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CompareService.
+ * Le catalogue Planifium est simulé par un FakeCourseService qui compte les appels.
+ */
+public class CompareServiceTest {
+
+    private static final Path TEST_FILE = Path.of("target/test-compare-reviews.json");
+
+    private FakeCourseService fakeCourseService;
+    private ReviewService reviewService;
+    private CompareService compareService;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+        fakeCourseService = new FakeCourseService();
+        fakeCourseService.courses.put("IFT2255", new Course("IFT2255", "Génie logiciel", null));
+        fakeCourseService.courses.put("IFT1025", new Course("IFT1025", "Programmation 2", null));
+        fakeCourseService.courses.put("IFT2015", new Course("IFT2015", "Structures de données", null));
+
+        reviewService = new ReviewService(TEST_FILE.toString());
+        compareService = new CompareService(new CourseCatalogService(fakeCourseService), reviewService,
+                new AcademicResultService("absent.csv"));
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @Test
+    @DisplayName("Comparaison - noms résolus une seule fois puis servis par le catalogue local")
+    void testCompare_nomsEnCache() {
+        List<CompareItem> first = compareService.compare(List.of("ift2255", "IFT1025", "IFT2255"));
+        compareService.compare(List.of("IFT1025", "IFT2255"));
+
+        assertEquals(2, first.size(), "Les doublons doivent être ignorés");
+        assertEquals("Génie logiciel", first.get(0).getName());
+        assertEquals(2, fakeCourseService.calls.get());
+    }
+
+    @Test
+    @DisplayName("Comparaison - moyennes des avis et tri décroissant par charge de travail")
+    void testCompare_triParChargeDeTravail() {
+        addReview("IFT2255", 4, 5);
+        addReview("IFT2255", 2, 3);
+        addReview("IFT2015", 3, 2);
+
+        List<CompareItem> items = compareService.compare(List.of("IFT2015", "IFT1025", "IFT2255"), "-avgWorkload");
+
+        assertEquals(List.of("IFT2255", "IFT2015", "IFT1025"), items.stream().map(CompareItem::getId).toList());
+        assertEquals(2, items.get(0).getReviewCount());
+        assertEquals(4.0, items.get(0).getAvgWorkload(), 0.001);
+        assertEquals(3.0, items.get(0).getAvgDifficulty(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Comparaison - cours sans avis: moyennes absentes et classé en dernier, même en tri croissant")
+    void testCompare_coursSansAvisEnDernier() {
+        addReview("IFT2255", 4, 5);
+        addReview("IFT2015", 3, 2);
+
+        List<CompareItem> items = compareService.compare(List.of("IFT1025", "IFT2255", "IFT2015"), "avgWorkload");
+
+        assertEquals(List.of("IFT2015", "IFT2255", "IFT1025"), items.stream().map(CompareItem::getId).toList());
+        CompareItem unreviewed = items.get(2);
+        assertEquals(0, unreviewed.getReviewCount());
+        assertNull(unreviewed.getAvgWorkload());
+        assertNull(unreviewed.getAvgDifficulty());
+    }
+
+    @Test
+    @DisplayName("Comparaison - tri inconnu ou trop de cours -> IllegalArgumentException")
+    void testCompare_parametresInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> compareService.compare(List.of("IFT2255"), "popularite"));
+
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= CompareService.MAX_COURSES; i++) tooMany.add(String.format("IFT%04d", 1000 + i));
+        assertThrows(IllegalArgumentException.class, () -> compareService.compare(tooMany));
+        assertEquals(0, fakeCourseService.calls.get());
+    }
+
+    private void addReview(String courseId, int difficulty, int workload) {
+        Review r = new Review();
+        r.setCourseId(courseId);
+        r.setDifficulty(difficulty);
+        r.setWorkload(workload);
+        assertTrue(reviewService.addReview(r));
+    }
+
+    private static class FakeCourseService extends CourseService {
+        final Map<String, Course> courses = new HashMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        FakeCourseService() {
+            super(new HttpClientApi());
+        }
+
+        @Override
+        public List<Course> getCoursesByIds(Collection<String> courseIds, Map<String, String> queryParams) {
+            List<Course> out = new ArrayList<>();
+            for (String id : courseIds) {
+                calls.incrementAndGet();
+                Course c = courses.get(id.toUpperCase());
+                if (c != null) out.add(c);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CourseFacetIndex (filtrage par bitmaps et facettes).
+ */
+public class CourseFacetIndexTest {
+
+    private CourseFacetIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = CourseFacetIndex.build(List.of(
+                course("IFT1015", 3.0, true, false, true, false),
+                course("IFT2255", 3.0, true, true, true, true),
+                course("IFT6758", 4.0, false, true, false, true),
+                course("MAT1400", 4.0, true, true, true, false),
+                course("ift2255", 3.0, false, false, false, false) // doublon ignoré
+        ), 0L);
+    }
+
+    @Test
+    @DisplayName("Index - intersection entre attributs, union dans un attribut")
+    void testQuery_intersectionEtUnion() {
+        CourseFacetIndex.Result r = index.query(Map.of(
+                "term", Set.of("autumn"),
+                "dept", Set.of("ift"),
+                "credits", Set.of("3.0")));
+        assertEquals(List.of("IFT1015", "IFT2255"), ids(r.getCourses()));
+
+        r = index.query(Map.of("dept", Set.of("IFT", "MAT"), "cycle", Set.of("1"), "period", Set.of("evening")));
+        assertEquals(List.of("IFT2255"), ids(r.getCourses()));
+
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Index - facettes disjonctives (le filtre d'un attribut n'affecte pas ses propres décomptes)")
+    void testQuery_facettes() {
+        CourseFacetIndex.Result r = index.query(Map.of("dept", Set.of("IFT")));
+
+        assertEquals(3, r.getCourses().size());
+        assertEquals(Map.of("IFT", 3, "MAT", 1), r.getFacets().get("dept"));
+        assertEquals(Map.of("1", 2, "2", 1), r.getFacets().get("cycle"));
+        assertEquals(Map.of("3", 2, "4", 1), r.getFacets().get("credits"));
+        assertEquals(Map.of("autumn", 2, "winter", 2), r.getFacets().get("term"));
+    }
+
+    @Test
+    @DisplayName("Index - valeur inconnue -> aucun résultat ; aucun filtre -> tout le catalogue")
+    void testQuery_valeurInconnueEtSansFiltre() {
+        assertTrue(index.query(Map.of("dept", Set.of("PHY"))).getCourses().isEmpty());
+        assertEquals(4, index.query(Map.of()).getCourses().size());
+    }
+
+    private static Course course(String id, double credits, boolean autumn, boolean winter,
+                                 boolean day, boolean evening) {
+        Course c = new Course(id, id, null);
+        c.setCredits(credits);
+        c.setAvailableTerms(Map.of("autumn", autumn, "winter", winter, "summer", false));
+        c.setAvailablePeriods(Map.of("daytime", day, "evening", evening));
+        return c;
+    }
+
+    private static List<String> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+}
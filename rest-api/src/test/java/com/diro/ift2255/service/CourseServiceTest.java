@@ -3,13 +3,19 @@ package com.diro.ift2255.service;
 import com.diro.ift2255.model.Course;
 import com.diro.ift2255.model.EligibilityResult;
 import com.diro.ift2255.util.HttpClientApi;
+import com.diro.ift2255.util.HttpClientApiResponse;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -224,6 +230,134 @@ public class CourseServiceTest {
                 "En cas d'erreur API, compareCourses doit retourner une liste vide et ne pas planter");
     }
 
+    @Test
+    @DisplayName("Lots - getCoursesByIds regroupe les sigles et ne redemande que les absents")
+    void testGetCoursesByIds_lotsEtRepli() {
+        Course c1 = new Course("IFT1015", "Programmation 1", "Intro");
+        Course c2 = new Course("IFT2035", "Concepts des langages de programmation", "Cours de C");
+        fakeClient.coursesToReturn = List.of(c2, c1);
+        courseService.setBatchSize(2);
+
+        List<Course> result = courseService.getCoursesByIds(List.of("ift1015", "IFT2035", "IFT1015", "IFT9999"), null);
+
+        assertEquals(List.of("IFT1015", "IFT2035"), result.stream().map(Course::getId).toList(),
+                "Les cours doivent suivre l'ordre demandé, sans doublon");
+        assertEquals(3, fakeClient.calls.size(), "Deux requêtes groupées puis une seule requête individuelle");
+        assertTrue(fakeClient.calls.get(0).getQuery().contains("courses_sigle=ift1015,ift2035"));
+        assertTrue(fakeClient.calls.get(2).getPath().endsWith("/courses/ift9999"));
+    }
+
+    @Test
+    @DisplayName("Lots - les recherches concurrentes d'une même fenêtre partent en une seule requête")
+    void testGetCourseById_regroupementConcurrent() throws Exception {
+        Course c1 = new Course("IFT1015", "Programmation 1", "Intro");
+        Course c2 = new Course("IFT2035", "Concepts des langages de programmation", "Cours de C");
+        fakeClient.coursesToReturn = List.of(c1, c2);
+        courseService.setRequestBatching(Duration.ofMillis(200), 20);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<Optional<Course>> f1 = pool.submit(() -> courseService.getCourseById("IFT1015"));
+            Future<Optional<Course>> f2 = pool.submit(() -> courseService.getCourseById("ift2035"));
+            Future<Optional<Course>> f3 = pool.submit(() -> courseService.getCourseById("IFT1015"));
+
+            assertEquals("IFT1015", f1.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+            assertEquals("IFT2035", f2.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+            assertEquals("IFT1015", f3.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, fakeClient.calls.size(), "Une seule requête courses_sigle attendue");
+        assertTrue(fakeClient.calls.get(0).getQuery().contains("courses_sigle="));
+    }
+
+    @Test
+    @DisplayName("Lots - un lot en échec ne déclenche aucune requête individuelle, la dernière version connue est servie")
+    void testGetCoursesByIds_lotEnEchecSansRafale() {
+        fakeClient.throwOnBatch = true;
+        fakeClient.lastKnownBodies.put("/api/v1/courses/ift1015", "{\"id\":\"IFT1015\",\"name\":\"Programmation 1\"}");
+        courseService.setBatchSize(2);
+
+        List<Course> result = courseService.getCoursesByIds(List.of("IFT1015", "IFT2035", "IFT2255"), null);
+
+        assertEquals(List.of("IFT1015"), result.stream().map(Course::getId).toList());
+        assertEquals(2, fakeClient.calls.size(), "Seules les deux requêtes groupées doivent partir");
+        assertTrue(fakeClient.calls.stream().allMatch(u -> u.getQuery() != null && u.getQuery().contains("courses_sigle=")));
+    }
+
+    @Test
+    @DisplayName("Lots - un cours reçu dans un lot réussi reste servi quand le lot suivant échoue")
+    void testGetCoursesByIds_lotEnEchecApresLotReussi() {
+        fakeClient.coursesToReturn = List.of(new Course("IFT1015", "Programmation 1", "Intro"),
+                new Course("IFT2035", "Concepts des langages de programmation", "Cours de C"));
+        assertEquals(2, courseService.getCoursesByIds(List.of("IFT1015", "IFT2035"), null).size());
+
+        fakeClient.throwOnBatch = true;
+        fakeClient.calls.clear();
+        List<Course> result = courseService.getCoursesByIds(List.of("ift2035", "IFT1015"), null);
+
+        assertEquals(List.of("IFT2035", "IFT1015"), result.stream().map(Course::getId).toList());
+        assertEquals(1, fakeClient.calls.size(), "Aucune requête individuelle après le lot en échec");
+    }
+
+    @Test
+    @DisplayName("Lots - lot regroupé en échec: dernière version connue, aucune requête individuelle")
+    void testGetCourseById_lotRegroupeEnEchec() throws Exception {
+        fakeClient.throwOnBatch = true;
+        fakeClient.lastKnownBodies.put("/api/v1/courses/ift1015", "{\"id\":\"IFT1015\",\"name\":\"Programmation 1\"}");
+        courseService.setRequestBatching(Duration.ofMillis(200), 20);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Course>> f1 = pool.submit(() -> courseService.getCourseById("IFT1015"));
+            Future<Optional<Course>> f2 = pool.submit(() -> courseService.getCourseById("IFT2035"));
+
+            assertEquals("IFT1015", f1.get(5, TimeUnit.SECONDS).orElseThrow().getId());
+            assertTrue(f2.get(5, TimeUnit.SECONDS).isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, fakeClient.calls.size(), "Seule la requête groupée doit partir");
+    }
+
+    @Test
+    @DisplayName("Lots - getCourseById: un cours reçu en lot reste servi quand le lot regroupé suivant échoue")
+    void testGetCourseById_lotRegroupeEnEchecApresLotReussi() {
+        fakeClient.coursesToReturn = List.of(new Course("IFT1015", "Programmation 1", "Intro"));
+        courseService.setRequestBatching(Duration.ofMillis(5), 20);
+        assertEquals("IFT1015", courseService.getCourseById("IFT1015").orElseThrow().getId());
+
+        fakeClient.throwOnBatch = true;
+        fakeClient.calls.clear();
+        Optional<Course> course = courseService.getCourseById("ift1015");
+
+        assertEquals("Programmation 1", course.orElseThrow().getName());
+        assertEquals(1, fakeClient.calls.size(), "Seule la requête groupée doit partir");
+        assertTrue(fakeClient.calls.get(0).getQuery().contains("courses_sigle=ift1015"));
+    }
+
+    @Test
+    @DisplayName("Lots - remplacer le regroupement envoie le lot en formation de l'ancien")
+    void testSetRequestBatching_fermeLAncien() throws Exception {
+        Course c1 = new Course("IFT1015", "Programmation 1", "Intro");
+        fakeClient.coursesToReturn = List.of(c1);
+        courseService.setRequestBatching(Duration.ofSeconds(30), 20);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Course>> f1 = pool.submit(() -> courseService.getCourseById("IFT1015"));
+            Thread.sleep(100); // l'appel a rejoint le lot (fenêtre de 30 s)
+            courseService.setRequestBatching(null, 20);
+
+            assertEquals("IFT1015", f1.get(2, TimeUnit.SECONDS).orElseThrow().getId());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, fakeClient.calls.size());
+    }
+
     // ========================================================================
     // Fake client HTTP pour isoler CourseService de l'API réelle
     // ========================================================================
@@ -233,9 +367,13 @@ public class CourseServiceTest {
         List<Course> coursesToReturn = new ArrayList<>();
         Course courseToReturn = null;
         boolean throwOnGetCourse = false;
+        boolean throwOnBatch = false;
+        final Map<String, String> lastKnownBodies = new HashMap<>();
+        final List<URI> calls = Collections.synchronizedList(new ArrayList<>());
 
         @Override
         public <T> T get(URI uri, Class<T> clazz) {
+            calls.add(uri);
             if (throwOnGetCourse) {
                 throw new RuntimeException("Simulated API error for get(URI, Class)");
             }
@@ -246,9 +384,19 @@ public class CourseServiceTest {
 
         @Override
         public <T> T get(URI uri, TypeReference<T> typeRef) {
+            calls.add(uri);
+            if (throwOnBatch) {
+                throw new RuntimeException("Simulated API error for get(URI, TypeReference)");
+            }
             @SuppressWarnings("unchecked")
             T value = (T) coursesToReturn;
             return value;
         }
+
+        @Override
+        public HttpClientApiResponse lastKnown(URI uri) {
+            String body = lastKnownBodies.get(uri.getPath());
+            return (body == null) ? null : new HttpClientApiResponse(200, "OK", body).asStale();
+        }
     }
 }
@@ -258,6 +258,11 @@ public class CourseSetServiceTest {
         public Optional<Course> getCourseById(String courseId, Map<String, String> queryParams) {
             return Optional.ofNullable(coursesToReturn.get(courseId.toUpperCase()));
         }
+
+        @Override
+        public List<Course> getCoursesByIds(Collection<String> courseIds, Map<String, String> queryParams) {
+            return courseIds.stream().map(id -> coursesToReturn.get(id.toUpperCase())).filter(Objects::nonNull).toList();
+        }
     }
 
     private static class FakeHttpClientApi extends HttpClientApi {
@@ -0,0 +1,147 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.EnrollmentCurve;
+import com.diro.ift2255.model.EnrollmentTrend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour EnrollmentService (journal des inscriptions par section).
+ * L'horloge est simulée ; les instantanés sont construits directement.
+ */
+public class EnrollmentServiceTest {
+
+    private static final String TEST_FILE = "target/test-enrollment.bin";
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private long now;
+    private EnrollmentService service;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.deleteIfExists(Path.of(TEST_FILE));
+        for (Path p : corruptCopies()) Files.delete(p);
+        now = 1_735_689_600_000L; // 2025-01-01
+        service = new EnrollmentService(null, TEST_FILE, () -> now);
+    }
+
+    @AfterAll
+    static void cleanup() throws Exception {
+        Files.deleteIfExists(Path.of(TEST_FILE));
+        for (Path p : corruptCopies()) Files.delete(p);
+    }
+
+    @Test
+    @DisplayName("Inscriptions - seuls les changements sont écrits, la courbe est relue après réouverture")
+    void testRecord_deltaEtRelecture() throws Exception {
+        assertEquals(2, service.record(snapshot(section("A", 100, 40), section("B", 50, 10))));
+        now += DAY;
+        assertEquals(1, service.record(snapshot(section("A", 100, 55), section("B", 50, 10))));
+        long size = Files.size(Path.of(TEST_FILE));
+
+        EnrollmentService reopened = new EnrollmentService(null, TEST_FILE, () -> now);
+        List<EnrollmentCurve> curves = reopened.curves("ift2255", "H25");
+        assertEquals(2, curves.size());
+        List<EnrollmentCurve.Point> a = curves.get(0).getPoints();
+        assertEquals(2, a.size());
+        assertEquals(55, a.get(1).getEnrolled());
+        assertEquals(0.55, a.get(1).getFillRate(), 1e-9);
+        assertEquals(now, a.get(1).getTimestamp());
+
+        // Section inchangée: aucun octet ajouté
+        assertEquals(0, reopened.record(snapshot(section("A", 100, 55), section("B", 50, 10))));
+        assertEquals(size, Files.size(Path.of(TEST_FILE)));
+    }
+
+    @Test
+    @DisplayName("Inscriptions - un enregistrement incomplet en fin de journal est tronqué")
+    void testRecover_finIncomplete() throws Exception {
+        service.record(snapshot(section("A", 100, 40)));
+        long size = Files.size(Path.of(TEST_FILE));
+        Files.write(Path.of(TEST_FILE), new byte[]{2, 0}, StandardOpenOption.APPEND);
+
+        EnrollmentService reopened = new EnrollmentService(null, TEST_FILE, () -> now);
+        assertEquals(size, Files.size(Path.of(TEST_FILE)));
+        now += DAY;
+        assertEquals(1, reopened.record(snapshot(section("A", 100, 45))));
+        assertEquals(2, reopened.curves("IFT2255", null).get(0).getPoints().size());
+    }
+
+    @Test
+    @DisplayName("Inscriptions - un en-tête incomplet est réécrit, les ajouts suivants restent lisibles")
+    void testRecover_enTeteIncomplet() throws Exception {
+        Files.write(Path.of(TEST_FILE), new byte[]{'E', 'N'});
+
+        EnrollmentService reopened = new EnrollmentService(null, TEST_FILE, () -> now);
+        assertEquals(1, reopened.record(snapshot(section("A", 100, 40))));
+
+        EnrollmentService again = new EnrollmentService(null, TEST_FILE, () -> now);
+        assertEquals(1, again.curves("IFT2255", null).size());
+    }
+
+    @Test
+    @DisplayName("Inscriptions - un journal à l'en-tête invalide est mis de côté, le suivi reprend à vide")
+    void testRecover_enTeteInvalide() throws Exception {
+        Files.write(Path.of(TEST_FILE), "pas un journal".getBytes(StandardCharsets.UTF_8));
+
+        EnrollmentService reopened = new EnrollmentService(null, TEST_FILE, () -> now);
+        assertTrue(reopened.curves("IFT2255", null).isEmpty());
+        assertEquals(1, reopened.record(snapshot(section("A", 100, 40))));
+        assertEquals(1, new EnrollmentService(null, TEST_FILE, () -> now).curves("IFT2255", null).size());
+        assertEquals(1, corruptCopies().size());
+    }
+
+    @Test
+    @DisplayName("Inscriptions - classement des sections qui se remplissent le plus vite sur la période")
+    void testFastestFilling() {
+        service.record(snapshot(section("A", 100, 10), section("B", 50, 10), section("C", 20, 20)));
+        now += 10 * DAY;
+        service.record(snapshot(section("A", 100, 30), section("B", 50, 10), section("C", 20, 20)));
+        now += DAY;
+        service.record(snapshot(section("A", 100, 35), section("B", 50, 30), section("C", 20, 20)));
+
+        List<EnrollmentTrend> trends = service.fastestFilling("H25", Duration.ofDays(7), 10);
+        assertEquals(List.of("B", "A"), trends.stream().map(EnrollmentTrend::getSection).toList());
+        assertEquals(20, trends.get(0).getEnrolledDelta());
+        assertEquals(25, trends.get(1).getEnrolledDelta()); // référence: dernier échantillon avant la période (10)
+        assertEquals(1, service.fastestFilling("H25", Duration.ofDays(7), 1).size());
+    }
+
+    // Copies mises de côté par EnrollmentLog (en-tête invalide)
+    private static List<Path> corruptCopies() throws Exception {
+        Path file = Path.of(TEST_FILE).toAbsolutePath();
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            return siblings.filter(p -> p.getFileName().toString().startsWith(file.getFileName() + ".corrupt-")).toList();
+        }
+    }
+
+    private static OfferedCoursesCache.Snapshot snapshot(Course.Section... sections) {
+        Course c = new Course("IFT2255", "Génie logiciel", null);
+        Course.Schedule schedule = new Course.Schedule();
+        schedule.setName("H25");
+        schedule.setSections(List.of(sections));
+        c.setSchedules(List.of(schedule));
+        return new OfferedCoursesCache.Snapshot(OfferedCoursesCache.ALL_PROGRAMS, "H25", List.of(c), 0L);
+    }
+
+    private static Course.Section section(String name, int capacity, int enrolled) {
+        Course.Section s = new Course.Section();
+        s.setName(name);
+        s.setCapacity(String.valueOf(capacity));
+        s.setNumberInscription(String.valueOf(enrolled));
+        return s;
+    }
+}
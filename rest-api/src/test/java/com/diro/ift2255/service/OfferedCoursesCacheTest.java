@@ -0,0 +1,129 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.HttpClientApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour OfferedCoursesCache.
+ * Le calcul des cours offerts est simulé par un FakeProgramService.
+ */
+public class OfferedCoursesCacheTest {
+
+    private FakeProgramService fakeProgramService;
+    private OfferedCoursesCache cache;
+
+    @BeforeEach
+    void setup() {
+        fakeProgramService = new FakeProgramService();
+        cache = new OfferedCoursesCache(fakeProgramService, null, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Cours offerts - l'instantané est calculé une seule fois puis réutilisé")
+    void testGet_calculUneSeuleFois() {
+        fakeProgramService.toReturn = List.of(new Course("IFT2255", "Génie logiciel", null));
+
+        OfferedCoursesCache.Snapshot s1 = cache.get("117510", "h25");
+        OfferedCoursesCache.Snapshot s2 = cache.get("117510", "H25");
+
+        assertSame(s1, s2);
+        assertEquals(1, fakeProgramService.calls);
+        assertEquals("H25", s1.getSemester());
+        assertEquals(1, s1.getCourses().size());
+    }
+
+    @Test
+    @DisplayName("Cours offerts - un rafraîchissement vide conserve l'instantané précédent")
+    void testRefresh_conserveAncienSiVide() {
+        fakeProgramService.toReturn = List.of(new Course("IFT2255", "Génie logiciel", null));
+        cache.get("117510", "H25");
+
+        fakeProgramService.toReturn = List.of();
+        cache.refreshAll();
+
+        assertEquals(2, fakeProgramService.calls);
+        assertEquals(1, cache.get("117510", "H25").getCourses().size());
+    }
+
+    @Test
+    @DisplayName("Cours offerts - trimestre invalide -> null")
+    void testGet_trimestreInvalide() {
+        assertNull(cache.get("117510", "2025"));
+        assertEquals(0, fakeProgramService.calls);
+    }
+
+    @Test
+    @DisplayName("Cours offerts - programme non numérique -> null, sans calcul")
+    void testGet_programmeInvalide() {
+        assertNull(cache.get("../programs", "H25"));
+        assertNull(cache.get("abc", "H25"));
+        assertEquals(0, fakeProgramService.calls);
+    }
+
+    @Test
+    @DisplayName("Cours offerts - un programme sans cours n'est ni suivi ni rafraîchi")
+    void testGet_resultatVideNonSuivi() {
+        assertTrue(cache.get("999999", "H25").getCourses().isEmpty());
+        assertTrue(cache.get("999999", "H25").getCourses().isEmpty());
+        cache.refreshAll();
+
+        assertEquals(1, fakeProgramService.calls);
+        assertEquals(0, cache.trackedCount());
+    }
+
+    @Test
+    @DisplayName("Cours offerts - un couple non lu pendant plusieurs cycles cesse d'être rafraîchi")
+    void testRefresh_retireCouplesInactifs() {
+        fakeProgramService.toReturn = List.of(new Course("IFT2255", "Génie logiciel", null));
+        cache.get("117510", "H25");
+
+        for (int i = 0; i < OfferedCoursesCache.MAX_IDLE_CYCLES + 2; i++) cache.refreshAll();
+
+        assertEquals(1 + OfferedCoursesCache.MAX_IDLE_CYCLES, fakeProgramService.calls);
+        assertEquals(0, cache.trackedCount());
+    }
+
+    @Test
+    @DisplayName("Cours offerts - nombre de couples suivis borné, le moins récemment lu est retiré")
+    void testGet_nombreDeCouplesBorne() {
+        fakeProgramService.toReturn = List.of(new Course("IFT2255", "Génie logiciel", null));
+        cache.warmUp("117510", "H25");
+        for (int i = 0; i <= OfferedCoursesCache.MAX_TRACKED; i++) {
+            cache.get(String.valueOf(100000 + i), "H25");
+        }
+
+        assertEquals(OfferedCoursesCache.MAX_TRACKED, cache.trackedCount());
+    }
+
+    @Test
+    @DisplayName("Cours offerts - calcul du trimestre courant")
+    void testSemesterOf() {
+        assertEquals("H25", OfferedCoursesCache.semesterOf(LocalDate.of(2025, 2, 1)));
+        assertEquals("E25", OfferedCoursesCache.semesterOf(LocalDate.of(2025, 6, 1)));
+        assertEquals("A26", OfferedCoursesCache.semesterOf(LocalDate.of(2026, 10, 18)));
+    }
+
+    private static class FakeProgramService extends ProgramService {
+        List<Course> toReturn = List.of();
+        int calls = 0;
+
+        FakeProgramService() {
+            super(new HttpClientApi(), null);
+        }
+
+        @Override
+        public List<Course> getProgramCoursesOfferedInSemester(String programId, String semester, int limit) {
+            calls++;
+            return toReturn;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Program;
+import com.diro.ift2255.util.HttpClientApi;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ProgramService.
+ * Vérifie la mémorisation des variantes d'endpoint et le cache des programmes résolus.
+ */
+public class ProgramServiceTest {
+
+    private FakeHttpClientApi fakeClient;
+    private ProgramService programService;
+
+    @BeforeEach
+    void setup() {
+        fakeClient = new FakeHttpClientApi();
+        programService = new ProgramService(fakeClient, new CourseService(fakeClient));
+    }
+
+    @Test
+    @DisplayName("Programme - un programme résolu est servi depuis le cache sans nouvel appel")
+    void testGetProgram_cacheProgrammeResolu() {
+        fakeClient.listProgram = program("146811");
+
+        Optional<Program> first = programService.getProgram("146811", "min");
+        int callsAfterFirst = fakeClient.calls.size();
+        Optional<Program> second = programService.getProgram("146811", "min");
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals(2, callsAfterFirst, "PATH échoue puis PROGRAM_ID réussit");
+        assertEquals(callsAfterFirst, fakeClient.calls.size(), "Le second appel ne doit pas solliciter Planifium");
+    }
+
+    @Test
+    @DisplayName("Programme - les variantes en échec ne sont pas retentées (cache négatif)")
+    void testGetProgram_cacheNegatifVariantes() {
+        // Planifium ne connaît pas le programme: fallback local
+        Optional<Program> first = programService.getProgram("117510", "min");
+        int callsAfterFirst = fakeClient.calls.size();
+        Optional<Program> second = programService.getProgram("117510", "min");
+
+        assertTrue(first.isPresent());
+        assertTrue(first.get().getName().contains("fallback"));
+        assertTrue(second.isPresent());
+        assertEquals(3, callsAfterFirst, "Les 3 variantes sont essayées une fois");
+        assertEquals(3, fakeClient.calls.size(), "Aucune variante n'est retentée avant expiration");
+    }
+
+    @Test
+    @DisplayName("Programme - la variante apprise est utilisée en premier pour un autre niveau de réponse")
+    void testGetProgram_varianteApprise() {
+        fakeClient.listProgram = program("146811");
+        programService.getProgram("146811", "min");
+        fakeClient.calls.clear();
+
+        programService.getProgram("146811", "full");
+
+        assertEquals(1, fakeClient.calls.size());
+        assertTrue(fakeClient.calls.get(0).getQuery().contains("program_id=146811"));
+        assertEquals(2L, programService.getVariantStats().get("PROGRAM_ID").get("successes"));
+    }
+
+    @Test
+    @DisplayName("Programme - en mode parallèle, la première variante valide l'emporte")
+    void testGetProgram_modeParallele() {
+        fakeClient.listProgram = program("146811");
+        programService.setRaceVariants(true);
+
+        Optional<Program> p = programService.getProgram("146811", "min");
+
+        assertTrue(p.isPresent());
+        assertEquals("146811", p.get().getId());
+    }
+
+    @Test
+    @DisplayName("Programme - un identifiant mal formé n'appelle pas Planifium et n'est pas mémorisé")
+    void testGetProgram_identifiantInvalide() {
+        assertTrue(programService.getProgram("../admin", "min").isEmpty());
+        assertTrue(programService.getProgram("abc123", "min").isEmpty());
+        assertTrue(programService.getProgram("146811", "min<script>").isEmpty());
+
+        assertTrue(fakeClient.calls.isEmpty());
+    }
+
+    private static Program program(String id) {
+        Program p = new Program();
+        p.setId(id);
+        p.setName("Programme " + id);
+        p.setCourses(List.of());
+        return p;
+    }
+
+    // ========================================================================
+    // Fake client HTTP: /programs/{id} échoue toujours, les variantes ?program_id / ?programs_list
+    // retournent listProgram (si défini)
+    // ========================================================================
+
+    private static class FakeHttpClientApi extends HttpClientApi {
+        final List<URI> calls = Collections.synchronizedList(new ArrayList<>());
+        volatile Program listProgram = null;
+
+        @Override
+        public <T> T get(URI uri, Class<T> clazz) {
+            calls.add(uri);
+            throw new RuntimeException("Request failed: 404 - Not Found");
+        }
+
+        @Override
+        public <T> T get(URI uri, TypeReference<T> typeRef) {
+            calls.add(uri);
+            @SuppressWarnings("unchecked")
+            T value = (T) (listProgram == null ? List.of() : List.of(listProgram));
+            return value;
+        }
+    }
+}
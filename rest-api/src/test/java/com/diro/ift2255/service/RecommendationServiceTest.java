@@ -0,0 +1,150 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.AcademicResult;
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Recommendation;
+import com.diro.ift2255.model.Review;
+import com.diro.ift2255.util.HttpClientApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RecommendationService.
+ * Les cours offerts sont simulés par un FakeProgramService, les résultats CSV par un FakeAcademicResultService.
+ */
+public class RecommendationServiceTest {
+
+    private static final Path TEST_FILE = Path.of("target/test-recommendation-reviews.json");
+
+    private ReviewService reviewService;
+    private FakeAcademicResultService results;
+    private OfferedCoursesCache cache;
+    private RecommendationService service;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+        FakeProgramService programService = new FakeProgramService();
+        programService.toReturn = List.of(
+                course("IFT1015", null),
+                course("IFT1025", List.of("IFT1015")),
+                course("IFT2255", List.of("IFT1025")),
+                course("IFT2015", List.of("IFT1025")),
+                course("MAT1400", null));
+
+        reviewService = new ReviewService(TEST_FILE.toString());
+        results = new FakeAcademicResultService();
+        cache = new OfferedCoursesCache(programService, null, Duration.ofMinutes(15));
+        service = new RecommendationService(cache, reviewService, results);
+    }
+
+    @AfterEach
+    void cleanup() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @Test
+    @DisplayName("Recommandations - cours réussis et préalables manquants exclus")
+    void testRecommend_admissibiliteSeulement() {
+        List<Recommendation> recs = service.recommend("117510", "H25", List.of("ift1015"), null, null, 10);
+
+        Set<String> ids = new HashSet<>();
+        recs.forEach(r -> ids.add(r.getCourseId()));
+        assertEquals(Set.of("IFT1025", "MAT1400"), ids);
+    }
+
+    @Test
+    @DisplayName("Recommandations - classement par score et limite (top-K)")
+    void testRecommend_classementEtLimite() {
+        addReview("IFT2255", 5, 5);
+        addReview("IFT2015", 2, 1);
+        addReview("IFT2015", 2, 2);
+        results.scores.put("IFT2015", 4.0);
+        results.scores.put("IFT2255", 2.5);
+
+        List<Recommendation> recs = service.recommend("117510", "H25", List.of("IFT1015", "IFT1025"), null, null, 2);
+
+        assertEquals(2, recs.size());
+        assertEquals("IFT2015", recs.get(0).getCourseId());
+        assertEquals("MAT1400", recs.get(1).getCourseId());
+        assertTrue(recs.get(0).getScore() > recs.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("Recommandations - seuil de charge appliqué, y compris après un nouvel avis")
+    void testRecommend_seuilChargeEtNouvelAvis() {
+        List<String> done = List.of("IFT1015", "IFT1025");
+        assertEquals(3, service.recommend("117510", "H25", done, 3.0, null, 10).size());
+
+        addReview("IFT2255", 3, 5);
+
+        List<Recommendation> recs = service.recommend("117510", "H25", done, 3.0, null, 10);
+        assertEquals(2, recs.size());
+        assertTrue(recs.stream().noneMatch(r -> r.getCourseId().equals("IFT2255")));
+    }
+
+    @Test
+    @DisplayName("Recommandations - indicateurs conservés seulement pour les couples suivis par le cache")
+    void testRecommend_indicateursBornesParLeCache() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(service.recommend(String.valueOf(900000 + i), "H25", List.of(), null, null, 10).isEmpty());
+        }
+        assertEquals(0, service.cachedFeaturesCount(), "Un programme sans cours ne doit rien laisser en mémoire");
+
+        assertFalse(service.recommend("117510", "H25", List.of(), null, null, 10).isEmpty());
+        assertEquals(1, service.cachedFeaturesCount());
+
+        for (int i = 0; i < OfferedCoursesCache.MAX_IDLE_CYCLES + 2; i++) cache.refreshAll();
+        assertEquals(0, service.cachedFeaturesCount(), "Le couple retiré du cache doit être oublié");
+    }
+
+    private void addReview(String courseId, int difficulty, int workload) {
+        Review r = new Review();
+        r.setCourseId(courseId);
+        r.setDifficulty(difficulty);
+        r.setWorkload(workload);
+        assertTrue(reviewService.addReview(r));
+    }
+
+    private static Course course(String id, List<String> prereqs) {
+        Course c = new Course(id, "Cours " + id, null);
+        c.setPrerequisiteCourses(prereqs);
+        return c;
+    }
+
+    private static class FakeProgramService extends ProgramService {
+        List<Course> toReturn = List.of();
+
+        FakeProgramService() {
+            super(new HttpClientApi(), null);
+        }
+
+        @Override
+        public List<Course> getProgramCoursesOfferedInSemester(String programId, String semester, int limit) {
+            return "117510".equals(programId) ? toReturn : List.of();
+        }
+    }
+
+    private static class FakeAcademicResultService extends AcademicResultService {
+        final Map<String, Double> scores = new HashMap<>();
+
+        FakeAcademicResultService() {
+            super("absent.csv");
+        }
+
+        @Override
+        public Optional<AcademicResult> getBySigle(String sigle) {
+            Double s = scores.get(sigle);
+            return (s == null) ? Optional.empty() : Optional.of(new AcademicResult(sigle, sigle, "B", s, 10, 3));
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.diro.ift2255.service;
 
+import com.diro.ift2255.model.Page;
 import com.diro.ift2255.model.Review;
 import com.diro.ift2255.model.ReviewAggregate;
+import com.diro.ift2255.model.ReviewStats;
 import org.junit.jupiter.api.*;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -201,4 +204,167 @@ public class ReviewServiceTest {
         assertEquals(0.0, aggregate.getAvgDifficulty(), 0.01);
         assertEquals(0.0, aggregate.getAvgWorkload(), 0.01);
     }
+
+    // ========================================================================
+    // Statistiques détaillées (?stats=full)
+    // ========================================================================
+
+    @Test
+    @DisplayName("Stats Avis - histogramme, médiane et écart type tenus à jour")
+    void testGetStatsForCourse_distribution() {
+        for (int d : new int[] {1, 2, 2, 5}) {
+            Review r = new Review();
+            r.setCourseId("IFT2255");
+            r.setDifficulty(d);
+            r.setWorkload(3);
+            reviewService.addReview(r);
+        }
+
+        ReviewStats stats = reviewService.getStatsForCourse("ift2255");
+
+        assertEquals(4, stats.getCount());
+        assertArrayEquals(new int[] {1, 2, 0, 0, 1}, stats.getDifficulty().getHistogram());
+        assertEquals(2.5, stats.getDifficulty().getMean(), 0.001);
+        assertEquals(2.0, stats.getDifficulty().getMedian(), 0.001);
+        assertEquals(Math.sqrt(2.25), stats.getDifficulty().getStdDev(), 0.001);
+        assertEquals(0.0, stats.getWorkload().getStdDev(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Stats Avis - la moyenne amortie favorise les avis récents")
+    void testGetStatsForCourse_moyenneAmortie() {
+        long now = System.currentTimeMillis();
+        long twoYears = 2L * 365 * 24 * 3600 * 1000;
+
+        Review ancien = new Review();
+        ancien.setCourseId("IFT2255");
+        ancien.setDifficulty(5);
+        ancien.setWorkload(5);
+        ancien.setTimestamp(now - twoYears);
+        reviewService.addReview(ancien);
+
+        Review recent = new Review();
+        recent.setCourseId("IFT2255");
+        recent.setDifficulty(1);
+        recent.setWorkload(1);
+        recent.setTimestamp(now);
+        reviewService.addReview(recent);
+
+        ReviewStats stats = reviewService.getStatsForCourse("IFT2255");
+
+        // Poids 1/4 pour l'avis vieux de deux demi-vies: (5*0.25 + 1*1) / 1.25 = 1.8
+        assertEquals(3.0, stats.getWorkload().getMean(), 0.001);
+        assertEquals(1.8, stats.getWorkload().getDecayedMean(), 0.001);
+        assertEquals(now, stats.getLastReviewAt());
+    }
+
+    @Test
+    @DisplayName("Stats Avis - une date dans le futur est ramenée à l'horloge du serveur")
+    void testAddReview_dateFutureRamenee() {
+        long tenYears = 10L * 365 * 24 * 3600 * 1000;
+        addReviewAt("IFT2255", System.currentTimeMillis() - 1000);
+
+        Review futur = new Review();
+        futur.setCourseId("IFT2255");
+        futur.setDifficulty(5);
+        futur.setWorkload(5);
+        futur.setTimestamp(System.currentTimeMillis() + tenYears);
+        long before = System.currentTimeMillis();
+        assertTrue(reviewService.addReview(futur));
+
+        assertTrue(futur.getTimestamp() >= before && futur.getTimestamp() <= System.currentTimeMillis());
+        // Poids comparables: la moyenne amortie reste proche de la moyenne simple
+        ReviewStats stats = reviewService.getStatsForCourse("IFT2255");
+        assertEquals(4.0, stats.getWorkload().getDecayedMean(), 0.01);
+
+        // Une légère avance (décalage d'horloge du client) est conservée
+        Review avance = new Review();
+        avance.setCourseId("IFT2255");
+        avance.setDifficulty(3);
+        avance.setWorkload(3);
+        long skewed = System.currentTimeMillis() + 60_000;
+        avance.setTimestamp(skewed);
+        assertTrue(reviewService.addReview(avance));
+        assertEquals(skewed, avance.getTimestamp());
+    }
+
+    // ========================================================================
+    // Pagination et fenêtre de temps
+    // ========================================================================
+
+    @Test
+    @DisplayName("Pagination Avis - du plus récent au plus ancien, curseur before")
+    void testGetReviewsPage_curseur() {
+        for (long t : new long[] {5000, 1000, 3000, 2000, 4000}) addReviewAt("IFT2255", t);
+
+        Page<Review> first = reviewService.getReviewsPage("IFT2255", null, null, null, 2);
+        assertEquals(List.of(5000L, 4000L), timestamps(first));
+        assertEquals(5, first.getTotal());
+        assertEquals("4000", first.getNextCursor());
+
+        Page<Review> second = reviewService.getReviewsPage("IFT2255", null, null, first.getNextCursor(), 2);
+        assertEquals(List.of(3000L, 2000L), timestamps(second));
+
+        Page<Review> last = reviewService.getReviewsPage("IFT2255", null, null, second.getNextCursor(), 2);
+        assertEquals(List.of(1000L), timestamps(last));
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Pagination Avis - fenêtre since/until, avis de même date répartis sans dépasser limit")
+    void testGetReviewsPage_fenetreEtEgalites() {
+        for (long t : new long[] {1000, 2000, 2000, 2000, 3000, 4000}) addReviewAt("IFT2255", t);
+
+        Page<Review> first = reviewService.getReviewsPage("IFT2255", 2000L, 3000L, null, 2);
+        assertEquals(4, first.getTotal());
+        assertEquals(List.of(3000L, 2000L), timestamps(first));
+        assertEquals("2000.2", first.getNextCursor());
+
+        Page<Review> second = reviewService.getReviewsPage("IFT2255", 2000L, 3000L, first.getNextCursor(), 2);
+        assertEquals(List.of(2000L, 2000L), timestamps(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Pagination Avis - beaucoup d'avis de même date: pages bornées, aucun avis sauté ni répété")
+    void testGetReviewsPage_egalitesNombreuses() {
+        for (int i = 0; i < 7; i++) addReviewAt("IFT2255", 5000);
+        addReviewAt("IFT2255", 1000);
+        List<Review> expected = reviewService.getReviewsForCourse("IFT2255");
+
+        List<Review> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Review> page = reviewService.getReviewsPage("IFT2255", null, null, cursor, 3);
+            assertTrue(page.getItems().size() <= 3);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected.size(), seen.size());
+        for (int i = 0; i < expected.size(); i++) assertSame(expected.get(expected.size() - 1 - i), seen.get(i));
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getReviewsPage("IFT2255", null, null, "5000.x", 3));
+    }
+
+    @Test
+    @DisplayName("CU Avis - l'agrégat n'inclut la liste des avis que sur demande")
+    void testGetAggregateForCourse_listeSurDemande() {
+        addReviewAt("IFT2255", 1000);
+
+        assertNull(reviewService.getAggregateForCourse("IFT2255").getReviews());
+        assertEquals(1, reviewService.getAggregateForCourse("IFT2255", true).getReviews().size());
+    }
+
+    private void addReviewAt(String courseId, long timestamp) {
+        Review r = new Review();
+        r.setCourseId(courseId);
+        r.setDifficulty(3);
+        r.setWorkload(3);
+        r.setTimestamp(timestamp);
+        assertTrue(reviewService.addReview(r));
+    }
+
+    private static List<Long> timestamps(Page<Review> page) {
+        return page.getItems().stream().map(Review::getTimestamp).toList();
+    }
 }
@@ -0,0 +1,80 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.CompatibleCourse;
+import com.diro.ift2255.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.diro.ift2255.service.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ScheduleConflictIndex (matrice de conflits par bitsets).
+ */
+public class ScheduleConflictIndexTest {
+
+    private ScheduleConflictIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = ScheduleConflictIndex.build("H25", List.of(
+                // IFT2255: A lundi 8:30, B mardi 8:30
+                course("IFT2255", "H25", section("A", activity("Lu", "08:30", "10:29")), section("B", activity("Ma", "08:30", "10:29"))),
+                // IFT2015: une seule section, lundi 8:30 -> force IFT2255 B
+                course("IFT2015", "H25", section("A", activity("Lu", "09:30", "11:29"))),
+                // IFT1025: A mardi 9:00 (conflit avec IFT2255 B), B mercredi
+                course("IFT1025", "H25", section("A", activity("Ma", "09:00", "10:59")), section("B", activity("Me", "13:00", "14:59"))),
+                // IFT3150: commence quand IFT2255 B finit -> pas de conflit
+                course("IFT3150", "H25", section("A", activity("Ma", "10:30", "12:29"))),
+                // IFT1015: lundi 10:00 -> toujours en conflit avec IFT2015
+                course("IFT1015", "H25", section("A", activity("Lu", "10:00", "11:00"))),
+                // IFT3000: offert, mais sans activité datée
+                new Course("IFT3000", "IFT3000", null)
+        ));
+    }
+
+    @Test
+    @DisplayName("Compatibilité - seules les sections restant libres après les cours choisis sont proposées")
+    void testCompatible_sectionsLibres() {
+        ScheduleConflictIndex.Result r = index.compatible(List.of("ift2255", "IFT2015"));
+
+        assertTrue(r.isFeasible());
+        Map<String, List<String>> byId = new java.util.LinkedHashMap<>();
+        for (CompatibleCourse c : r.getCourses()) byId.put(c.getCourseId(), c.getSections());
+        assertEquals(Map.of("IFT1025", List.of("B"), "IFT3150", List.of("A")), byId);
+    }
+
+    @Test
+    @DisplayName("Compatibilité - matrice cours x cours et cours choisis incompatibles")
+    void testConflitsEtChoixImpossible() {
+        assertTrue(index.conflicts("IFT2015", "IFT1015"));
+        assertFalse(index.conflicts("IFT2255", "IFT2015"));
+
+        ScheduleConflictIndex.Result r = index.compatible(List.of("IFT2015", "IFT1015"));
+        assertFalse(r.isFeasible());
+        assertTrue(r.getCourses().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Compatibilité - cours non offert signalé ; sans choix, tous les cours avec horaire")
+    void testCompatible_nonOffertEtSansChoix() {
+        assertEquals(List.of("MAT1400"), index.compatible(List.of("IFT2255", "MAT1400")).getNotOffered());
+        assertEquals(5, index.compatible(List.of()).getCourses().size());
+        assertEquals(7, index.sectionCount());
+    }
+
+    @Test
+    @DisplayName("Compatibilité - cours choisi offert sans horaire: aucune contrainte, pas signalé")
+    void testCompatible_coursOffertSansHoraire() {
+        ScheduleConflictIndex.Result r = index.compatible(List.of("IFT2255", "ift3000"));
+
+        assertTrue(r.getNotOffered().isEmpty());
+        assertTrue(r.isFeasible());
+        assertEquals(index.compatible(List.of("IFT2255")).getCourses().size(), r.getCourses().size());
+        assertEquals(5, index.courseCount(), "Un cours sans horaire n'est pas proposé");
+    }
+}
@@ -0,0 +1,60 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.util.HttpClientApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.diro.ift2255.service.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ScheduleConflictService.
+ * Les instantanés de cours offerts sont produits par un FakeProgramService.
+ */
+public class ScheduleConflictServiceTest {
+
+    private OfferedCoursesCache cache;
+    private ScheduleConflictService service;
+
+    @BeforeEach
+    void setup() {
+        FakeProgramService programService = new FakeProgramService();
+        programService.toReturn = List.of(course("IFT2255", "H25", section("A", activity("Lu", "13:30", "15:29"))));
+        cache = new OfferedCoursesCache(programService, null, Duration.ofMinutes(15));
+        service = new ScheduleConflictService(cache);
+    }
+
+    @Test
+    @DisplayName("Plages libres - index conservés seulement pour les couples suivis par le cache")
+    void testFitsIn_indexBornesParLeCache() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(service.fitsIn(String.valueOf(900000 + i), "H25", ActivityIntervalIndex.parseWindows("MO:08:00-18:00")).isEmpty());
+        }
+        assertEquals(0, service.intervalIndexCount(), "Un programme sans cours ne doit rien laisser en mémoire");
+
+        List<Course> fitting = service.fitsIn("117510", "H25", ActivityIntervalIndex.parseWindows("MO:08:00-18:00"));
+        assertEquals(List.of("IFT2255"), fitting.stream().map(Course::getId).toList());
+        assertEquals(1, service.intervalIndexCount());
+
+        for (int i = 0; i < OfferedCoursesCache.MAX_IDLE_CYCLES + 2; i++) cache.refreshAll();
+        assertEquals(0, service.intervalIndexCount(), "Le couple retiré du cache doit être oublié");
+    }
+
+    private static class FakeProgramService extends ProgramService {
+        List<Course> toReturn = List.of();
+
+        FakeProgramService() {
+            super(new HttpClientApi(), null);
+        }
+
+        @Override
+        public List<Course> getProgramCoursesOfferedInSemester(String programId, String semester, int limit) {
+            return "117510".equals(programId) ? toReturn : List.of();
+        }
+    }
+}
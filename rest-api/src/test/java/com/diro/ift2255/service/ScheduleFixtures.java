@@ -0,0 +1,48 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cours et sections de test partagés par les tests des index d’horaire
+ * (conflits, plages libres, enseignants).
+ */
+final class ScheduleFixtures {
+
+    private ScheduleFixtures() {}
+
+    /** Cours offert au trimestre donné avec les sections fournies. */
+    static Course course(String id, String semester, Course.Section... sections) {
+        Course c = new Course(id, id, null);
+        Course.Schedule schedule = new Course.Schedule();
+        schedule.setName(semester);
+        schedule.setSections(List.of(sections));
+        c.setSchedules(List.of(schedule));
+        return c;
+    }
+
+    /** Section d’un seul volet (TH) regroupant les activités fournies (aucune = sans horaire). */
+    @SafeVarargs
+    static Course.Section section(String name, Map<String, Object>... activities) {
+        Course.Section s = new Course.Section();
+        s.setName(name);
+        s.setVolets(List.of(Map.of("name", "TH", "activities", new ArrayList<>(List.of(activities)))));
+        return s;
+    }
+
+    /** Activité datée d’un jour (ex : {@code "Lu"}, {@code "08:30"}, {@code "10:29"}). */
+    static Map<String, Object> activity(String day, String start, String end) {
+        return Map.of("days", List.of(day), "start_time", start, "end_time", end);
+    }
+
+    /** Section sans horaire, donnée par ses enseignants. */
+    static Course.Section taughtBy(String name, String... teachers) {
+        Course.Section s = new Course.Section();
+        s.setName(name);
+        s.setTeachers(List.of(teachers));
+        return s;
+    }
+}
@@ -0,0 +1,139 @@
+package com.diro.ift2255.service;
+
+import com.diro.ift2255.model.Course;
+import com.diro.ift2255.model.Teacher;
+import com.diro.ift2255.model.TeacherSection;
+import com.diro.ift2255.util.HttpClientApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.diro.ift2255.service.ScheduleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TeacherIndexService.
+ * Les instantanés de cours offerts sont produits par un FakeProgramService.
+ */
+public class TeacherIndexServiceTest {
+
+    private FakeProgramService fakeProgramService;
+    private OfferedCoursesCache cache;
+    private TeacherIndexService index;
+
+    @BeforeEach
+    void setup() {
+        fakeProgramService = new FakeProgramService();
+        fakeProgramService.toReturn = List.of(
+                course("IFT2255", "H25", taughtBy("A", "Benoît Tremblay"), taughtBy("B", "Hélène Côté")),
+                course("IFT2015", "H25", taughtBy("A", "Benoît Tremblay", "Jean-François Roy")));
+        cache = new OfferedCoursesCache(fakeProgramService, null, Duration.ofMinutes(15));
+        index = new TeacherIndexService(cache);
+        cache.get("117510", "H25");
+    }
+
+    @Test
+    @DisplayName("Enseignants - recherche par préfixe insensible aux accents et à la casse")
+    void testSearch_prefixeSansAccents() {
+        List<Teacher> r = index.search("TREM", 10);
+        assertEquals(1, r.size());
+        assertEquals("Benoît Tremblay", r.get(0).getName());
+        assertEquals(List.of("IFT2015", "IFT2255"), r.get(0).getCourses());
+        assertEquals(2, r.get(0).getSectionCount());
+
+        assertEquals("Hélène Côté", index.search("helene co", 10).get(0).getName());
+        assertEquals("Jean-François Roy", index.search("jean franc", 10).get(0).getName());
+        assertTrue(index.search("roy helene", 10).isEmpty());
+        assertEquals(3, index.search(null, 10).size());
+    }
+
+    @Test
+    @DisplayName("Enseignants - sections par nom normalisé ; un nouvel instantané remplace l'ancien")
+    void testSections_miseAJour() {
+        List<TeacherSection> s = index.sections("benoit tremblay", "H25");
+        assertEquals(2, s.size());
+        assertNull(index.sections("Inconnu", null));
+
+        fakeProgramService.toReturn = List.of(
+                course("IFT2255", "H25", taughtBy("A", "Hélène Côté")),
+                course("IFT2015", "H25", taughtBy("A", "Benoît Tremblay")));
+        cache.refreshAll();
+
+        // Sections retirées de l'horaire: plus indexées
+        assertEquals(List.of("IFT2015"), index.sections("Benoît Tremblay", "H25").stream()
+                .map(TeacherSection::getCourseId).toList());
+        assertEquals(List.of("A"), index.sections("HELENE COTE", null).stream()
+                .map(TeacherSection::getSection).toList());
+        assertNull(index.sections("Jean-François Roy", null));
+    }
+
+    @Test
+    @DisplayName("Enseignants - plusieurs programmes d'un trimestre: chaque instantané ne remplace que le sien")
+    void testSections_plusieursProgrammes() {
+        fakeProgramService.toReturn = List.of(course("MAT1400", "H25", taughtBy("A", "Hélène Côté")));
+        cache.get("146811", "H25");
+
+        assertEquals(List.of("IFT2255", "MAT1400"), index.sections("helene cote", "H25").stream()
+                .map(TeacherSection::getCourseId).toList());
+        assertEquals(2, index.sections("benoit tremblay", "H25").size());
+    }
+
+    @Test
+    @DisplayName("Enseignants - un couple retiré du cache disparaît de l'index")
+    void testSections_coupleRetireDuCache() {
+        assertEquals(2, index.sections("benoit tremblay", "H25").size());
+
+        for (int i = 0; i < OfferedCoursesCache.MAX_IDLE_CYCLES + 2; i++) cache.refreshAll();
+
+        assertEquals(0, index.indexedSnapshotCount());
+        assertNull(index.sections("benoit tremblay", null));
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Enseignants - la vue n'est reconstruite qu'une fois par cycle de rafraîchissement")
+    void testIndex_uneReconstructionParCycle() {
+        fakeProgramService.toReturn = List.of(course("MAT1400", "H25", taughtBy("A", "Hélène Côté")));
+        cache.get("146811", "H25");
+        index.search(null, 10);
+        long before = index.rebuildCount();
+
+        cache.refreshAll(); // deux instantanés recalculés (le faux service ne retourne plus que MAT1400)
+        assertEquals(List.of("Hélène Côté"), index.search(null, 10).stream().map(Teacher::getName).toList());
+        index.sections("helene cote", null);
+
+        assertEquals(before + 1, index.rebuildCount());
+    }
+
+    @Test
+    @DisplayName("Enseignants - un trimestre éloigné n'est pas chargé auprès de Planifium")
+    void testSections_trimestreEloigne() {
+        int before = fakeProgramService.calls;
+        // Aucun CourseService dans ce test: un chargement de la liste globale échouerait
+        assertTrue(index.sections("benoit tremblay", "H05").isEmpty());
+        assertEquals(before, fakeProgramService.calls);
+
+        assertEquals(3, OfferedCoursesCache.nearbySemesters(LocalDate.of(2025, 1, 15)).size());
+        assertTrue(OfferedCoursesCache.nearbySemesters(LocalDate.of(2025, 1, 15)).containsAll(List.of("A24", "H25", "E25")));
+        assertTrue(OfferedCoursesCache.nearbySemesters(LocalDate.of(2025, 10, 1)).containsAll(List.of("E25", "A25", "H26")));
+    }
+
+    private static class FakeProgramService extends ProgramService {
+        List<Course> toReturn = List.of();
+        int calls;
+
+        FakeProgramService() {
+            super(new HttpClientApi(), null);
+        }
+
+        @Override
+        public List<Course> getProgramCoursesOfferedInSemester(String programId, String semester, int limit) {
+            calls++;
+            return toReturn;
+        }
+    }
+}
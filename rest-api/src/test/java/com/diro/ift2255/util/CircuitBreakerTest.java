@@ -0,0 +1,92 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CircuitBreaker.
+ * L'horloge est simulée pour contrôler le passage OPEN -> HALF_OPEN.
+ */
+public class CircuitBreakerTest {
+
+    private long now;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        now = 0L;
+        // fenêtre 4, min 4 appels, 50 % d'échecs, 10 s ouvert, 1 sonde
+        breaker = new CircuitBreaker(4, 4, 0.5, Duration.ofSeconds(10), 1, () -> now);
+    }
+
+    @Test
+    @DisplayName("Disjoncteur - reste fermé tant que le nombre minimal d'appels n'est pas atteint")
+    void testResteFermeAvantMinimumAppels() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Disjoncteur - s'ouvre quand le taux d'échec atteint le seuil et refuse les appels")
+    void testOuvertureSurTauxEchec() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Disjoncteur - la fenêtre glissante oublie les anciens échecs")
+    void testFenetreGlissante() {
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        // le premier échec sort de la fenêtre
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Disjoncteur - sonde en semi-ouvert puis se referme si la sonde réussit")
+    void testSemiOuvertPuisFermeture() {
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        assertFalse(breaker.tryAcquire());
+
+        now += Duration.ofSeconds(11).toNanos();
+        assertTrue(breaker.tryAcquire(), "Une sonde doit être autorisée");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "Une seule sonde à la fois");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Disjoncteur - se rouvre si la sonde échoue")
+    void testSemiOuvertPuisReouverture() {
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        now += Duration.ofSeconds(11).toNanos();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,61 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.CompactCourse;
+import com.diro.ift2255.model.Course;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CompactCourseModule (forme compacte des cours).
+ */
+public class CompactCourseModuleTest {
+
+    @Test
+    @DisplayName("Cours compact - restitue le même JSON que Course pour le catalogue simulé")
+    void testAllerRetour_catalogueSimule() throws Exception {
+        JsonNode catalog;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("fake-planifium/courses.json")) {
+            catalog = Json.MAPPER.readTree(in);
+        }
+        assertTrue(catalog.size() > 0);
+
+        for (JsonNode node : catalog) {
+            Course course = Json.COURSE_READER.readValue(node.toString());
+            CompactCourse compact = Json.COMPACT_COURSE_READER.readValue(node.toString());
+            assertEquals(Json.MAPPER.valueToTree(course), Json.MAPPER.valueToTree(compact), node.path("id").asText());
+        }
+    }
+
+    @Test
+    @DisplayName("Cours compact - masques des trimestres et chaînes répétées partagées")
+    void testMasquesEtChainesPartagees() throws Exception {
+        String json = "{\"id\":\"IFT2255\",\"available_terms\":{\"autumn\":true,\"winter\":false},"
+                + "\"schedules\":[{\"name\":\"H25\",\"sections\":["
+                + "{\"name\":\"A\",\"teachers\":[\"Hélène Tremblay\"],\"volets\":[{\"name\":\"TH\",\"activities\":"
+                + "[{\"days\":[\"Lu\",\"Je\"],\"start_time\":\"08:30\",\"end_time\":\"10:29\"}]}]},"
+                + "{\"name\":\"B\",\"teachers\":[\"Hélène Tremblay\"],\"unknown\":{\"x\":1}}]}]}";
+        CompactCourse c = Json.COMPACT_COURSE_READER.readValue(json);
+
+        assertEquals(0b001, c.getTermsOffered());
+        assertNull(c.getCredits());
+        List<CompactCourse.Section> sections = c.getSchedules().get(0).getSections();
+        assertSame(sections.get(0).getTeachers().get(0), sections.get(1).getTeachers().get(0));
+
+        CompactCourse.Activity activity = sections.get(0).getVolets().get(0).getActivities().get(0);
+        assertEquals(0b1001, activity.getDays());
+        assertEquals(8 * 60 + 30, activity.getStart());
+
+        Course course = c.toCourse(true);
+        assertEquals(false, course.getAvailableTerms().get("winter"));
+        assertFalse(course.getAvailableTerms().containsKey("summer"));
+        assertEquals("10:29", ((Map<?, ?>) ((List<?>) course.getSchedules().get(0).getSections().get(0)
+                .getVolets().get(0).get("activities")).get(0)).get("end_time"));
+    }
+}
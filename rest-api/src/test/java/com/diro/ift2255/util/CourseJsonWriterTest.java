@@ -0,0 +1,88 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.Course;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CourseJsonWriter (projection de champs et écriture en flux).
+ */
+public class CourseJsonWriterTest {
+
+    private CourseJsonWriter writer;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setup() {
+        writer = new CourseJsonWriter(Json.MAPPER);
+        Course c1 = new Course("IFT1015", "Programmation 1", "Introduction");
+        c1.setCredits(3.0);
+        Course c2 = new Course("IFT2255", "Génie logiciel", "Processus");
+        c2.setCredits(3.0);
+        courses = List.of(c1, c2);
+    }
+
+    @Test
+    @DisplayName("Projection - champs inconnus refusés, liste vide = tous les champs")
+    void testParseFields() {
+        assertNull(writer.parseFields(null));
+        assertNull(writer.parseFields(" , "));
+        assertEquals(Set.of("id", "credits"), writer.parseFields("id, credits"));
+        assertTrue(writer.getKnownFields().contains("prerequisite_courses"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> writer.parseFields("id,motdepasse"));
+        assertTrue(e.getMessage().contains("motdepasse"));
+    }
+
+    @Test
+    @DisplayName("Projection - seuls les champs demandés sont écrits, l'enveloppe est intacte")
+    void testToBytes_projection() throws Exception {
+        JsonNode body = Json.MAPPER.readTree(writer.toBytes(ResponseUtil.ok(courses), Set.of("id", "name")));
+
+        assertTrue(body.path("success").asBoolean());
+        JsonNode first = body.path("data").get(0);
+        assertEquals("IFT1015", first.path("id").asText());
+        assertEquals("Programmation 1", first.path("name").asText());
+        assertFalse(first.has("description"));
+        assertFalse(first.has("credits"));
+
+        // Sans projection: même JSON que le mapper partagé
+        assertEquals(Json.MAPPER.valueToTree(courses), Json.MAPPER.readTree(writer.toBytes(courses, null)));
+    }
+
+    @Test
+    @DisplayName("Flux JSON - enveloppe standard avec tous les cours")
+    void testStream_json() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int n = writer.stream(out, courses.iterator(), CourseJsonWriter.Format.JSON, Set.of("id"));
+
+        JsonNode body = Json.MAPPER.readTree(out.toByteArray());
+        assertEquals(2, n);
+        assertTrue(body.path("success").asBoolean());
+        assertEquals(2, body.path("data").size());
+        assertEquals("IFT2255", body.path("data").get(1).path("id").asText());
+        assertEquals(1, body.path("data").get(1).size());
+    }
+
+    @Test
+    @DisplayName("Flux NDJSON - un cours complet par ligne")
+    void testStream_ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.stream(out, courses.iterator(), CourseJsonWriter.Format.NDJSON, null);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode second = Json.MAPPER.readTree(lines[1]);
+        assertEquals("Génie logiciel", second.path("name").asText());
+        assertEquals(3.0, second.path("credits").asDouble());
+    }
+}
@@ -0,0 +1,168 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour DiskResponseCache (cache disque des réponses amont).
+ */
+public class DiskResponseCacheTest {
+
+    private static final Path TEST_DIR = Path.of("target/test-upstream-cache");
+
+    private long now = 1_000L;
+
+    @BeforeEach
+    void setup() throws IOException {
+        deleteTestDir();
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        deleteTestDir();
+    }
+
+    @Test
+    @DisplayName("Cache disque - réponses relues après réouverture, dernière écriture gagnante")
+    void testRelectureApresReouverture() throws IOException {
+        DiskResponseCache cache = open(1 << 20, 4096);
+        cache.put("http://planifium/api/v1/courses/IFT1015", "{\"id\":\"IFT1015\"}");
+        cache.put("http://planifium/api/v1/courses/IFT2255", "{\"id\":\"IFT2255\",\"name\":\"Génie logiciel\"}");
+        now = 2_000L;
+        cache.put("http://planifium/api/v1/courses/IFT1015", "{\"id\":\"IFT1015\",\"credits\":3}");
+        cache.flush();
+
+        DiskResponseCache reopened = open(1 << 20, 4096);
+        assertEquals(2, reopened.size());
+        DiskResponseCache.Entry entry = reopened.get("http://planifium/api/v1/courses/IFT1015");
+        assertEquals("{\"id\":\"IFT1015\",\"credits\":3}", entry.getBody());
+        assertEquals(2_000L, entry.getStoredAt());
+        assertEquals("{\"id\":\"IFT2255\",\"name\":\"Génie logiciel\"}",
+                reopened.get("http://planifium/api/v1/courses/IFT2255").getBody());
+        assertNull(reopened.get("http://planifium/api/v1/courses/IFT9999"));
+
+        // Après réouverture, les écritures reprennent à la fin du segment
+        reopened.put("http://planifium/api/v1/programs/117510", "{}");
+        assertEquals(3, open(1 << 20, 4096).size());
+    }
+
+    @Test
+    @DisplayName("Cache disque - un corps inchangé n'est pas réécrit, seule sa date avance")
+    void testCorpsInchange() throws IOException {
+        DiskResponseCache cache = open(1 << 20, 4096);
+        cache.put("k", "{\"a\":1}");
+        long bytes = Files.size(TEST_DIR.resolve("seg-000001.dat"));
+        now = 5_000L;
+        cache.put("k", "{\"a\":1}");
+
+        DiskResponseCache reopened = open(1 << 20, 4096);
+        assertEquals(5_000L, reopened.get("k").getStoredAt());
+        assertEquals(bytes, Files.size(TEST_DIR.resolve("seg-000001.dat")));
+    }
+
+    @Test
+    @DisplayName("Cache disque - un enregistrement altéré est ignoré, les autres restent lisibles")
+    void testEnregistrementCorrompu() throws IOException {
+        DiskResponseCache cache = open(1 << 20, 4096);
+        cache.put("a", "premier");
+        cache.put("b", "second");
+        cache.put("c", "troisième");
+        cache.flush();
+
+        // Altère un octet du corps de "b" (en-tête de 24 octets + clé de 1 octet + "premier")
+        try (RandomAccessFile f = new RandomAccessFile(TEST_DIR.resolve("seg-000001.dat").toFile(), "rw")) {
+            long pos = 24 + 1 + "premier".length() + 24 + 1;
+            f.seek(pos);
+            f.write('S');
+        }
+
+        DiskResponseCache reopened = open(1 << 20, 4096);
+        assertEquals("premier", reopened.get("a").getBody());
+        assertNull(reopened.get("b"));
+        assertEquals("troisième", reopened.get("c").getBody());
+    }
+
+    @Test
+    @DisplayName("Cache disque - au-delà de la taille maximale, le segment le moins récemment utilisé est supprimé")
+    void testEvictionLru() throws IOException {
+        // Segments de 1 Ko, 3 Ko au total: chaque réponse de ~600 octets occupe son segment
+        DiskResponseCache cache = open(3 * 1024, 1024);
+        String body = "x".repeat(600);
+        cache.put("a", body);
+        cache.put("b", body);
+        cache.put("c", body);
+        assertNotNull(cache.get("a")); // "a" redevient récent, "b" est le moins récemment utilisé
+
+        cache.put("d", body);
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertTrue(cache.sizeBytes() <= 3 * 1024);
+        assertEquals(3, open(3 * 1024, 1024).size());
+    }
+
+    @Test
+    @DisplayName("Cache disque - la borne s'applique à l'ouverture, sur les segments présents sur disque")
+    void testBorneAppliqueeALaReouverture() throws IOException {
+        DiskResponseCache cache = open(10 * 1024, 1024);
+        String body = "x".repeat(600);
+        for (String k : new String[] {"a", "b", "c", "d"}) cache.put(k, body);
+        cache.flush();
+        assertEquals(4, segmentFiles());
+
+        DiskResponseCache reopened = open(2 * 1024, 1024);
+        assertTrue(reopened.sizeBytes() <= 2 * 1024);
+        assertEquals(2, segmentFiles());
+        assertNull(reopened.get("a"));
+        assertNotNull(reopened.get("d"));
+    }
+
+    @Test
+    @DisplayName("Cache disque - un segment marqué supprimé (fichier non effaçable) est effacé à l'ouverture")
+    void testSegmentMarqueSupprime() throws IOException {
+        DiskResponseCache cache = open(1 << 20, 1024);
+        String body = "x".repeat(600);
+        cache.put("a", body);
+        cache.put("b", body);
+        cache.flush();
+
+        // Ce que fait l'éviction quand la suppression échoue: premier enregistrement invalidé
+        try (RandomAccessFile f = new RandomAccessFile(TEST_DIR.resolve("seg-000001.dat").toFile(), "rw")) {
+            f.writeInt(0);
+        }
+
+        DiskResponseCache reopened = open(1 << 20, 1024);
+        assertNull(reopened.get("a"));
+        assertNotNull(reopened.get("b"));
+        assertFalse(Files.exists(TEST_DIR.resolve("seg-000001.dat")));
+    }
+
+    private static long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(TEST_DIR)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("seg-")).count();
+        }
+    }
+
+    private DiskResponseCache open(long maxBytes, int segmentBytes) throws IOException {
+        return new DiskResponseCache(TEST_DIR, maxBytes, segmentBytes, () -> now);
+    }
+
+    private static void deleteTestDir() throws IOException {
+        if (!Files.exists(TEST_DIR)) return;
+        try (Stream<Path> files = Files.walk(TEST_DIR)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
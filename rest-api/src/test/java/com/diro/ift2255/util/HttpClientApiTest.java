@@ -0,0 +1,230 @@
+package com.diro.ift2255.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de HttpClientApi (échéance, relances, couverture, démarrage à froid depuis le
+ * cache disque) contre un serveur HTTP local.
+ * Chaque chemin du serveur a un comportement configurable : statut et délai de réponse.
+ */
+public class HttpClientApiTest {
+
+    private static final Path COLD_CACHE_DIR = Path.of("target/test-http-cold-cache");
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    /** Délai (ms) de la n-ième réponse d'un chemin ; la dernière valeur vaut pour les suivantes. */
+    private final Map<String, long[]> delays = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        Deadline.clear();
+        if (Files.exists(COLD_CACHE_DIR)) {
+            try (Stream<Path> files = Files.walk(COLD_CACHE_DIR)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int n = calls.computeIfAbsent(path, p -> new AtomicInteger()).getAndIncrement();
+        long[] d = delays.getOrDefault(path, new long[]{0});
+        try {
+            Thread.sleep(d[Math.min(n, d.length - 1)]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = ("{\"path\":\"" + path + "\",\"n\":" + n + "}").getBytes(StandardCharsets.UTF_8);
+        try {
+            exchange.sendResponseHeaders(statuses.getOrDefault(path, 200), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException ignored) {
+            // client parti (requête annulée après expiration ou couverture)
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private int callsTo(String path) {
+        AtomicInteger c = calls.get(path);
+        return (c == null) ? 0 : c.get();
+    }
+
+    private static UpstreamPolicy policy() {
+        UpstreamPolicy policy = UpstreamPolicy.defaults();
+        policy.setHedgingEnabled(false);
+        policy.setMaxRetries(0);
+        policy.setRetryBaseDelay(Duration.ofMillis(1));
+        policy.setRetryMaxDelay(Duration.ofMillis(5));
+        return policy;
+    }
+
+    /** Disjoncteur qui ne s'ouvre jamais (les échecs voulus ne doivent pas court-circuiter l'amont). */
+    private static HttpClientApi client(UpstreamPolicy policy) {
+        return new HttpClientApi(policy, () -> new CircuitBreaker(100, 100, 1.01, Duration.ofSeconds(1), 1));
+    }
+
+    @Test
+    @DisplayName("Échéance dépassée - aucun appel amont, 504 immédiat")
+    void testEcheanceDepassee() {
+        HttpClientApi api = client(policy());
+
+        Deadline.start(Duration.ZERO);
+        HttpClientApiResponse response = api.get(uri("/api/v1/courses/IFT2255"));
+
+        assertEquals(504, response.getStatusCode());
+        assertEquals(0, callsTo("/api/v1/courses/IFT2255"));
+    }
+
+    @Test
+    @DisplayName("Échéance transmise à un autre fil - le délai de la tentative est borné par l'échéance")
+    void testEcheanceTransmise() throws Exception {
+        delays.put("/api/v1/courses/IFT2255", new long[]{1_000});
+        HttpClientApi api = client(policy());
+
+        Deadline.start(Duration.ofMillis(150));
+        Long deadline = Deadline.current();
+        Deadline.clear();
+        HttpClientApiResponse[] result = new HttpClientApiResponse[1];
+        Thread t = new Thread(() -> Deadline.runWith(deadline, () -> result[0] = api.get(uri("/api/v1/courses/IFT2255"))));
+        long start = System.nanoTime();
+        t.start();
+        t.join();
+
+        assertEquals(504, result[0].getStatusCode());
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(800).toNanos());
+    }
+
+    @Test
+    @DisplayName("Relances - limitées par le budget de requêtes supplémentaires")
+    void testRelancesBorneesParBudget() {
+        statuses.put("/api/v1/courses", 503);
+        UpstreamPolicy policy = policy();
+        policy.setMaxRetries(5);
+        policy.setExtraRequestAllowance(2);
+        policy.setExtraRequestRatio(0.0);
+        HttpClientApi api = client(policy);
+
+        assertEquals(503, api.get(uri("/api/v1/courses")).getStatusCode());
+        assertEquals(3, callsTo("/api/v1/courses")); // 1 appel + 2 relances
+
+        // Budget épuisé: plus aucune relance
+        assertEquals(503, api.get(uri("/api/v1/courses")).getStatusCode());
+        assertEquals(4, callsTo("/api/v1/courses"));
+    }
+
+    @Test
+    @DisplayName("Couverture - une seconde requête répond avant la première, lente")
+    void testCouverture() {
+        delays.put("/api/v1/courses/IFT2255", new long[]{1_500, 0});
+        UpstreamPolicy policy = policy();
+        policy.setHedgingEnabled(true);
+        policy.setDefaultHedgeDelay(Duration.ofMillis(100));
+        policy.setMinHedgeDelay(Duration.ofMillis(10));
+        HttpClientApi api = client(policy);
+
+        long start = System.nanoTime();
+        HttpClientApiResponse response = api.get(uri("/api/v1/courses/IFT2255"));
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"n\":1"));
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(1_000).toNanos());
+        assertEquals(2, callsTo("/api/v1/courses/IFT2255"));
+    }
+
+    @Test
+    @DisplayName("Couverture - délai estimé par endpoint, tentatives expirées comptées à leur délai")
+    void testDelaiDeCouvertureParEndpoint() {
+        delays.put("/api/v1/courses", new long[]{500});
+        UpstreamPolicy policy = policy();
+        policy.setAttemptTimeout(Duration.ofMillis(80));
+        HttpClientApi api = client(policy);
+
+        URI catalog = uri("/api/v1/courses?include_schedule=true");
+        for (int i = 0; i < 20; i++) {
+            assertEquals(504, api.get(catalog).getStatusCode());
+        }
+
+        // Le p95 du catalogue reflète les expirations ; les autres endpoints gardent le délai par défaut
+        assertEquals(Duration.ofMillis(80).toNanos(), api.hedgeDelayNanos(catalog));
+        assertEquals(policy.getDefaultHedgeDelay().toNanos(), api.hedgeDelayNanos(uri("/api/v1/courses/IFT2255")));
+        assertEquals(policy.getDefaultHedgeDelay().toNanos(), api.hedgeDelayNanos(uri("/api/v1/courses?courses_sigle=IFT1015")));
+    }
+
+    @Test
+    @DisplayName("POST - une erreur réseau ne positionne pas le drapeau d'interruption du fil")
+    void testPostErreurReseauSansInterruption() {
+        URI closed = uri("/api/v1/echo");
+        server.stop(0);
+
+        HttpClientApiResponse response = client(policy()).post(closed, "{}");
+
+        assertEquals(500, response.getStatusCode());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("Démarrage à froid - réponse servie depuis le disque, amont rafraîchi en arrière-plan puis interrogé")
+    void testDemarrageAFroidDepuisLeDisque() throws Exception {
+        delays.put("/api/v1/courses/IFT2255", new long[]{300});
+        URI course = uri("/api/v1/courses/IFT2255");
+        DiskResponseCache disk = new DiskResponseCache(COLD_CACHE_DIR, 1 << 20, 4096, System::currentTimeMillis);
+        disk.put(course.toString(), "{\"path\":\"disque\"}");
+        HttpClientApi api = client(policy());
+        api.setDiskCache(disk, Duration.ofHours(1));
+
+        long start = System.nanoTime();
+        HttpClientApiResponse cold = api.get(course);
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(250).toNanos(), "Aucune attente de l'amont");
+        assertTrue(cold.isStale());
+        assertEquals("{\"path\":\"disque\"}", cold.getBody());
+
+        // Le rafraîchissement en arrière-plan atteint l'amont et remplace la réponse sur disque
+        long until = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+        while (!disk.get(course.toString()).getBody().contains("\"n\":0") && System.nanoTime() < until) Thread.sleep(20);
+        assertEquals(1, callsTo("/api/v1/courses/IFT2255"));
+
+        // Hôte réchauffé: plus de réponse à froid, l'appel suivant va à l'amont
+        HttpClientApiResponse warm = api.get(course);
+        assertFalse(warm.isStale());
+        assertTrue(warm.getBody().contains("\"n\":1"));
+        assertEquals(2, callsTo("/api/v1/courses/IFT2255"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour LatencyHistogram et son export Prometheus (MetricsWriter).
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Histogramme - chaque mesure tombe dans le seau de la plus petite borne supérieure")
+    void testBucketOf_bornes() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(0, LatencyHistogram.bucketOf(16_000));     // 16 µs
+        assertEquals(1, LatencyHistogram.bucketOf(16_001));
+        assertEquals(1, LatencyHistogram.bucketOf(32_000));     // 32 µs
+        assertEquals(2, LatencyHistogram.bucketOf(48_000));
+        assertEquals(LatencyHistogram.BUCKETS, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Histogramme - compte, somme et quantiles")
+    void testRecord_quantiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) h.record(1_000_000);   // 1 ms
+        h.record(500_000_000);                              // 500 ms
+
+        assertEquals(100, h.count());
+        assertEquals(0.599, h.sumSeconds(), 1e-9);
+        assertTrue(h.quantileSeconds(0.5) >= 0.001 && h.quantileSeconds(0.5) < 0.002);
+        assertTrue(h.quantileSeconds(1.0) >= 0.5);
+    }
+
+    @Test
+    @DisplayName("Export Prometheus - seaux cumulés, +Inf, HELP/TYPE une seule fois")
+    void testWriter_histogrammeCumule() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(10_000);       // seau 16 µs
+        h.record(1_000_000);    // seau 1.024 ms
+
+        String text = new MetricsWriter()
+                .histogram("x_seconds", "test", MetricsWriter.labels("route", "/a"), h)
+                .histogram("x_seconds", "test", MetricsWriter.labels("route", "/b"), new LatencyHistogram())
+                .build();
+
+        assertEquals(1, text.split("# TYPE x_seconds histogram", -1).length - 1);
+        assertTrue(text.contains("x_seconds_bucket{route=\"/a\",le=\"0.000016\"} 1\n"));
+        assertTrue(text.contains("x_seconds_bucket{route=\"/a\",le=\"0.001024\"} 2\n"));
+        assertTrue(text.contains("x_seconds_bucket{route=\"/a\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("x_seconds_count{route=\"/b\"} 0\n"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour LatencyTracker (estimation du p95 des latences amont).
+ */
+public class LatencyTrackerTest {
+
+    @Test
+    @DisplayName("p95 - aucune estimation avant le nombre minimal de mesures")
+    void testMesuresInsuffisantes() {
+        LatencyTracker tracker = new LatencyTracker(100, 10);
+        for (int i = 0; i < 9; i++) tracker.record(1_000);
+        assertEquals(-1L, tracker.p95Nanos());
+
+        tracker.record(1_000);
+        assertEquals(1_000L, tracker.p95Nanos());
+    }
+
+    @Test
+    @DisplayName("p95 - calculé sur les dernières mesures du tampon circulaire")
+    void testP95TamponCirculaire() {
+        LatencyTracker tracker = new LatencyTracker(100, 1);
+        for (int i = 1; i <= 33; i++) tracker.record(i); // recalcul à la 1re et à la 33e mesure
+        assertEquals(32L, tracker.p95Nanos());
+
+        // Les mesures lentes remplacent les anciennes dans le tampon (recalcul toutes les 32 mesures)
+        for (int i = 0; i < 100; i++) tracker.record(10_000);
+        assertEquals(10_000L, tracker.p95Nanos());
+    }
+}
@@ -0,0 +1,59 @@
+package com.diro.ift2255.util;
+
+import com.diro.ift2255.model.Page;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour PageCursor (curseurs de pagination).
+ */
+public class PageCursorTest {
+
+    @Test
+    @DisplayName("Curseur - encodage puis décodage redonnent la même position")
+    void testAllerRetour() {
+        assertEquals(0, PageCursor.decode(null));
+        assertEquals(0, PageCursor.decode(" "));
+        assertEquals(42, PageCursor.decode(PageCursor.encode(42)));
+        assertFalse(PageCursor.encode(42).contains("="), "Base64 URL sans remplissage");
+    }
+
+    @Test
+    @DisplayName("Curseur - les curseurs invalides ou altérés sont refusés")
+    void testCurseursInvalides() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("pas du base64 !"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("x:10")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("o:abc")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("o:-5")));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(raw("o:99999999999")));
+    }
+
+    @Test
+    @DisplayName("Pagination - les pages s'enchaînent jusqu'à la fin de la liste")
+    void testSlice_pagesSuccessives() {
+        List<Integer> all = List.of(1, 2, 3, 4, 5);
+
+        Page<Integer> first = PageCursor.slice(all, null, 2);
+        Page<Integer> second = PageCursor.slice(all, first.getNextCursor(), 2);
+        Page<Integer> last = PageCursor.slice(all, second.getNextCursor(), 2);
+
+        assertEquals(List.of(1, 2), first.getItems());
+        assertEquals(List.of(3, 4), second.getItems());
+        assertEquals(List.of(5), last.getItems());
+        assertNull(last.getNextCursor());
+        assertEquals(5, last.getTotal());
+
+        // Curseur au-delà de la fin (liste raccourcie depuis): page vide, pas d'erreur
+        assertTrue(PageCursor.slice(List.of(1), second.getNextCursor(), 2).getItems().isEmpty());
+    }
+
+    private static String raw(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
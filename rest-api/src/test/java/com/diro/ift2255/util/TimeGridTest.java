@@ -0,0 +1,40 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TimeGrid (occupation hebdomadaire en créneaux de 5 minutes).
+ */
+public class TimeGridTest {
+
+    @Test
+    @DisplayName("Grille - chevauchement détecté, activités consécutives compatibles")
+    void testIntersects() {
+        TimeGrid a = grid("Lu", "12:30", "14:29");
+        assertTrue(a.intersects(grid("Lu", "14:00", "15:00")));
+        assertFalse(a.intersects(grid("Lu", "14:30", "15:30")));  // 14:29 arrondi à 14:30
+        assertFalse(a.intersects(grid("Ma", "12:30", "14:29")));
+        assertEquals(24, a.slotCount());
+    }
+
+    @Test
+    @DisplayName("Grille - jour ou heures invalides ignorés")
+    void testAdd_invalide() {
+        TimeGrid g = new TimeGrid();
+        assertFalse(g.add("Xx", "08:00", "09:00"));
+        assertFalse(g.add("Lu", "10:00", "09:00"));
+        assertFalse(g.add("Lu", "abc", "09:00"));
+        assertTrue(g.isEmpty());
+        assertTrue(g.add("di", "23:00", "24:00"));
+        assertEquals(12, g.slotCount());
+    }
+
+    private static TimeGrid grid(String day, String start, String end) {
+        TimeGrid g = new TimeGrid();
+        g.add(day, start, end);
+        return g;
+    }
+}
@@ -0,0 +1,43 @@
+package com.diro.ift2255.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TtlCache (expiration et borne du nombre d'entrées).
+ */
+public class TtlCacheTest {
+
+    @Test
+    @DisplayName("Cache TTL - au-delà de la borne, les entrées expirées sont balayées sans être relues")
+    void testBalayageDesEntreesExpirees() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofMinutes(5), 3);
+        cache.put("a", 1, Duration.ZERO);
+        cache.put("b", 2, Duration.ZERO);
+        cache.put("c", 3);
+        cache.put("d", 4);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Cache TTL - sans entrée expirée, celles qui expirent le plus tôt sont retirées")
+    void testBorneRetireLesPlusAnciennes() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofMinutes(5), 2);
+        cache.put("court", 1, Duration.ofMinutes(1));
+        cache.put("long", 2, Duration.ofMinutes(10));
+        cache.put("moyen", 3, Duration.ofMinutes(5));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("court"));
+        assertEquals(2, cache.get("long"));
+        assertEquals(3, cache.get("moyen"));
+    }
+}